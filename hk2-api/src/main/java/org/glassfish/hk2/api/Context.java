@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -74,6 +75,22 @@ public interface Context<T> {
      */
     public void destroyOne(ActiveDescriptor<?> descriptor);
     
+    /**
+     * This method is called when {@link ServiceHandle#close()} is called on
+     * a handle that got its service from this context.  It allows contexts that
+     * give different instances of the same descriptor to different handles
+     * to know which instance the handle had.  The default implementation calls
+     * {@link #destroyOne(ActiveDescriptor)}
+     * 
+     * @param descriptor A non-null descriptor upon which {@link ServiceHandle#close()}
+     * has been called
+     * @param instance The instance that was given to the handle, or null if the
+     * handle was closed without getting its service
+     */
+    public default void destroyOne(ActiveDescriptor<?> descriptor, Object instance) {
+        destroyOne(descriptor);
+    }
+    
     /**
      * Returns true if the findOrCreate method can return null
      * 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.api;
+
+/**
+ * A batch gathers the changes of many {@link DynamicConfiguration}s
+ * into a single change of the {@link ServiceLocator}.  Every commit
+ * of a {@link ServiceLocator} re-reads the system services (such as the
+ * injection resolvers and error handlers), invalidates the lookup caches
+ * and notifies the {@link DynamicConfigurationListener}s.  When many
+ * pieces of code each add a few services (for example while an
+ * application boots) they can be handed configurations from one batch,
+ * and all of that work is then done once, when the batch is committed
+ * <p>
+ * None of the changes made in the configurations of a batch will be
+ * reflected in the {@link ServiceLocator} until the batch is committed
+ * 
+ * @see DynamicConfigurationService#createDynamicConfigurationBatch()
+ */
+public interface DynamicConfigurationBatch {
+    /**
+     * Creates a configuration whose changes become part of this
+     * batch.  Calling {@link DynamicConfiguration#commit()} on the
+     * returned configuration does not change the {@link ServiceLocator},
+     * it only closes the configuration to further changes.  Changes made
+     * in the returned configuration are part of the batch whether or not
+     * it has been committed
+     * 
+     * @return A configuration whose changes will be committed with
+     * this batch
+     * @throws IllegalStateException if this batch has already been committed
+     */
+    public DynamicConfiguration createDynamicConfiguration();
+    
+    /**
+     * Commits all of the changes made in the configurations of this
+     * batch to the {@link ServiceLocator} as a single change.  The
+     * {@link DynamicConfigurationListener}s are notified once, and
+     * see all of the changes of the batch
+     * 
+     * @throws MultiException If errors were found in the commit process
+     * @throws IllegalStateException if this batch has already been committed
+     */
+    public void commit() throws MultiException;
+    
+    /**
+     * Tells whether or not this batch has been committed
+     * 
+     * @return true if {@link #commit()} has been called on this batch
+     */
+    public boolean isCommitted();
+
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,7 @@
 
 package org.glassfish.hk2.api;
 
+import org.glassfish.hk2.utilities.DynamicConfigurationBatchImpl;
 import org.jvnet.hk2.annotations.Contract;
 
 /**
@@ -34,6 +36,19 @@ public interface DynamicConfigurationService {
      */
     public DynamicConfiguration createDynamicConfiguration();
     
+    /**
+     * Creates a batch whose configurations are all committed to the
+     * system as a single change when the batch is committed.  The
+     * default implementation gathers the changes of the batch into a
+     * single configuration created with {@link #createDynamicConfiguration()}
+     * 
+     * @return A batch to be used to add many values to the system with
+     * a single commit
+     */
+    public default DynamicConfigurationBatch createDynamicConfigurationBatch() {
+        return new DynamicConfigurationBatchImpl(createDynamicConfiguration());
+    }
+    
     /**
      * Returns a populator for this service locator that can be used to
      * automatically read in hk2 inhabitant files (or some other external
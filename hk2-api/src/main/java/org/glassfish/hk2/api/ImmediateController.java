@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -85,6 +86,38 @@ public interface ImmediateController {
      */
     public void setImmediateState(ImmediateServiceState state);
     
+    /**
+     * Returns the maximum number of Immediate services that are
+     * created at the same time
+     * 
+     * @return The maximum number of Immediate services created
+     * at the same time.  The default is one, which creates the
+     * Immediate services one at a time
+     */
+    public default int getParallelism() {
+        return 1;
+    }
+    
+    /**
+     * Sets the maximum number of Immediate services that are created
+     * at the same time.  When greater than one the Immediate services
+     * found in a configuration change are created on the executor in the
+     * order of their dependencies, so that a service is only created after
+     * the Immediate services it injects, and Immediate services that do
+     * not depend on each other are created at the same time.  This takes
+     * effect with the next configuration change that adds Immediate services
+     * 
+     * @param parallelism The maximum number of Immediate services created
+     * at the same time.  Must be at least one
+     * @throws IllegalArgumentException if parallelism is less than one
+     * @throws UnsupportedOperationException if this controller cannot create
+     * Immediate services at the same time, which is the case for the default
+     * implementation
+     */
+    public default void setParallelism(int parallelism) throws IllegalArgumentException, UnsupportedOperationException {
+        throw new UnsupportedOperationException("The controller " + this + " cannot create Immediate services in parallel");
+    }
+    
     public enum ImmediateServiceState {
         /**
          * The system will not create new Immediate services when in SUSPENDED state.
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.api;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * A ServiceActivator constructs, injects and calls the lifecycle methods
+ * of one service class with plain java code rather than with reflection.
+ * Implementations are generated at build time by the hk2-metadata-generator
+ * when the annotation processor option
+ * <code>org.glassfish.hk2.metadata.activators</code> is set to true
+ * <p>
+ * The name of the activator of a service class is the fully qualified name
+ * of the service class followed by {@link #CLASS_NAME_SUFFIX}.  The generator
+ * puts that name into the metadata of the descriptor of the service under the
+ * key {@link #ACTIVATOR_METADATA_KEY}, and the activator is only looked for when
+ * the descriptor has that metadata.  The activator is loaded with the class
+ * loader of the service class and must have a public zero-argument constructor
+ * <p>
+ * The class is still analyzed with its {@link ClassAnalyzer}.  The activator
+ * is only asked for an index for each constructor, field and method chosen by
+ * the analyzer, and those indexes are then used every time the service is
+ * created.  Any member for which the activator returns -1 (for example
+ * because it is private) is handled with reflection
+ * 
+ * @param <T> The type of the service class this activator activates
+ */
+public interface ServiceActivator<T> {
+    /** The suffix added to the name of a service class to get the name of its activator */
+    public final static String CLASS_NAME_SUFFIX = "_Hk2Activator";
+    
+    /** The metadata key whose value is the name of the activator of the service */
+    public final static String ACTIVATOR_METADATA_KEY = "__Hk2Activator";
+    
+    /**
+     * Gets the index of the given constructor of the service class
+     * 
+     * @param constructor The non-null constructor chosen by the {@link ClassAnalyzer}
+     * @return The index to pass to {@link #create(int, Object[])} or -1
+     * if this activator cannot call the constructor
+     */
+    public int getConstructorIndex(Constructor<?> constructor);
+    
+    /**
+     * Gets the index of the given field of the service class or
+     * of one of its super classes
+     * 
+     * @param field The non-null field chosen by the {@link ClassAnalyzer}
+     * @return The index to pass to {@link #setField(Object, int, Object)} or -1
+     * if this activator cannot set the field
+     */
+    public int getFieldIndex(Field field);
+    
+    /**
+     * Gets the index of the given initializer, postConstruct or preDestroy
+     * method of the service class or of one of its super classes
+     * 
+     * @param method The non-null method chosen by the {@link ClassAnalyzer}
+     * @return The index to pass to {@link #invoke(Object, int, Object[])} or -1
+     * if this activator cannot call the method
+     */
+    public int getMethodIndex(Method method);
+    
+    /**
+     * Calls the constructor with the given index
+     * 
+     * @param constructorIndex An index returned by {@link #getConstructorIndex(Constructor)}
+     * @param args The arguments to the constructor, in order
+     * @return The newly constructed service
+     * @throws Throwable Whatever the constructor throws
+     */
+    public T create(int constructorIndex, Object args[]) throws Throwable;
+    
+    /**
+     * Sets the field with the given index
+     * 
+     * @param service The service whose field should be set
+     * @param fieldIndex An index returned by {@link #getFieldIndex(Field)}
+     * @param value The value to set the field to
+     * @throws ClassCastException if the value is not of the type of the field
+     */
+    public void setField(T service, int fieldIndex, Object value);
+    
+    /**
+     * Calls the method with the given index
+     * 
+     * @param service The service on which to call the method
+     * @param methodIndex An index returned by {@link #getMethodIndex(Method)}
+     * @param args The arguments to the method, in order
+     * @throws Throwable Whatever the method throws
+     */
+    public void invoke(T service, int methodIndex, Object args[]) throws Throwable;
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Injectee;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.ImmediateErrorHandler;
+
+/**
+ * Creates a set of Immediate services in parallel.  The dependencies of
+ * each service are found by following its injection points, through any
+ * services of other scopes, until they reach other Immediate services of
+ * the set.  A service is only created after all of those have been created,
+ * so two threads never wait on each other inside the ImmediateContext.
+ * <p>
+ * The thread calling {@link #activate(Executor, int)} creates services
+ * itself, and helpers are given to the executor to create the others,
+ * so all of the services are created even if the executor has no free
+ * thread.  Services in a cycle are created one at a time once nothing
+ * else can be created, which fails in the same way as a serial creation
+ */
+public class ImmediateActivator {
+    private final ServiceLocator locator;
+    private final List<ImmediateErrorHandler> errorHandlers;
+
+    private final List<Node> nodes = new ArrayList<Node>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // These, and the state of the nodes, are only used with the lock held
+    private final LinkedList<Node> ready = new LinkedList<Node>();
+    private int running;
+    private int finished;
+
+    /**
+     * Creates an activator for the given Immediate services
+     *
+     * @param locator The locator the services are in
+     * @param immediates The Immediate services to create
+     * @param errorHandlers The handlers to tell of services that failed
+     */
+    public ImmediateActivator(ServiceLocator locator,
+            Collection<ActiveDescriptor<?>> immediates,
+            List<ImmediateErrorHandler> errorHandlers) {
+        this.locator = locator;
+        this.errorHandlers = errorHandlers;
+
+        Map<ActiveDescriptor<?>, Node> byDescriptor = new HashMap<ActiveDescriptor<?>, Node>();
+        for (ActiveDescriptor<?> immediate : immediates) {
+            Node node = new Node(immediate);
+
+            nodes.add(node);
+            byDescriptor.put(immediate, node);
+        }
+
+        for (Node node : nodes) {
+            findDependencies(node, byDescriptor);
+        }
+    }
+
+    private void findDependencies(Node node, Map<ActiveDescriptor<?>, Node> byDescriptor) {
+        HashSet<ActiveDescriptor<?>> visited = new HashSet<ActiveDescriptor<?>>();
+        LinkedList<ActiveDescriptor<?>> toVisit = new LinkedList<ActiveDescriptor<?>>();
+
+        visited.add(node.descriptor);
+        toVisit.add(node.descriptor);
+
+        while (!toVisit.isEmpty()) {
+            ActiveDescriptor<?> current = toVisit.removeFirst();
+
+            List<Injectee> injectees;
+            try {
+                injectees = locator.reifyDescriptor(current).getInjectees();
+            }
+            catch (Throwable th) {
+                // Will be reported when the service is created
+                continue;
+            }
+
+            for (Injectee injectee : injectees) {
+                ActiveDescriptor<?> dependency;
+                try {
+                    dependency = locator.getInjecteeDescriptor(injectee);
+                }
+                catch (Throwable th) {
+                    continue;
+                }
+
+                if (dependency == null || !visited.add(dependency)) continue;
+
+                Node dependencyNode = byDescriptor.get(dependency);
+                if (dependencyNode == null) {
+                    // Not Immediate, but may itself inject an Immediate service
+                    toVisit.add(dependency);
+                    continue;
+                }
+
+                dependencyNode.dependents.add(node);
+                node.dependencies++;
+            }
+        }
+    }
+
+    /**
+     * Creates all of the services, returning once all of them have been
+     * created or have failed
+     *
+     * @param executor The executor to give the helper threads to
+     * @param parallelism The maximum number of services to create at once
+     */
+    public void activate(Executor executor, int parallelism) {
+        lock.lock();
+        try {
+            for (Node node : nodes) {
+                if (node.dependencies == 0) ready.add(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        int helpers = Math.min(parallelism, nodes.size()) - 1;
+        for (int lcv = 0; lcv < helpers; lcv++) {
+            try {
+                executor.execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        work();
+                    }
+
+                });
+            }
+            catch (RejectedExecutionException ree) {
+                break;
+            }
+        }
+
+        work();
+    }
+
+    private void work() {
+        for (;;) {
+            Node next;
+
+            lock.lock();
+            try {
+                while (ready.isEmpty()) {
+                    if (finished == nodes.size()) return;
+
+                    if (running == 0) {
+                        // Only services in a cycle (or injecting a cycle) are left
+                        for (Node left : nodes) {
+                            if (!left.started) {
+                                ready.add(left);
+                                break;
+                            }
+                        }
+
+                        continue;
+                    }
+
+                    changed.awaitUninterruptibly();
+                }
+
+                next = ready.removeFirst();
+                next.started = true;
+                running++;
+            } finally {
+                lock.unlock();
+            }
+
+            create(next.descriptor);
+
+            lock.lock();
+            try {
+                running--;
+                finished++;
+
+                for (Node dependent : next.dependents) {
+                    if (--dependent.dependencies == 0 && !dependent.started) {
+                        ready.add(dependent);
+                    }
+                }
+
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void create(ActiveDescriptor<?> immediate) {
+        try {
+            locator.getServiceHandle(immediate).getService();
+        }
+        catch (Throwable th) {
+            for (ImmediateErrorHandler ieh : errorHandlers) {
+                try {
+                    ieh.postConstructFailed(immediate, th);
+                }
+                catch (Throwable th2) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static class Node {
+        private final ActiveDescriptor<?> descriptor;
+        private final List<Node> dependents = new ArrayList<Node>();
+        private int dependencies;
+        private boolean started;
+
+        private Node(ActiveDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public String toString() {
+            return "Node(" + descriptor.getImplementation() + "," + dependencies + "," + started + ")";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ImmediateActivator(" + locator + "," + nodes.size() + "," + System.identityHashCode(this) + ")";
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2024 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -96,6 +97,7 @@ public class ImmediateHelper implements DynamicConfigurationListener, Runnable,
     private ImmediateServiceState currentState = ImmediateServiceState.SUSPENDED;
     private Executor currentExecutor = DEFAULT_EXECUTOR;
     private long decayTime = 20 * 1000;
+    private int parallelism = 1;
     
     @Inject
     private ImmediateHelper(ServiceLocator serviceLocator, ImmediateContext immediateContext) {
@@ -211,6 +213,9 @@ public class ImmediateHelper implements DynamicConfigurationListener, Runnable,
     @Override
     public void run() {
         for(;;) {
+            Executor executor;
+            int parallelism;
+            
             queueLock.lock();
             try {
                 long decayTime = this.decayTime;
@@ -240,11 +245,13 @@ public class ImmediateHelper implements DynamicConfigurationListener, Runnable,
                 }
                 
                 outstandingJob = false;
+                executor = currentExecutor;
+                parallelism = this.parallelism;
             } finally {
                 queueLock.unlock();
             }
             
-            immediateContext.doWork();
+            immediateContext.doWork(executor, parallelism);
         }
         
     }
@@ -312,6 +319,36 @@ public class ImmediateHelper implements DynamicConfigurationListener, Runnable,
         
     }
 
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.ImmediateController#getParallelism()
+     */
+    @Override
+    public int getParallelism() {
+        queueLock.lock();
+        try {
+            return parallelism;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.ImmediateController#setParallelism(int)
+     */
+    @Override
+    public void setParallelism(int parallelism) throws IllegalArgumentException {
+        queueLock.lock();
+        try {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("The parallelism of the Immediate services must be at least one: " + parallelism);
+            }
+            
+            this.parallelism = parallelism;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.glassfish.hk2.api.ImmediateController#getImmediateState()
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2023 Payara Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
@@ -23,8 +23,6 @@ import jakarta.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.Context;
@@ -32,9 +30,7 @@ import org.glassfish.hk2.api.DescriptorVisibility;
 import org.glassfish.hk2.api.PerThread;
 import org.glassfish.hk2.api.ServiceHandle;
 import org.glassfish.hk2.api.Visibility;
-import org.glassfish.hk2.utilities.CleanerFactory;
 import org.glassfish.hk2.utilities.general.Hk2ThreadLocal;
-import org.glassfish.hk2.utilities.reflection.Logger;
 
 /**
  * @author jwells
@@ -50,7 +46,7 @@ public class PerThreadContext implements Context<PerThread> {
 
                 @Override
                 public PerThreadContextWrapper initialValue() {
-                    return new PerThreadContextWrapper();
+                    return new PerThreadContextWrapper("PerThreadContext", LOG_THREAD_DESTRUCTION);
                 }
             };
 
@@ -113,57 +109,4 @@ public class PerThreadContext implements Context<PerThread> {
         // per-thread instances live for the life of the thread,
         // so we will ignore any request to destroy a descriptor
     }
-    
-    private static class PerThreadContextWrapper {
-
-        private final CleanableContext context = new CleanableContext();
-
-        public PerThreadContextWrapper() {
-            registerStopEvent();
-        }
-                
-        public boolean has(ActiveDescriptor<?> descriptor) {
-            return context.has(descriptor);
-        }
-        
-        public Object get(ActiveDescriptor<?> descriptor) {
-            return context.get(descriptor);
-        }
-        
-        public void put(ActiveDescriptor<?> descriptor, Object value) {
-            context.put(descriptor, value);
-        }
-        
-        public final void registerStopEvent() {
-            CleanerFactory.create().register(this, context);
-        }
-    }
-
-    private static final class CleanableContext implements Runnable {
-
-        private final Map<ActiveDescriptor<?>, Object> instances = new HashMap<>();
-
-        private final long id = Thread.currentThread().getId();
-
-        public boolean has(ActiveDescriptor<?> descriptor) {
-            return instances.containsKey(descriptor);
-        }
-
-        public Object get(ActiveDescriptor<?> descriptor) {
-            return instances.get(descriptor);
-        }
-
-        public void put(ActiveDescriptor<?> descriptor, Object value) {
-            instances.put(descriptor, value);
-        }
-
-        @Override
-        public void run() {
-            instances.clear();
-
-            if (LOG_THREAD_DESTRUCTION) {
-                Logger.getLogger().debug("Removing PerThreadContext data for thread " + id);
-            }
-        }
-    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.utilities.CleanerFactory;
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+/**
+ * Holds the {@link org.glassfish.hk2.api.PerThread} services of one thread
+ * for {@link PerThreadContext} and {@link ThreadLocalPerThreadContext}.  The
+ * services are released with the {@link CleanerFactory} cleaner once the
+ * wrapper is gone, or earlier with {@link #clear()}
+ */
+/* package */ class PerThreadContextWrapper {
+
+    private final CleanableContext context;
+
+    /* package */ PerThreadContextWrapper(String contextName, boolean logDestruction) {
+        context = new CleanableContext(contextName, logDestruction);
+        registerStopEvent();
+    }
+
+    public boolean has(ActiveDescriptor<?> descriptor) {
+        return context.has(descriptor);
+    }
+
+    public Object get(ActiveDescriptor<?> descriptor) {
+        return context.get(descriptor);
+    }
+
+    public void put(ActiveDescriptor<?> descriptor, Object value) {
+        context.put(descriptor, value);
+    }
+
+    /**
+     * Drops every service of this wrapper.  May be called
+     * from a thread other than the one owning this wrapper
+     */
+    public void clear() {
+        context.clear();
+    }
+
+    public final void registerStopEvent() {
+        CleanerFactory.create().register(this, context);
+    }
+
+    private static final class CleanableContext implements Runnable {
+
+        /*
+         * Only the owning thread reads or modifies the map, other threads
+         * can only replace it, so no lock is needed on the lookup path
+         */
+        private volatile Map<ActiveDescriptor<?>, Object> instances = new HashMap<>();
+
+        private final long id = Thread.currentThread().getId();
+
+        private final String contextName;
+
+        private final boolean logDestruction;
+
+        private CleanableContext(String contextName, boolean logDestruction) {
+            this.contextName = contextName;
+            this.logDestruction = logDestruction;
+        }
+
+        public boolean has(ActiveDescriptor<?> descriptor) {
+            return instances.containsKey(descriptor);
+        }
+
+        public Object get(ActiveDescriptor<?> descriptor) {
+            return instances.get(descriptor);
+        }
+
+        public void put(ActiveDescriptor<?> descriptor, Object value) {
+            instances.put(descriptor, value);
+        }
+
+        public void clear() {
+            instances = new HashMap<>();
+        }
+
+        @Override
+        public void run() {
+            instances = new HashMap<>();
+
+            if (logDestruction) {
+                Logger.getLogger().debug("Removing " + contextName + " data for thread " + id);
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.inject.Singleton;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Filter;
+import org.glassfish.hk2.api.Injectee;
+import org.glassfish.hk2.api.MultiException;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+
+/**
+ * Creates a set of {@link Singleton} services in parallel.  The dependency
+ * graph of the services is built from their injection points, and a service
+ * is only handed to the executor once all of the services it injects (from
+ * the same set) have been created, so that independent parts of the graph
+ * are created concurrently and no two threads block on the same singleton.
+ * Services that are part of a cycle are started one at a time once nothing
+ * else is left to run.  The one started creates the rest of its cycle on
+ * its own thread, which is the only way the cycle can be resolved, since
+ * a singleton only detects a cycle among the services its own thread is creating.
+ * Services that become ready are queued, and one thread at a time hands the
+ * queue to the executor in a loop, so an executor that runs each service on
+ * the calling thread does not nest one call per level of the graph
+ */
+public class SingletonWarmUp {
+    private final ServiceLocator locator;
+    private final Executor executor;
+
+    private final Map<ActiveDescriptor<?>, Node> nodes = new LinkedHashMap<ActiveDescriptor<?>, Node>();
+    private final Map<ActiveDescriptor<?>, Long> creationTimes = new LinkedHashMap<ActiveDescriptor<?>, Long>();
+    private final List<Throwable> errors = new LinkedList<Throwable>();
+
+    // These, and the state of the nodes, are only used with the lock held
+    private final ReentrantLock lock = new ReentrantLock();
+    private int running;
+    private int finished;
+    private final ArrayDeque<Node> pending = new ArrayDeque<Node>();
+    private boolean draining;
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private SingletonWarmUp(ServiceLocator locator, Executor executor) {
+        this.locator = locator;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates all of the {@link Singleton} services that match the filter
+     * on the given executor, in dependency order
+     *
+     * @param locator The non-null locator to create the services in
+     * @param filter The non-null filter selecting the services to create.
+     * Services selected that are not in the {@link Singleton} scope are ignored
+     * @param executor The non-null executor to create the services on
+     * @return The time in nanoseconds that each service took to be created, in the
+     * order in which the services finished being created
+     * @throws MultiException if any of the services could not be created.  All
+     * other services will still have been created
+     */
+    public static Map<ActiveDescriptor<?>, Long> warmUp(ServiceLocator locator, Filter filter, Executor executor) throws MultiException {
+        SingletonWarmUp warmUp = new SingletonWarmUp(locator, executor);
+
+        warmUp.buildGraph(filter);
+        return warmUp.run();
+    }
+
+    private void buildGraph(Filter filter) {
+        String singletonScope = Singleton.class.getName();
+
+        for (ActiveDescriptor<?> candidate : locator.getDescriptors(filter)) {
+            if (candidate.getScope() != null && !singletonScope.equals(candidate.getScope())) continue;
+
+            ActiveDescriptor<?> reified;
+            try {
+                reified = locator.reifyDescriptor(candidate);
+            }
+            catch (MultiException me) {
+                errors.add(me);
+                continue;
+            }
+
+            if (!Singleton.class.equals(reified.getScopeAnnotation())) continue;
+
+            nodes.put(reified, new Node(reified));
+        }
+
+        for (Node node : nodes.values()) {
+            for (Injectee injectee : node.descriptor.getInjectees()) {
+                ActiveDescriptor<?> dependency;
+                try {
+                    dependency = locator.getInjecteeDescriptor(injectee);
+                }
+                catch (MultiException me) {
+                    // Will be reported if it is still a problem when the service is created
+                    continue;
+                }
+
+                if (dependency == null) continue;
+
+                Node dependencyNode = nodes.get(dependency);
+                if (dependencyNode == null || dependencyNode == node) continue;
+                if (dependencyNode.dependents.contains(node)) continue;
+
+                dependencyNode.dependents.add(node);
+                node.remaining++;
+            }
+        }
+    }
+
+    private Map<ActiveDescriptor<?>, Long> run() throws MultiException {
+        if (nodes.isEmpty()) {
+            return finish();
+        }
+
+        lock.lock();
+        try {
+            for (Node node : nodes.values()) {
+                if (node.remaining == 0) start(node);
+            }
+
+            if (pending.isEmpty()) {
+                // Everything is in a cycle
+                start(nodes.values().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+
+        try {
+            done.await();
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            lock.lock();
+            try {
+                errors.add(ie);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return finish();
+    }
+
+    private Map<ActiveDescriptor<?>, Long> finish() throws MultiException {
+        lock.lock();
+        try {
+            if (!errors.isEmpty()) {
+                throw new MultiException(new ArrayList<Throwable>(errors));
+            }
+
+            return new LinkedHashMap<ActiveDescriptor<?>, Long>(creationTimes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must have the lock held
+     */
+    private void start(Node node) {
+        node.started = true;
+        running++;
+        pending.add(node);
+    }
+
+    /**
+     * Hands every pending service to the executor.  If another call is
+     * already doing so, possibly further up the stack of this same thread,
+     * it will also hand over whatever was just queued
+     */
+    private void drain() {
+        lock.lock();
+        try {
+            if (draining) return;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+
+        for (;;) {
+            final Node node;
+            lock.lock();
+            try {
+                node = pending.poll();
+                if (node == null) {
+                    draining = false;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                executor.execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        create(node);
+                    }
+
+                });
+            }
+            catch (RejectedExecutionException ree) {
+                completed(node, -1L, ree);
+            }
+        }
+    }
+
+    private void create(Node node) {
+        Throwable error = null;
+        long elapsed = -1L;
+
+        try {
+            ServiceHandle<?> handle = locator.getServiceHandle(node.descriptor);
+
+            long start = System.nanoTime();
+            handle.getService();
+            elapsed = System.nanoTime() - start;
+        }
+        catch (Throwable th) {
+            error = th;
+        }
+
+        completed(node, elapsed, error);
+    }
+
+    private void completed(Node node, long elapsed, Throwable error) {
+        lock.lock();
+        try {
+            if (error == null) {
+                creationTimes.put(node.descriptor, elapsed);
+            }
+            else {
+                errors.add(error);
+            }
+
+            running--;
+            finished++;
+
+            for (Node dependent : node.dependents) {
+                if (--dependent.remaining == 0 && !dependent.started) {
+                    start(dependent);
+                }
+            }
+
+            if (running == 0 && finished < nodes.size()) {
+                // Only services in cycles (or depending on cycles) are left.  Starting
+                // two of them at once could have two threads waiting on each other
+                for (Node left : nodes.values()) {
+                    if (!left.started) {
+                        start(left);
+                        break;
+                    }
+                }
+            }
+
+            if (finished == nodes.size()) {
+                done.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+    }
+
+    private static class Node {
+        private final ActiveDescriptor<?> descriptor;
+        private final List<Node> dependents = new ArrayList<Node>();
+        private int remaining;
+        private boolean started;
+
+        private Node(ActiveDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public String toString() {
+            return "Node(" + descriptor.getImplementation() + "," + remaining + "," + started + ")";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SingletonWarmUp(" + locator + "," + nodes.size() + "," + System.identityHashCode(this) + ")";
+    }
+}
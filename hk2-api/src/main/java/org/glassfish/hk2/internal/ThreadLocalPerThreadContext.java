@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.internal;
+
+import jakarta.inject.Singleton;
+
+import java.lang.annotation.Annotation;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Context;
+import org.glassfish.hk2.api.DescriptorVisibility;
+import org.glassfish.hk2.api.PerThread;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.Visibility;
+import org.glassfish.hk2.utilities.CleanerFactory;
+
+/**
+ * A {@link PerThread} context that keeps the services of each thread in a
+ * {@link ThreadLocal} rather than in the shared map of {@link PerThreadContext},
+ * so that finding a service of the current thread neither allocates nor touches
+ * any data shared with other threads.  As with {@link PerThreadContext} the
+ * services of a thread are released with the {@link CleanerFactory} cleaner
+ * once the thread is gone, and the services of all threads are released
+ * when this context is shut down
+ */
+@Singleton @Visibility(DescriptorVisibility.LOCAL)
+public class ThreadLocalPerThreadContext implements Context<PerThread> {
+
+    private final static boolean LOG_THREAD_DESTRUCTION = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("org.hk2.debug.perthreadcontext.log"));
+
+    /**
+     * Every wrapper handed out by any thread, so that shutdown can release
+     * the services of other threads, which a ThreadLocal can not reach
+     */
+    private final Set<PerThreadContextWrapper> wrappers =
+            Collections.newSetFromMap(new WeakHashMap<PerThreadContextWrapper, Boolean>());
+
+    private volatile ThreadLocal<PerThreadContextWrapper> threadMap = newThreadMap();
+
+    private ThreadLocal<PerThreadContextWrapper> newThreadMap() {
+        return ThreadLocal.withInitial(() -> {
+            PerThreadContextWrapper wrapper = new PerThreadContextWrapper(
+                    "ThreadLocalPerThreadContext", LOG_THREAD_DESTRUCTION);
+
+            synchronized (wrappers) {
+                wrappers.add(wrapper);
+            }
+
+            return wrapper;
+        });
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#getScope()
+     */
+    @Override
+    public Class<? extends Annotation> getScope() {
+        return PerThread.class;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#findOrCreate(org.glassfish.hk2.api.ActiveDescriptor, org.glassfish.hk2.api.ServiceHandle)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> U findOrCreate(ActiveDescriptor<U> activeDescriptor, ServiceHandle<?> root) {
+        PerThreadContextWrapper wrapper = threadMap.get();
+
+        U retVal = (U) wrapper.get(activeDescriptor);
+        if (retVal == null) {
+            retVal = activeDescriptor.create(root);
+            wrapper.put(activeDescriptor, retVal);
+        }
+        return retVal;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#find(org.glassfish.hk2.api.ActiveDescriptor)
+     */
+    @Override
+    public boolean containsKey(ActiveDescriptor<?> descriptor) {
+        return threadMap.get().has(descriptor);
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#isActive()
+     */
+    @Override
+    public boolean isActive() {
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#supportsNullCreation()
+     */
+    @Override
+    public boolean supportsNullCreation() {
+        return false;
+    }
+
+    /**
+     * A new ThreadLocal is used from now on and the services held by the
+     * wrappers of the old one are dropped right away.  The entries of the
+     * old ThreadLocal stay in the maps of their threads until those threads
+     * clear them, but they then only hold empty wrappers
+     */
+    @Override
+    public void shutdown() {
+        threadMap = newThreadMap();
+
+        List<PerThreadContextWrapper> oldWrappers;
+        synchronized (wrappers) {
+            oldWrappers = new ArrayList<>(wrappers);
+            wrappers.clear();
+        }
+
+        for (PerThreadContextWrapper wrapper : oldWrappers) {
+            wrapper.clear();
+        }
+    }
+
+    @Override
+    public void destroyOne(ActiveDescriptor<?> descriptor) {
+        // per-thread instances live for the life of the thread,
+        // so we will ignore any request to destroy a descriptor
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.hk2.api.Descriptor;
+import org.glassfish.hk2.api.DescriptorType;
+import org.glassfish.hk2.api.DescriptorVisibility;
+
+/**
+ * Reads and writes descriptor files in a compact binary format.  Every
+ * string (class names, names, qualifiers, metadata keys and values) is
+ * written once, in a string table at the start of the file, and the
+ * descriptors then refer to the strings by their index in that table.
+ * Reading a file therefore decodes each distinct string once, and does not
+ * need to parse the file line by line as {@link DescriptorImpl#readObject(java.io.BufferedReader)}
+ * does.  The descriptors read from one file share the same String instances
+ * <p>
+ * A binary file starts with bytes that can never start a text descriptor
+ * file, so {@link #isBinary(InputStream)} can be used to decide which of the
+ * two formats a stream is in.  The format of the file is:
+ * <pre>
+ * magic (4 bytes) version (1 byte)
+ * int numberOfStrings, { int utf8Length, utf8Bytes }*
+ * int numberOfDescriptors, {
+ *   int implementation, int name, int scope, int analysisName,
+ *   byte descriptorType, byte visibility, int rank,
+ *   byte proxiable, byte proxyForSameScope,
+ *   int numberOfContracts, { int contract }*,
+ *   int numberOfQualifiers, { int qualifier }*,
+ *   int numberOfMetadataKeys, { int key, int numberOfValues, { int value }* }*
+ * }*
+ * </pre>
+ * where strings are indexes into the string table (-1 for null) and optional
+ * booleans are 0 for null, 1 for false and 2 for true
+ */
+public class BinaryDescriptorFile {
+    private final static byte MAGIC[] = { (byte) 0x89, 'H', 'K', '2' };
+    private final static byte VERSION = 1;
+    
+    private final static int NULL_STRING = -1;
+    private final static byte NULL_BOOLEAN = 0;
+    private final static byte FALSE_BOOLEAN = 1;
+    private final static byte TRUE_BOOLEAN = 2;
+    
+    private final static byte CLASS_TYPE = 0;
+    private final static byte PROVIDE_METHOD_TYPE = 1;
+    private final static byte NORMAL_VISIBILITY = 0;
+    private final static byte LOCAL_VISIBILITY = 1;
+    
+    private BinaryDescriptorFile() {
+    }
+    
+    /**
+     * Tells whether or not the given stream contains a binary descriptor
+     * file.  The position of the stream is not changed
+     * 
+     * @param in A stream which must support {@link InputStream#mark(int)}
+     * @return true if the stream starts with the bytes of a binary descriptor
+     * file, false if it should be read as a text descriptor file
+     * @throws IOException on failure to read the stream
+     * @throws IllegalArgumentException if the stream does not support mark
+     */
+    public static boolean isBinary(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("The stream given to isBinary must support mark");
+        }
+        
+        in.mark(MAGIC.length);
+        try {
+            for (int lcv = 0; lcv < MAGIC.length; lcv++) {
+                if (in.read() != (MAGIC[lcv] & 0xFF)) return false;
+            }
+            
+            return true;
+        }
+        finally {
+            in.reset();
+        }
+    }
+    
+    /**
+     * Writes the given descriptors to the stream in the binary format.
+     * The stream is not closed
+     * 
+     * @param descriptors The non-null descriptors to write
+     * @param out The non-null stream to write to
+     * @throws IOException on failure to write the stream
+     */
+    public static void write(Collection<? extends Descriptor> descriptors, OutputStream out) throws IOException {
+        List<String> strings = new ArrayList<String>();
+        Map<String, Integer> indexes = new HashMap<String, Integer>();
+        
+        for (Descriptor descriptor : descriptors) {
+            addString(descriptor.getImplementation(), strings, indexes);
+            addString(descriptor.getName(), strings, indexes);
+            addString(descriptor.getScope(), strings, indexes);
+            addString(descriptor.getClassAnalysisName(), strings, indexes);
+            
+            for (String contract : descriptor.getAdvertisedContracts()) {
+                addString(contract, strings, indexes);
+            }
+            for (String qualifier : descriptor.getQualifiers()) {
+                addString(qualifier, strings, indexes);
+            }
+            for (Map.Entry<String, List<String>> entry : descriptor.getMetadata().entrySet()) {
+                addString(entry.getKey(), strings, indexes);
+                
+                for (String value : entry.getValue()) {
+                    addString(value, strings, indexes);
+                }
+            }
+        }
+        
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        
+        dos.write(MAGIC);
+        dos.writeByte(VERSION);
+        
+        dos.writeInt(strings.size());
+        for (String string : strings) {
+            byte bytes[] = string.getBytes(StandardCharsets.UTF_8);
+            
+            dos.writeInt(bytes.length);
+            dos.write(bytes);
+        }
+        
+        dos.writeInt(descriptors.size());
+        for (Descriptor descriptor : descriptors) {
+            dos.writeInt(getIndex(descriptor.getImplementation(), indexes));
+            dos.writeInt(getIndex(descriptor.getName(), indexes));
+            dos.writeInt(getIndex(descriptor.getScope(), indexes));
+            dos.writeInt(getIndex(descriptor.getClassAnalysisName(), indexes));
+            
+            dos.writeByte(DescriptorType.PROVIDE_METHOD.equals(descriptor.getDescriptorType()) ?
+                    PROVIDE_METHOD_TYPE : CLASS_TYPE);
+            dos.writeByte(DescriptorVisibility.LOCAL.equals(descriptor.getDescriptorVisibility()) ?
+                    LOCAL_VISIBILITY : NORMAL_VISIBILITY);
+            dos.writeInt(descriptor.getRanking());
+            dos.writeByte(getBoolean(descriptor.isProxiable()));
+            dos.writeByte(getBoolean(descriptor.isProxyForSameScope()));
+            
+            dos.writeInt(descriptor.getAdvertisedContracts().size());
+            for (String contract : descriptor.getAdvertisedContracts()) {
+                dos.writeInt(getIndex(contract, indexes));
+            }
+            
+            dos.writeInt(descriptor.getQualifiers().size());
+            for (String qualifier : descriptor.getQualifiers()) {
+                dos.writeInt(getIndex(qualifier, indexes));
+            }
+            
+            Map<String, List<String>> metadata = descriptor.getMetadata();
+            dos.writeInt(metadata.size());
+            for (Map.Entry<String, List<String>> entry : metadata.entrySet()) {
+                dos.writeInt(getIndex(entry.getKey(), indexes));
+                
+                List<String> values = entry.getValue();
+                dos.writeInt(values.size());
+                for (String value : values) {
+                    dos.writeInt(getIndex(value, indexes));
+                }
+            }
+        }
+        
+        dos.flush();
+    }
+    
+    /**
+     * Reads all of the descriptors from a stream in the binary format.
+     * The stream is read to its end but is not closed
+     * 
+     * @param in The non-null stream to read from
+     * @return The descriptors of the stream, in the order they were written
+     * @throws IOException on failure to read the stream or if the stream
+     * is not a valid binary descriptor file
+     */
+    public static List<DescriptorImpl> read(InputStream in) throws IOException {
+        return read(ByteBuffer.wrap(in.readAllBytes()));
+    }
+    
+    /**
+     * Reads all of the descriptors from a binary descriptor file.  The
+     * file is memory-mapped rather than copied into the heap
+     * 
+     * @param file The non-null file to read from
+     * @return The descriptors of the file, in the order they were written
+     * @throws IOException on failure to read the file or if the file
+     * is not a valid binary descriptor file
+     */
+    public static List<DescriptorImpl> read(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()));
+        }
+        finally {
+            raf.close();
+        }
+    }
+    
+    /**
+     * Reads all of the descriptors from a buffer in the binary format,
+     * starting at the position of the buffer
+     * 
+     * @param buffer The non-null buffer to read from
+     * @return The descriptors of the buffer, in the order they were written
+     * @throws IOException if the buffer is not a valid binary descriptor file
+     */
+    public static List<DescriptorImpl> read(ByteBuffer buffer) throws IOException {
+        try {
+            for (int lcv = 0; lcv < MAGIC.length; lcv++) {
+                if (buffer.get() != MAGIC[lcv]) {
+                    throw new IOException("The data is not a binary descriptor file");
+                }
+            }
+            
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Unknown binary descriptor file version " + version);
+            }
+            
+            String strings[] = new String[checkCount(buffer.getInt(), buffer)];
+            for (int lcv = 0; lcv < strings.length; lcv++) {
+                int length = checkCount(buffer.getInt(), buffer);
+                
+                if (buffer.hasArray()) {
+                    strings[lcv] = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                            length, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + length);
+                }
+                else {
+                    byte bytes[] = new byte[length];
+                    buffer.get(bytes);
+                    
+                    strings[lcv] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+            
+            int numDescriptors = checkCount(buffer.getInt(), buffer);
+            List<DescriptorImpl> retVal = new ArrayList<DescriptorImpl>(numDescriptors);
+            for (int lcv = 0; lcv < numDescriptors; lcv++) {
+                retVal.add(readDescriptor(buffer, strings));
+            }
+            
+            return retVal;
+        }
+        catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("The binary descriptor file is truncated or corrupt", e);
+        }
+    }
+    
+    private static DescriptorImpl readDescriptor(ByteBuffer buffer, String strings[]) throws IOException {
+        DescriptorImpl retVal = new DescriptorImpl();
+        
+        retVal.setImplementation(getString(buffer.getInt(), strings));
+        retVal.setName(getString(buffer.getInt(), strings));
+        
+        String scope = getString(buffer.getInt(), strings);
+        if (scope != null) {
+            retVal.setScope(scope);
+        }
+        
+        retVal.setClassAnalysisName(getString(buffer.getInt(), strings));
+        
+        if (buffer.get() == PROVIDE_METHOD_TYPE) {
+            retVal.setDescriptorType(DescriptorType.PROVIDE_METHOD);
+        }
+        if (buffer.get() == LOCAL_VISIBILITY) {
+            retVal.setDescriptorVisibility(DescriptorVisibility.LOCAL);
+        }
+        
+        retVal.setRanking(buffer.getInt());
+        retVal.setProxiable(getBoolean(buffer.get()));
+        retVal.setProxyForSameScope(getBoolean(buffer.get()));
+        
+        int numContracts = checkCount(buffer.getInt(), buffer);
+        for (int lcv = 0; lcv < numContracts; lcv++) {
+            retVal.addAdvertisedContract(getString(buffer.getInt(), strings));
+        }
+        
+        int numQualifiers = checkCount(buffer.getInt(), buffer);
+        for (int lcv = 0; lcv < numQualifiers; lcv++) {
+            retVal.addQualifier(getString(buffer.getInt(), strings));
+        }
+        
+        int numKeys = checkCount(buffer.getInt(), buffer);
+        for (int lcv = 0; lcv < numKeys; lcv++) {
+            String key = getString(buffer.getInt(), strings);
+            
+            int numValues = checkCount(buffer.getInt(), buffer);
+            for (int lcv2 = 0; lcv2 < numValues; lcv2++) {
+                retVal.addMetadata(key, getString(buffer.getInt(), strings));
+            }
+        }
+        
+        return retVal;
+    }
+    
+    private static void addString(String string, List<String> strings, Map<String, Integer> indexes) {
+        if (string == null || indexes.containsKey(string)) return;
+        
+        indexes.put(string, strings.size());
+        strings.add(string);
+    }
+    
+    private static int getIndex(String string, Map<String, Integer> indexes) {
+        if (string == null) return NULL_STRING;
+        return indexes.get(string);
+    }
+    
+    private static String getString(int index, String strings[]) throws IOException {
+        if (index == NULL_STRING) return null;
+        
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("Invalid string index " + index + " in binary descriptor file with " +
+                    strings.length + " strings");
+        }
+        
+        return strings[index];
+    }
+    
+    private static byte getBoolean(Boolean value) {
+        if (value == null) return NULL_BOOLEAN;
+        return value.booleanValue() ? TRUE_BOOLEAN : FALSE_BOOLEAN;
+    }
+    
+    private static Boolean getBoolean(byte value) {
+        if (value == NULL_BOOLEAN) return null;
+        return (value == TRUE_BOOLEAN);
+    }
+    
+    /**
+     * No count can be larger than the number of bytes left, which keeps
+     * a corrupt file from causing huge allocations
+     */
+    private static int checkCount(int count, ByteBuffer buffer) throws IOException {
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("Invalid count " + count + " in binary descriptor file");
+        }
+        
+        return count;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.utilities;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Descriptor;
+import org.glassfish.hk2.api.DynamicConfiguration;
+import org.glassfish.hk2.api.DynamicConfigurationBatch;
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.api.FactoryDescriptors;
+import org.glassfish.hk2.api.Filter;
+import org.glassfish.hk2.api.MultiException;
+import org.glassfish.hk2.api.TwoPhaseResource;
+
+/**
+ * An implementation of {@link DynamicConfigurationBatch} that gathers
+ * the changes of all of the configurations of the batch into a single
+ * {@link DynamicConfiguration}, which is committed when the batch is
+ * committed.  The configurations of the batch may be used from
+ * different threads
+ */
+public class DynamicConfigurationBatchImpl implements DynamicConfigurationBatch {
+    private final DynamicConfiguration batchConfiguration;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean committed = false;
+    
+    /**
+     * Creates a batch that gathers its changes into the given configuration
+     * 
+     * @param batchConfiguration The configuration that will hold all of the
+     * changes of this batch.  May not be null, and should not be used
+     * by anything other than this batch
+     */
+    public DynamicConfigurationBatchImpl(DynamicConfiguration batchConfiguration) {
+        if (batchConfiguration == null) throw new IllegalArgumentException();
+        
+        this.batchConfiguration = batchConfiguration;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.DynamicConfigurationBatch#createDynamicConfiguration()
+     */
+    @Override
+    public DynamicConfiguration createDynamicConfiguration() {
+        lock.lock();
+        try {
+            if (committed) throw new IllegalStateException("The batch has already been committed");
+            
+            return new BatchedConfiguration();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.DynamicConfigurationBatch#commit()
+     */
+    @Override
+    public void commit() throws MultiException {
+        lock.lock();
+        try {
+            if (committed) throw new IllegalStateException("The batch has already been committed");
+            
+            committed = true;
+        } finally {
+            lock.unlock();
+        }
+        
+        batchConfiguration.commit();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.DynamicConfigurationBatch#isCommitted()
+     */
+    @Override
+    public boolean isCommitted() {
+        lock.lock();
+        try {
+            return committed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "DynamicConfigurationBatchImpl(" + batchConfiguration + "," + System.identityHashCode(this) + ")";
+    }
+    
+    /**
+     * A configuration of the batch, which passes all of its changes
+     * to the configuration of the batch with the lock of the batch held
+     */
+    private class BatchedConfiguration implements DynamicConfiguration {
+        /** Only read or changed with the lock of the batch held */
+        private boolean closed = false;
+        
+        /**
+         * Must hold the lock of the batch
+         */
+        private void checkState() {
+            if (closed || committed) throw new IllegalStateException();
+        }
+
+        @Override
+        public <T> ActiveDescriptor<T> bind(Descriptor key) {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.bind(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> ActiveDescriptor<T> bind(Descriptor key, boolean requiresDeepCopy) {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.bind(key, requiresDeepCopy);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public FactoryDescriptors bind(FactoryDescriptors factoryDescriptors) {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.bind(factoryDescriptors);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public FactoryDescriptors bind(FactoryDescriptors factoryDescriptors, boolean requiresDeepCopy) {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.bind(factoryDescriptors, requiresDeepCopy);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> ActiveDescriptor<T> addActiveDescriptor(ActiveDescriptor<T> activeDescriptor)
+                throws IllegalArgumentException {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.addActiveDescriptor(activeDescriptor);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> ActiveDescriptor<T> addActiveDescriptor(ActiveDescriptor<T> activeDescriptor,
+                boolean requiresDeepCopy) throws IllegalArgumentException {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.addActiveDescriptor(activeDescriptor, requiresDeepCopy);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> ActiveDescriptor<T> addActiveDescriptor(Class<T> rawClass)
+                throws MultiException, IllegalArgumentException {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.addActiveDescriptor(rawClass);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public <T> FactoryDescriptors addActiveFactoryDescriptor(Class<? extends Factory<T>> rawFactoryClass)
+                throws MultiException, IllegalArgumentException {
+            lock.lock();
+            try {
+                checkState();
+                
+                return batchConfiguration.addActiveFactoryDescriptor(rawFactoryClass);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void addUnbindFilter(Filter unbindFilter) throws IllegalArgumentException {
+            lock.lock();
+            try {
+                checkState();
+                
+                batchConfiguration.addUnbindFilter(unbindFilter);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void addIdempotentFilter(Filter... idempotentFilter) throws IllegalArgumentException {
+            lock.lock();
+            try {
+                checkState();
+                
+                batchConfiguration.addIdempotentFilter(idempotentFilter);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void registerTwoPhaseResources(TwoPhaseResource... resources) {
+            lock.lock();
+            try {
+                checkState();
+                
+                batchConfiguration.registerTwoPhaseResources(resources);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Closes this configuration.  The changes are committed
+         * to the system when the batch is committed
+         */
+        @Override
+        public void commit() throws MultiException {
+            lock.lock();
+            try {
+                checkState();
+                
+                closed = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return "BatchedConfiguration(" + DynamicConfigurationBatchImpl.this + "," + System.identityHashCode(this) + ")";
+        }
+    }
+
+}
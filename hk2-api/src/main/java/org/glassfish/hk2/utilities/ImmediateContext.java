@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2024 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -23,6 +24,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -39,6 +41,7 @@ import org.glassfish.hk2.api.ServiceHandle;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.api.Visibility;
 import org.glassfish.hk2.internal.HandleAndService;
+import org.glassfish.hk2.internal.ImmediateActivator;
 import org.glassfish.hk2.internal.ImmediateLocalLocatorFilter;
 
 /**
@@ -256,6 +259,21 @@ public class ImmediateContext implements Context<Immediate>{
     }
     
     public void doWork() {
+        doWork(null, 1);
+    }
+    
+    /**
+     * Creates the Immediate services that have been added and destroys
+     * the ones that have been removed since the last time this was called
+     * 
+     * @param executor The executor on which new Immediate services may be
+     * created when parallelism is greater than one.  May be null if parallelism
+     * is one
+     * @param parallelism The maximum number of new Immediate services to
+     * create at the same time.  When greater than one the services are created
+     * in the order of their dependencies
+     */
+    public void doWork(Executor executor, int parallelism) {
         List<ActiveDescriptor<?>> inScopeAndInThisLocator = getImmediateServices();
         
         List<ImmediateErrorHandler> errorHandlers;
@@ -308,6 +326,11 @@ public class ImmediateContext implements Context<Immediate>{
             lock.unlock();
         }
         
+        if (parallelism > 1 && addMe.size() > 1) {
+            new ImmediateActivator(locator, addMe, errorHandlers).activate(executor, parallelism);
+            return;
+        }
+        
         for (ActiveDescriptor<?> ad : addMe) {
             // Create demand
             try {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,23 +18,54 @@
 package org.glassfish.hk2.utilities;
 
 import org.glassfish.hk2.internal.PerThreadContext;
+import org.glassfish.hk2.internal.ThreadLocalPerThreadContext;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 /**
  * This module can be used to enable the {@link org.glassfish.hk2.api.PerThread} scope
  * feature.  This module is NOT idempotent.
+ * <p>
+ * By default the services of each thread are kept in a map shared by all threads.
+ * A module created with {@link #PerThreadScopeModule(boolean)} can instead keep them
+ * in a {@link ThreadLocal}, which is faster for services looked up often but keeps
+ * the services of a thread reachable from the thread until the thread is gone
  * 
  * @author jwells
  *
  */
 public class PerThreadScopeModule extends AbstractBinder {
+    private final boolean threadLocal;
+    
+    /**
+     * Creates a module that keeps the services of
+     * each thread in a map shared by all threads
+     */
+    public PerThreadScopeModule() {
+        this(false);
+    }
+    
+    /**
+     * Creates a module that enables the PerThread scope
+     * 
+     * @param threadLocal true if the services of each thread
+     * should be kept in a {@link ThreadLocal}, false if they
+     * should be kept in a map shared by all threads
+     */
+    public PerThreadScopeModule(boolean threadLocal) {
+        this.threadLocal = threadLocal;
+    }
 
     /* (non-Javadoc)
      * @see org.glassfish.hk2.utilities.binding.AbstractBinder#configure()
      */
     @Override
     protected void configure() {
-        addActiveDescriptor(PerThreadContext.class);
+        if (threadLocal) {
+            addActiveDescriptor(ThreadLocalPerThreadContext.class);
+        }
+        else {
+            addActiveDescriptor(PerThreadContext.class);
+        }
     }
 
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -28,6 +29,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import jakarta.inject.Singleton;
 
@@ -56,6 +58,7 @@ import org.glassfish.hk2.api.ImmediateController.ImmediateServiceState;
 import org.glassfish.hk2.internal.ImmediateHelper;
 import org.glassfish.hk2.internal.InheritableThreadContext;
 import org.glassfish.hk2.internal.PerThreadContext;
+import org.glassfish.hk2.internal.SingletonWarmUp;
 
 /**
  * This is a set of useful utilities for working with {@link ServiceLocator}.
@@ -904,6 +907,49 @@ public abstract class ServiceLocatorUtilities {
         }
     }
 
+    /**
+     * Creates all of the {@link Singleton} services in the locator on the given
+     * executor.  The dependency graph of the services is computed from their
+     * injection points, and services that do not depend on each other are
+     * created in parallel, while a service is only created after the services
+     * it injects.  This method returns when all of the services have been created
+     *
+     * @param locator The non-null locator whose singletons should be created
+     * @param executor The non-null executor on which to create the services
+     * @return The time in nanoseconds that each service took to create, in
+     * the order in which the services finished being created
+     * @throws MultiException if any of the services failed to be created.  The
+     * other services will still have been created
+     */
+    public static Map<ActiveDescriptor<?>, Long> warmUpSingletons(ServiceLocator locator, Executor executor) throws MultiException {
+        return warmUpSingletons(locator, BuilderHelper.allFilter(), executor);
+    }
+
+    /**
+     * Creates the {@link Singleton} services in the locator that match the
+     * filter on the given executor.  The dependency graph of the services is
+     * computed from their injection points, and services that do not depend
+     * on each other are created in parallel, while a service is only created
+     * after the services it injects.  Services that depend on each other in a
+     * cycle are created after everything else, one at a time, so that each
+     * cycle is created on a single thread as a normal lookup would create it.  This method returns when
+     * all of the services have been created
+     *
+     * @param locator The non-null locator whose singletons should be created
+     * @param filter The non-null filter choosing the services to create.  Any
+     * services chosen that are not in the {@link Singleton} scope are ignored
+     * @param executor The non-null executor on which to create the services
+     * @return The time in nanoseconds that each service took to create, in
+     * the order in which the services finished being created
+     * @throws MultiException if any of the services failed to be created.  The
+     * other services will still have been created
+     */
+    public static Map<ActiveDescriptor<?>, Long> warmUpSingletons(ServiceLocator locator, Filter filter, Executor executor) throws MultiException {
+        if (locator == null || filter == null || executor == null) throw new IllegalArgumentException();
+
+        return SingletonWarmUp.warmUp(locator, filter, executor);
+    }
+
     /**
      * Returns a {@link Singleton} {@link Annotation} implementation
      *
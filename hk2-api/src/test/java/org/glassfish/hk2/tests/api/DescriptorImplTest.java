@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,12 +17,14 @@
 
 package org.glassfish.hk2.tests.api;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +35,7 @@ import org.junit.Assert;
 import org.glassfish.hk2.api.DescriptorType;
 import org.glassfish.hk2.api.DescriptorVisibility;
 import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.hk2.utilities.BinaryDescriptorFile;
 import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 import org.junit.Test;
@@ -655,6 +659,78 @@ public class DescriptorImplTest {
         
     }
     
+    /**
+     * Tests the binary form of DescriptorImpl, including that
+     * the strings shared between descriptors are read back
+     * as the same String
+     * 
+     * @throws IOException
+     */
+    @Test
+    public void testReadAndWriteBinary() throws IOException {
+        DescriptorImpl writeA = BuilderHelper.createDescriptorFromClass(WriteServiceA.class);
+        writeA.setScope(Singleton.class.getName());
+        DescriptorImpl writeB = BuilderHelper.createDescriptorFromClass(WriteServiceB.class);
+        writeB.setScope(Singleton.class.getName());
+        writeB.addMetadata(KEY_WITH_ESCAPED_CHARACTERS, ESCAPED_VALUE);
+        writeB.addMetadata(KEY_WITH_ESCAPED_CHARACTERS, NON_ESCAPED_VALUE);
+        writeB.setRanking(13);
+        writeB.setProxiable(Boolean.TRUE);
+        writeB.setProxyForSameScope(Boolean.FALSE);
+        writeB.setDescriptorType(DescriptorType.PROVIDE_METHOD);
+        writeB.setDescriptorVisibility(DescriptorVisibility.LOCAL);
+        writeB.setClassAnalysisName(FullDescriptorImpl.FULL_ANALYSIS_SERVICE);
+        DescriptorImpl writeC = new DescriptorImpl();  // Write out a completely empty one
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        BinaryDescriptorFile.write(Arrays.asList(writeA, writeB, writeC), baos);
+        
+        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        Assert.assertTrue(BinaryDescriptorFile.isBinary(bis));
+        
+        List<DescriptorImpl> read = BinaryDescriptorFile.read(bis);
+        Assert.assertEquals(3, read.size());
+        
+        Assert.assertEquals(writeA, read.get(0));
+        Assert.assertEquals(writeB, read.get(1));
+        Assert.assertEquals(writeC, read.get(2));
+        
+        DescriptorImpl readB = read.get(1);
+        Assert.assertEquals(13, readB.getRanking());  // Ranking is not considered in equals
+        Assert.assertEquals(Boolean.TRUE, readB.isProxiable());
+        Assert.assertEquals(Boolean.FALSE, readB.isProxyForSameScope());
+        Assert.assertEquals(FullDescriptorImpl.FULL_ANALYSIS_SERVICE, readB.getClassAnalysisName());
+        Assert.assertEquals(ESCAPED_VALUE, readB.getMetadata().get(KEY_WITH_ESCAPED_CHARACTERS).get(0));
+        Assert.assertEquals(PerLookup.class.getName(), read.get(2).getScope());
+        
+        Assert.assertSame(read.get(0).getScope(), readB.getScope());
+        
+        // A text file is not binary
+        baos = new ByteArrayOutputStream();
+        PrintWriter pw = new PrintWriter(baos);
+        writeA.writeObject(pw);
+        pw.close();
+        
+        Assert.assertFalse(BinaryDescriptorFile.isBinary(
+                new BufferedInputStream(new ByteArrayInputStream(baos.toByteArray()))));
+    }
+    
+    /**
+     * Tests that a truncated binary file fails with an IOException
+     * 
+     * @throws IOException
+     */
+    @Test(expected=IOException.class)
+    public void testTruncatedBinary() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        BinaryDescriptorFile.write(Arrays.asList(
+                BuilderHelper.createDescriptorFromClass(WriteServiceA.class)), baos);
+        
+        byte truncated[] = Arrays.copyOf(baos.toByteArray(), baos.size() - 3);
+        
+        BinaryDescriptorFile.read(new ByteArrayInputStream(truncated));
+    }
+    
     /**
      * Tests that a bad value cannot come in
      */
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.glassfish.hk2.benchmarks.services.MethodInjectedService;
+import org.glassfish.hk2.utilities.reflection.MethodWrapper;
+import org.glassfish.hk2.utilities.reflection.internal.ClassAnalysisCache;
+import org.glassfish.hk2.utilities.reflection.internal.ClassReflectionHelperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares finding the initializer methods of a class in the
+ * ClassAnalysisCache with scanning the methods of the class and
+ * its superclasses for them, as a locator without the cache does
+ * for each class it has not yet analyzed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassAnalysisBenchmark {
+    private final static String ANALYSIS = "initializerMethods";
+
+    private File file;
+    private ClassAnalysisCache cache;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = File.createTempFile("hk2ClassAnalysisBenchmark", ".cache");
+        cache = new ClassAnalysisCache(file);
+        cache.putMembers(MethodInjectedService.class, ANALYSIS, coldAnalysis());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public List<Method> cacheHit() {
+        return cache.getMembers(MethodInjectedService.class, ANALYSIS, Method.class);
+    }
+
+    /**
+     * Analyzes the class with a new ClassReflectionHelper, so that
+     * nothing is found in the caches of the helper
+     */
+    @Benchmark
+    public List<Method> coldAnalysis() {
+        List<Method> retVal = new ArrayList<Method>();
+        for (MethodWrapper wrapper : new ClassReflectionHelperImpl().getAllMethods(MethodInjectedService.class)) {
+            Method method = wrapper.getMethod();
+            if (method.isAnnotationPresent(Inject.class)) retVal.add(method);
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.DynamicConfiguration;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures DynamicConfigurationImpl.commit.  Each invocation gets
+ * a fresh locator, so these are single shot measurements
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DynamicConfigurationBenchmark {
+    /**
+     * The number of descriptors in the locator
+     */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    /**
+     * Commits all of the descriptors into an empty locator
+     */
+    @State(Scope.Thread)
+    public static class BulkCommit {
+        private ServiceLocator locator;
+        private DynamicConfiguration config;
+
+        @Setup(Level.Invocation)
+        public void setup(DynamicConfigurationBenchmark benchmark) {
+            locator = Locators.createWithServices(null);
+            config = Locators.createDynamicConfiguration(locator);
+            Locators.bindFiller(config, benchmark.size, "");
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            Locators.shutdown(locator);
+        }
+    }
+
+    /**
+     * Commits a small number of descriptors into an already populated
+     * locator that has some entries in its lookup caches
+     */
+    @State(Scope.Thread)
+    public static class SmallCommit {
+        private final static int SMALL = 10;
+
+        private ServiceLocator locator;
+        private DynamicConfiguration config;
+
+        @Setup(Level.Invocation)
+        public void setup(DynamicConfigurationBenchmark benchmark) {
+            locator = Locators.createWithServices(null);
+            Locators.addFiller(locator, benchmark.size);
+            Locators.primeCaches(locator);
+
+            config = Locators.createDynamicConfiguration(locator);
+            Locators.bindFiller(config, SMALL, "Small");
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            Locators.shutdown(locator);
+        }
+    }
+
+    @Benchmark
+    public void bulkCommit(BulkCommit state) {
+        state.config.commit();
+    }
+
+    @Benchmark
+    public void smallCommit(SmallCommit state) {
+        state.config.commit();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.IterableProvider;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.benchmarks.services.NamedSingletonWidget;
+import org.glassfish.hk2.benchmarks.services.Widget;
+import org.glassfish.hk2.benchmarks.services.WidgetIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the use of an injected IterableProviderImpl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterableProviderBenchmark {
+    private ServiceLocator locator;
+    private IterableProvider<Widget> widgets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        locator = Locators.createWithServices(null);
+        widgets = locator.getService(WidgetIterator.class).getWidgets();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Locators.shutdown(locator);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Widget widget : widgets) {
+            blackhole.consume(widget);
+        }
+    }
+
+    @Benchmark
+    public void iterateHandles(Blackhole blackhole) {
+        for (ServiceHandle<Widget> handle : widgets.handleIterator()) {
+            blackhole.consume(handle);
+        }
+    }
+
+    @Benchmark
+    public int getSize() {
+        return widgets.getSize();
+    }
+
+    @Benchmark
+    public Widget get() {
+        return widgets.get();
+    }
+
+    @Benchmark
+    public Widget namedGet() {
+        return widgets.named(NamedSingletonWidget.NAME).get();
+    }
+}
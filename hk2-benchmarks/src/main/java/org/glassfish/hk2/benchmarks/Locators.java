@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import org.glassfish.hk2.api.DynamicConfiguration;
+import org.glassfish.hk2.api.DynamicConfigurationService;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+import org.glassfish.hk2.benchmarks.services.ConstructorInjectedService;
+import org.glassfish.hk2.benchmarks.services.Dependency;
+import org.glassfish.hk2.benchmarks.services.FieldInjectedService;
+import org.glassfish.hk2.benchmarks.services.MethodInjectedService;
+import org.glassfish.hk2.benchmarks.services.NamedSingletonWidget;
+import org.glassfish.hk2.benchmarks.services.PerLookupDependency;
+import org.glassfish.hk2.benchmarks.services.PerLookupWidget;
+import org.glassfish.hk2.benchmarks.services.SingletonWidget;
+import org.glassfish.hk2.benchmarks.services.Widget;
+import org.glassfish.hk2.benchmarks.services.WidgetIterator;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+
+/**
+ * Utilities for building the locators used by the benchmarks
+ */
+public class Locators {
+    private final static String FILLER_IMPL = "org.glassfish.hk2.benchmarks.filler.Service";
+    private final static String FILLER_CONTRACT = "org.glassfish.hk2.benchmarks.filler.Contract";
+
+    /**
+     * The number of distinct contracts the filler descriptors are spread over
+     */
+    public final static int FILLER_CONTRACTS = 100;
+
+    /**
+     * Creates a new locator with a generated name
+     *
+     * @param parent The parent of the new locator, may be null
+     * @return A new locator, which should be shutdown when no longer needed
+     */
+    public static ServiceLocator create(ServiceLocator parent) {
+        return ServiceLocatorFactory.getInstance().create(null, parent);
+    }
+
+    /**
+     * Creates a new locator with all of the services from the
+     * services package added to it
+     *
+     * @param parent The parent of the new locator, may be null
+     * @return A new locator, which should be shutdown when no longer needed
+     */
+    public static ServiceLocator createWithServices(ServiceLocator parent) {
+        ServiceLocator retVal = create(parent);
+
+        ServiceLocatorUtilities.addClasses(retVal,
+                SingletonWidget.class,
+                PerLookupWidget.class,
+                NamedSingletonWidget.class,
+                Dependency.class,
+                PerLookupDependency.class,
+                FieldInjectedService.class,
+                MethodInjectedService.class,
+                ConstructorInjectedService.class,
+                WidgetIterator.class);
+
+        return retVal;
+    }
+
+    /**
+     * Binds (but does not commit) unreified descriptors which are never
+     * looked up, in order to give the locator a realistic size
+     *
+     * @param config The configuration to bind into
+     * @param count The number of descriptors to bind
+     * @param prefix A prefix for the implementation names, to keep them distinct
+     */
+    public static void bindFiller(DynamicConfiguration config, int count, String prefix) {
+        for (int lcv = 0; lcv < count; lcv++) {
+            config.bind(BuilderHelper.link(FILLER_IMPL + prefix + lcv).
+                    to(FILLER_CONTRACT + (lcv % FILLER_CONTRACTS)).
+                    named("filler" + lcv).
+                    build());
+        }
+    }
+
+    /**
+     * Adds and commits filler descriptors to the given locator
+     *
+     * @param locator The locator to add filler descriptors to
+     * @param count The number of descriptors to add
+     */
+    public static void addFiller(ServiceLocator locator, int count) {
+        if (count <= 0) return;
+
+        DynamicConfiguration config = createDynamicConfiguration(locator);
+        bindFiller(config, count, "");
+        config.commit();
+    }
+
+    /**
+     * Performs the lookups of the services from the services package, so
+     * that the lookup caches of the locator have entries in them
+     *
+     * @param locator A locator created with {@link #createWithServices(ServiceLocator)}
+     */
+    public static void primeCaches(ServiceLocator locator) {
+        locator.getService(SingletonWidget.class);
+        locator.getService(Widget.class);
+        locator.getService(Widget.class, NamedSingletonWidget.NAME);
+        locator.getService(Widget.class, PerLookupWidget.NAME);
+        locator.getAllServices(Widget.class);
+        locator.getService(FieldInjectedService.class);
+        locator.getService(MethodInjectedService.class);
+        locator.getService(ConstructorInjectedService.class);
+    }
+
+    /**
+     * Creates a new DynamicConfiguration for the given locator
+     *
+     * @param locator The locator to create the configuration for
+     * @return A new, uncommitted configuration
+     */
+    public static DynamicConfiguration createDynamicConfiguration(ServiceLocator locator) {
+        return locator.getService(DynamicConfigurationService.class).createDynamicConfiguration();
+    }
+
+    /**
+     * Shuts down the given locator if it is not null
+     *
+     * @param locator The locator to shut down, may be null
+     */
+    public static void shutdown(ServiceLocator locator) {
+        if (locator == null) return;
+
+        locator.shutdown();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.benchmarks.services.NamedSingletonWidget;
+import org.glassfish.hk2.benchmarks.services.SingletonWidget;
+import org.glassfish.hk2.benchmarks.services.Widget;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups from a child locator of services that are found in
+ * the root locator.  The depth parameter is the number of locators
+ * between the child and the root
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParentChildLookupBenchmark {
+    @Param({"1", "4"})
+    public int depth;
+
+    private final LinkedList<ServiceLocator> locators = new LinkedList<ServiceLocator>();
+    private ServiceLocator child;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ServiceLocator current = Locators.createWithServices(null);
+        locators.addFirst(current);
+
+        for (int lcv = 0; lcv < depth; lcv++) {
+            current = Locators.create(current);
+
+            // Each child has a Widget of its own, so the lists must be merged
+            ServiceLocatorUtilities.addOneConstant(current, new SingletonWidget());
+            locators.addFirst(current);
+        }
+
+        child = current;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (ServiceLocator locator : locators) {
+            Locators.shutdown(locator);
+        }
+
+        locators.clear();
+    }
+
+    @Benchmark
+    public Widget getServiceFromRoot() {
+        return child.getService(Widget.class, NamedSingletonWidget.NAME);
+    }
+
+    @Benchmark
+    public Widget getServiceFromChild() {
+        return child.getService(Widget.class);
+    }
+
+    @Benchmark
+    public List<Widget> getAllServices() {
+        return child.getAllServices(Widget.class);
+    }
+}
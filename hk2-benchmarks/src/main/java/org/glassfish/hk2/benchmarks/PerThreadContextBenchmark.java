@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.benchmarks.services.PerThreadWidget;
+import org.glassfish.hk2.utilities.PerThreadScopeModule;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding an already created PerThread service, with the services
+ * of each thread kept in the shared map or in a ThreadLocal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerThreadContextBenchmark {
+    @Param({"false", "true"})
+    private boolean threadLocal;
+
+    private ServiceLocator locator;
+    private ActiveDescriptor<PerThreadWidget> descriptor;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() {
+        locator = Locators.create(null);
+        ServiceLocatorUtilities.bind(locator, new PerThreadScopeModule(threadLocal));
+        ServiceLocatorUtilities.addClasses(locator, PerThreadWidget.class);
+
+        descriptor = (ActiveDescriptor<PerThreadWidget>)
+                locator.getServiceHandle(PerThreadWidget.class).getActiveDescriptor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Locators.shutdown(locator);
+    }
+
+    @Benchmark
+    public PerThreadWidget findByDescriptor() {
+        return locator.getService(descriptor, null, null);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public PerThreadWidget findByDescriptorContended() {
+        return locator.getService(descriptor, null, null);
+    }
+}
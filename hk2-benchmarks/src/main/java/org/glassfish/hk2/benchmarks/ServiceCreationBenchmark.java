@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.benchmarks.services.ConstructorInjectedService;
+import org.glassfish.hk2.benchmarks.services.Dependency;
+import org.glassfish.hk2.benchmarks.services.FieldInjectedService;
+import org.glassfish.hk2.benchmarks.services.MethodInjectedService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures ClazzCreator.create by looking up PerLookup services that
+ * are injected with fields, initializer methods or constructors.  Every
+ * lookup creates the service and one PerLookup dependency
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceCreationBenchmark {
+    private ServiceLocator locator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        locator = Locators.createWithServices(null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Locators.shutdown(locator);
+    }
+
+    @Benchmark
+    public FieldInjectedService createFieldInjected() {
+        return locator.getService(FieldInjectedService.class);
+    }
+
+    @Benchmark
+    public MethodInjectedService createMethodInjected() {
+        return locator.getService(MethodInjectedService.class);
+    }
+
+    @Benchmark
+    public ConstructorInjectedService createConstructorInjected() {
+        return locator.getService(ConstructorInjectedService.class);
+    }
+
+    /**
+     * Creates a class that is not bound into the locator, which
+     * goes through the class analysis on every call
+     */
+    @Benchmark
+    public Dependency createAndInitializeUnbound() {
+        return locator.createAndInitialize(Dependency.class);
+    }
+}
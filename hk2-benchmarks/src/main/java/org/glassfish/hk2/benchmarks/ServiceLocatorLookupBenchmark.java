@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.benchmarks.services.NamedSingletonWidget;
+import org.glassfish.hk2.benchmarks.services.PerLookupWidget;
+import org.glassfish.hk2.benchmarks.services.SingletonWidget;
+import org.glassfish.hk2.benchmarks.services.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup methods of ServiceLocatorImpl, getService,
+ * getAllServices and getServiceHandle.  Unless otherwise noted the
+ * lookups are all served from the lookup caches of the locator
+ *
+ * The filler parameter controls how many other (never looked up)
+ * descriptors are in the locator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceLocatorLookupBenchmark {
+    @Param({"0", "10000"})
+    public int filler;
+
+    private ServiceLocator locator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        locator = Locators.createWithServices(null);
+        Locators.addFiller(locator, filler);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Locators.shutdown(locator);
+    }
+
+    @Benchmark
+    public SingletonWidget getServiceByImplementation() {
+        return locator.getService(SingletonWidget.class);
+    }
+
+    @Benchmark
+    public Widget getServiceByContract() {
+        return locator.getService(Widget.class);
+    }
+
+    @Benchmark
+    public Widget getServiceByContractAndName() {
+        return locator.getService(Widget.class, NamedSingletonWidget.NAME);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Widget getServiceByContractAndNameContended() {
+        return locator.getService(Widget.class, NamedSingletonWidget.NAME);
+    }
+
+    @Benchmark
+    public Widget getPerLookupServiceByContractAndName() {
+        return locator.getService(Widget.class, PerLookupWidget.NAME);
+    }
+
+    /**
+     * A lookup of a contract with no services and no JIT resolvers
+     */
+    @Benchmark
+    public Runnable getServiceNotFound() {
+        return locator.getService(Runnable.class);
+    }
+
+    @Benchmark
+    public List<Widget> getAllServices() {
+        return locator.getAllServices(Widget.class);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Widget> getAllServicesContended() {
+        return locator.getAllServices(Widget.class);
+    }
+
+    @Benchmark
+    public ServiceHandle<Widget> getServiceHandle() {
+        return locator.getServiceHandle(Widget.class);
+    }
+
+    @Benchmark
+    public List<ServiceHandle<Widget>> getAllServiceHandles() {
+        return locator.getAllServiceHandles(Widget.class);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.benchmarks.services.SingletonWidget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures SingletonContext.findOrCreate for an already created singleton.
+ * The descriptor variants go straight to the context without a lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonContextBenchmark {
+    private ServiceLocator locator;
+    private ActiveDescriptor<SingletonWidget> descriptor;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() {
+        locator = Locators.createWithServices(null);
+        descriptor = (ActiveDescriptor<SingletonWidget>)
+                locator.getServiceHandle(SingletonWidget.class).getActiveDescriptor();
+
+        // Creates the singleton
+        locator.getService(SingletonWidget.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Locators.shutdown(locator);
+    }
+
+    @Benchmark
+    public SingletonWidget findByDescriptor() {
+        return locator.getService(descriptor, null, null);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SingletonWidget findByDescriptorContended() {
+        return locator.getService(descriptor, null, null);
+    }
+
+    @Benchmark
+    public SingletonWidget findByLookup() {
+        return locator.getService(SingletonWidget.class);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.benchmarks.services;
+
+import org.glassfish.hk2.api.PerLookup;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * A PerLookup service that is injected only with its constructor
+ */
+@PerLookup
+public class ConstructorInjectedService {
+    private final Dependency dependency;
+    private final PerLookupDependency perLookupDependency;
+    private final Widget widget;
+
+    @Inject
+    private ConstructorInjectedService(Dependency dependency,
+            PerLookupDependency perLookupDependency,
+            @Named(NamedSingletonWidget.NAME) Widget widget) {
+        this.dependency = dependency;
+        this.perLookupDependency = perLookupDependency;
+        this.widget = widget;
+    }
+
+    public boolean isInjected() {
+        return dependency != null && perLookupDependency != null && widget != null;
+    }
+}
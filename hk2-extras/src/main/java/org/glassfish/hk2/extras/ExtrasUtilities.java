@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +26,7 @@ import org.glassfish.hk2.extras.events.internal.DefaultTopicDistributionService;
 import org.glassfish.hk2.extras.hk2bridge.internal.Hk2BridgeImpl;
 import org.glassfish.hk2.extras.interception.internal.DefaultInterceptionService;
 import org.glassfish.hk2.extras.operation.internal.OperationManagerImpl;
+import org.glassfish.hk2.extras.pooled.internal.PooledContext;
 import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
@@ -86,6 +88,25 @@ public class ExtrasUtilities {
         }
     }
     
+    /**
+     * This method adds in the {@link org.glassfish.hk2.api.Context} of the
+     * {@link org.glassfish.hk2.extras.pooled.Pooled} scope along with the
+     * {@link org.glassfish.hk2.extras.pooled.PooledServiceManager}.  This method
+     * is idempotent, if the service is already available it will not add it
+     * 
+     * @param locator The locator to add the Pooled scope to.  May not be null
+     */
+    public static void enablePooledScope(ServiceLocator locator) {
+        if (locator.getBestDescriptor(BuilderHelper.createContractFilter(PooledContext.class.getName())) != null) return;
+        
+        try {
+            ServiceLocatorUtilities.addClasses(locator, true, PooledContext.class);
+        }
+        catch (MultiException me) {
+            if (!isDupException(me)) throw me;
+        }
+    }
+    
     private final static String BRIDGE_NAME_PREFIX = "LocatorBridge(";
     private final static String COMMA = ",";
     private final static String BRIDGE_NAME_POSTFIX = ")";
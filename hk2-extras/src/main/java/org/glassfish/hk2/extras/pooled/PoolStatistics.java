@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.extras.pooled;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+
+/**
+ * A snapshot of the utilization of the pool of one {@link Pooled} service.
+ * The values are read one by one from a pool that may be in use and hence
+ * may not all have been true at exactly the same time
+ */
+public interface PoolStatistics {
+    /**
+     * The descriptor of the pooled service
+     * 
+     * @return The non-null descriptor of the service these statistics are for
+     */
+    public ActiveDescriptor<?> getDescriptor();
+    
+    /**
+     * The minimum size of the pool, from {@link Pooled#minSize()}
+     * 
+     * @return The minimum size of the pool
+     */
+    public int getMinSize();
+    
+    /**
+     * The maximum size of the pool, from {@link Pooled#maxSize()}
+     * 
+     * @return The maximum size of the pool
+     */
+    public int getMaxSize();
+    
+    /**
+     * The number of instances kept by the pool, whether idle or in use.
+     * This never includes overflow instances
+     * 
+     * @return The current size of the pool
+     */
+    public int getSize();
+    
+    /**
+     * The number of pooled instances not currently in use
+     * 
+     * @return The number of idle instances
+     */
+    public int getIdleCount();
+    
+    /**
+     * The number of pooled instances that are currently in use.
+     * Overflow instances are not tracked and are not included
+     * 
+     * @return The number of pooled instances in use
+     */
+    public int getActiveCount();
+    
+    /**
+     * The number of times an instance has been taken from this pool
+     * 
+     * @return The total number of borrows
+     */
+    public long getBorrowCount();
+    
+    /**
+     * The number of instances that have been created for this pool,
+     * including overflow instances
+     * 
+     * @return The total number of instances created
+     */
+    public long getCreatedCount();
+    
+    /**
+     * The number of instances that have been destroyed by this pool,
+     * including overflow and evicted instances
+     * 
+     * @return The total number of instances destroyed
+     */
+    public long getDestroyedCount();
+    
+    /**
+     * The number of idle instances that have been destroyed because
+     * they were unused for longer than {@link Pooled#idleTimeout()}
+     * 
+     * @return The total number of instances evicted
+     */
+    public long getEvictedCount();
+    
+    /**
+     * The number of instances that were created because all
+     * {@link Pooled#maxSize()} pooled instances were in use
+     * 
+     * @return The total number of overflow instances created
+     */
+    public long getOverflowCount();
+    
+    /**
+     * The number of borrowed instances that were garbage collected
+     * without having been given back, for example because they were
+     * not looked up with a {@link org.glassfish.hk2.api.ServiceHandle}.
+     * The places of these instances in the pool are freed
+     * 
+     * @return The total number of instances that were never given back
+     */
+    public long getAbandonedCount();
+    
+    /**
+     * The fraction of the maximum size of the pool that is in use
+     * 
+     * @return The number of pooled instances in use divided by
+     * {@link #getMaxSize()}, between 0.0 and 1.0
+     */
+    public double getUtilization();
+}
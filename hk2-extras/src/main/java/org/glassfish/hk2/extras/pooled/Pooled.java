@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.extras.pooled;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.inject.Scope;
+
+/**
+ * Services in this scope are handed out from a bounded pool of
+ * instances.  This is useful for services that are expensive to
+ * create but that are not thread-safe, such as parsers, ciphers
+ * or compressors.  Every {@link org.glassfish.hk2.api.ServiceHandle}
+ * that gets the service borrows an instance from the pool, and
+ * the instance is given back to the pool when that handle is
+ * closed.  No two open handles have the same instance
+ * <p>
+ * Instances are only given back to the pool when the handle they
+ * came from is closed, and hence pooled services should be
+ * looked up with {@link org.glassfish.hk2.api.ServiceLocator#getServiceHandle(Class, java.lang.annotation.Annotation...)}
+ * or injected as an {@link org.glassfish.hk2.api.IterableProvider} and
+ * looked up with {@link org.glassfish.hk2.api.IterableProvider#getHandle()}.
+ * Instances that are injected directly into another service or that are
+ * looked up with {@link org.glassfish.hk2.api.ServiceLocator#getService(Class, java.lang.annotation.Annotation...)}
+ * are never given back to the pool.  The pool holds its borrowed instances
+ * weakly, so such an instance frees its place in the pool once it has been
+ * garbage collected, but it is not reused and its PreDestroy method is never
+ * called.  These are counted by {@link PoolStatistics#getAbandonedCount()}
+ * <p>
+ * When all {@link #maxSize()} instances of the pool are in use a new
+ * instance is created anyway, and that instance is destroyed rather than
+ * pooled when its handle is closed.  The pool does not keep track of
+ * overflow instances, so the number of live instances is only limited by
+ * the number of instances the callers hold.  The number of overflow
+ * instances created is available from {@link PoolStatistics#getOverflowCount()}
+ * <p>
+ * This scope is only available after {@link org.glassfish.hk2.extras.ExtrasUtilities#enablePooledScope(org.glassfish.hk2.api.ServiceLocator)}
+ * has been called on the locator
+ */
+@Scope
+@Retention(RUNTIME)
+@Target( { TYPE, METHOD })
+@Documented
+public @interface Pooled {
+    /**
+     * The number of instances below which idle instances are
+     * no longer evicted
+     * 
+     * @return The minimum number of pooled instances, zero or greater
+     */
+    public int minSize() default 0;
+    
+    /**
+     * The maximum number of instances kept by the pool
+     * 
+     * @return The maximum number of pooled instances, one or greater
+     * and not less than {@link #minSize()}
+     */
+    public int maxSize() default 16;
+    
+    /**
+     * The number of milliseconds an instance may stay unused
+     * in the pool before it is destroyed, as long as the pool
+     * keeps at least {@link #minSize()} instances
+     * 
+     * @return The idle time in milliseconds, or zero if idle
+     * instances should never be evicted
+     */
+    public long idleTimeout() default 60000L;
+    
+    /**
+     * If true then {@link #minSize()} instances are created the
+     * first time the pool is used or when
+     * {@link PooledServiceManager#prefill(org.glassfish.hk2.api.ActiveDescriptor)}
+     * is called
+     * 
+     * @return true if the pool should be filled up to its minimum size
+     * before it is used
+     */
+    public boolean prefill() default false;
+}
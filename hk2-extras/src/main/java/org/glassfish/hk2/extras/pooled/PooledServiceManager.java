@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.extras.pooled;
+
+import java.util.Map;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.jvnet.hk2.annotations.Contract;
+
+/**
+ * Gives access to the pools of the {@link Pooled} services of
+ * a ServiceLocator.  This service is available after
+ * {@link org.glassfish.hk2.extras.ExtrasUtilities#enablePooledScope(org.glassfish.hk2.api.ServiceLocator)}
+ * has been called on the locator
+ */
+@Contract
+public interface PooledServiceManager {
+    /**
+     * Gets the statistics of the pool of the given service
+     * 
+     * @param descriptor The non-null descriptor of a {@link Pooled} service
+     * @return The statistics of the pool of the service, or null if
+     * the service has not been used yet
+     */
+    public PoolStatistics getStatistics(ActiveDescriptor<?> descriptor);
+    
+    /**
+     * Gets the statistics of all the pools of this locator
+     * 
+     * @return A non-null but possibly empty map from the descriptor
+     * of every {@link Pooled} service that has been used to the
+     * statistics of its pool
+     */
+    public Map<ActiveDescriptor<?>, PoolStatistics> getAllStatistics();
+    
+    /**
+     * Creates instances of the given service until its pool has
+     * {@link Pooled#minSize()} instances, whether or not
+     * {@link Pooled#prefill()} is set
+     * 
+     * @param descriptor The non-null descriptor of a {@link Pooled} service.
+     * It will be reified if it is not already
+     * @throws org.glassfish.hk2.api.MultiException if an instance could not be created
+     */
+    public void prefill(ActiveDescriptor<?> descriptor);
+    
+    /**
+     * Destroys the instances of all pools that have been idle longer
+     * than {@link Pooled#idleTimeout()}.  Idle instances are also
+     * evicted as the pools are used, so this only needs to be called
+     * to free instances of pools that are no longer being used
+     * 
+     * @return The number of instances that were destroyed
+     */
+    public int evictIdle();
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.extras.pooled.internal;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.extras.pooled.PoolStatistics;
+
+/**
+ * An immutable snapshot of the statistics of a {@link ServicePool}
+ */
+public class PoolStatisticsImpl implements PoolStatistics {
+    private final ActiveDescriptor<?> descriptor;
+    private final int minSize;
+    private final int maxSize;
+    private final int size;
+    private final int idleCount;
+    private final int activeCount;
+    private final long borrowCount;
+    private final long createdCount;
+    private final long destroyedCount;
+    private final long evictedCount;
+    private final long overflowCount;
+    private final long abandonedCount;
+    private final double utilization;
+    
+    /* package */ PoolStatisticsImpl(ActiveDescriptor<?> descriptor, int minSize, int maxSize, int size,
+            int idleCount, int activeCount, long borrowCount, long createdCount,
+            long destroyedCount, long evictedCount, long overflowCount, long abandonedCount,
+            double utilization) {
+        this.descriptor = descriptor;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.size = size;
+        this.idleCount = idleCount;
+        this.activeCount = activeCount;
+        this.borrowCount = borrowCount;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+        this.evictedCount = evictedCount;
+        this.overflowCount = overflowCount;
+        this.abandonedCount = abandonedCount;
+        this.utilization = utilization;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getDescriptor()
+     */
+    @Override
+    public ActiveDescriptor<?> getDescriptor() {
+        return descriptor;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getMinSize()
+     */
+    @Override
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getMaxSize()
+     */
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getSize()
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getIdleCount()
+     */
+    @Override
+    public int getIdleCount() {
+        return idleCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getActiveCount()
+     */
+    @Override
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getBorrowCount()
+     */
+    @Override
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getCreatedCount()
+     */
+    @Override
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getDestroyedCount()
+     */
+    @Override
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getEvictedCount()
+     */
+    @Override
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getOverflowCount()
+     */
+    @Override
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getAbandonedCount()
+     */
+    @Override
+    public long getAbandonedCount() {
+        return abandonedCount;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PoolStatistics#getUtilization()
+     */
+    @Override
+    public double getUtilization() {
+        return utilization;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStatisticsImpl(" + descriptor.getImplementation() + ",size=" + size + ",idle=" + idleCount +
+                ",active=" + activeCount + ",utilization=" + utilization + "," + System.identityHashCode(this) + ")";
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.extras.pooled.internal;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Context;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.extras.pooled.PoolStatistics;
+import org.glassfish.hk2.extras.pooled.Pooled;
+import org.glassfish.hk2.extras.pooled.PooledServiceManager;
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+/**
+ * The {@link Context} of the {@link Pooled} scope.  Every
+ * {@link ServiceHandle} that asks this context for a service
+ * borrows an instance from the pool of that service, which is
+ * given back by {@link #destroyOne(ActiveDescriptor, Object)}
+ * when the handle is closed
+ */
+@Singleton
+public class PooledContext implements Context<Pooled>, PooledServiceManager {
+    private final static Pooled DEFAULT_CONFIGURATION = DefaultConfiguration.class.getAnnotation(Pooled.class);
+    
+    private final ConcurrentHashMap<ActiveDescriptor<?>, ServicePool> pools =
+            new ConcurrentHashMap<ActiveDescriptor<?>, ServicePool>();
+    private volatile boolean shutdown;
+    
+    @Inject
+    private ServiceLocator locator;
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#getScope()
+     */
+    @Override
+    public Class<? extends Annotation> getScope() {
+        return Pooled.class;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#findOrCreate(org.glassfish.hk2.api.ActiveDescriptor, org.glassfish.hk2.api.ServiceHandle)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> U findOrCreate(ActiveDescriptor<U> activeDescriptor,
+            ServiceHandle<?> root) {
+        return (U) getPool(activeDescriptor).borrow();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#containsKey(org.glassfish.hk2.api.ActiveDescriptor)
+     */
+    @Override
+    public boolean containsKey(ActiveDescriptor<?> descriptor) {
+        return pools.containsKey(descriptor);
+    }
+
+    /**
+     * Destroys the pool of the given service along with all of
+     * its idle instances.  Instances that are in use are destroyed
+     * when their handles are closed
+     */
+    @Override
+    public void destroyOne(ActiveDescriptor<?> descriptor) {
+        ServicePool pool = pools.remove(descriptor);
+        if (pool == null) return;
+        
+        pool.close();
+    }
+    
+    /**
+     * Gives the instance back to the pool of the given service,
+     * or destroys it if that pool has been destroyed
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void destroyOne(ActiveDescriptor<?> descriptor, Object instance) {
+        // The handle was closed without having gotten an instance
+        if (instance == null) return;
+        
+        ServicePool pool = pools.get(descriptor);
+        if (pool != null) {
+            pool.release(instance);
+            return;
+        }
+        
+        try {
+            ((ActiveDescriptor<Object>) descriptor).dispose(instance);
+        }
+        catch (Throwable th) {
+            Logger.getLogger().debug("PooledContext", "destroyOne", th);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#supportsNullCreation()
+     */
+    @Override
+    public boolean supportsNullCreation() {
+        return false;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#isActive()
+     */
+    @Override
+    public boolean isActive() {
+        return !shutdown;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Context#shutdown()
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        
+        for (ActiveDescriptor<?> descriptor : pools.keySet()) {
+            destroyOne(descriptor);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PooledServiceManager#getStatistics(org.glassfish.hk2.api.ActiveDescriptor)
+     */
+    @Override
+    public PoolStatistics getStatistics(ActiveDescriptor<?> descriptor) {
+        ServicePool pool = pools.get(descriptor);
+        if (pool == null) return null;
+        
+        return pool.getStatistics();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PooledServiceManager#getAllStatistics()
+     */
+    @Override
+    public Map<ActiveDescriptor<?>, PoolStatistics> getAllStatistics() {
+        Map<ActiveDescriptor<?>, PoolStatistics> retVal = new HashMap<ActiveDescriptor<?>, PoolStatistics>();
+        
+        for (Map.Entry<ActiveDescriptor<?>, ServicePool> entry : pools.entrySet()) {
+            retVal.put(entry.getKey(), entry.getValue().getStatistics());
+        }
+        
+        return retVal;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PooledServiceManager#prefill(org.glassfish.hk2.api.ActiveDescriptor)
+     */
+    @Override
+    public void prefill(ActiveDescriptor<?> descriptor) {
+        if (descriptor == null) throw new IllegalArgumentException();
+        
+        if (!descriptor.isReified()) {
+            descriptor = locator.reifyDescriptor(descriptor);
+        }
+        
+        if (!Pooled.class.equals(descriptor.getScopeAnnotation())) {
+            throw new IllegalArgumentException("The service " + descriptor + " is not in the Pooled scope");
+        }
+        
+        getPool(descriptor).prefill();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.extras.pooled.PooledServiceManager#evictIdle()
+     */
+    @Override
+    public int evictIdle() {
+        long now = System.nanoTime();
+        
+        int retVal = 0;
+        for (ServicePool pool : pools.values()) {
+            retVal += pool.evict(now);
+        }
+        
+        return retVal;
+    }
+    
+    private ServicePool getPool(ActiveDescriptor<?> descriptor) {
+        if (shutdown) throw new IllegalStateException("The Pooled context has been shut down");
+        
+        ServicePool retVal = pools.get(descriptor);
+        if (retVal != null) return retVal;
+        
+        Pooled configuration = DEFAULT_CONFIGURATION;
+        Annotation scope = descriptor.getScopeAsAnnotation();
+        if (scope instanceof Pooled) {
+            configuration = (Pooled) scope;
+        }
+        
+        ServicePool created = new ServicePool(descriptor, configuration);
+        retVal = pools.putIfAbsent(descriptor, created);
+        if (retVal != null) return retVal;
+        
+        if (shutdown) {
+            // Raced with shutdown, which may have missed this pool
+            destroyOne(descriptor);
+            throw new IllegalStateException("The Pooled context has been shut down");
+        }
+        
+        if (configuration.prefill()) {
+            created.prefill();
+        }
+        
+        return created;
+    }
+    
+    /**
+     * Carries the default configuration for descriptors whose
+     * scope was given by name rather than by annotation
+     */
+    @Pooled
+    private static class DefaultConfiguration {
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.extras.pooled.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.extras.pooled.PoolStatistics;
+import org.glassfish.hk2.extras.pooled.Pooled;
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+/**
+ * The pool of instances of one {@link Pooled} service.  Idle instances
+ * are kept in a deque with the most recently returned instance at the
+ * head, which is where instances are borrowed from.  The instances that
+ * have been idle the longest are therefore at the tail, which is where
+ * they are evicted from.  None of the operations of the pool take a lock
+ * <p>
+ * Borrowed instances are only held weakly.  An instance that is never
+ * released, for example because it was looked up without a handle, frees its
+ * place in the pool once it has been garbage collected.  Overflow instances
+ * are not tracked at all
+ */
+public class ServicePool {
+    private final ActiveDescriptor<Object> descriptor;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeout;
+    
+    private final ConcurrentLinkedDeque<IdleInstance> idle = new ConcurrentLinkedDeque<IdleInstance>();
+    
+    /** The pooled instances in use.  Overflow instances are not in here */
+    private final ConcurrentHashMap<Borrowed, Borrowed> borrowed = new ConcurrentHashMap<Borrowed, Borrowed>();
+    private final ReferenceQueue<Object> abandonedQueue = new ReferenceQueue<Object>();
+    
+    /** The number of pooled instances, whether idle or borrowed */
+    private final AtomicInteger size = new AtomicInteger();
+    
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    
+    private volatile boolean closed;
+    
+    @SuppressWarnings("unchecked")
+    /* package */ ServicePool(ActiveDescriptor<?> descriptor, Pooled configuration) {
+        if (configuration.minSize() < 0 || configuration.maxSize() < 1 ||
+                configuration.minSize() > configuration.maxSize() || configuration.idleTimeout() < 0L) {
+            throw new IllegalArgumentException("The pool configuration of " + descriptor + " is invalid: minSize=" +
+                configuration.minSize() + " maxSize=" + configuration.maxSize() + " idleTimeout=" +
+                configuration.idleTimeout());
+        }
+        
+        this.descriptor = (ActiveDescriptor<Object>) descriptor;
+        this.minSize = configuration.minSize();
+        this.maxSize = configuration.maxSize();
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(configuration.idleTimeout());
+    }
+    
+    /**
+     * Takes an idle instance from the pool, or creates one if there
+     * is none.  If the pool is at its maximum size the created instance
+     * is an overflow instance that is destroyed when it is released
+     * 
+     * @return A non-null instance that is not in use by anyone else
+     */
+    /* package */ Object borrow() {
+        if (closed) throw new IllegalStateException("The pool of " + descriptor + " has been closed");
+        
+        borrows.incrementAndGet();
+        reclaimAbandoned();
+        evict(System.nanoTime());
+        
+        IdleInstance entry = idle.pollFirst();
+        if (entry != null) {
+            track(entry.instance);
+            return entry.instance;
+        }
+        
+        int current;
+        while ((current = size.get()) < maxSize) {
+            if (!size.compareAndSet(current, current + 1)) continue;
+            
+            Object retVal;
+            try {
+                retVal = create();
+            }
+            catch (Throwable th) {
+                size.decrementAndGet();
+                throw th;
+            }
+            
+            track(retVal);
+            return retVal;
+        }
+        
+        Object retVal = create();
+        overflows.incrementAndGet();
+        
+        return retVal;
+    }
+    
+    /**
+     * Gives an instance back to the pool.  An instance that is not a
+     * borrowed pooled instance is an overflow instance, and is destroyed
+     * 
+     * @param instance The instance to give back to the pool
+     */
+    /* package */ void release(Object instance) {
+        reclaimAbandoned();
+        
+        Borrowed reference = borrowed.remove(new Borrowed(instance, null));
+        if (reference == null) {
+            // Overflow instances are not tracked
+            dispose(instance);
+            return;
+        }
+        
+        // So that it is not counted as abandoned once collected
+        reference.clear();
+        
+        if (closed) {
+            size.decrementAndGet();
+            dispose(instance);
+            return;
+        }
+        
+        long now = System.nanoTime();
+        idle.offerFirst(new IdleInstance(instance, now));
+        
+        if (closed) {
+            // Raced with close, which may have missed this instance
+            drain();
+            return;
+        }
+        
+        evict(now);
+    }
+    
+    /**
+     * Creates instances until the pool has at least minSize instances
+     */
+    /* package */ void prefill() {
+        int current;
+        while (!closed && (current = size.get()) < minSize) {
+            if (!size.compareAndSet(current, current + 1)) continue;
+            
+            Object instance;
+            try {
+                instance = create();
+            }
+            catch (Throwable th) {
+                size.decrementAndGet();
+                throw th;
+            }
+            
+            idle.offerLast(new IdleInstance(instance, System.nanoTime()));
+        }
+        
+        if (closed) drain();
+    }
+    
+    /**
+     * Destroys the instances that have been idle for longer than the
+     * idle timeout, leaving at least minSize instances in the pool
+     * 
+     * @param now The current value of {@link System#nanoTime()}
+     * @return The number of instances destroyed
+     */
+    /* package */ int evict(long now) {
+        if (idleTimeout <= 0L) return 0;
+        
+        int retVal = 0;
+        for (;;) {
+            IdleInstance oldest = idle.peekLast();
+            if (oldest == null || (now - oldest.returned) < idleTimeout) return retVal;
+            
+            int current = size.get();
+            if (current <= minSize) return retVal;
+            if (!size.compareAndSet(current, current - 1)) continue;
+            
+            if (!idle.removeLastOccurrence(oldest)) {
+                // Someone borrowed it in the meantime
+                size.incrementAndGet();
+                continue;
+            }
+            
+            evicted.incrementAndGet();
+            dispose(oldest.instance);
+            retVal++;
+        }
+    }
+    
+    /**
+     * Destroys all the idle instances.  Instances that are in use are
+     * destroyed when they are released
+     */
+    /* package */ void close() {
+        closed = true;
+        
+        drain();
+    }
+    
+    private void drain() {
+        IdleInstance entry;
+        while ((entry = idle.pollFirst()) != null) {
+            size.decrementAndGet();
+            dispose(entry.instance);
+        }
+    }
+    
+    private void track(Object instance) {
+        Borrowed reference = new Borrowed(instance, abandonedQueue);
+        borrowed.put(reference, reference);
+    }
+    
+    /**
+     * Frees the places of the borrowed instances that were garbage
+     * collected without having been released
+     */
+    private void reclaimAbandoned() {
+        Object reference;
+        while ((reference = abandonedQueue.poll()) != null) {
+            if (borrowed.remove(reference) == null) continue;
+            
+            size.decrementAndGet();
+            abandoned.incrementAndGet();
+        }
+    }
+    
+    private Object create() {
+        Object retVal = descriptor.create(null);
+        if (retVal == null) {
+            throw new IllegalStateException("The pooled service " + descriptor + " returned null from create");
+        }
+        
+        created.incrementAndGet();
+        return retVal;
+    }
+    
+    private void dispose(Object instance) {
+        destroyed.incrementAndGet();
+        
+        try {
+            descriptor.dispose(instance);
+        }
+        catch (Throwable th) {
+            Logger.getLogger().debug("ServicePool", "dispose", th);
+        }
+    }
+    
+    /* package */ PoolStatistics getStatistics() {
+        reclaimAbandoned();
+        
+        int currentSize = size.get();
+        int idleCount = idle.size();
+        double utilization = Math.min(1.0, ((double) Math.max(0, currentSize - idleCount)) / ((double) maxSize));
+        
+        return new PoolStatisticsImpl(descriptor, minSize, maxSize, currentSize, idleCount, borrowed.size(),
+                borrows.get(), created.get(), destroyed.get(), evicted.get(), overflows.get(), abandoned.get(),
+                utilization);
+    }
+    
+    @Override
+    public String toString() {
+        return "ServicePool(" + descriptor.getImplementation() + "," + minSize + "," + maxSize + "," +
+                size.get() + "," + closed + "," + System.identityHashCode(this) + ")";
+    }
+    
+    private static final class IdleInstance {
+        private final Object instance;
+        private final long returned;
+        
+        private IdleInstance(Object instance, long returned) {
+            this.instance = instance;
+            this.returned = returned;
+        }
+    }
+    
+    /**
+     * A weak reference to a borrowed instance, compared by the identity of
+     * the instance since pooled services need not have sensible equals and
+     * hashCode methods.  A cleared reference is only equal to itself
+     */
+    private static final class Borrowed extends WeakReference<Object> {
+        private final int hash;
+        
+        private Borrowed(Object instance, ReferenceQueue<Object> queue) {
+            super(instance, queue);
+            
+            hash = System.identityHashCode(instance);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof Borrowed)) return false;
+            
+            Object instance = get();
+            return instance != null && ((Borrowed) o).get() == instance;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.pooled;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Counts the instances of the pooled services that are created and destroyed
+ */
+@Singleton
+public class PoolRecorder {
+    private final Map<Class<?>, Integer> created = new HashMap<Class<?>, Integer>();
+    private final Map<Class<?>, Integer> destroyed = new HashMap<Class<?>, Integer>();
+    
+    public synchronized void created(Object instance) {
+        increment(created, instance.getClass());
+    }
+    
+    public synchronized void destroyed(Object instance) {
+        increment(destroyed, instance.getClass());
+    }
+    
+    public synchronized int getCreated(Class<?> clazz) {
+        Integer retVal = created.get(clazz);
+        return (retVal == null) ? 0 : retVal;
+    }
+    
+    public synchronized int getDestroyed(Class<?> clazz) {
+        Integer retVal = destroyed.get(clazz);
+        return (retVal == null) ? 0 : retVal;
+    }
+    
+    private static void increment(Map<Class<?>, Integer> counts, Class<?> clazz) {
+        Integer current = counts.get(clazz);
+        counts.put(clazz, (current == null) ? 1 : (current + 1));
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.pooled;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.extras.ExtrasUtilities;
+import org.glassfish.hk2.extras.pooled.PoolStatistics;
+import org.glassfish.hk2.extras.pooled.PooledServiceManager;
+import org.glassfish.hk2.tests.extras.internal.Utilities;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the Pooled scope
+ */
+public class PooledTest {
+    private static ServiceLocator createLocator(Class<?>... classes) {
+        ServiceLocator locator = Utilities.getCleanLocator(null, classes);
+        ExtrasUtilities.enablePooledScope(locator);
+        
+        // Idempotent
+        ExtrasUtilities.enablePooledScope(locator);
+        
+        return locator;
+    }
+    
+    private static PoolStatistics getStatistics(ServiceLocator locator, ServiceHandle<?> handle) {
+        return locator.getService(PooledServiceManager.class).getStatistics(handle.getActiveDescriptor());
+    }
+    
+    /**
+     * Tests that open handles get different instances and that
+     * instances are reused once their handle is closed
+     */
+    @Test // @org.junit.Ignore
+    public void testInstanceReusedAfterClose() {
+        ServiceLocator locator = createLocator(PoolRecorder.class, SmallPooledService.class);
+        
+        ServiceHandle<SmallPooledService> one = locator.getServiceHandle(SmallPooledService.class);
+        ServiceHandle<SmallPooledService> two = locator.getServiceHandle(SmallPooledService.class);
+        
+        SmallPooledService first = one.getService();
+        SmallPooledService second = two.getService();
+        Assert.assertNotSame(first, second);
+        
+        // Same handle, same instance
+        Assert.assertSame(first, one.getService());
+        
+        one.close();
+        
+        ServiceHandle<SmallPooledService> three = locator.getServiceHandle(SmallPooledService.class);
+        Assert.assertSame(first, three.getService());
+        
+        three.close();
+        two.close();
+        
+        PoolRecorder recorder = locator.getService(PoolRecorder.class);
+        Assert.assertEquals(2, recorder.getCreated(SmallPooledService.class));
+        Assert.assertEquals(0, recorder.getDestroyed(SmallPooledService.class));
+        
+        // Closing twice does not give the instance back twice
+        one.close();
+        
+        PoolStatistics statistics = getStatistics(locator, three);
+        Assert.assertEquals(2, statistics.getSize());
+        Assert.assertEquals(2, statistics.getIdleCount());
+        Assert.assertEquals(0, statistics.getActiveCount());
+        Assert.assertEquals(3L, statistics.getBorrowCount());
+        Assert.assertEquals(0.0, statistics.getUtilization(), 0.0);
+    }
+    
+    /**
+     * Tests that instances created when the pool is exhausted
+     * are destroyed rather than pooled
+     */
+    @Test // @org.junit.Ignore
+    public void testOverflowBeyondMaxSize() {
+        ServiceLocator locator = createLocator(PoolRecorder.class, SmallPooledService.class);
+        PoolRecorder recorder = locator.getService(PoolRecorder.class);
+        
+        ServiceHandle<SmallPooledService> one = locator.getServiceHandle(SmallPooledService.class);
+        ServiceHandle<SmallPooledService> two = locator.getServiceHandle(SmallPooledService.class);
+        ServiceHandle<SmallPooledService> three = locator.getServiceHandle(SmallPooledService.class);
+        
+        Assert.assertNotSame(one.getService(), two.getService());
+        Assert.assertNotSame(one.getService(), three.getService());
+        Assert.assertNotSame(two.getService(), three.getService());
+        
+        PoolStatistics statistics = getStatistics(locator, one);
+        Assert.assertEquals(2, statistics.getMaxSize());
+        Assert.assertEquals(2, statistics.getSize());
+        Assert.assertEquals(2, statistics.getActiveCount());
+        Assert.assertEquals(1L, statistics.getOverflowCount());
+        Assert.assertEquals(1.0, statistics.getUtilization(), 0.0);
+        
+        three.close();
+        Assert.assertEquals(1, recorder.getDestroyed(SmallPooledService.class));
+        
+        one.close();
+        two.close();
+        Assert.assertEquals(1, recorder.getDestroyed(SmallPooledService.class));
+        
+        statistics = getStatistics(locator, one);
+        Assert.assertEquals(2, statistics.getIdleCount());
+        Assert.assertEquals(3L, statistics.getCreatedCount());
+        Assert.assertEquals(1L, statistics.getDestroyedCount());
+    }
+    
+    /**
+     * Tests that instances looked up without a handle, which are never
+     * given back, do not grow the pool and free their places once collected
+     */
+    @Test // @org.junit.Ignore
+    public void testLookupsWithoutHandleDoNotGrowPool() throws InterruptedException {
+        ServiceLocator locator = createLocator(PoolRecorder.class, SmallPooledService.class);
+        PooledServiceManager manager = locator.getService(PooledServiceManager.class);
+        
+        for (int lcv = 0; lcv < 1000; lcv++) {
+            Assert.assertNotNull(locator.getService(SmallPooledService.class));
+        }
+        
+        ActiveDescriptor<?> descriptor = locator.getBestDescriptor(
+                BuilderHelper.createContractFilter(SmallPooledService.class.getName()));
+        
+        PoolStatistics statistics = manager.getStatistics(descriptor);
+        Assert.assertTrue(statistics.toString(), statistics.getSize() <= 2);
+        Assert.assertTrue(statistics.toString(), statistics.getActiveCount() <= 2);
+        
+        long deadline = System.currentTimeMillis() + 20000L;
+        while (statistics.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10L);
+            
+            statistics = manager.getStatistics(descriptor);
+        }
+        
+        Assert.assertEquals(statistics.toString(), 0, statistics.getActiveCount());
+        Assert.assertEquals(statistics.toString(), 0, statistics.getSize());
+        Assert.assertTrue(statistics.toString(), statistics.getAbandonedCount() >= 2L);
+        
+        // The freed places are used again
+        ServiceHandle<SmallPooledService> handle = locator.getServiceHandle(SmallPooledService.class);
+        handle.getService();
+        handle.close();
+        
+        statistics = manager.getStatistics(descriptor);
+        Assert.assertEquals(1, statistics.getSize());
+        Assert.assertEquals(1, statistics.getIdleCount());
+    }
+    
+    /**
+     * Tests that a pool with prefill set is filled to its
+     * minimum size on first use, and that the manager can
+     * fill a pool before it is used
+     */
+    @Test // @org.junit.Ignore
+    public void testPrefill() {
+        ServiceLocator locator = createLocator(PoolRecorder.class, PrefilledPooledService.class,
+                EvictingPooledService.class);
+        PoolRecorder recorder = locator.getService(PoolRecorder.class);
+        PooledServiceManager manager = locator.getService(PooledServiceManager.class);
+        
+        ServiceHandle<PrefilledPooledService> handle = locator.getServiceHandle(PrefilledPooledService.class);
+        handle.getService();
+        
+        Assert.assertEquals(3, recorder.getCreated(PrefilledPooledService.class));
+        
+        PoolStatistics statistics = getStatistics(locator, handle);
+        Assert.assertEquals(3, statistics.getSize());
+        Assert.assertEquals(2, statistics.getIdleCount());
+        Assert.assertEquals(1, statistics.getActiveCount());
+        
+        handle.close();
+        
+        ActiveDescriptor<?> evicting = locator.getBestDescriptor(
+                BuilderHelper.createContractFilter(EvictingPooledService.class.getName()));
+        Assert.assertNull(manager.getStatistics(evicting));
+        
+        manager.prefill(evicting);
+        
+        Assert.assertEquals(1, recorder.getCreated(EvictingPooledService.class));
+        Assert.assertEquals(1, manager.getStatistics(evicting).getIdleCount());
+        Assert.assertEquals(2, manager.getAllStatistics().size());
+    }
+    
+    /**
+     * Tests that instances idle for longer than the idle timeout
+     * are evicted, down to the minimum size of the pool
+     */
+    @Test // @org.junit.Ignore
+    public void testIdleEviction() throws InterruptedException {
+        ServiceLocator locator = createLocator(PoolRecorder.class, EvictingPooledService.class);
+        PoolRecorder recorder = locator.getService(PoolRecorder.class);
+        PooledServiceManager manager = locator.getService(PooledServiceManager.class);
+        
+        ServiceHandle<EvictingPooledService> one = locator.getServiceHandle(EvictingPooledService.class);
+        ServiceHandle<EvictingPooledService> two = locator.getServiceHandle(EvictingPooledService.class);
+        ServiceHandle<EvictingPooledService> three = locator.getServiceHandle(EvictingPooledService.class);
+        
+        one.getService();
+        two.getService();
+        three.getService();
+        
+        one.close();
+        two.close();
+        three.close();
+        
+        Assert.assertEquals(0, manager.evictIdle());
+        
+        Thread.sleep(600L);
+        
+        Assert.assertEquals(2, manager.evictIdle());
+        Assert.assertEquals(2, recorder.getDestroyed(EvictingPooledService.class));
+        
+        PoolStatistics statistics = getStatistics(locator, one);
+        Assert.assertEquals(1, statistics.getSize());
+        Assert.assertEquals(2L, statistics.getEvictedCount());
+        
+        // Never below the minimum size
+        Thread.sleep(600L);
+        Assert.assertEquals(0, manager.evictIdle());
+    }
+    
+    /**
+     * Tests that shutting down the locator destroys idle instances
+     */
+    @Test // @org.junit.Ignore
+    public void testShutdownDestroysIdleInstances() {
+        ServiceLocator locator = createLocator(PoolRecorder.class, SmallPooledService.class);
+        PoolRecorder recorder = locator.getService(PoolRecorder.class);
+        
+        ServiceHandle<SmallPooledService> one = locator.getServiceHandle(SmallPooledService.class);
+        ServiceHandle<SmallPooledService> two = locator.getServiceHandle(SmallPooledService.class);
+        
+        one.getService();
+        two.getService();
+        
+        one.close();
+        
+        locator.shutdown();
+        
+        Assert.assertEquals(1, recorder.getDestroyed(SmallPooledService.class));
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -52,6 +53,37 @@ public interface ServiceLocatorRuntimeBean {
      */
     public int getNumberOfChildren();
     
+    /**
+     * Returns the number of lookups of a named service
+     * of a specific contract that found at least one
+     * descriptor in the contract and name index of this
+     * ServiceLocator.  Does not include lookups in the
+     * parent locator
+     * 
+     * @return The number of contract and name index hits
+     * since this ServiceLocator was created,
+     * or zero if this ServiceLocator does not count them,
+     * which is the case for the default implementation
+     */
+    public default long getContractAndNameIndexHits() {
+        return 0L;
+    }
+    
+    /**
+     * Returns the number of lookups of a named service
+     * of a specific contract that found no descriptors
+     * in the contract and name index of this ServiceLocator.
+     * Does not include lookups in the parent locator
+     * 
+     * @return The number of contract and name index misses
+     * since this ServiceLocator was created,
+     * or zero if this ServiceLocator does not count them,
+     * which is the case for the default implementation
+     */
+    public default long getContractAndNameIndexMisses() {
+        return 0L;
+    }
+    
     /**
      * Returns the current size of the HK2 service
      * cache.  The service cache is used to optimize
@@ -73,6 +105,91 @@ public interface ServiceLocatorRuntimeBean {
      */
     public int getServiceCacheMaximumSize();
     
+    /**
+     * Sets the maximum number of entries allowed
+     * in the HK2 service cache of this ServiceLocator.
+     * The default is taken from the system property
+     * org.jvnet.hk2.properties.service.cache.size, or
+     * is 20000 if that property is not set.  If the
+     * service cache is adaptive it will continue to grow
+     * or shrink from this new size
+     * 
+     * @param maxSize The maximum number of entries
+     * allowed in the HK2 service cache.  Must be greater
+     * than zero
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setServiceCacheMaximumSize(int maxSize) {
+        throw new UnsupportedOperationException();
+    }
+    
+    /**
+     * Tells whether the maximum size of the HK2 service
+     * cache is adjusted based on how well the cache is doing.
+     * An adaptive cache grows when entries are being evicted
+     * while the hit rate is low and shrinks when it is mostly
+     * empty.  The default is taken from the system property
+     * org.jvnet.hk2.properties.service.cache.adaptive, or
+     * is false if that property is not set
+     * 
+     * @return true if the HK2 service cache is adaptive,
+     * which is never the case for the default implementation
+     */
+    public default boolean isServiceCacheAdaptive() {
+        return false;
+    }
+    
+    /**
+     * Sets whether the maximum size of the HK2 service
+     * cache is adjusted based on how well the cache is doing
+     * 
+     * @param adaptive true if the HK2 service cache should
+     * be adaptive
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setServiceCacheAdaptive(boolean adaptive) {
+        throw new UnsupportedOperationException();
+    }
+    
+    /**
+     * Returns the number of lookups that were found in the
+     * HK2 service cache since it was last cleared
+     * 
+     * @return The number of HK2 service cache hits,
+     * or zero if the cache does not count them, which is
+     * the case for the default implementation
+     */
+    public default long getServiceCacheHits() {
+        return 0L;
+    }
+    
+    /**
+     * Returns the number of lookups that were not found in
+     * the HK2 service cache since it was last cleared
+     * 
+     * @return The number of HK2 service cache misses,
+     * or zero if the cache does not count them, which is
+     * the case for the default implementation
+     */
+    public default long getServiceCacheMisses() {
+        return 0L;
+    }
+    
+    /**
+     * Returns the number of entries that have been pushed
+     * out of the HK2 service cache to make room for other
+     * entries since it was last cleared
+     * 
+     * @return The number of HK2 service cache evictions,
+     * or zero if the cache does not count them, which is
+     * the case for the default implementation
+     */
+    public default long getServiceCacheEvictions() {
+        return 0L;
+    }
+    
     /**
      * Clears all entries from the HK2 service cache.
      * The service cache is used to optimize frequent
@@ -102,5 +219,163 @@ public interface ServiceLocatorRuntimeBean {
      * until the cache can be built back up
      */
     public void clearReflectionCache();
+    
+    /**
+     * Tells whether the Populator of this ServiceLocator
+     * parses and post-processes descriptor files in parallel.
+     * The descriptors are bound in the same order either way.
+     * The default is taken from the system property
+     * org.jvnet.hk2.properties.populator.parallel, or
+     * is false if that property is not set
+     * 
+     * @return true if descriptor files are populated
+     * in parallel,
+     * which is never the case for the default implementation
+     */
+    public default boolean isParallelPopulation() {
+        return false;
+    }
+    
+    /**
+     * Sets whether the Populator of this ServiceLocator
+     * parses and post-processes descriptor files in parallel.
+     * When true any PopulatorPostProcessor given to the
+     * Populator must be thread-safe
+     * 
+     * @param parallel true if descriptor files should
+     * be populated in parallel
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setParallelPopulation(boolean parallel) {
+        throw new UnsupportedOperationException();
+    }
+    
+    /**
+     * Tells whether the results of validating lookups are
+     * remembered.  When remembered, each ValidationService is
+     * only asked once about a given candidate and injectee, until
+     * the configuration of this ServiceLocator or of one of its
+     * parents changes.  This should only be turned on when the
+     * validators depend on nothing but the candidate and the
+     * injectee, and not on the filter or the caller.  The
+     * default is taken from the system property
+     * org.jvnet.hk2.properties.validation.cache, or
+     * is false if that property is not set
+     * 
+     * @return true if the results of lookup validations
+     * are remembered,
+     * which is never the case for the default implementation
+     */
+    public default boolean isValidationCacheEnabled() {
+        return false;
+    }
+    
+    /**
+     * Sets whether the results of validating lookups are
+     * remembered.  Any remembered results are forgotten
+     * 
+     * @param enabled true if the results of lookup
+     * validations should be remembered
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setValidationCacheEnabled(boolean enabled) {
+        throw new UnsupportedOperationException();
+    }
+    
+    /**
+     * Tells whether services with method interceptors are
+     * created as instances of hidden classes that only override
+     * the intercepted methods and call the interceptors without
+     * reflection.  When false, or when no such class can be
+     * defined for a service, javassist proxies are used.  The
+     * default is taken from the system property
+     * org.jvnet.hk2.properties.interception.hiddenClasses, or
+     * is false if that property is not set
+     * 
+     * @return true if intercepted services are instances
+     * of hidden classes,
+     * which is never the case for the default implementation
+     */
+    public default boolean isHiddenClassInterception() {
+        return false;
+    }
+    
+    /**
+     * Sets whether services with method interceptors are
+     * created as instances of hidden classes.  Only affects
+     * services created after this call
+     * 
+     * @param hiddenClassInterception true if intercepted
+     * services should be instances of hidden classes
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setHiddenClassInterception(boolean hiddenClassInterception) {
+        throw new UnsupportedOperationException();
+    }
+    
+    /**
+     * Tells whether the Singleton services of this ServiceLocator
+     * are destroyed in parallel when it is shut down.  Services
+     * that inject each other are still destroyed in order, the
+     * service doing the injecting first.  The default is taken
+     * from the system property org.jvnet.hk2.properties.shutdown.parallel,
+     * or is false if that property is not set
+     * 
+     * @return true if Singleton services are destroyed in parallel,
+     * which is never the case for the default implementation
+     */
+    public default boolean isParallelShutdown() {
+        return false;
+    }
+    
+    /**
+     * Sets whether the Singleton services of this ServiceLocator
+     * are destroyed in parallel when it is shut down.  Only the
+     * injection points of the services, including those of the
+     * PerLookup services they inject and the services given by
+     * injected Providers, are used to order them.  A service that
+     * gets another service in some other way, such as from the
+     * ServiceLocator, may find it destroyed in its PreDestroy method
+     * 
+     * @param parallelShutdown true if Singleton services should
+     * be destroyed in parallel
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setParallelShutdown(boolean parallelShutdown) {
+        throw new UnsupportedOperationException();
+    }
+    
+    /**
+     * Gets the number of milliseconds a parallel shutdown waits
+     * for the Singleton services to be destroyed.  The default is
+     * taken from the system property org.jvnet.hk2.properties.shutdown.timeout,
+     * or is zero if that property is not set
+     * 
+     * @return The number of milliseconds to wait, or zero if
+     * the shutdown waits for as long as it takes, which is
+     * the case for the default implementation
+     */
+    public default long getShutdownTimeout() {
+        return 0L;
+    }
+    
+    /**
+     * Sets the number of milliseconds a parallel shutdown waits
+     * for the Singleton services to be destroyed.  Services whose
+     * destruction has not started when the time is up are not
+     * destroyed at all, and are logged as a warning
+     * 
+     * @param shutdownTimeout The number of milliseconds to wait,
+     * or zero to wait for as long as it takes.  May not be negative
+     * @throws UnsupportedOperationException if this ServiceLocator
+     * cannot be changed, which is the case for the default implementation
+     */
+    public default void setShutdownTimeout(long shutdownTimeout) {
+        throw new UnsupportedOperationException();
+    }
 
 }
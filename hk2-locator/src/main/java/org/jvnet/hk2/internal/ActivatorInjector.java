@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceActivator;
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+/**
+ * Finds and calls the {@link ServiceActivator}s written at build time by
+ * the hk2-metadata-generator.  When a service class has an activator
+ * {@link ClazzCreator} uses it to construct and inject the service with
+ * plain java calls, and only uses method handles or reflection for
+ * the members the activator does not know about
+ * <p>
+ * An activator is only looked for when the descriptor of the service has the
+ * {@link ServiceActivator#ACTIVATOR_METADATA_KEY} metadata written by the
+ * generator, so that services without an activator never cost a class loader
+ * search.  The result of the search is kept per service class.  If the system
+ * property {@link #USE_ACTIVATORS_PROPERTY} is false activators are not used
+ */
+public class ActivatorInjector {
+    /* package */ final static String USE_ACTIVATORS_PROPERTY = "org.jvnet.hk2.properties.injection.activators";
+    private final static boolean USE_ACTIVATORS = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(USE_ACTIVATORS_PROPERTY, "true"));
+        }
+
+    });
+
+    /** Stands for a class whose activator could not be loaded */
+    private final static Object NO_ACTIVATOR = new Object();
+
+    private final static ClassValue<Object> ACTIVATORS = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> implClass) {
+            ServiceActivator<Object> activator = loadActivator(implClass);
+            return (activator == null) ? NO_ACTIVATOR : activator;
+        }
+
+    };
+
+    private ActivatorInjector() {
+    }
+
+    /**
+     * Finds the activator of the given class
+     *
+     * @param implClass The non-null service class
+     * @param descriptor The descriptor of the service, which names the activator
+     * in its metadata if one was generated.  May be null
+     * @return The activator of the class, or null if the class has
+     * no activator or activators are not in use
+     */
+    @SuppressWarnings("unchecked")
+    /* package */ static ServiceActivator<Object> getActivator(Class<?> implClass, ActiveDescriptor<?> descriptor) {
+        if (!USE_ACTIVATORS || descriptor == null) return null;
+
+        List<String> activatorNames = descriptor.getMetadata().get(ServiceActivator.ACTIVATOR_METADATA_KEY);
+        if (activatorNames == null || activatorNames.isEmpty()) return null;
+
+        // Only the activator of the class itself is ever loaded
+        if (!activatorNames.get(0).equals(implClass.getName() + ServiceActivator.CLASS_NAME_SUFFIX)) return null;
+
+        Object retVal = ACTIVATORS.get(implClass);
+        if (retVal == NO_ACTIVATOR) return null;
+
+        return (ServiceActivator<Object>) retVal;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ServiceActivator<Object> loadActivator(final Class<?> implClass) {
+        final ClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
+            @Override
+            public ClassLoader run() {
+                return implClass.getClassLoader();
+            }
+        });
+        if (loader == null) return null;
+
+        Class<?> activatorClass;
+        try {
+            activatorClass = Class.forName(implClass.getName() + ServiceActivator.CLASS_NAME_SUFFIX, false, loader);
+        }
+        catch (Throwable th) {
+            // The metadata named an activator that is not there
+            Logger.getLogger().debug("ActivatorInjector", "loadActivator", th);
+            return null;
+        }
+
+        if (!ServiceActivator.class.isAssignableFrom(activatorClass)) return null;
+
+        try {
+            return (ServiceActivator<Object>) activatorClass.getConstructor().newInstance();
+        }
+        catch (Throwable th) {
+            Logger.getLogger().debug("ActivatorInjector", "loadActivator", th);
+            return null;
+        }
+    }
+
+    /**
+     * Calls {@link ServiceActivator#create(int, Object[])}
+     *
+     * @param activator The non-null activator
+     * @param index The index of the constructor
+     * @param args The arguments of the constructor
+     * @param neutralCCL true if the context class loader should be the same
+     * after the call as it was before it
+     * @return The newly constructed object
+     * @throws Throwable Whatever the constructor throws
+     */
+    /* package */ static Object construct(ServiceActivator<Object> activator, int index, Object args[],
+            boolean neutralCCL) throws Throwable {
+        if (!neutralCCL) return activator.create(index, args);
+
+        ClassLoader currentCCL = MethodHandleInjector.getCurrentContextClassLoader();
+        try {
+            return activator.create(index, args);
+        }
+        finally {
+            MethodHandleInjector.restoreContextClassLoader(currentCCL);
+        }
+    }
+
+    /**
+     * Calls {@link ServiceActivator#invoke(Object, int, Object[])}
+     *
+     * @param activator The non-null activator
+     * @param o The object on which to call the method
+     * @param index The index of the method
+     * @param args The arguments of the method
+     * @param neutralCCL true if the context class loader should be the same
+     * after the call as it was before it
+     * @throws Throwable Whatever the method throws
+     */
+    /* package */ static void invoke(ServiceActivator<Object> activator, Object o, int index, Object args[],
+            boolean neutralCCL) throws Throwable {
+        if (!neutralCCL) {
+            activator.invoke(o, index, args);
+            return;
+        }
+
+        ClassLoader currentCCL = MethodHandleInjector.getCurrentContextClassLoader();
+        try {
+            activator.invoke(o, index, args);
+        }
+        finally {
+            MethodHandleInjector.restoreContextClassLoader(currentCCL);
+        }
+    }
+
+    /**
+     * Calls {@link ServiceActivator#setField(Object, int, Object)}
+     *
+     * @param activator The non-null activator
+     * @param o The object whose field should be set
+     * @param index The index of the field
+     * @param value The value to set the field to
+     * @throws IllegalArgumentException If the value is not of the type of the field
+     */
+    /* package */ static void set(ServiceActivator<Object> activator, Object o, int index, Object value) {
+        try {
+            activator.setField(o, index, value);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            // Reflection reports these as an IllegalArgumentException
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
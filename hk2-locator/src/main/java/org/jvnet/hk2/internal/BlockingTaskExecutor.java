@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads on which the locator runs work that may block, such as the
+ * PreDestroy methods of a parallel shutdown or the reading of descriptor
+ * files in a parallel population.  Unlike the common fork-join pool a
+ * blocked task never keeps another one from starting, and each task runs
+ * with the context class loader and the access control context of the
+ * thread that asked for it, as it would have had it been run on that thread
+ */
+/* package */ final class BlockingTaskExecutor {
+    private final static AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final static Executor EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            60L, TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new BlockingTaskThreadFactory());
+
+    private BlockingTaskExecutor() {
+    }
+
+    /**
+     * Runs the given task on another thread, with the given context
+     * class loader set and under the given access control context
+     *
+     * @param task The non-null task to run
+     * @param loader The context class loader of the task, may be null
+     * @param acc The non-null access control context of the task
+     * @throws java.util.concurrent.RejectedExecutionException if
+     * no thread could be started for the task
+     */
+    /* package */ static void execute(final Runnable task, final ClassLoader loader, final AccessControlContext acc) {
+        EXECUTOR.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                Thread current = Thread.currentThread();
+                ClassLoader original = current.getContextClassLoader();
+
+                setContextClassLoader(current, loader);
+                try {
+                    AccessController.doPrivileged(new PrivilegedAction<Void>() {
+
+                        @Override
+                        public Void run() {
+                            task.run();
+                            return null;
+                        }
+
+                    }, acc);
+                }
+                finally {
+                    setContextClassLoader(current, original);
+                }
+            }
+
+        });
+    }
+
+    private static void setContextClassLoader(final Thread thread, final ClassLoader loader) {
+        if (thread.getContextClassLoader() == loader) return;
+
+        AccessController.doPrivileged(new PrivilegedAction<Void>() {
+
+            @Override
+            public Void run() {
+                thread.setContextClassLoader(loader);
+                return null;
+            }
+
+        });
+    }
+
+    private static class BlockingTaskThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Hk2BlockingTask-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
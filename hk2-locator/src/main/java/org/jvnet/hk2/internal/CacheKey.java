@@ -170,6 +170,18 @@ public class CacheKey {
         return removalName.equals(name);
     }
     
+    /**
+     * The name of the contract this CacheKey is associated
+     * with, used to index the cache by contract
+     * 
+     * @return The name of the raw class of the lookup type,
+     * or null if this CacheKey is not associated with any
+     * contract
+     */
+    public String getRemovalName() {
+        return removalName;
+    }
+    
     public String toString() {
         return "CacheKey(" + Pretty.type(lookupType) + "," + name + "," +
             ((qualifiers == null) ? 0 : qualifiers.length) + "," +
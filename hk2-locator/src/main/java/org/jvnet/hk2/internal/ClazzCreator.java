@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,7 @@
 
 package org.jvnet.hk2.internal;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -38,6 +40,7 @@ import org.glassfish.hk2.api.InstanceLifecycleEventType;
 import org.glassfish.hk2.api.MultiException;
 import org.glassfish.hk2.api.PostConstruct;
 import org.glassfish.hk2.api.PreDestroy;
+import org.glassfish.hk2.api.ServiceActivator;
 import org.glassfish.hk2.api.ServiceHandle;
 import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
 
@@ -61,6 +64,15 @@ public class ClazzCreator<T> implements Creator<T> {
     private Method postConstructMethod;
     private Method preDestroyMethod;
 
+    // Null if the method is not there or if it must be called with reflection
+    private MethodHandle postConstructHandle;
+    private MethodHandle preDestroyHandle;
+
+    // Null if no activator was generated for the class
+    private ServiceActivator<Object> activator;
+    private int postConstructIndex = -1;
+    private int preDestroyIndex = -1;
+
     /* package */ ClazzCreator(ServiceLocatorImpl locator,
             Class<?> implClass) {
         this.locator = locator;
@@ -157,6 +169,81 @@ public class ClazzCreator<T> implements Creator<T> {
         allInjectees = Collections.unmodifiableList(baseAllInjectees);
 
         Utilities.validateSelfInjectees(selfDescriptor, allInjectees, collector);
+
+        if (collector.hasErrors()) return;
+
+        activator = ActivatorInjector.getActivator(implClass, selfDescriptor);
+        if (activator != null) {
+            findActivatorIndexes();
+        }
+
+        if (MethodHandleInjector.isEnabled()) {
+            createHandles();
+        }
+    }
+
+    /**
+     * Gets the index of every member the generated activator
+     * of the class can call
+     */
+    private void findActivatorIndexes() {
+        myConstructor.activatorIndex = activator.getConstructorIndex((Constructor<?>) myConstructor.baseElement);
+
+        for (ResolutionInfo ri : superFields) {
+            ri.activatorIndex = activator.getFieldIndex((Field) ri.baseElement);
+        }
+        for (ResolutionInfo ri : myFields) {
+            ri.activatorIndex = activator.getFieldIndex((Field) ri.baseElement);
+        }
+        for (ResolutionInfo ri : superInitializers) {
+            ri.activatorIndex = activator.getMethodIndex((Method) ri.baseElement);
+        }
+        for (ResolutionInfo ri : myInitializers) {
+            ri.activatorIndex = activator.getMethodIndex((Method) ri.baseElement);
+        }
+
+        if (postConstructMethod != null) {
+            postConstructIndex = activator.getMethodIndex(postConstructMethod);
+        }
+        if (preDestroyMethod != null) {
+            preDestroyIndex = activator.getMethodIndex(preDestroyMethod);
+        }
+    }
+
+    /**
+     * Creates the handles used to construct and inject the service
+     * rather than reflection.  Any member for which a handle cannot
+     * be created is still called with reflection.  Members that the
+     * activator can call do not need a handle
+     */
+    private void createHandles() {
+        if (myConstructor.activatorIndex < 0) {
+            myConstructor.handle = MethodHandleInjector.constructorHandle((Constructor<?>) myConstructor.baseElement);
+        }
+
+        for (ResolutionInfo ri : superFields) {
+            if (ri.activatorIndex >= 0) continue;
+            ri.handle = MethodHandleInjector.setterHandle((Field) ri.baseElement);
+        }
+        for (ResolutionInfo ri : myFields) {
+            if (ri.activatorIndex >= 0) continue;
+            ri.handle = MethodHandleInjector.setterHandle((Field) ri.baseElement);
+        }
+        for (ResolutionInfo ri : superInitializers) {
+            if (ri.activatorIndex >= 0) continue;
+            ri.handle = MethodHandleInjector.methodHandle((Method) ri.baseElement);
+        }
+        for (ResolutionInfo ri : myInitializers) {
+            if (ri.activatorIndex >= 0) continue;
+            ri.handle = MethodHandleInjector.methodHandle((Method) ri.baseElement);
+        }
+
+        if (postConstructMethod != null && postConstructIndex < 0 && !PostConstruct.class.isAssignableFrom(implClass)) {
+            postConstructHandle = MethodHandleInjector.methodHandle(postConstructMethod);
+        }
+        if (preDestroyMethod != null && preDestroyIndex < 0 && !PreDestroy.class.isAssignableFrom(implClass)) {
+            preDestroyHandle = MethodHandleInjector.methodHandle(preDestroyMethod);
+        }
     }
 
     /* package */ void initialize(
@@ -268,6 +355,15 @@ public class ClazzCreator<T> implements Creator<T> {
         if ((methodInterceptors == null || methodInterceptors.isEmpty()) &&
             ((constructorInterceptors == null) || constructorInterceptors.isEmpty())) {
             // No need for any kind of interception
+            if (myConstructor.activatorIndex >= 0) {
+                return ActivatorInjector.construct(activator, myConstructor.activatorIndex, args,
+                        locator.getNeutralContextClassLoader());
+            }
+
+            if (myConstructor.handle != null) {
+                return MethodHandleInjector.construct(myConstructor.handle, args, locator.getNeutralContextClassLoader());
+            }
+
             return ReflectionHelper.makeMe(c, args, locator.getNeutralContextClassLoader()); 
         }
         
@@ -282,11 +378,19 @@ public class ClazzCreator<T> implements Creator<T> {
             return ConstructorInterceptorHandler.construct(c, args, neutral, constructorInterceptors);
         }
         
+        ConstructorAction action;
+        if (locator.isHiddenClassInterception()) {
+            action = new HiddenClassConstructorAction<T>(this, methodInterceptors);
+        }
+        else {
+            action = new ConstructorActionImpl<T>(this, methodInterceptors);
+        }
+        
         return ConstructorInterceptorHandler.construct(c,
                 args,
                 neutral,
                 constructorInterceptors,
-                new ConstructorActionImpl<T>(this, methodInterceptors));
+                action);
     }
 
     private void fieldMe(Map<SystemInjecteeImpl, Object> resolved, T t) throws Throwable {
@@ -301,6 +405,16 @@ public class ClazzCreator<T> implements Creator<T> {
 
             Object putMeIn = resolved.get(fieldInjectee);
 
+            if (ri.activatorIndex >= 0) {
+                ActivatorInjector.set(activator, t, ri.activatorIndex, putMeIn);
+                continue;
+            }
+
+            if (ri.handle != null) {
+                MethodHandleInjector.set(ri.handle, t, putMeIn);
+                continue;
+            }
+
             ReflectionHelper.setField(field, t, putMeIn);
         }
     }
@@ -317,6 +431,16 @@ public class ClazzCreator<T> implements Creator<T> {
 
             Object putMeIn = resolved.get(fieldInjectee);
 
+            if (ri.activatorIndex >= 0) {
+                ActivatorInjector.set(activator, t, ri.activatorIndex, putMeIn);
+                continue;
+            }
+
+            if (ri.handle != null) {
+                MethodHandleInjector.set(ri.handle, t, putMeIn);
+                continue;
+            }
+
             ReflectionHelper.setField(field, t, putMeIn);
         }
     }
@@ -331,6 +455,16 @@ public class ClazzCreator<T> implements Creator<T> {
                 args[injectee.getPosition()] = resolved.get(injectee);
             }
 
+            if (ri.activatorIndex >= 0) {
+                ActivatorInjector.invoke(activator, t, ri.activatorIndex, args, locator.getNeutralContextClassLoader());
+                continue;
+            }
+
+            if (ri.handle != null) {
+                MethodHandleInjector.invoke(ri.handle, t, args, locator.getNeutralContextClassLoader());
+                continue;
+            }
+
             ReflectionHelper.invoke(t, m, args, locator.getNeutralContextClassLoader());
         }
     }
@@ -345,6 +479,16 @@ public class ClazzCreator<T> implements Creator<T> {
                 args[injectee.getPosition()] = resolved.get(injectee);
             }
 
+            if (ri.activatorIndex >= 0) {
+                ActivatorInjector.invoke(activator, t, ri.activatorIndex, args, locator.getNeutralContextClassLoader());
+                continue;
+            }
+
+            if (ri.handle != null) {
+                MethodHandleInjector.invoke(ri.handle, t, args, locator.getNeutralContextClassLoader());
+                continue;
+            }
+
             ReflectionHelper.invoke(t, m, args, locator.getNeutralContextClassLoader());
         }
     }
@@ -359,6 +503,16 @@ public class ClazzCreator<T> implements Creator<T> {
 
         if (postConstructMethod == null) return;
 
+        if (postConstructIndex >= 0) {
+            ActivatorInjector.invoke(activator, t, postConstructIndex, new Object[0], locator.getNeutralContextClassLoader());
+            return;
+        }
+
+        if (postConstructHandle != null) {
+            MethodHandleInjector.invoke(postConstructHandle, t, new Object[0], locator.getNeutralContextClassLoader());
+            return;
+        }
+
         ReflectionHelper.invoke(t, postConstructMethod, new Object[0], locator.getNeutralContextClassLoader());
     }
 
@@ -372,6 +526,16 @@ public class ClazzCreator<T> implements Creator<T> {
 
         if (preDestroyMethod == null) return;
 
+        if (preDestroyIndex >= 0) {
+            ActivatorInjector.invoke(activator, t, preDestroyIndex, new Object[0], locator.getNeutralContextClassLoader());
+            return;
+        }
+
+        if (preDestroyHandle != null) {
+            MethodHandleInjector.invoke(preDestroyHandle, t, new Object[0], locator.getNeutralContextClassLoader());
+            return;
+        }
+
         ReflectionHelper.invoke(t, preDestroyMethod, new Object[0], locator.getNeutralContextClassLoader());
     }
 
@@ -476,6 +640,12 @@ public class ClazzCreator<T> implements Creator<T> {
         private final AnnotatedElement baseElement;
         private final List<SystemInjecteeImpl> injectees = new LinkedList<SystemInjecteeImpl>();
 
+        // Null if the element must be called with reflection
+        private MethodHandle handle;
+
+        // -1 if the element cannot be called by the activator
+        private int activatorIndex = -1;
+
         private ResolutionInfo(AnnotatedElement baseElement, List<SystemInjecteeImpl> injectees) {
             this.baseElement = baseElement;
             this.injectees.addAll(injectees);
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+/**
+ * The key of the index of descriptors by advertised contract
+ * and name, which is used for the very common lookup of a
+ * named service of a specific type
+ */
+public class ContractAndNameKey {
+    private final String contract;
+    private final String name;
+    
+    /** Pre-calculated in order to improve hashMap lookups */
+    private final int hashCode;
+    
+    /**
+     * Creates the key
+     * 
+     * @param contract The advertised contract, may not be null
+     * @param name The name, may not be null
+     */
+    public ContractAndNameKey(String contract, String name) {
+        this.contract = contract;
+        this.name = name;
+        
+        hashCode = (31 * contract.hashCode()) + name.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof ContractAndNameKey)) return false;
+        
+        ContractAndNameKey other = (ContractAndNameKey) o;
+        
+        return (hashCode == other.hashCode) &&
+                contract.equals(other.contract) &&
+                name.equals(other.name);
+    }
+    
+    @Override
+    public String toString() {
+        return "ContractAndNameKey(" + contract + "," + name + "," + System.identityHashCode(this) + ")";
+    }
+}
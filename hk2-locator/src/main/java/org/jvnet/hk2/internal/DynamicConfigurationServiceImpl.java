@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -32,7 +33,7 @@ import org.glassfish.hk2.api.ServiceLocator;
 public class DynamicConfigurationServiceImpl implements
         DynamicConfigurationService {
     private final ServiceLocatorImpl locator;
-    private final Populator populator;
+    private final PopulatorImpl populator;
     
     @Inject
     private DynamicConfigurationServiceImpl(ServiceLocator locator) {
@@ -52,5 +53,9 @@ public class DynamicConfigurationServiceImpl implements
     public Populator getPopulator() {
         return populator;
     }
+    
+    /* package */ PopulatorImpl getPopulatorImpl() {
+        return populator;
+    }
 
 }
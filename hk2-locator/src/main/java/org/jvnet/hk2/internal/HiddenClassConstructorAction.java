@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+/**
+ * Creates services with method interceptors as instances of a subclass
+ * generated by {@link HiddenClassProxies}.  Only the intercepted methods
+ * are overridden, and each of them is linked to its interceptors when the
+ * service is created, so calling a method neither looks up its
+ * interceptors nor goes through reflection.  Falls back to
+ * {@link ConstructorActionImpl} when no subclass can be generated
+ * 
+ * @param <T> The type of the service being created
+ */
+final class HiddenClassConstructorAction<T> implements ConstructorAction {
+    private final static Object EMPTY_ARGS[] = new Object[0];
+    private final static MethodHandle LINK_INVOKE;
+    static {
+        try {
+            LINK_INVOKE = MethodHandles.lookup().findVirtual(Link.class, "invoke", HiddenClassProxies.CHAIN_TYPE);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private final ClazzCreator<T> clazzCreator;
+    private final Map<Method, List<MethodInterceptor>> methodInterceptors;
+    
+    /* package */ HiddenClassConstructorAction(ClazzCreator<T> clazzCreator,
+            Map<Method, List<MethodInterceptor>> methodInterceptors) {
+        this.clazzCreator = clazzCreator;
+        this.methodInterceptors = methodInterceptors;
+    }
+
+    @Override
+    public Object makeMe(final Constructor<?> c, final Object[] args, final boolean neutralCCL)
+            throws Throwable {
+        HiddenClassProxies.ProxyClass proxyClass = HiddenClassProxies.getProxyClass(
+                clazzCreator.getImplClass(), methodInterceptors.keySet());
+        final MethodHandle constructor = (proxyClass == null) ? null : proxyClass.getConstructor(c.getParameterTypes());
+        if (constructor == null) {
+            return new ConstructorActionImpl<T>(clazzCreator, methodInterceptors).makeMe(c, args, neutralCCL);
+        }
+        
+        final MethodInterceptorHandler handler = new MethodInterceptorHandler(
+                clazzCreator.getServiceLocator(),
+                clazzCreator.getUnderlyingDescriptor(),
+                methodInterceptors);
+        
+        List<Method> methods = proxyClass.getMethods();
+        MethodHandle chains[] = new MethodHandle[methods.size() + 1];
+        for (int lcv = 0; lcv < methods.size(); lcv++) {
+            Method method = methods.get(lcv);
+            
+            Link link = new Link(handler,
+                    method,
+                    new ArrayList<MethodInterceptor>(methodInterceptors.get(method)),
+                    proxyClass.getSuperInvoker(lcv));
+            
+            chains[lcv] = LINK_INVOKE.bindTo(link);
+        }
+        chains[methods.size()] = MethodHandles.dropArguments(
+                MethodHandles.constant(Object.class, clazzCreator.getUnderlyingDescriptor()),
+                0, HiddenClassProxies.CHAIN_TYPE.parameterList());
+        
+        final Object allArgs[] = Arrays.copyOf(args, args.length + 1);
+        allArgs[args.length] = chains;
+        
+        return AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+
+            @Override
+            public Object run() throws Exception {
+                try {
+                    return MethodHandleInjector.construct(constructor, allArgs, neutralCCL);
+                }
+                catch (Exception e) {
+                    Logger.getLogger().debug(c.getDeclaringClass().getName(), c.getName(), e);
+                    throw e;
+                }
+                catch (Throwable th) {
+                    Logger.getLogger().debug(c.getDeclaringClass().getName(), c.getName(), th);
+                    throw new RuntimeException(th);
+                }
+            }
+                
+        });
+    }
+    
+    /**
+     * One intercepted method of one service, with its interceptors
+     */
+    private static class Link {
+        private final MethodInterceptorHandler handler;
+        private final Method method;
+        private final List<MethodInterceptor> interceptors;
+        private final MethodHandle superInvoker;
+        
+        private Link(MethodInterceptorHandler handler,
+                Method method,
+                List<MethodInterceptor> interceptors,
+                MethodHandle superInvoker) {
+            this.handler = handler;
+            this.method = method;
+            this.interceptors = interceptors;
+            this.superInvoker = superInvoker;
+        }
+        
+        @SuppressWarnings("unused")
+        private Object invoke(Object self, Object args[]) throws Throwable {
+            return handler.invoke(self, method, interceptors, superInvoker, (args == null) ? EMPTY_ARGS : args);
+        }
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.hk2.api.AOPProxyCtl;
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.DuplicateMemberException;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+/**
+ * Generates the subclasses used by {@link HiddenClassConstructorAction}
+ * for services with method interceptors.  The subclass only overrides the
+ * intercepted methods, every other method is inherited as is.  An
+ * overridden method calls the {@link MethodHandle} at its index in an
+ * array given to the constructor of the subclass, passing the instance and
+ * its arguments as an Object[].  The handles are of the type
+ * {@link #CHAIN_TYPE}, and the last one is called for
+ * {@link AOPProxyCtl#__getUnderlyingDescriptor()}
+ * <p>
+ * The subclasses are defined as hidden classes in the package of the
+ * service with {@link MethodHandles.Lookup#defineHiddenClass}, and
+ * are unloaded along with the class of the service.  If a hidden class
+ * cannot be defined there an ordinary class is defined instead, and
+ * if the classloader of the service cannot see the hk2 api no subclass is
+ * generated at all.  The bytes of the subclasses are written with the
+ * bytecode API of javassist
+ */
+public class HiddenClassProxies {
+    /** The type of the handles called by the generated methods */
+    /* package */ final static MethodType CHAIN_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    
+    private final static String NAME_INFIX = "$$Hk2Intercepted";
+    private final static String CHAINS_FIELD = "__hk2_chains";
+    private final static String CHAINS_DESCRIPTOR = "[Ljava/lang/invoke/MethodHandle;";
+    private final static String CHAIN_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+    private final static String OBJECT = "java.lang.Object";
+    private final static String METHOD_HANDLE = "java.lang.invoke.MethodHandle";
+    private final static String FINALIZE = "finalize";
+    
+    private final static Method UNDERLYING_METHOD;
+    static {
+        try {
+            UNDERLYING_METHOD = AOPProxyCtl.class.getMethod(AOPProxyCtl.UNDERLYING_METHOD_NAME);
+        }
+        catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private final static Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+    
+    private final static Comparator<Method> METHOD_ORDER = new Comparator<Method>() {
+
+        @Override
+        public int compare(Method o1, Method o2) {
+            return getDescriptor(o1).compareTo(getDescriptor(o2));
+        }
+        
+    };
+    
+    private final static AtomicInteger counter = new AtomicInteger();
+    
+    /** Stands for a superclass and set of methods for which no subclass can be generated */
+    private final static ProxyClass NO_PROXY_CLASS = new ProxyClass(null, null, null, null);
+    
+    /** The subclasses of a superclass, keyed by their sorted overridden methods */
+    private final static ClassValue<ConcurrentHashMap<List<Method>, ProxyClass>> proxyClasses =
+            new ClassValue<ConcurrentHashMap<List<Method>, ProxyClass>>() {
+
+        @Override
+        protected ConcurrentHashMap<List<Method>, ProxyClass> computeValue(Class<?> superclass) {
+            return new ConcurrentHashMap<List<Method>, ProxyClass>();
+        }
+        
+    };
+    
+    private HiddenClassProxies() {
+    }
+    
+    /**
+     * Gets the subclass of the given class overriding the given methods.
+     * Methods that cannot be overridden, such as private, static or
+     * final methods, are not intercepted, just as with javassist
+     * 
+     * @param superclass The class of the service
+     * @param intercepted The methods with interceptors
+     * @return The subclass, or null if one cannot be generated
+     */
+    /* package */ static ProxyClass getProxyClass(Class<?> superclass, Collection<Method> intercepted) {
+        List<Method> methods = new ArrayList<Method>(intercepted.size());
+        Set<String> signatures = new HashSet<String>();
+        for (Method method : intercepted) {
+            if (!isOverridable(superclass, method)) continue;
+            if (!signatures.add(method.getName() + getDescriptor(method))) continue;
+            
+            methods.add(method);
+        }
+        Collections.sort(methods, METHOD_ORDER);
+        
+        ConcurrentHashMap<List<Method>, ProxyClass> cache = proxyClasses.get(superclass);
+        ProxyClass retVal = cache.get(methods);
+        if (retVal == null) {
+            retVal = generate(superclass, methods);
+            
+            ProxyClass previous = cache.putIfAbsent(methods, retVal);
+            if (previous != null) retVal = previous;
+        }
+        
+        return (retVal == NO_PROXY_CLASS) ? null : retVal;
+    }
+    
+    private static boolean isOverridable(Class<?> superclass, Method method) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers)) return false;
+        if (method.isBridge()) return false;
+        
+        // We do not allow interception of finalize
+        if (method.getName().equals(FINALIZE) && method.getParameterCount() == 0) return false;
+        
+        if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) return true;
+        
+        return method.getDeclaringClass().getPackageName().equals(superclass.getPackageName());
+    }
+    
+    private static ProxyClass generate(final Class<?> superclass, final List<Method> methods) {
+        try {
+            return AccessController.doPrivileged(new PrivilegedAction<ProxyClass>() {
+
+                @Override
+                public ProxyClass run() {
+                    try {
+                        return generateProxyClass(superclass, methods);
+                    }
+                    catch (Throwable th) {
+                        Logger.getLogger().debug("HiddenClassProxies", "generate", th);
+                        return NO_PROXY_CLASS;
+                    }
+                }
+                
+            });
+        }
+        catch (SecurityException se) {
+            Logger.getLogger().debug("HiddenClassProxies", "generate", se);
+            return NO_PROXY_CLASS;
+        }
+    }
+    
+    private static ProxyClass generateProxyClass(Class<?> superclass, List<Method> methods) throws Throwable {
+        ClassLoader loader = superclass.getClassLoader();
+        if (loader == null) return NO_PROXY_CLASS;
+        
+        // The generated class must link against the same hk2 api as this class
+        if (!AOPProxyCtl.class.equals(Class.forName(AOPProxyCtl.class.getName(), false, loader))) return NO_PROXY_CLASS;
+        
+        for (Method method : methods) {
+            if (!isAccessible(superclass, method.getReturnType())) return NO_PROXY_CLASS;
+        }
+        
+        List<Method> allMethods = new ArrayList<Method>(methods);
+        allMethods.add(UNDERLYING_METHOD);
+        
+        String name = superclass.getName() + NAME_INFIX + counter.incrementAndGet();
+        byte bytes[] = generateBytes(name, superclass, allMethods);
+        
+        MethodHandles.Lookup superLookup = MethodHandles.privateLookupIn(superclass, MethodHandles.lookup());
+        
+        MethodHandles.Lookup lookup;
+        if ((superLookup.lookupModes() & MethodHandles.Lookup.MODULE) != 0) {
+            lookup = superLookup.defineHiddenClass(bytes, true);
+        }
+        else {
+            // Hidden classes need full privilege, which we only have in our own module
+            Class<?> defined = superLookup.defineClass(bytes);
+            lookup = MethodHandles.privateLookupIn(defined, MethodHandles.lookup());
+        }
+        
+        Class<?> proxyClass = lookup.lookupClass();
+        
+        MethodHandle superInvokers[] = new MethodHandle[methods.size()];
+        for (int lcv = 0; lcv < superInvokers.length; lcv++) {
+            Method method = methods.get(lcv);
+            int numParams = method.getParameterCount();
+            
+            superInvokers[lcv] = lookup.findSpecial(superclass,
+                    method.getName(),
+                    MethodType.methodType(method.getReturnType(), method.getParameterTypes()),
+                    proxyClass).
+                    asType(MethodType.genericMethodType(numParams + 1)).
+                    asSpreader(Object[].class, numParams);
+        }
+        
+        return new ProxyClass(proxyClass, lookup, Collections.unmodifiableList(methods), superInvokers);
+    }
+    
+    private static boolean isAccessible(Class<?> superclass, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        
+        if (type.isPrimitive()) return true;
+        if (Modifier.isPublic(type.getModifiers())) return true;
+        
+        return type.getPackageName().equals(superclass.getPackageName());
+    }
+    
+    private static byte[] generateBytes(String name, Class<?> superclass, List<Method> methods)
+            throws IOException, DuplicateMemberException {
+        ClassFile cf = new ClassFile(false, name, superclass.getName());
+        cf.setMajorVersion(ClassFile.JAVA_8);
+        cf.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.SUPER | AccessFlag.SYNTHETIC);
+        cf.setInterfaces(new String[] { AOPProxyCtl.class.getName() });
+        
+        ConstPool cp = cf.getConstPool();
+        
+        FieldInfo chains = new FieldInfo(cp, CHAINS_FIELD, CHAINS_DESCRIPTOR);
+        chains.setAccessFlags(AccessFlag.PRIVATE | AccessFlag.FINAL);
+        cf.addField(chains);
+        
+        for (Constructor<?> c : superclass.getDeclaredConstructors()) {
+            if (Modifier.isPrivate(c.getModifiers())) continue;
+            
+            cf.addMethod(generateConstructor(cp, name, superclass, c.getParameterTypes()));
+        }
+        
+        for (int lcv = 0; lcv < methods.size(); lcv++) {
+            cf.addMethod(generateMethod(cp, name, methods.get(lcv), lcv));
+        }
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        cf.write(dos);
+        dos.close();
+        
+        return baos.toByteArray();
+    }
+    
+    /**
+     * Sets the chains before calling the constructor of the superclass,
+     * since that may call intercepted methods
+     */
+    private static MethodInfo generateConstructor(ConstPool cp, String name, Class<?> superclass, Class<?> params[]) {
+        StringBuilder paramDescriptors = new StringBuilder();
+        for (Class<?> param : params) {
+            paramDescriptors.append(getDescriptor(param));
+        }
+        
+        String superDescriptor = "(" + paramDescriptors + ")V";
+        String descriptor = "(" + paramDescriptors + CHAINS_DESCRIPTOR + ")V";
+        
+        MethodInfo retVal = new MethodInfo(cp, MethodInfo.nameInit, descriptor);
+        retVal.setAccessFlags(AccessFlag.PUBLIC);
+        
+        Bytecode code = new Bytecode(cp);
+        
+        int chainsSlot = 1;
+        for (Class<?> param : params) {
+            chainsSlot += getSize(param);
+        }
+        
+        code.addAload(0);
+        code.addAload(chainsSlot);
+        code.addPutfield(name, CHAINS_FIELD, CHAINS_DESCRIPTOR);
+        
+        code.addAload(0);
+        int slot = 1;
+        for (Class<?> param : params) {
+            slot += addLoad(code, param, slot);
+        }
+        code.addInvokespecial(superclass.getName(), MethodInfo.nameInit, superDescriptor);
+        code.addOpcode(Opcode.RETURN);
+        
+        code.setMaxLocals(chainsSlot + 1);
+        retVal.setCodeAttribute(code.toCodeAttribute());
+        
+        return retVal;
+    }
+    
+    private static MethodInfo generateMethod(ConstPool cp, String name, Method method, int index) {
+        MethodInfo retVal = new MethodInfo(cp, method.getName(), getDescriptor(method));
+        retVal.setAccessFlags(method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED));
+        
+        Bytecode code = new Bytecode(cp);
+        
+        code.addAload(0);
+        code.addGetfield(name, CHAINS_FIELD, CHAINS_DESCRIPTOR);
+        code.addIconst(index);
+        code.addOpcode(Opcode.AALOAD);
+        
+        code.addAload(0);
+        
+        Class<?> params[] = method.getParameterTypes();
+        int slot = 1;
+        if (params.length == 0) {
+            // Replaced by an empty array by the chain
+            code.addOpcode(Opcode.ACONST_NULL);
+        }
+        else {
+            code.addIconst(params.length);
+            code.addAnewarray(OBJECT);
+            
+            for (int lcv = 0; lcv < params.length; lcv++) {
+                code.addOpcode(Opcode.DUP);
+                code.addIconst(lcv);
+                
+                slot += addLoad(code, params[lcv], slot);
+                
+                Class<?> wrapper = WRAPPERS.get(params[lcv]);
+                if (wrapper != null) {
+                    code.addInvokestatic(wrapper.getName(), "valueOf",
+                            "(" + getDescriptor(params[lcv]) + ")" + getDescriptor(wrapper));
+                }
+                
+                code.addOpcode(Opcode.AASTORE);
+            }
+        }
+        
+        code.addInvokevirtual(METHOD_HANDLE, "invokeExact", CHAIN_DESCRIPTOR);
+        
+        Class<?> returnType = method.getReturnType();
+        if (void.class.equals(returnType)) {
+            code.addOpcode(Opcode.POP);
+            code.addOpcode(Opcode.RETURN);
+        }
+        else if (returnType.isPrimitive()) {
+            Class<?> wrapper = WRAPPERS.get(returnType);
+            
+            code.addCheckcast(wrapper.getName());
+            code.addInvokevirtual(wrapper.getName(), returnType.getName() + "Value", "()" + getDescriptor(returnType));
+            if (long.class.equals(returnType)) {
+                code.addOpcode(Opcode.LRETURN);
+            }
+            else if (float.class.equals(returnType)) {
+                code.addOpcode(Opcode.FRETURN);
+            }
+            else if (double.class.equals(returnType)) {
+                code.addOpcode(Opcode.DRETURN);
+            }
+            else {
+                code.addOpcode(Opcode.IRETURN);
+            }
+        }
+        else {
+            if (!Object.class.equals(returnType)) {
+                code.addCheckcast(returnType.getName());
+            }
+            code.addOpcode(Opcode.ARETURN);
+        }
+        
+        code.setMaxLocals(slot);
+        retVal.setCodeAttribute(code.toCodeAttribute());
+        
+        return retVal;
+    }
+    
+    private static int addLoad(Bytecode code, Class<?> type, int slot) {
+        if (!type.isPrimitive()) {
+            code.addAload(slot);
+        }
+        else if (long.class.equals(type)) {
+            code.addLload(slot);
+        }
+        else if (float.class.equals(type)) {
+            code.addFload(slot);
+        }
+        else if (double.class.equals(type)) {
+            code.addDload(slot);
+        }
+        else {
+            code.addIload(slot);
+        }
+        
+        return getSize(type);
+    }
+    
+    private static int getSize(Class<?> type) {
+        return (long.class.equals(type) || double.class.equals(type)) ? 2 : 1;
+    }
+    
+    private static String getDescriptor(Method method) {
+        return MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+    }
+    
+    private static String getDescriptor(Class<?> type) {
+        return type.descriptorString();
+    }
+    
+    /**
+     * A generated subclass along with what is needed to create
+     * and call it
+     */
+    /* package */ static class ProxyClass {
+        private final Class<?> proxyClass;
+        private final MethodHandles.Lookup lookup;
+        private final List<Method> methods;
+        private final MethodHandle superInvokers[];
+        private final ConcurrentHashMap<List<Class<?>>, MethodHandle> constructors =
+                new ConcurrentHashMap<List<Class<?>>, MethodHandle>();
+        
+        private ProxyClass(Class<?> proxyClass,
+                MethodHandles.Lookup lookup,
+                List<Method> methods,
+                MethodHandle superInvokers[]) {
+            this.proxyClass = proxyClass;
+            this.lookup = lookup;
+            this.methods = methods;
+            this.superInvokers = superInvokers;
+        }
+        
+        /* package */ Class<?> getProxyClass() {
+            return proxyClass;
+        }
+        
+        /**
+         * The overridden methods, in the order of their handles.  The
+         * handle for {@link AOPProxyCtl#__getUnderlyingDescriptor()}
+         * comes after these
+         */
+        /* package */ List<Method> getMethods() {
+            return methods;
+        }
+        
+        /**
+         * Gets a handle calling the implementation of the superclass of
+         * the method at the given index, of type (Object,Object[])Object
+         */
+        /* package */ MethodHandle getSuperInvoker(int index) {
+            return superInvokers[index];
+        }
+        
+        /**
+         * Gets a handle of type (Object[])Object calling the constructor
+         * with the given parameters followed by the array of chains, or
+         * null if the superclass constructor cannot be called
+         */
+        /* package */ MethodHandle getConstructor(Class<?> params[]) {
+            List<Class<?>> key = Arrays.asList(params);
+            
+            MethodHandle retVal = constructors.get(key);
+            if (retVal != null) return retVal;
+            
+            Class<?> allParams[] = Arrays.copyOf(params, params.length + 1);
+            allParams[params.length] = MethodHandle[].class;
+            
+            try {
+                retVal = lookup.findConstructor(proxyClass, MethodType.methodType(void.class, allParams)).
+                        asType(MethodType.genericMethodType(allParams.length)).
+                        asSpreader(Object[].class, allParams.length);
+            }
+            catch (NoSuchMethodException e) {
+                return null;
+            }
+            catch (IllegalAccessException e) {
+                return null;
+            }
+            
+            constructors.put(key, retVal);
+            return retVal;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,7 +17,7 @@
 
 package org.jvnet.hk2.internal;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.glassfish.hk2.api.ActiveDescriptor;
@@ -29,7 +30,7 @@ import org.glassfish.hk2.api.ActiveDescriptor;
  */
 public class ImmediateResults {
     private final NarrowResults timelessResults;
-    private final List<ActiveDescriptor<?>> validatedImmediateResults = new LinkedList<ActiveDescriptor<?>>();
+    private final List<ActiveDescriptor<?>> validatedImmediateResults = new ArrayList<ActiveDescriptor<?>>();
     
     /* package */ ImmediateResults(NarrowResults cachedResults) {
         if (cachedResults == null) {
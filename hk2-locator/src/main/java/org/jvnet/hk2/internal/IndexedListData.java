@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2024 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -18,121 +19,142 @@
 package org.jvnet.hk2.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.ListIterator;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * This object contains a list of values.  The list is not always sorted, but will
- * always be returned sorted.
+ * This object contains a list of values which is always kept sorted with
+ * the {@link ServiceLocatorImpl#DESCRIPTOR_COMPARATOR}.  Descriptors are
+ * placed into (and found in) the list with a binary search, so a list is
+ * never re-sorted.
  * 
- * All of the methods on here must be called with lock held.
+ * All of the methods on here other than {@link #getSortedList()} must be called
+ * with the write lock of the ServiceLocatorImpl held.  Modifications are not seen
+ * by {@link #getSortedList()} until {@link #publish()} is called, so readers
+ * need not hold any lock
  * 
  * @author jwells
  *
  */
 public class IndexedListData {
-    private final ReentrantLock lock = new ReentrantLock();
-    private final ArrayList<SystemDescriptor<?>> unsortedList = new ArrayList<SystemDescriptor<?>>();
-    private volatile boolean sorted = true;
+    private final ArrayList<SystemDescriptor<?>> sortedList = new ArrayList<SystemDescriptor<?>>();
+    private volatile List<SystemDescriptor<?>> published = Collections.emptyList();
     
-    public Collection<SystemDescriptor<?>> getSortedList() {
-        if (sorted) return unsortedList;
-        
-        lock.lock();
-        try {
-            if (sorted) return unsortedList;
-        
-            if (unsortedList.size() <= 1) {
-                sorted = true;
-                return unsortedList;
-            }
+    /**
+     * Gets the list as of the last call to {@link #publish()}.  The returned
+     * list is an immutable snapshot and this method takes no lock
+     * 
+     * @return The sorted, unmodifiable list as of the last publish
+     */
+    public List<SystemDescriptor<?>> getSortedList() {
+        return published;
+    }
+    
+    /**
+     * Gets the list including the changes that have not yet been published.
+     * Should only be used by the thread making the changes
+     * 
+     * @return The sorted list with all modifications
+     */
+    public Collection<SystemDescriptor<?>> getWorkingList() {
+        return sortedList;
+    }
+    
+    /**
+     * Makes the modifications made to this list visible to {@link #getSortedList()}
+     */
+    public void publish() {
+        if (sortedList.isEmpty()) {
+            published = Collections.emptyList();
+        }
+        else {
+            SystemDescriptor<?> snapshot[] = sortedList.toArray(new SystemDescriptor<?>[sortedList.size()]);
             
-            Collections.sort(unsortedList, ServiceLocatorImpl.DESCRIPTOR_COMPARATOR);
-        
-            sorted = true;
-            return unsortedList;
-        } finally {
-            lock.unlock();
+            published = Collections.unmodifiableList(Arrays.asList(snapshot));
         }
     }
     
     public void addDescriptor(SystemDescriptor<?> descriptor) {
-        lock.lock();
-        try {
-            unsortedList.add(descriptor);
-            
-            sorted = unsortedList.size() <= 1;
+        insert(descriptor);
             
-            descriptor.addList(this);
-        } finally {
-            lock.unlock();
-        }
+        descriptor.addList(this);
     }
     
     public void removeDescriptor(SystemDescriptor<?> descriptor) {
-        lock.lock();
-        try {
-            ListIterator<SystemDescriptor<?>> iterator = unsortedList.listIterator();
-            while (iterator.hasNext()) {
-                SystemDescriptor<?> candidate = iterator.next();
-                if (ServiceLocatorImpl.DESCRIPTOR_COMPARATOR.compare(descriptor, candidate) == 0) {
-                    iterator.remove();
-                    break;
-                }
-            }
-            
-            sorted = unsortedList.size() <= 1;
+        remove(descriptor);
             
-            descriptor.removeList(this);
-        } finally {
-            lock.unlock();
-        }
+        descriptor.removeList(this);
     }
     
-    public boolean isEmpty() {
-        lock.lock();
-        try {
-            return unsortedList.isEmpty();
-        } finally {
-            lock.unlock();
-        }
+    /**
+     * Called by the ServiceLocatorImpl before the ranking of the
+     * given descriptor is changed.  The descriptor is taken out
+     * of its place in the list and must be put back with
+     * {@link #endRankChange(SystemDescriptor)} once the new
+     * ranking has been set
+     * 
+     * @param descriptor The descriptor whose ranking is about to change
+     */
+    /* package */ void beginRankChange(SystemDescriptor<?> descriptor) {
+        remove(descriptor);
     }
     
     /**
-     * Called by a SystemDescriptor when its ranking has changed
+     * Called by the ServiceLocatorImpl after the ranking of the
+     * given descriptor has changed, puts the descriptor back into
+     * its new place in the list
+     * 
+     * @param descriptor The descriptor whose ranking has changed
      */
-    public void unSort() {
-        lock.lock();
-        try {
-            if (unsortedList.size() > 1) {
-                sorted = false;
+    /* package */ void endRankChange(SystemDescriptor<?> descriptor) {
+        insert(descriptor);
+    }
+    
+    private void insert(SystemDescriptor<?> descriptor) {
+        int index = Collections.binarySearch(sortedList, descriptor, ServiceLocatorImpl.DESCRIPTOR_COMPARATOR);
+        if (index < 0) {
+            index = -(index + 1);
+        }
+        
+        sortedList.add(index, descriptor);
+    }
+    
+    private void remove(SystemDescriptor<?> descriptor) {
+        int index = Collections.binarySearch(sortedList, descriptor, ServiceLocatorImpl.DESCRIPTOR_COMPARATOR);
+        if (index >= 0) {
+            sortedList.remove(index);
+            return;
+        }
+        
+        // The ranking was changed behind our back, so the descriptor
+        // is not where it should be.  Fall back to looking everywhere
+        ListIterator<SystemDescriptor<?>> iterator = sortedList.listIterator();
+        while (iterator.hasNext()) {
+            SystemDescriptor<?> candidate = iterator.next();
+            if (ServiceLocatorImpl.DESCRIPTOR_COMPARATOR.compare(descriptor, candidate) == 0) {
+                iterator.remove();
+                break;
             }
-        } finally {
-            lock.unlock();
         }
     }
     
+    public boolean isEmpty() {
+        return sortedList.isEmpty();
+    }
+    
     public void clear() {
-        lock.lock();
-        try {
-            for (SystemDescriptor<?> descriptor : unsortedList) {
-                descriptor.removeList(this);
-            }
-            
-            unsortedList.clear();
-        } finally {
-            lock.unlock();
+        for (SystemDescriptor<?> descriptor : sortedList) {
+            descriptor.removeList(this);
         }
+        
+        sortedList.clear();
+        published = Collections.emptyList();
     }
     
     public int size() {
-        lock.lock();
-        try {
-            return unsortedList.size();
-        } finally {
-            lock.unlock();
-        }
+        return sortedList.size();
     }
 }
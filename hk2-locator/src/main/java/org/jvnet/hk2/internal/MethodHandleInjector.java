@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import org.glassfish.hk2.utilities.reflection.Logger;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
+
+/**
+ * Creates and calls the {@link MethodHandle}s used by {@link ClazzCreator}
+ * to construct services and inject them.  The handles are created once per
+ * class, so that creating a service does not need to go through core
+ * reflection and its access checks every time.  The handles are all adapted
+ * to take and return Object, so they can be called with invokeExact
+ * <p>
+ * If the system property {@link #REFLECTIVE_INJECTION_PROPERTY} is true
+ * no handles are created, and services are created and injected with
+ * reflection
+ */
+public class MethodHandleInjector {
+    /* package */ final static String REFLECTIVE_INJECTION_PROPERTY = "org.jvnet.hk2.properties.injection.reflective";
+    private final static boolean REFLECTIVE_INJECTION = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(REFLECTIVE_INJECTION_PROPERTY, "false"));
+        }
+
+    });
+
+    private final static MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private MethodHandleInjector() {
+    }
+
+    /**
+     * Tells whether or not handles should be created
+     *
+     * @return false if services should be created and injected with reflection
+     */
+    /* package */ static boolean isEnabled() {
+        return !REFLECTIVE_INJECTION;
+    }
+
+    /**
+     * Creates a handle that calls the given constructor with an
+     * Object[] of arguments
+     *
+     * @param c The constructor, may not be null
+     * @return A handle of type (Object[])Object, or null if the
+     * constructor should be called with reflection
+     */
+    /* package */ static MethodHandle constructorHandle(Constructor<?> c) {
+        if (!setAccessible(c)) return null;
+
+        try {
+            int numParams = c.getParameterCount();
+
+            return MethodHandles.lookup().unreflectConstructor(c).
+                    asType(MethodType.genericMethodType(numParams)).
+                    asSpreader(Object[].class, numParams);
+        }
+        catch (Throwable th) {
+            Logger.getLogger().debug("MethodHandleInjector", "constructorHandle", th);
+            return null;
+        }
+    }
+
+    /**
+     * Creates a handle that calls the given method on an Object
+     * with an Object[] of arguments
+     *
+     * @param m The method, may not be null
+     * @return A handle of type (Object,Object[])Object, or null if
+     * the method should be called with reflection
+     */
+    /* package */ static MethodHandle methodHandle(Method m) {
+        if (!setAccessible(m)) return null;
+
+        try {
+            int numParams = m.getParameterCount();
+
+            MethodHandle handle = MethodHandles.lookup().unreflect(m);
+            if (ReflectionHelper.isStatic(m)) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return handle.asType(MethodType.genericMethodType(numParams + 1)).
+                    asSpreader(Object[].class, numParams);
+        }
+        catch (Throwable th) {
+            Logger.getLogger().debug("MethodHandleInjector", "methodHandle", th);
+            return null;
+        }
+    }
+
+    /**
+     * Creates a handle that sets the given field of an Object
+     *
+     * @param f The field, may not be null
+     * @return A handle of type (Object,Object)void, or null if the
+     * field should be set with reflection
+     */
+    /* package */ static MethodHandle setterHandle(Field f) {
+        if (!setAccessible(f)) return null;
+
+        try {
+            return MethodHandles.lookup().unreflectSetter(f).asType(SETTER_TYPE);
+        }
+        catch (Throwable th) {
+            Logger.getLogger().debug("MethodHandleInjector", "setterHandle", th);
+            return null;
+        }
+    }
+
+    /**
+     * Calls a handle created with {@link #constructorHandle(Constructor)}
+     *
+     * @param handle The non-null handle
+     * @param args The arguments of the constructor
+     * @param neutralCCL true if the context class loader should be the same
+     * after the call as it was before it
+     * @return The newly constructed object
+     * @throws Throwable Whatever the constructor throws
+     */
+    /* package */ static Object construct(MethodHandle handle, Object args[], boolean neutralCCL) throws Throwable {
+        if (!neutralCCL) return (Object) handle.invokeExact(args);
+
+        ClassLoader currentCCL = getCurrentContextClassLoader();
+        try {
+            return (Object) handle.invokeExact(args);
+        }
+        finally {
+            restoreContextClassLoader(currentCCL);
+        }
+    }
+
+    /**
+     * Calls a handle created with {@link #methodHandle(Method)}
+     *
+     * @param handle The non-null handle
+     * @param o The object on which to call the method
+     * @param args The arguments of the method
+     * @param neutralCCL true if the context class loader should be the same
+     * after the call as it was before it
+     * @return What the method returned, or null for a void method
+     * @throws Throwable Whatever the method throws
+     */
+    /* package */ static Object invoke(MethodHandle handle, Object o, Object args[], boolean neutralCCL) throws Throwable {
+        if (!neutralCCL) {
+            return (Object) handle.invokeExact(o, args);
+        }
+
+        ClassLoader currentCCL = getCurrentContextClassLoader();
+        try {
+            return (Object) handle.invokeExact(o, args);
+        }
+        finally {
+            restoreContextClassLoader(currentCCL);
+        }
+    }
+
+    /**
+     * Calls a handle created with {@link #setterHandle(Field)}
+     *
+     * @param handle The non-null handle
+     * @param o The object whose field should be set
+     * @param value The value to set the field to
+     * @throws Throwable If the value is not of the type of the field
+     */
+    /* package */ static void set(MethodHandle handle, Object o, Object value) throws Throwable {
+        try {
+            handle.invokeExact(o, value);
+        }
+        catch (ClassCastException | NullPointerException e) {
+            // Reflection reports these as an IllegalArgumentException
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean setAccessible(final AccessibleObject ao) {
+        try {
+            AccessController.doPrivileged(new PrivilegedAction<Object>() {
+
+                @Override
+                public Object run() {
+                    ao.setAccessible(true);
+                    return null;
+                }
+
+            });
+
+            return true;
+        }
+        catch (RuntimeException re) {
+            // The InaccessibleObjectException or SecurityException
+            // will be seen again when using reflection
+            Logger.getLogger().debug("MethodHandleInjector", "setAccessible", re);
+            return false;
+        }
+    }
+
+    /* package */ static ClassLoader getCurrentContextClassLoader() {
+        return AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
+            @Override
+            public ClassLoader run() {
+                return Thread.currentThread().getContextClassLoader();
+            }
+        });
+    }
+
+    /* package */ static void restoreContextClassLoader(final ClassLoader ccl) {
+        AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            @Override
+            public Object run() {
+                Thread currentThread = Thread.currentThread();
+                if (currentThread.getContextClassLoader() != ccl) {
+                    currentThread.setContextClassLoader(ccl);
+                }
+                return null;
+            }
+        });
+    }
+}
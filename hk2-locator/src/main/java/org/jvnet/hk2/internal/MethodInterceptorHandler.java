@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,7 @@
 
 package org.jvnet.hk2.internal;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
 import java.security.AccessController;
@@ -37,7 +39,11 @@ import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
 import javassist.util.proxy.MethodHandler;
 
 /**
- * This is the handler that runs the aopalliance method interception
+ * This is the handler that runs the aopalliance method interception.
+ * It is called with the javassist {@link MethodHandler} interface by
+ * the proxies of {@link ConstructorActionImpl}, and with an already
+ * looked up list of interceptors by those of
+ * {@link HiddenClassConstructorAction}
  * 
  * @author jwells
  *
@@ -84,6 +90,29 @@ public class MethodInterceptorHandler implements MethodHandler {
             interceptors = new ArrayList<MethodInterceptor>(interceptors);
         }
         
+        return invoke(self, thisMethod, interceptors, proceed, null, args);
+    }
+    
+    /**
+     * Runs the given interceptors, calling the method through
+     * the given handle at the end of the chain
+     * 
+     * @param self The intercepted object
+     * @param thisMethod The intercepted method
+     * @param interceptors The non-empty, indexable interceptors of the method
+     * @param proceedHandle A handle of type (Object,Object[])Object calling
+     * the implementation of the method in the superclass of self
+     * @param args The arguments of the method
+     * @return The result of the method
+     * @throws Throwable What the interceptors or the method throw
+     */
+    /* package */ Object invoke(Object self, Method thisMethod, List<MethodInterceptor> interceptors,
+            MethodHandle proceedHandle, Object[] args) throws Throwable {
+        return invoke(self, thisMethod, interceptors, null, proceedHandle, args);
+    }
+    
+    private Object invoke(Object self, Method thisMethod, List<MethodInterceptor> interceptors,
+            Method proceed, MethodHandle proceedHandle, Object[] args) throws Throwable {
         MethodInterceptor nextInterceptor = interceptors.get(0);
         
         long aggregateInterceptionTime = 0L;
@@ -95,7 +124,7 @@ public class MethodInterceptorHandler implements MethodHandler {
         
         try {
             return nextInterceptor.invoke(new MethodInvocationImpl(args,
-                thisMethod, self, interceptors, 0, proceed, null));
+                thisMethod, self, interceptors, 0, proceed, proceedHandle, null));
         }
         finally {
             if (DEBUG_INTERCEPTION) {
@@ -113,6 +142,7 @@ public class MethodInterceptorHandler implements MethodHandler {
         private final List<MethodInterceptor> interceptors;
         private final int index;
         private final Method proceed;
+        private final MethodHandle proceedHandle;
         private HashMap<String, Object> userData;
         
         private MethodInvocationImpl(Object[] arguments,
@@ -121,6 +151,7 @@ public class MethodInterceptorHandler implements MethodHandler {
                 List<MethodInterceptor> interceptors,
                 int index,
                 Method proceed,
+                MethodHandle proceedHandle,
                 HashMap<String, Object> userData) {
             this.arguments = arguments;
             this.method = method;
@@ -128,6 +159,7 @@ public class MethodInterceptorHandler implements MethodHandler {
             this.interceptors = interceptors;
             this.index = index;
             this.proceed = proceed;
+            this.proceedHandle = proceedHandle;
             this.userData = userData;
         }
 
@@ -161,6 +193,11 @@ public class MethodInterceptorHandler implements MethodHandler {
                 }
                 try {
                     // Call the actual method
+                    if (proceedHandle != null) {
+                        return MethodHandleInjector.invoke(proceedHandle, myself, arguments,
+                                locator.getNeutralContextClassLoader());
+                    }
+                    
                     return ReflectionHelper.invoke(myself, proceed, arguments, locator.getNeutralContextClassLoader());
                 }
                 finally {
@@ -185,7 +222,7 @@ public class MethodInterceptorHandler implements MethodHandler {
             
             try {
                 return nextInterceptor.invoke(new MethodInvocationImpl(arguments,
-                    method, myself, interceptors, newIndex, proceed, userData));
+                    method, myself, interceptors, newIndex, proceed, proceedHandle, userData));
             }
             finally {
                 if (DEBUG_INTERCEPTION) {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,7 +17,8 @@
 
 package org.jvnet.hk2.internal;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.glassfish.hk2.api.ActiveDescriptor;
@@ -29,14 +31,21 @@ import org.glassfish.hk2.api.MultiException;
  */
 public class NarrowResults {
     private List<ActiveDescriptor<?>> unnarrowedResults;
-    private final List<ActiveDescriptor<?>> goodResults = new LinkedList<ActiveDescriptor<?>>();
-    private final List<ErrorResults> errors = new LinkedList<ErrorResults>();
+    private int nextUnnarrowedResult;
+    private final ArrayList<ActiveDescriptor<?>> goodResults = new ArrayList<ActiveDescriptor<?>>();
+    
+    /** Errors are rare, so this is only created when one happens */
+    private List<ErrorResults> errors = Collections.emptyList();
     
     /* package */ void addGoodResult(ActiveDescriptor<?> result) {
         goodResults.add(result);
     }
     
     /* package */ void addError(ActiveDescriptor<?> fail, Injectee injectee, MultiException me) {
+        if (errors.isEmpty()) {
+            errors = new ArrayList<ErrorResults>();
+        }
+        
         errors.add(new ErrorResults(fail, injectee, me));
     }
     
@@ -48,14 +57,22 @@ public class NarrowResults {
         return errors;
     }
     
+    /**
+     * Sets the candidates still to be narrowed.  The list is
+     * not modified, the candidates are instead walked in order
+     * by {@link #removeUnnarrowedResult()}
+     * 
+     * @param unnarrowed The candidates, in sorted order
+     */
     /* package */ void setUnnarrowedResults(List<ActiveDescriptor<?>> unnarrowed) {
         unnarrowedResults = unnarrowed;
+        nextUnnarrowedResult = 0;
     }
     
     /* package */ ActiveDescriptor<?> removeUnnarrowedResult() {
-        if (unnarrowedResults == null || unnarrowedResults.isEmpty()) return null;
+        if (unnarrowedResults == null || nextUnnarrowedResult >= unnarrowedResults.size()) return null;
         
-        return unnarrowedResults.remove(0);
+        return unnarrowedResults.get(nextUnnarrowedResult++);
     }
     
     @Override
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -17,12 +18,21 @@
 
 package org.jvnet.hk2.internal;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.DescriptorFileFinder;
@@ -33,17 +43,41 @@ import org.glassfish.hk2.api.MultiException;
 import org.glassfish.hk2.api.Populator;
 import org.glassfish.hk2.api.PopulatorPostProcessor;
 import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.BinaryDescriptorFile;
 import org.glassfish.hk2.utilities.ClasspathDescriptorFileFinder;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 
 /**
- * Implementation of the Populator for DynamicConfigurationService
+ * Implementation of the Populator for DynamicConfigurationService.
+ * Each descriptor file may either be in the text format of
+ * {@link DescriptorImpl#readObject(BufferedReader)} or in the
+ * binary format of {@link BinaryDescriptorFile}
+ * <p>
+ * If the system property {@link #PARALLEL_PROPERTY} is true (or
+ * parallel population is turned on with the ServiceLocatorRuntimeBean)
+ * the files are parsed and post-processed on the threads of the
+ * {@link BlockingTaskExecutor}, in which case the {@link PopulatorPostProcessor}s
+ * must be thread-safe.  Errors reading a file, including errors finding
+ * out its format, are thrown together in a {@link MultiException}.
+ * The descriptors are always bound, and returned, in the order of
+ * the files and of the descriptors within each file
  * 
  * @author jwells
  */
 public class PopulatorImpl implements Populator {
+    /* package */ final static String PARALLEL_PROPERTY = "org.jvnet.hk2.properties.populator.parallel";
+    private final static boolean PARALLEL = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(PARALLEL_PROPERTY, "false"));
+        }
+
+    });
+    
     private final ServiceLocator serviceLocator;
     private final DynamicConfigurationService dcs;
+    private volatile boolean parallel = PARALLEL;
     
     /* package */ PopulatorImpl(ServiceLocator serviceLocator,
             DynamicConfigurationService dcs) {
@@ -88,61 +122,48 @@ public class PopulatorImpl implements Populator {
             throw new MultiException(th);
         }
         
+        List<String> identifiers = new ArrayList<String>(descriptorFileInputStreams.size());
+        for (int lcv = 0; lcv < descriptorFileInputStreams.size(); lcv++) {
+            identifiers.add((descriptorInformation == null) ? null : descriptorInformation.get(lcv));
+        }
+        
+        List<ParsedFile> parsedFiles;
+        try {
+            if (parallel && descriptorFileInputStreams.size() > 1) {
+                parsedFiles = parseInParallel(descriptorFileInputStreams, identifiers, postProcessors);
+            }
+            else {
+                parsedFiles = new ArrayList<ParsedFile>(descriptorFileInputStreams.size());
+
+                int lcv = 0;
+                for (InputStream is : descriptorFileInputStreams) {
+                    parsedFiles.add(parse(is, identifiers.get(lcv++), postProcessors));
+                }
+            }
+        }
+        finally {
+            for (InputStream is : descriptorFileInputStreams) {
+                try {
+                    is.close();
+                }
+                catch (IOException ioe) {
+                    // Everything has been read from it already
+                }
+            }
+        }
+        
         Collector collector = new Collector();
 
         DynamicConfiguration config = dcs.createDynamicConfiguration();
-
-        int lcv = 0;
-        for (InputStream is : descriptorFileInputStreams) {
-            String identifier = (descriptorInformation == null) ? null : descriptorInformation.get(lcv) ;
-            lcv++;
-
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-                boolean readOne = false;
-
-                do {
-                    DescriptorImpl descriptorImpl = new DescriptorImpl();
-
-                    try {
-                        readOne = descriptorImpl.readObject(br);
-                    }
-                    catch (IOException ioe) {
-                        if (identifier != null) {
-                            collector.addThrowable(new IOException("InputStream with identifier \"" + identifier + "\" failed", ioe));
-                        }
-                        else {
-                            collector.addThrowable(ioe);
-                        }
-                    }
-
-                    if (readOne) {
-                            
-                        for (PopulatorPostProcessor pp : postProcessors) {
-                            try {
-                                descriptorImpl = pp.process(serviceLocator, descriptorImpl);
-                            }
-                            catch (Throwable th) {
-                                if (identifier != null) {
-                                    collector.addThrowable(new IOException("InputStream with identifier \"" + identifier + "\" failed", th));
-                                }
-                                else {
-                                    collector.addThrowable(th);
-                                }
-                                descriptorImpl = null;
-                            }
-
-                            if (descriptorImpl == null) {
-                                break;
-                            }
-                        }
-                            
-                        if (descriptorImpl != null) {
-                            descriptors.add(config.bind(descriptorImpl, false));
-                        }
-
-                    }
-                } while (readOne);
-
+        
+        // Bound in the order of the files, no matter how they were parsed
+        for (ParsedFile parsedFile : parsedFiles) {
+            for (Throwable th : parsedFile.errors) {
+                collector.addThrowable(th);
+            }
+            
+            for (DescriptorImpl descriptorImpl : parsedFile.descriptors) {
+                descriptors.add(config.bind(descriptorImpl, false));
             }
         }
         
@@ -153,6 +174,172 @@ public class PopulatorImpl implements Populator {
 
         return descriptors;
     }
+    
+    /**
+     * Parses and post-processes every file on the threads of the
+     * {@link BlockingTaskExecutor}, which run with the context class
+     * loader and the access control context of the caller
+     * 
+     * @return The parsed files in the same order as the input streams
+     */
+    private List<ParsedFile> parseInParallel(List<InputStream> inputStreams,
+            List<String> identifiers,
+            final PopulatorPostProcessor postProcessors[]) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        AccessControlContext acc = AccessController.getContext();
+        
+        List<FutureTask<ParsedFile>> tasks = new ArrayList<FutureTask<ParsedFile>>(inputStreams.size());
+        int lcv = 0;
+        for (final InputStream is : inputStreams) {
+            final String identifier = identifiers.get(lcv++);
+            
+            FutureTask<ParsedFile> task = new FutureTask<ParsedFile>(new Callable<ParsedFile>() {
+
+                @Override
+                public ParsedFile call() {
+                    return parse(is, identifier, postProcessors);
+                }
+                
+            });
+            tasks.add(task);
+            
+            try {
+                BlockingTaskExecutor.execute(task, loader, acc);
+            }
+            catch (RejectedExecutionException ree) {
+                task.run();
+            }
+        }
+        
+        // Every task is waited for before the streams get closed,
+        // the first failure is thrown afterwards
+        List<ParsedFile> retVal = new ArrayList<ParsedFile>(tasks.size());
+        Throwable firstFailure = null;
+        boolean interrupted = false;
+        for (FutureTask<ParsedFile> task : tasks) {
+            for (;;) {
+                try {
+                    retVal.add(task.get());
+                }
+                catch (ExecutionException ee) {
+                    if (firstFailure == null) firstFailure = ee.getCause();
+                }
+                catch (InterruptedException ie) {
+                    interrupted = true;
+                    continue;
+                }
+                
+                break;
+            }
+        }
+        
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (firstFailure == null) return retVal;
+        if (firstFailure instanceof RuntimeException) throw (RuntimeException) firstFailure;
+        if (firstFailure instanceof Error) throw (Error) firstFailure;
+        throw new MultiException(firstFailure);
+    }
+    
+    /**
+     * Reads and post-processes all the descriptors of one file.  Every
+     * error is kept in the returned ParsedFile, and the caller closes
+     * the stream.  Does not touch the ServiceLocator other than passing
+     * it to the post-processors, and hence can be called from any thread
+     */
+    private ParsedFile parse(InputStream is,
+            String identifier,
+            PopulatorPostProcessor postProcessors[]) {
+        ParsedFile retVal = new ParsedFile();
+        
+        BufferedInputStream bis = new BufferedInputStream(is);
+        
+        boolean binary;
+        try {
+            binary = BinaryDescriptorFile.isBinary(bis);
+        }
+        catch (IOException ioe) {
+            addError(ioe, identifier, retVal);
+            return retVal;
+        }
+        
+        if (binary) {
+            List<DescriptorImpl> binaryDescriptors;
+            try {
+                binaryDescriptors = BinaryDescriptorFile.read(bis);
+            }
+            catch (IOException ioe) {
+                addError(ioe, identifier, retVal);
+                return retVal;
+            }
+
+            for (DescriptorImpl descriptorImpl : binaryDescriptors) {
+                postProcess(descriptorImpl, identifier, postProcessors, retVal);
+            }
+
+            return retVal;
+        }
+
+        BufferedReader br = new BufferedReader(new InputStreamReader(bis));
+        boolean readOne = false;
+
+        do {
+            DescriptorImpl descriptorImpl = new DescriptorImpl();
+
+            try {
+                readOne = descriptorImpl.readObject(br);
+            }
+            catch (IOException ioe) {
+                addError(ioe, identifier, retVal);
+            }
+
+            if (readOne) {
+                postProcess(descriptorImpl, identifier, postProcessors, retVal);
+            }
+        } while (readOne);
+        
+        return retVal;
+    }
+
+    private void postProcess(DescriptorImpl descriptorImpl,
+            String identifier,
+            PopulatorPostProcessor postProcessors[],
+            ParsedFile parsedFile) {
+        for (PopulatorPostProcessor pp : postProcessors) {
+            try {
+                descriptorImpl = pp.process(serviceLocator, descriptorImpl);
+            }
+            catch (Throwable th) {
+                addError(th, identifier, parsedFile);
+                descriptorImpl = null;
+            }
+
+            if (descriptorImpl == null) {
+                return;
+            }
+        }
+
+        parsedFile.descriptors.add(descriptorImpl);
+    }
+
+    private static void addError(Throwable th, String identifier, ParsedFile parsedFile) {
+        if (identifier != null) {
+            parsedFile.errors.add(new IOException("InputStream with identifier \"" + identifier + "\" failed", th));
+        }
+        else {
+            parsedFile.errors.add(th);
+        }
+    }
+    
+    /* package */ boolean isParallel() {
+        return parallel;
+    }
+    
+    /* package */ void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
 
     /* (non-Javadoc)
      * @see org.glassfish.hk2.api.Populator#populate()
@@ -161,5 +348,13 @@ public class PopulatorImpl implements Populator {
     public List<ActiveDescriptor<?>> populate() throws IOException {
         return populate(new ClasspathDescriptorFileFinder());
     }
+    
+    /**
+     * The post-processed descriptors and the errors of one descriptor file
+     */
+    private static class ParsedFile {
+        private final List<DescriptorImpl> descriptors = new LinkedList<DescriptorImpl>();
+        private final List<Throwable> errors = new LinkedList<Throwable>();
+    }
 
 }
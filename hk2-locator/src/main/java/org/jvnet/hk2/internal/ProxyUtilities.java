@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2014, 2024 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,10 +17,18 @@
 
 package org.jvnet.hk2.internal;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Proxy;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.glassfish.hk2.api.ActiveDescriptor;
@@ -27,6 +36,7 @@ import org.glassfish.hk2.api.Injectee;
 import org.glassfish.hk2.api.MultiException;
 import org.glassfish.hk2.api.ProxyCtl;
 import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
 
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.ProxyFactory;
@@ -34,12 +44,42 @@ import javassist.util.proxy.ProxyObject;
 
 /**
  * Utilities around proxying
+ * <p>
+ * The classloaders the proxies are defined in and the generated proxy
+ * classes themselves are shared by all the ServiceLocators in the
+ * process, so that many locators proxying the same service do not each
+ * generate their own proxy class.  The proxy classes are remembered
+ * per superclass (and therefore per classloader) and set of interfaces,
+ * and go away with the classloader of the superclass.  JDK proxies are
+ * cached by the JDK itself per classloader and set of interfaces.
+ * <p>
+ * Before generating a javassist proxy class a class with the name given by
+ * {@link ReflectionHelper#getPregeneratedProxyName(String, java.util.Collection)}
+ * is looked for in the classloader of the superclass.  Such classes can be
+ * generated at build time by the hk2-inhabitant-generator and are used if
+ * they extend the superclass and implement exactly the requested interfaces
  * 
  * @author jwells
  *
  */
 public class ProxyUtilities {
     private final static ReentrantLock proxyCreationLock = new ReentrantLock();
+    
+    /** The delegating loaders shared by all locators, guarded by the proxyCreationLock */
+    private final static WeakHashMap<ClassLoader, WeakReference<DelegatingClassLoader>> sharedDelegators =
+            new WeakHashMap<ClassLoader, WeakReference<DelegatingClassLoader>>();
+    
+    /** The javassist proxy classes of a superclass, keyed by the set of proxied interfaces */
+    private final static ClassValue<ConcurrentHashMap<Set<Class<?>>, Class<?>>> proxyClasses =
+            new ClassValue<ConcurrentHashMap<Set<Class<?>>, Class<?>>>() {
+
+        @Override
+        protected ConcurrentHashMap<Set<Class<?>>, Class<?>> computeValue(Class<?> superclass) {
+            return new ConcurrentHashMap<Set<Class<?>>, Class<?>>();
+        }
+        
+    };
+    
     private final ReentrantLock lock = new ReentrantLock();
     private final HashMap<ClassLoader, DelegatingClassLoader> superClassToDelegator = new HashMap<ClassLoader, DelegatingClassLoader>();
     
@@ -95,17 +135,7 @@ public class ProxyUtilities {
         try {
             initDelegatingLoader = superClassToDelegator.get(loader);
             if (initDelegatingLoader == null) {
-                initDelegatingLoader = AccessController.doPrivileged(new PrivilegedAction<DelegatingClassLoader>() {
-
-                    @Override
-                    public DelegatingClassLoader run() {
-                        return new DelegatingClassLoader(
-                                loader,
-                                ProxyFactory.class.getClassLoader(),
-                                ProxyCtl.class.getClassLoader());
-                    }
-                    
-                });
+                initDelegatingLoader = getSharedDelegator(loader);
                 
                 superClassToDelegator.put(loader, initDelegatingLoader);
             }
@@ -134,39 +164,16 @@ public class ProxyUtilities {
             @SuppressWarnings("unchecked")
             @Override
             public T run() {
-                proxyCreationLock.lock();
-                try {
-                    ProxyFactory.ClassLoaderProvider originalProvider = ProxyFactory.classLoaderProvider;
-                    ProxyFactory.classLoaderProvider = new ProxyFactory.ClassLoaderProvider() {
-                        
-                        @Override
-                        public ClassLoader get(ProxyFactory arg0) {
-                            return delegatingLoader;
-                        }
-                    };
-                    
-                    try {
-                        ProxyFactory proxyFactory = new ProxyFactory();
-                        proxyFactory.setInterfaces(interfaces);
-                        proxyFactory.setSuperclass(superclass);
-
-                        Class<?> proxyClass = proxyFactory.createClass();
+                Class<?> proxyClass = getProxyClass(superclass, interfaces, delegatingLoader);
 
-                        try {
-                            T proxy = (T) proxyClass.newInstance();
+                try {
+                    T proxy = (T) proxyClass.newInstance();
 
-                            ((ProxyObject) proxy).setHandler(callback);
+                    ((ProxyObject) proxy).setHandler(callback);
 
-                            return proxy;
-                        } catch (Exception e1) {
-                            throw new RuntimeException(e1);
-                        }
-                    }
-                    finally {
-                        ProxyFactory.classLoaderProvider = originalProvider;
-                    }
-                } finally {
-                    proxyCreationLock.unlock();
+                    return proxy;
+                } catch (Exception e1) {
+                    throw new RuntimeException(e1);
                 }
             }
 
@@ -174,6 +181,117 @@ public class ProxyUtilities {
 
     }
     
+    private static DelegatingClassLoader getSharedDelegator(final ClassLoader loader) {
+        proxyCreationLock.lock();
+        try {
+            WeakReference<DelegatingClassLoader> ref = sharedDelegators.get(loader);
+            DelegatingClassLoader retVal = (ref == null) ? null : ref.get();
+            if (retVal != null) return retVal;
+            
+            retVal = AccessController.doPrivileged(new PrivilegedAction<DelegatingClassLoader>() {
+
+                @Override
+                public DelegatingClassLoader run() {
+                    return new DelegatingClassLoader(
+                            loader,
+                            ProxyFactory.class.getClassLoader(),
+                            ProxyCtl.class.getClassLoader());
+                }
+                
+            });
+            
+            sharedDelegators.put(loader, new WeakReference<DelegatingClassLoader>(retVal));
+            
+            return retVal;
+        } finally {
+            proxyCreationLock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the javassist proxy class for the given superclass and interfaces,
+     * which is either the one already generated, the one generated at
+     * build time or a newly generated one.  Must be called with privilege
+     */
+    private static Class<?> getProxyClass(Class<?> superclass,
+            Class<?>[] interfaces,
+            final DelegatingClassLoader delegatingLoader) {
+        ConcurrentHashMap<Set<Class<?>>, Class<?>> cache = proxyClasses.get(superclass);
+        Set<Class<?>> key = new HashSet<Class<?>>(Arrays.asList(interfaces));
+        
+        Class<?> retVal = cache.get(key);
+        if (retVal != null) return retVal;
+        
+        proxyCreationLock.lock();
+        try {
+            retVal = cache.get(key);
+            if (retVal != null) return retVal;
+            
+            retVal = findPregeneratedProxyClass(superclass, key, delegatingLoader);
+            if (retVal == null) {
+                ProxyFactory.ClassLoaderProvider originalProvider = ProxyFactory.classLoaderProvider;
+                ProxyFactory.classLoaderProvider = new ProxyFactory.ClassLoaderProvider() {
+                    
+                    @Override
+                    public ClassLoader get(ProxyFactory arg0) {
+                        return delegatingLoader;
+                    }
+                };
+                
+                try {
+                    ProxyFactory proxyFactory = new ProxyFactory();
+                    proxyFactory.setInterfaces(interfaces);
+                    proxyFactory.setSuperclass(superclass);
+
+                    retVal = proxyFactory.createClass();
+                }
+                finally {
+                    ProxyFactory.classLoaderProvider = originalProvider;
+                }
+            }
+            
+            cache.put(key, retVal);
+            
+            return retVal;
+        } finally {
+            proxyCreationLock.unlock();
+        }
+    }
+    
+    private static Class<?> findPregeneratedProxyClass(Class<?> superclass,
+            Set<Class<?>> interfaces,
+            DelegatingClassLoader delegatingLoader) {
+        List<String> interfaceNames = new ArrayList<String>(interfaces.size());
+        for (Class<?> iFace : interfaces) {
+            interfaceNames.add(iFace.getName());
+        }
+        
+        String name = ReflectionHelper.getPregeneratedProxyName(superclass.getName(), interfaceNames);
+        
+        Class<?> retVal;
+        try {
+            retVal = delegatingLoader.loadClass(name);
+            
+            if (!superclass.equals(retVal.getSuperclass())) return null;
+            if (!ProxyObject.class.isAssignableFrom(retVal)) return null;
+            
+            // The generated class also implements ProxyObject
+            if (retVal.getInterfaces().length != interfaces.size() + 1) return null;
+            for (Class<?> iFace : interfaces) {
+                if (!iFace.isAssignableFrom(retVal)) return null;
+            }
+        }
+        catch (ClassNotFoundException cnfe) {
+            return null;
+        }
+        catch (LinkageError le) {
+            // Generated against different classes than the ones in use here
+            return null;
+        }
+        
+        return retVal;
+    }
+    
     @SuppressWarnings("unchecked")
     public <T> T generateProxy(Class<?> requestedClass,
             ServiceLocatorImpl locator,
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.hk2.utilities.cache.WeakCARCache;
+
+/**
+ * Keeps the sizes of the lookup caches of a ServiceLocator.  In adaptive
+ * mode the sizes are looked at after every {@link #ADAPT_INTERVAL} cache
+ * misses.  If values were evicted during that time and the hit rate was
+ * below {@link #TARGET_HIT_RATE} the caches are doubled in size, and if
+ * nothing was evicted and the caches are less than a quarter full they
+ * are halved in size, always staying between {@link #MINIMUM_SIZE} and
+ * {@link #MAXIMUM_SIZE}
+ */
+public class ServiceCacheSizer {
+    /* package */ final static int ADAPT_INTERVAL = 1024;
+    /* package */ final static double TARGET_HIT_RATE = 0.90;
+    /* package */ final static int MINIMUM_SIZE = 256;
+    /* package */ final static int MAXIMUM_SIZE = 1 << 20;
+
+    private final WeakCARCache<?, ?> caches[];
+    private volatile boolean adaptive;
+
+    private final AtomicLong misses = new AtomicLong();
+    private final ReentrantLock adaptLock = new ReentrantLock();
+
+    // Only used with the adaptLock held
+    private long lastHits;
+    private long lastMisses;
+    private long lastEvictions;
+
+    /**
+     * Creates a sizer for the given caches
+     *
+     * @param adaptive true if the caches should be sized based on their hit rate
+     * @param caches The caches to size, all of which are kept at the same size
+     */
+    /* package */ ServiceCacheSizer(boolean adaptive, WeakCARCache<?, ?>... caches) {
+        this.adaptive = adaptive;
+        this.caches = caches;
+    }
+
+    /* package */ boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /* package */ void setAdaptive(boolean adaptive) {
+        adaptLock.lock();
+        try {
+            this.adaptive = adaptive;
+
+            startWindow();
+        } finally {
+            adaptLock.unlock();
+        }
+    }
+
+    /* package */ int getMaxSize() {
+        return caches[0].getMaxSize();
+    }
+
+    /* package */ void setMaxSize(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("The service cache size must be greater than zero: " + maxSize);
+
+        adaptLock.lock();
+        try {
+            for (WeakCARCache<?, ?> cache : caches) {
+                cache.setMaxSize(maxSize);
+            }
+
+            startWindow();
+        } finally {
+            adaptLock.unlock();
+        }
+    }
+
+    /* package */ long getHits() {
+        long retVal = 0L;
+        for (WeakCARCache<?, ?> cache : caches) {
+            retVal += cache.getHits();
+        }
+        return retVal;
+    }
+
+    /* package */ long getMisses() {
+        long retVal = 0L;
+        for (WeakCARCache<?, ?> cache : caches) {
+            retVal += cache.getMisses();
+        }
+        return retVal;
+    }
+
+    /* package */ long getEvictions() {
+        long retVal = 0L;
+        for (WeakCARCache<?, ?> cache : caches) {
+            retVal += cache.getEvictions();
+        }
+        return retVal;
+    }
+
+    /**
+     * Called on every miss of one of the caches.  Every
+     * {@link #ADAPT_INTERVAL} misses the sizes of the caches
+     * are adjusted, if in adaptive mode
+     */
+    /* package */ void missed() {
+        if (!adaptive) return;
+        if ((misses.incrementAndGet() % ADAPT_INTERVAL) != 0L) return;
+
+        // If some other thread is already adapting it will do
+        if (!adaptLock.tryLock()) return;
+        try {
+            if (!adaptive) return;
+
+            adapt();
+        } finally {
+            adaptLock.unlock();
+        }
+    }
+
+    private void adapt() {
+        long hits = getHits();
+        long misses = getMisses();
+        long evictions = getEvictions();
+
+        long windowHits = hits - lastHits;
+        long windowMisses = misses - lastMisses;
+        long windowEvictions = evictions - lastEvictions;
+
+        int maxSize = getMaxSize();
+        int newSize = maxSize;
+
+        // The counters go back to zero if a cache is cleared
+        if (windowHits >= 0L && windowMisses > 0L && windowEvictions >= 0L) {
+            double hitRate = (double) windowHits / (double) (windowHits + windowMisses);
+
+            if (windowEvictions > 0L && hitRate < TARGET_HIT_RATE && maxSize < MAXIMUM_SIZE) {
+                newSize = (maxSize >= (MAXIMUM_SIZE / 2)) ? MAXIMUM_SIZE : (maxSize * 2);
+            }
+            else if (windowEvictions == 0L && maxSize > MINIMUM_SIZE && largestValueSize() < (maxSize / 4)) {
+                newSize = Math.max(MINIMUM_SIZE, maxSize / 2);
+            }
+        }
+
+        if (newSize != maxSize) {
+            for (WeakCARCache<?, ?> cache : caches) {
+                cache.setMaxSize(newSize);
+            }
+        }
+
+        startWindow();
+    }
+
+    private int largestValueSize() {
+        int retVal = 0;
+        for (WeakCARCache<?, ?> cache : caches) {
+            retVal = Math.max(retVal, cache.getValueSize());
+        }
+        return retVal;
+    }
+
+    private void startWindow() {
+        lastHits = getHits();
+        lastMisses = getMisses();
+        lastEvictions = getEvictions();
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceCacheSizer(maxSize=" + getMaxSize() + ",adaptive=" + adaptive + "," +
+                System.identityHashCode(this) + ")";
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2024 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -139,6 +140,7 @@ public class ServiceHandleImpl<T> implements ServiceHandle<T> {
     public void close() {
         boolean localServiceSet;
         boolean serviceActive;
+        T localService;
         
         if (!root.isReified()) return;
         
@@ -151,6 +153,7 @@ public class ServiceHandleImpl<T> implements ServiceHandle<T> {
             serviceDestroyed = true;
             
             localServiceSet = serviceSet;
+            localService = service;
             
             localSubHandles = new ArrayList<ServiceHandleImpl<?>>(subHandles);
             subHandles.clear();
@@ -161,7 +164,7 @@ public class ServiceHandleImpl<T> implements ServiceHandle<T> {
         if (root.getScopeAnnotation().equals(PerLookup.class)) {
             if (localServiceSet) {
                 // Otherwise it is the scope responsible for the lifecycle
-                root.dispose(service);
+                root.dispose(localService);
             }
         }
         else if (serviceActive) {
@@ -173,7 +176,7 @@ public class ServiceHandleImpl<T> implements ServiceHandle<T> {
                 return;
             }
             
-            context.destroyOne(root);
+            context.destroyOne(root, (localServiceSet) ? localService : null);
         }
         
         for (ServiceHandleImpl<?> subHandle : localSubHandles) {
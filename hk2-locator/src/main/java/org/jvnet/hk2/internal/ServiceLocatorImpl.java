@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2024 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -25,24 +25,26 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
@@ -87,7 +89,7 @@ import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.InjecteeImpl;
 import org.glassfish.hk2.utilities.RethrowErrorService;
 import org.glassfish.hk2.utilities.cache.Cache;
-import org.glassfish.hk2.utilities.cache.CacheKeyFilter;
+import org.glassfish.hk2.utilities.cache.CacheKeyIndexer;
 import org.glassfish.hk2.utilities.cache.CacheUtilities;
 import org.glassfish.hk2.utilities.cache.Computable;
 import org.glassfish.hk2.utilities.cache.ComputationErrorException;
@@ -126,12 +128,96 @@ public class ServiceLocatorImpl implements ServiceLocator {
             
     });
 
-    private final static int CACHE_SIZE = 20000;
+    private final static int DEFAULT_CACHE_SIZE = 20000;
+    private final static String CACHE_SIZE_PROPERTY = "org.jvnet.hk2.properties.service.cache.size";
+    private final static int CACHE_SIZE = AccessController.doPrivileged(new PrivilegedAction<Integer>() {
+        @Override
+        public Integer run() {
+            String size = System.getProperty(CACHE_SIZE_PROPERTY);
+            if (size == null) return DEFAULT_CACHE_SIZE;
+
+            try {
+                int retVal = Integer.parseInt(size.trim());
+                if (retVal > 0) return retVal;
+            }
+            catch (NumberFormatException nfe) {
+                // Fall through to the warning
+            }
+
+            Logger.getLogger().warning("Invalid value " + size + " for " + CACHE_SIZE_PROPERTY +
+                    ", using " + DEFAULT_CACHE_SIZE);
+            return DEFAULT_CACHE_SIZE;
+        }
+
+    });
+
+    private final static String CACHE_ADAPTIVE_PROPERTY = "org.jvnet.hk2.properties.service.cache.adaptive";
+    private static final boolean CACHE_ADAPTIVE = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(CACHE_ADAPTIVE_PROPERTY, "false"));
+        }
+
+    });
+
+    private final static String VALIDATION_CACHE_PROPERTY = "org.jvnet.hk2.properties.validation.cache";
+    private static final boolean VALIDATION_CACHE = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(VALIDATION_CACHE_PROPERTY, "false"));
+        }
+
+    });
+
+    private final static String HIDDEN_CLASS_INTERCEPTION_PROPERTY = "org.jvnet.hk2.properties.interception.hiddenClasses";
+    private static final boolean HIDDEN_CLASS_INTERCEPTION = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(HIDDEN_CLASS_INTERCEPTION_PROPERTY, "false"));
+        }
+
+    });
+
+    private final static String PARALLEL_SHUTDOWN_PROPERTY = "org.jvnet.hk2.properties.shutdown.parallel";
+    private static final boolean PARALLEL_SHUTDOWN = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+        @Override
+        public Boolean run() {
+            return Boolean.parseBoolean(
+                System.getProperty(PARALLEL_SHUTDOWN_PROPERTY, "false"));
+        }
+
+    });
+
+    private final static long DEFAULT_SHUTDOWN_TIMEOUT = 0L;
+    private final static String SHUTDOWN_TIMEOUT_PROPERTY = "org.jvnet.hk2.properties.shutdown.timeout";
+    private static final long SHUTDOWN_TIMEOUT = AccessController.doPrivileged(new PrivilegedAction<Long>() {
+        @Override
+        public Long run() {
+            String timeout = System.getProperty(SHUTDOWN_TIMEOUT_PROPERTY);
+            if (timeout == null) return DEFAULT_SHUTDOWN_TIMEOUT;
+
+            try {
+                long retVal = Long.parseLong(timeout.trim());
+                if (retVal >= 0L) return retVal;
+            }
+            catch (NumberFormatException nfe) {
+                // Fall through to the warning
+            }
+
+            Logger.getLogger().warning("Invalid value " + timeout + " for " + SHUTDOWN_TIMEOUT_PROPERTY +
+                    ", using " + DEFAULT_SHUTDOWN_TIMEOUT);
+            return DEFAULT_SHUTDOWN_TIMEOUT;
+        }
+
+    });
+
     private final static ReentrantLock sLock = new ReentrantLock();
     private static long currentLocatorId = 0L;
 
     /* package */ final static DescriptorComparator DESCRIPTOR_COMPARATOR = new DescriptorComparator();
-    private final static ServiceHandleComparator HANDLE_COMPARATOR = new ServiceHandleComparator();
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final WriteLock wLock = readWriteLock.writeLock();
@@ -139,21 +225,46 @@ public class ServiceLocatorImpl implements ServiceLocator {
     private final AtomicLong nextServiceId = new AtomicLong();
     private final String locatorName;
     private final long id;
+    private final ServiceCacheSizer serviceCacheSizer;
     private final ServiceLocatorImpl parent;
     private volatile boolean neutralContextClassLoader = true;
     private final ClassReflectionHelper classReflectionHelper = new ClassReflectionHelperImpl();
     private final PerLocatorUtilities perLocatorUtilities = new PerLocatorUtilities(this);
 
+    /*
+     * The descriptor indexes are read without any lock.  They are modified under
+     * the write lock, and the modifications only become visible to other threads
+     * when they are published at the end of the configuration change
+     */
     private final IndexedListData allDescriptors = new IndexedListData();
-    private final HashMap<String, IndexedListData> descriptorsByAdvertisedContract = new HashMap<>();
-    private final HashMap<String, IndexedListData> descriptorsByName = new HashMap<>();
+    private final ConcurrentHashMap<String, IndexedListData> descriptorsByAdvertisedContract = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IndexedListData> descriptorsByName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ContractAndNameKey, IndexedListData> descriptorsByContractAndName = new ConcurrentHashMap<>();
+    private final LongAdder contractAndNameHits = new LongAdder();
+    private final LongAdder contractAndNameMisses = new LongAdder();
+    private final LinkedHashSet<IndexedListData> unpublishedIndexes = new LinkedHashSet<>();
+    private final HashSet<String> emptiedContracts = new HashSet<>();
+    private final HashSet<String> emptiedNames = new HashSet<>();
+    private final HashSet<ContractAndNameKey> emptiedContractAndNames = new HashSet<>();
+    /* The instance listeners as of the last time they were wired, only used with the write lock held */
+    private IdentityHashMap<InstanceLifecycleListener, InstanceListenerTarget> instanceListenerTargets =
+            new IdentityHashMap<InstanceLifecycleListener, InstanceListenerTarget>();
+    /* Contracts whose cached lookups are waiting to be released, see reupCache */
+    private final Set<String> pendingCacheReleases = ConcurrentHashMap.newKeySet();
+    /* Odd while a configuration change is being made, incremented again when it is published */
+    private volatile long indexGeneration = 0L;
+
     private final Context<Singleton> singletonContext = new SingletonContext(this);
     private final Context<PerLookup> perLookupContext = new PerLookupContext();
-    private final LinkedHashSet<ValidationService> allValidators = new LinkedHashSet<>();
-    private final LinkedList<ErrorService> errorHandlers = new LinkedList<>(Collections.singletonList(new RethrowErrorService()));
+    private volatile Set<ValidationService> allValidators = Collections.emptySet();
+    private final ValidationCache validationCache = new ValidationCache(VALIDATION_CACHE);
+    private volatile List<ErrorService> errorHandlers = Collections.<ErrorService>singletonList(new RethrowErrorService());
     private final LinkedList<ServiceHandle<?>> configListeners = new LinkedList<>();
     
     private volatile boolean hasInterceptionServices = false;
+    private volatile boolean hiddenClassInterception = HIDDEN_CLASS_INTERCEPTION;
+    private volatile boolean parallelShutdown = PARALLEL_SHUTDOWN;
+    private volatile long shutdownTimeout = SHUTDOWN_TIMEOUT;
     private final LinkedList<InterceptionService> interceptionServices =
             new LinkedList<InterceptionService>();
 
@@ -174,8 +285,9 @@ public class ServiceLocatorImpl implements ServiceLocator {
     private volatile Unqualified defaultUnqualified = null;
 
     private final ReentrantLock allResolversLock = new ReentrantLock();
-    private ConcurrentHashMap<Class<? extends Annotation>, InjectionResolver<?>> allResolvers =
+    private volatile ConcurrentHashMap<Class<? extends Annotation>, InjectionResolver<?>> allResolvers =
             new ConcurrentHashMap<Class<? extends Annotation>, InjectionResolver<?>>();
+    private volatile String injectionResolversKey = "";
     private final Cache<SystemInjecteeImpl, InjectionResolver<?>> injecteeToResolverCache = 
             new Cache<SystemInjecteeImpl, InjectionResolver<?>>(new Computable<SystemInjecteeImpl, InjectionResolver<?>>() {
 
@@ -186,7 +298,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
         
     });
 
-    private ServiceLocatorState state = ServiceLocatorState.RUNNING;
+    private volatile ServiceLocatorState state = ServiceLocatorState.RUNNING;
 
     private static long getAndIncrementLocatorId() {
        sLock.lock();
@@ -212,6 +324,8 @@ public class ServiceLocatorImpl implements ServiceLocator {
 
         id = getAndIncrementLocatorId();
 
+        serviceCacheSizer = new ServiceCacheSizer(CACHE_ADAPTIVE, igdCache, igashCache);
+
         Logger.getLogger().debug("Created ServiceLocator " + this);
         if (BIND_TRACING_PATTERN != null) {
             Logger.getLogger().debug("HK2 will trace binds and unbinds of " + BIND_TRACING_PATTERN +
@@ -220,7 +334,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
     }
     
     /**
-     * Must have read lock held
+     * May be called without any lock held
      * 
      * @param vi The non-null validation
      * @return
@@ -230,38 +344,41 @@ public class ServiceLocatorImpl implements ServiceLocator {
             return vs.getValidator().validate(vi);
         }
         catch (Throwable th) {
-            List<ErrorService> localErrorServices = new LinkedList<ErrorService>(errorHandlers);
-            
-            MultiException useException;
-            if (th instanceof MultiException) {
-                useException = (MultiException) th;
-            }
-            else {
-                useException = new MultiException(th);
-            }
-            
-            ErrorInformationImpl ei = new ErrorInformationImpl(
-                    ErrorType.VALIDATE_FAILURE,
-                    vi.getCandidate(),
-                    vi.getInjectee(),
-                    useException);
-            
-            for (ErrorService errorService : localErrorServices) {
-                try {
-                    errorService.onFailure(ei);
-                }
-                catch (Throwable th2) {
-                    Logger.getLogger().debug("ServiceLocatorImpl", "callValidate", th2);
-                }
-            }
-            
+            reportValidateFailure(vi, th);
         }
         
         return false;
     }
+    
+    private void reportValidateFailure(ValidationInformation vi, Throwable th) {
+        List<ErrorService> localErrorServices = new LinkedList<ErrorService>(errorHandlers);
+        
+        MultiException useException;
+        if (th instanceof MultiException) {
+            useException = (MultiException) th;
+        }
+        else {
+            useException = new MultiException(th);
+        }
+        
+        ErrorInformationImpl ei = new ErrorInformationImpl(
+                ErrorType.VALIDATE_FAILURE,
+                vi.getCandidate(),
+                vi.getInjectee(),
+                useException);
+        
+        for (ErrorService errorService : localErrorServices) {
+            try {
+                errorService.onFailure(ei);
+            }
+            catch (Throwable th2) {
+                Logger.getLogger().debug("ServiceLocatorImpl", "callValidate", th2);
+            }
+        }
+    }
 
     /**
-     * Must be called under lock
+     * May be called without any lock held
      *
      * @param descriptor The descriptor to validate
      * @param onBehalfOf The fella who is being validated (or null)
@@ -270,11 +387,38 @@ public class ServiceLocatorImpl implements ServiceLocator {
     private boolean validate(SystemDescriptor<?> descriptor, Injectee onBehalfOf, Filter filter) {
         for (ValidationService vs : getAllValidators()) {
             if (!descriptor.isValidating(vs)) continue;
-
-            if (!callValidate(vs, new ValidationInformationImpl(
-                    Operation.LOOKUP, descriptor, onBehalfOf, filter))) {
+            
+            if (!validationCache.isEnabled()) {
+                if (!callValidate(vs, new ValidationInformationImpl(
+                        Operation.LOOKUP, descriptor, onBehalfOf, filter))) {
+                    return false;
+                }
+                
+                continue;
+            }
+            
+            Boolean cached = validationCache.get(vs, descriptor, onBehalfOf);
+            if (cached != null) {
+                if (!cached) return false;
+                continue;
+            }
+            
+            long generation = validationCache.getGeneration();
+            ValidationInformation vi = new ValidationInformationImpl(
+                    Operation.LOOKUP, descriptor, onBehalfOf, filter);
+            
+            boolean result;
+            try {
+                result = vs.getValidator().validate(vi);
+            }
+            catch (Throwable th) {
+                // Failures are reported every time, and so are not remembered
+                reportValidateFailure(vi, th);
                 return false;
             }
+            
+            validationCache.put(vs, descriptor, onBehalfOf, result, generation);
+            if (!result) return false;
         }
 
         return true;
@@ -287,85 +431,127 @@ public class ServiceLocatorImpl implements ServiceLocator {
             boolean getLocals) {
         if (filter == null) throw new IllegalArgumentException("filter is null");
 
-        LinkedList<SystemDescriptor<?>> retVal;
-        rLock.lock();
-        try {
-            Collection<SystemDescriptor<?>> sortMeOut;
-            if (filter instanceof IndexedFilter) {
-                IndexedFilter df = (IndexedFilter) filter;
+        // The thread making a configuration change sees its own modifications,
+        // everyone else sees the last published indexes
+        final boolean working = wLock.isHeldByCurrentThread();
 
-                if (df.getName() != null) {
-                    Collection<SystemDescriptor<?>> scopedByName;
+        Collection<SystemDescriptor<?>> sortMeOut;
+        if (filter instanceof IndexedFilter) {
+            IndexedFilter df = (IndexedFilter) filter;
 
-                    String name = df.getName();
+            if (df.getName() != null) {
+                String name = df.getName();
 
-                    IndexedListData ild = descriptorsByName.get(name);
-                    scopedByName = (ild == null) ? null : ild.getSortedList();
-                    if (scopedByName == null) {
-                        scopedByName = Collections.emptyList();
-                    }
-
-                    if (df.getAdvertisedContract() != null) {
-                        sortMeOut = new LinkedList<SystemDescriptor<?>>();
-
-                        for (SystemDescriptor<?> candidate : scopedByName) {
-                            if (candidate.getAdvertisedContracts().contains(df.getAdvertisedContract())) {
-                                sortMeOut.add(candidate);
-                            }
-                        }
+                if (df.getAdvertisedContract() != null) {
+                    IndexedListData ild = descriptorsByContractAndName.get(
+                            new ContractAndNameKey(df.getAdvertisedContract(), name));
+                    if (ild != null) {
+                        contractAndNameHits.increment();
                     }
                     else {
-                        sortMeOut = scopedByName;
+                        contractAndNameMisses.increment();
                     }
-                }
-                else if (df.getAdvertisedContract() != null) {
-                    String advertisedContract = df.getAdvertisedContract();
 
-                    IndexedListData ild = descriptorsByAdvertisedContract.get(advertisedContract);
-                    sortMeOut = (ild == null) ? null : ild.getSortedList();
-                    if (sortMeOut == null) {
-                        sortMeOut = Collections.emptyList();
-
-                    }
+                    sortMeOut = getIndexedList(ild, working);
                 }
                 else {
-                    sortMeOut = allDescriptors.getSortedList();
+                    sortMeOut = getIndexedList(descriptorsByName.get(name), working);
                 }
             }
+            else if (df.getAdvertisedContract() != null) {
+                String advertisedContract = df.getAdvertisedContract();
+
+                sortMeOut = getIndexedList(descriptorsByAdvertisedContract.get(advertisedContract), working);
+            }
             else {
-                sortMeOut = allDescriptors.getSortedList();
+                sortMeOut = getIndexedList(allDescriptors, working);
             }
+        }
+        else {
+            sortMeOut = getIndexedList(allDescriptors, working);
+        }
 
-            retVal = new LinkedList<SystemDescriptor<?>>();
+        ArrayList<SystemDescriptor<?>> retVal = new ArrayList<SystemDescriptor<?>>(sortMeOut.size());
 
-            for (SystemDescriptor<?> candidate : sortMeOut) {
-                if (!getLocals && DescriptorVisibility.LOCAL.equals(candidate.getDescriptorVisibility())) {
-                    continue;
-                }
+        for (SystemDescriptor<?> candidate : sortMeOut) {
+            if (!getLocals && DescriptorVisibility.LOCAL.equals(candidate.getDescriptorVisibility())) {
+                continue;
+            }
 
-                if (doValidation && !validate(candidate, onBehalfOf, filter)) continue;
+            if (doValidation && !validate(candidate, onBehalfOf, filter)) continue;
 
-                if (filter.matches(candidate)) {
-                    retVal.add(candidate);
-                }
+            if (filter.matches(candidate)) {
+                retVal.add(candidate);
             }
-        } finally {
-            rLock.unlock();
         }
 
-        // Must be done outside of lock, or there can be a deadlock between child and parent
         if (getParents && parent != null) {
-            TreeSet<SystemDescriptor<?>> sorter = new TreeSet<SystemDescriptor<?>>(DESCRIPTOR_COMPARATOR);
+            // The parent results already include all of its own parents
+            return mergeSorted(retVal, parent.getDescriptors(filter, onBehalfOf, getParents, doValidation, false));
+        }
 
-            sorter.addAll(retVal);
-            sorter.addAll(parent.getDescriptors(filter, onBehalfOf, getParents, doValidation, false));
+        return retVal;
+    }
 
-            retVal.clear();
+    /**
+     * Merges two lists that are already sorted with the {@link #DESCRIPTOR_COMPARATOR}
+     * into one sorted list.  Descriptors found in both lists appear only once.
+     * The merge is done from the back into the first list, which must not yet
+     * be visible to anyone else, so that no third array is needed
+     * 
+     * @param first A sorted list owned by the caller, which is modified to hold
+     * the result unless the first list is empty
+     * @param second A sorted list, may be returned if the first list is empty
+     * @return The sorted merge of the two lists
+     */
+    private static List<SystemDescriptor<?>> mergeSorted(ArrayList<SystemDescriptor<?>> first,
+            List<SystemDescriptor<?>> second) {
+        if (second.isEmpty()) return first;
+        if (first.isEmpty()) return second;
+
+        int firstIndex = first.size() - 1;
+        int secondIndex = second.size() - 1;
+        int total = first.size() + second.size();
 
-            retVal.addAll(sorter);
+        first.ensureCapacity(total);
+        while (first.size() < total) {
+            first.add(null);
         }
 
-        return retVal;
+        int nextSlot = total - 1;
+        while (secondIndex >= 0) {
+            SystemDescriptor<?> secondCandidate = second.get(secondIndex);
+
+            if (firstIndex >= 0) {
+                SystemDescriptor<?> firstCandidate = first.get(firstIndex);
+
+                int compare = DESCRIPTOR_COMPARATOR.compare(firstCandidate, secondCandidate);
+                if (compare >= 0) {
+                    first.set(nextSlot--, firstCandidate);
+                    firstIndex--;
+
+                    if (compare == 0) secondIndex--;
+                    continue;
+                }
+            }
+
+            first.set(nextSlot--, secondCandidate);
+            secondIndex--;
+        }
+
+        // The rest of the first list is already in place.  Descriptors found
+        // in both lists leave a gap between it and the merged tail
+        if (nextSlot > firstIndex) {
+            first.subList(firstIndex + 1, nextSlot + 1).clear();
+        }
+
+        return first;
+    }
+
+    private static Collection<SystemDescriptor<?>> getIndexedList(IndexedListData ild, boolean working) {
+        if (ild == null) return Collections.emptyList();
+
+        return working ? ild.getWorkingList() : ild.getSortedList();
     }
 
     private List<ActiveDescriptor<?>> protectedGetDescriptors(final Filter filter) {
@@ -579,6 +765,18 @@ public class ServiceLocatorImpl implements ServiceLocator {
         return internalGetDescriptor(injectee, requiredType, name, injectee.getUnqualified(), false, calledFromSecondChanceResolveMethod, qualifiers);
     }
 
+    /**
+     * Gets the descriptor that would be injected into the injectee without
+     * asking the {@link JustInTimeInjectionResolver}s to add any services
+     *
+     * @param injectee The non-null injectee to find the descriptor of
+     * @return The descriptor of the service that would be injected, or null
+     * @throws MultiException if the descriptor could not be found
+     */
+    /* package */ ActiveDescriptor<?> getInjecteeDescriptorWithoutJIT(Injectee injectee) throws MultiException {
+        return internalGetInjecteeDescriptor(injectee, true);
+    }
+
     /* (non-Javadoc)
      * @see org.glassfish.hk2.api.ServiceLocator#getInjecteeDescriptor(org.glassfish.hk2.api.Injectee)
      */
@@ -835,7 +1033,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
 
         List<ServiceHandle<?>> services = getAllServiceHandles(qualifier, qualifiers);
 
-        List<T> retVal = new LinkedList<T>();
+        List<T> retVal = new ArrayList<T>(services.size());
         for (ServiceHandle<?> service : services) {
             retVal.add((T) service.getService());
         }
@@ -853,7 +1051,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
 
         List<ServiceHandle<?>> handleSet = getAllServiceHandles(searchCriteria);
 
-        List<Object> retVal = new LinkedList<Object>();
+        List<Object> retVal = new ArrayList<Object>(handleSet.size());
         for (ServiceHandle<?> handle : handleSet) {
             retVal.add(handle.getService());
         }
@@ -951,10 +1149,16 @@ public class ServiceLocatorImpl implements ServiceLocator {
             allDescriptors.clear();
             descriptorsByAdvertisedContract.clear();
             descriptorsByName.clear();
+            descriptorsByContractAndName.clear();
+            unpublishedIndexes.clear();
+            emptiedContracts.clear();
+            emptiedNames.clear();
+            emptiedContractAndNames.clear();
             allResolvers.clear();
             injecteeToResolverCache.clear();
-            allValidators.clear();
-            errorHandlers.clear();
+            allValidators = Collections.emptySet();
+            validationCache.clear();
+            errorHandlers = Collections.emptyList();
             igdCache.clear();
             igashCache.clear();
             classReflectionHelper.dispose();
@@ -1191,15 +1395,31 @@ public class ServiceLocatorImpl implements ServiceLocator {
         }
     }
 
-    private final WeakCARCache<IgdCacheKey, IgdValue> igdCache = CacheUtilities.createWeakCARCache(
+    /**
+     * Indexes the lookup caches by the contract of the lookup, so that a
+     * change to a contract only releases the entries of that contract
+     */
+    private final static CacheKeyIndexer<IgdCacheKey> CONTRACT_INDEXER = new CacheKeyIndexer<IgdCacheKey>() {
+
+        @Override
+        public String getIndex(IgdCacheKey key) {
+            return key.cacheKey.getRemovalName();
+        }
+
+    };
+
+    private final WeakCARCache<IgdCacheKey, IgdValue> igdCache = CacheUtilities.createConcurrentCARCache(
             new Computable<IgdCacheKey, IgdValue>() {
                 @Override
                 public IgdValue compute(final IgdCacheKey key) {
                     return igdCacheCompute(key);
                 }
-            }, CACHE_SIZE, false);
+            }, CACHE_SIZE, CONTRACT_INDEXER);
     
     private IgdValue igdCacheCompute(final IgdCacheKey key) {
+        serviceCacheSizer.missed();
+
+        final long generation = getIndexGeneration();
         final List<SystemDescriptor<?>> candidates = getDescriptors(key.filter, key.onBehalfOf, true, false, true);
         final ImmediateResults immediate = narrow(ServiceLocatorImpl.this, // locator
                 candidates, // candidates
@@ -1218,6 +1438,11 @@ public class ServiceLocatorImpl implements ServiceLocator {
             throw new ComputationErrorException(new IgdValue(results, immediate));
         }
         
+        if (!isIndexGenerationCurrent(generation)) {
+            // Computed from indexes that have since changed, so do not cache it
+            throw new ComputationErrorException(new IgdValue(results, immediate));
+        }
+        
         return new IgdValue(results, immediate);
     }
     
@@ -1257,7 +1482,6 @@ public class ServiceLocatorImpl implements ServiceLocator {
         name = getName(name, qualifiers);
 
         NarrowResults results = null;
-        LinkedList<ErrorService> currentErrorHandlers = null;
 
         ImmediateResults immediate = null;
         
@@ -1273,37 +1497,27 @@ public class ServiceLocatorImpl implements ServiceLocator {
                 qualifiers,
                 filter);
 
-        rLock.lock();
-        try {
-            final IgdValue value = igdCache.compute(igdCacheKey);
-            final boolean freshOne = value.freshnessKeeper.compareAndSet(1, 2);
-            if (!freshOne) {
-                immediate = narrow(this,  // locator
-                            null, // candidates
-                            contractOrImpl, // requiredType
-                            name,  // name
-                            onBehalfOf,  // onBehalfOf
-                            true, // onlyOne
-                            true, // doValidation
-                            value.results, // cachedResults
-                            filter, // filter
-                            qualifiers); // qualifiers
-                results = immediate.getTimelessResults();
-            } else {
-                results = value.results;
-                immediate = value.immediate;
-            }
-
-            if (!results.getErrors().isEmpty()) {
-                currentErrorHandlers = new LinkedList<ErrorService>(errorHandlers);
-            }
-        } finally {
-            rLock.unlock();
+        final IgdValue value = igdCache.compute(igdCacheKey);
+        final boolean freshOne = value.freshnessKeeper.compareAndSet(1, 2);
+        if (!freshOne) {
+            immediate = narrow(this,  // locator
+                        null, // candidates
+                        contractOrImpl, // requiredType
+                        name,  // name
+                        onBehalfOf,  // onBehalfOf
+                        true, // onlyOne
+                        true, // doValidation
+                        value.results, // cachedResults
+                        filter, // filter
+                        qualifiers); // qualifiers
+            results = immediate.getTimelessResults();
+        } else {
+            results = value.results;
+            immediate = value.immediate;
         }
 
-        if (currentErrorHandlers != null) {
-            // Do this next call OUTSIDE of the lock
-            Utilities.handleErrors(results, currentErrorHandlers);
+        if (!results.getErrors().isEmpty()) {
+            Utilities.handleErrors(results, new LinkedList<ErrorService>(errorHandlers));
         }
 
         // Must do validation here in order to allow for caching
@@ -1405,9 +1619,12 @@ public class ServiceLocatorImpl implements ServiceLocator {
     }
 
     final private WeakCARCache<IgdCacheKey, IgdValue> igashCache =
-            CacheUtilities.createWeakCARCache(new Computable<IgdCacheKey, IgdValue>() {
+            CacheUtilities.createConcurrentCARCache(new Computable<IgdCacheKey, IgdValue>() {
         @Override
         public IgdValue compute(final IgdCacheKey key) {
+            serviceCacheSizer.missed();
+
+            final long generation = getIndexGeneration();
 
             List<SystemDescriptor<?>> candidates = getDescriptors(key.filter, null, true, false, true);
             ImmediateResults immediate = narrow(ServiceLocatorImpl.this,
@@ -1426,9 +1643,14 @@ public class ServiceLocatorImpl implements ServiceLocator {
                 throw new ComputationErrorException(new IgdValue(results, immediate)) ;
             }
             
+            if (!isIndexGenerationCurrent(generation)) {
+                // Computed from indexes that have since changed, so do not cache it
+                throw new ComputationErrorException(new IgdValue(results, immediate));
+            }
+            
             return new IgdValue(results, immediate);
         }
-    }, CACHE_SIZE, false);
+    }, CACHE_SIZE, CONTRACT_INDEXER);
 
     private List<?> internalGetAllServiceHandles(
             Type contractOrImpl,
@@ -1449,7 +1671,6 @@ public class ServiceLocatorImpl implements ServiceLocator {
         final String name = rawClass.getName();
 
         NarrowResults results = null;
-        LinkedList<ErrorService> currentErrorHandlers = null;
 
         ImmediateResults immediate = null;
         
@@ -1465,43 +1686,33 @@ public class ServiceLocatorImpl implements ServiceLocator {
                 qualifiers,
                 filter);
 
-        rLock.lock();
-        try {
-            final IgdValue value = igashCache.compute(igdCacheKey);
-            final boolean freshOne = value.freshnessKeeper.compareAndSet(1, 2);
-            if (!freshOne) {
-                immediate = narrow(this,
-                        null,
-                        contractOrImpl,
-                        null,
-                        null,
-                        false,
-                        true,
-                        value.results,
-                        filter,
-                        qualifiers);
-                results = immediate.getTimelessResults();
-            }
-            else {
-                results = value.results;
-                immediate = value.immediate;
-            }
-
-            if (!results.getErrors().isEmpty()) {
-                currentErrorHandlers = new LinkedList<ErrorService>(errorHandlers);
-            }
+        final IgdValue value = igashCache.compute(igdCacheKey);
+        final boolean freshOne = value.freshnessKeeper.compareAndSet(1, 2);
+        if (!freshOne) {
+            immediate = narrow(this,
+                    null,
+                    contractOrImpl,
+                    null,
+                    null,
+                    false,
+                    true,
+                    value.results,
+                    filter,
+                    qualifiers);
+            results = immediate.getTimelessResults();
         }
-        finally {
-            rLock.unlock();
+        else {
+            results = value.results;
+            immediate = value.immediate;
         }
 
-        if (currentErrorHandlers != null) {
-            // Do this next call OUTSIDE of the lock
-            Utilities.handleErrors(results, currentErrorHandlers);
+        if (!results.getErrors().isEmpty()) {
+            Utilities.handleErrors(results, new LinkedList<ErrorService>(errorHandlers));
         }
 
-        LinkedList<Object> retVal = new LinkedList<Object>();
-        for (ActiveDescriptor<?> candidate : immediate.getImmediateResults()) {
+        List<ActiveDescriptor<?>> immediateResults = immediate.getImmediateResults();
+        ArrayList<Object> retVal = new ArrayList<Object>(immediateResults.size());
+        for (ActiveDescriptor<?> candidate : immediateResults) {
             if (getHandles) {
                 retVal.add(internalGetServiceHandle(candidate, contractOrImpl, null));
             }
@@ -1565,12 +1776,14 @@ public class ServiceLocatorImpl implements ServiceLocator {
             Utilities.handleErrors(results, currentErrorHandlers);
         }
 
-        SortedSet<ServiceHandle<?>> retVal = new TreeSet<ServiceHandle<?>>(HANDLE_COMPARATOR);
-        for (ActiveDescriptor<?> candidate : results.getResults()) {
+        // The results are in the sorted order of the candidates
+        List<ActiveDescriptor<?>> goodResults = results.getResults();
+        List<ServiceHandle<?>> retVal = new ArrayList<ServiceHandle<?>>(goodResults.size());
+        for (ActiveDescriptor<?> candidate : goodResults) {
             retVal.add(getServiceHandle(candidate));
         }
 
-        return new LinkedList<ServiceHandle<?>>(retVal);
+        return retVal;
     }
 
     /* (non-Javadoc)
@@ -1831,13 +2044,15 @@ public class ServiceLocatorImpl implements ServiceLocator {
             }
 
             allDescriptors.removeDescriptor(unbind);
+            unpublishedIndexes.add(allDescriptors);
 
             for (String advertisedContract : getAllContracts(unbind)) {
                 IndexedListData ild = descriptorsByAdvertisedContract.get(advertisedContract);
                 if (ild == null) continue;
 
                 ild.removeDescriptor(unbind);
-                if (ild.isEmpty()) descriptorsByAdvertisedContract.remove(advertisedContract);
+                unpublishedIndexes.add(ild);
+                if (ild.isEmpty()) emptiedContracts.add(advertisedContract);
             }
 
             String unbindName = unbind.getName();
@@ -1845,16 +2060,31 @@ public class ServiceLocatorImpl implements ServiceLocator {
                 IndexedListData ild = descriptorsByName.get(unbindName);
                 if (ild != null) {
                     ild.removeDescriptor(unbind);
+                    unpublishedIndexes.add(ild);
                     if (ild.isEmpty()) {
-                        descriptorsByName.remove(unbindName);
+                        emptiedNames.add(unbindName);
                     }
                 }
+
+                for (String advertisedContract : unbind.getAdvertisedContracts()) {
+                    ContractAndNameKey key = new ContractAndNameKey(advertisedContract, unbindName);
+
+                    ild = descriptorsByContractAndName.get(key);
+                    if (ild == null) continue;
+
+                    ild.removeDescriptor(unbind);
+                    unpublishedIndexes.add(ild);
+                    if (ild.isEmpty()) emptiedContractAndNames.add(key);
+                }
             }
 
             if (unbind.getAdvertisedContracts().contains(ValidationService.class.getName())) {
                 ServiceHandle<ValidationService> handle = (ServiceHandle<ValidationService>) getServiceHandle(unbind);
                 ValidationService vs = handle.getService();
-                allValidators.remove(vs);
+
+                LinkedHashSet<ValidationService> newValidators = new LinkedHashSet<ValidationService>(allValidators);
+                newValidators.remove(vs);
+                allValidators = Collections.unmodifiableSet(newValidators);
             }
             
             if (unbind.isReified()) {
@@ -1918,17 +2148,20 @@ public class ServiceLocatorImpl implements ServiceLocator {
 
             thingsAdded.add(sd);
             allDescriptors.addDescriptor(sd);
+            unpublishedIndexes.add(allDescriptors);
 
             List<String> allContracts = getAllContracts(sd);
 
             for (String advertisedContract : allContracts) {
                 IndexedListData ild = descriptorsByAdvertisedContract.get(advertisedContract);
                 if (ild == null) {
+                    // Has nothing published in it yet, so can be seen by readers right away
                     ild = new IndexedListData();
                     descriptorsByAdvertisedContract.put(advertisedContract, ild);
                 }
 
                 ild.addDescriptor(sd);
+                unpublishedIndexes.add(ild);
             }
 
             if (sd.getName() != null) {
@@ -1940,18 +2173,110 @@ public class ServiceLocatorImpl implements ServiceLocator {
                 }
 
                 ild.addDescriptor(sd);
+                unpublishedIndexes.add(ild);
+
+                for (String advertisedContract : sd.getAdvertisedContracts()) {
+                    ContractAndNameKey key = new ContractAndNameKey(advertisedContract, name);
+
+                    ild = descriptorsByContractAndName.get(key);
+                    if (ild == null) {
+                        ild = new IndexedListData();
+                        descriptorsByContractAndName.put(key, ild);
+                    }
+
+                    ild.addDescriptor(sd);
+                    unpublishedIndexes.add(ild);
+                }
             }
 
             if (sd.getAdvertisedContracts().contains(ValidationService.class.getName())) {
                 ServiceHandle<ValidationService> handle = getServiceHandle((ActiveDescriptor<ValidationService>) sd);
                 ValidationService vs = handle.getService();
-                allValidators.add(vs);
+
+                LinkedHashSet<ValidationService> newValidators = new LinkedHashSet<ValidationService>(allValidators);
+                newValidators.add(vs);
+                allValidators = Collections.unmodifiableSet(newValidators);
             }
         }
 
         return thingsAdded;
     }
 
+    /**
+     * Must hold the write lock.  Marks the start of a change to the
+     * indexes, nothing computed from them by other threads until
+     * {@link #publishIndexes()} is called will be cached
+     */
+    private void beginIndexChange() {
+        if ((indexGeneration & 1L) == 0L) {
+            indexGeneration++;
+        }
+    }
+
+    /**
+     * Must hold the write lock.  Makes all of the modifications made
+     * to the indexes visible to other threads
+     */
+    private void publishIndexes() {
+        for (IndexedListData ild : unpublishedIndexes) {
+            ild.publish();
+        }
+        unpublishedIndexes.clear();
+
+        for (String emptied : emptiedContracts) {
+            IndexedListData ild = descriptorsByAdvertisedContract.get(emptied);
+            if (ild != null && ild.isEmpty()) descriptorsByAdvertisedContract.remove(emptied, ild);
+        }
+        emptiedContracts.clear();
+
+        for (String emptied : emptiedNames) {
+            IndexedListData ild = descriptorsByName.get(emptied);
+            if (ild != null && ild.isEmpty()) descriptorsByName.remove(emptied, ild);
+        }
+        emptiedNames.clear();
+
+        for (ContractAndNameKey emptied : emptiedContractAndNames) {
+            IndexedListData ild = descriptorsByContractAndName.get(emptied);
+            if (ild != null && ild.isEmpty()) descriptorsByContractAndName.remove(emptied, ild);
+        }
+        emptiedContractAndNames.clear();
+
+        if ((indexGeneration & 1L) != 0L) {
+            indexGeneration++;
+        }
+    }
+
+    /**
+     * The sum of the index generations of this locator and all of its
+     * parents, which changes whenever any of those indexes change
+     */
+    private long getIndexGeneration() {
+        long retVal = indexGeneration;
+        if (parent != null) {
+            retVal += parent.getIndexGeneration();
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Tells whether something computed from the indexes of this locator and its
+     * parents when they were at the given generation can still be cached.  This
+     * must be called from within the compute of the lookup caches, so that a
+     * later reupCache is guaranteed to see the cached value
+     *
+     * @param generation The value returned from {@link #getIndexGeneration()}
+     * before the computation started
+     * @return true if no index change has started since the given generation
+     */
+    private boolean isIndexGenerationCurrent(long generation) {
+        for (ServiceLocatorImpl current = this; current != null; current = current.parent) {
+            if ((current.indexGeneration & 1L) != 0L) return false;
+        }
+
+        return generation == getIndexGeneration();
+    }
+
     private void reupInjectionResolvers() {
         HashMap<Class<? extends Annotation>, InjectionResolver<?>> newResolvers =
                 new HashMap<Class<? extends Annotation>, InjectionResolver<?>>();
@@ -1972,10 +2297,19 @@ public class ServiceLocatorImpl implements ServiceLocator {
             }
         }
 
+        // Describes which members these resolvers inject into, for the ClassAnalysisCache
+        TreeSet<String> resolverKeys = new TreeSet<String>();
+        for (Map.Entry<Class<? extends Annotation>, InjectionResolver<?>> entry : newResolvers.entrySet()) {
+            resolverKeys.add(entry.getKey().getName() +
+                    (entry.getValue().isConstructorParameterIndicator() ? "+c" : "") +
+                    (entry.getValue().isMethodParameterIndicator() ? "+m" : ""));
+        }
+
         allResolversLock.lock();
         try {
-            allResolvers.clear();
-            allResolvers.putAll(newResolvers);
+            // Replaced rather than cleared, lookups read this without the lock
+            allResolvers = new ConcurrentHashMap<Class<? extends Annotation>, InjectionResolver<?>>(newResolvers);
+            injectionResolversKey = String.join(",", resolverKeys);
         } finally {
             allResolversLock.unlock();
         }
@@ -1994,8 +2328,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
     private void reupErrorHandlers() {
         List<ErrorService> allErrorServices = protectedGetAllServices(ErrorService.class);
 
-        errorHandlers.clear();
-        errorHandlers.addAll(allErrorServices);
+        errorHandlers = Collections.unmodifiableList(new LinkedList<ErrorService>(allErrorServices));
     }
     
     private void reupConfigListeners() {
@@ -2013,6 +2346,105 @@ public class ServiceLocatorImpl implements ServiceLocator {
         }
     }
 
+    /**
+     * Called when instance listeners have been added or removed.  Rather than
+     * checking every descriptor against every listener only the descriptors
+     * that could be matched by the added or removed listeners are wired again,
+     * which are found in the indexes when the filter of the listener is an
+     * {@link IndexedFilter}.  A listener with any other filter still requires
+     * all of the descriptors to be wired again
+     *
+     * @param thingsAdded The descriptors added in this configuration change,
+     * which are always wired
+     */
+    private void rewireInstanceListenersHandlers(List<SystemDescriptor<?>> thingsAdded) {
+        List<InstanceLifecycleListener> allLifecycleListeners = protectedGetAllServices(InstanceLifecycleListener.class);
+
+        IdentityHashMap<InstanceLifecycleListener, InstanceListenerTarget> currentTargets =
+                new IdentityHashMap<InstanceLifecycleListener, InstanceListenerTarget>();
+        LinkedHashSet<SystemDescriptor<?>> rewire = new LinkedHashSet<SystemDescriptor<?>>(thingsAdded);
+        boolean rewireAll = false;
+
+        for (InstanceLifecycleListener listener : allLifecycleListeners) {
+            InstanceListenerTarget target = instanceListenerTargets.remove(listener);
+            if (target == null) {
+                // A new listener
+                target = new InstanceListenerTarget(listener.getFilter());
+                if (!rewireAll) {
+                    rewireAll = !addInstanceListenerTargets(target, rewire);
+                }
+            }
+
+            currentTargets.put(listener, target);
+        }
+
+        // Whatever is left over are the listeners that are gone
+        for (InstanceListenerTarget target : instanceListenerTargets.values()) {
+            if (rewireAll) break;
+
+            rewireAll = !addInstanceListenerTargets(target, rewire);
+        }
+
+        instanceListenerTargets = currentTargets;
+
+        Collection<SystemDescriptor<?>> checkList = (rewireAll) ? allDescriptors.getWorkingList() : rewire;
+        for (SystemDescriptor<?> descriptor : checkList) {
+            descriptor.reupInstanceListeners(allLifecycleListeners);
+        }
+    }
+
+    /**
+     * Must hold the write lock.  Adds the descriptors that the given
+     * listener could be interested in to the set
+     *
+     * @return false if the listener is not indexed, in which
+     * case every descriptor may be of interest to it
+     */
+    private boolean addInstanceListenerTargets(InstanceListenerTarget target,
+            Set<SystemDescriptor<?>> addTo) {
+        IndexedListData ild;
+        if (target.contract != null && target.name != null) {
+            ild = descriptorsByContractAndName.get(new ContractAndNameKey(target.contract, target.name));
+        }
+        else if (target.contract != null) {
+            ild = descriptorsByAdvertisedContract.get(target.contract);
+        }
+        else if (target.name != null) {
+            ild = descriptorsByName.get(target.name);
+        }
+        else {
+            return false;
+        }
+
+        if (ild != null) {
+            addTo.addAll(ild.getWorkingList());
+        }
+
+        return true;
+    }
+
+    /**
+     * The contract and name an instance listener is
+     * interested in, as given by its {@link IndexedFilter}
+     */
+    private final static class InstanceListenerTarget {
+        private final String contract;
+        private final String name;
+
+        private InstanceListenerTarget(Filter filter) {
+            if (filter instanceof IndexedFilter) {
+                IndexedFilter indexedFilter = (IndexedFilter) filter;
+
+                contract = indexedFilter.getAdvertisedContract();
+                name = indexedFilter.getName();
+            }
+            else {
+                contract = null;
+                name = null;
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void reupClassAnalyzers() {
         List<ServiceHandle<?>> allAnalyzers = protectedGetAllServiceHandles(ClassAnalyzer.class);
@@ -2031,21 +2463,29 @@ public class ServiceLocatorImpl implements ServiceLocator {
         }
     }
 
-    private void reupCache(HashSet<String> affectedContracts) {
+    /**
+     * Releases the cached lookups of the affected contracts.  When called on
+     * a child the contracts are first queued, so that while one commit holds
+     * the lock of the child the contracts of any other commits to the parents
+     * are released in the same pass rather than one commit at a time
+     *
+     * @param affectedContracts The contracts whose lookups may have changed
+     */
+    private void reupCache(Set<String> affectedContracts) {
+        if (affectedContracts.isEmpty()) return;
+
+        pendingCacheReleases.addAll(affectedContracts);
+
         // This lock must be acquired as reupCache is called on children
         wLock.lock();
         try {
-            for (String affectedContract : affectedContracts) {
-                final String fAffectedContract = affectedContract;
-                final CacheKeyFilter<IgdCacheKey> cacheKeyFilter = new CacheKeyFilter<IgdCacheKey>() {
-                    @Override
-                    public boolean matches(IgdCacheKey key) {
-                        return key.cacheKey.matchesRemovalName(fAffectedContract);
-                    }
-                };
+            Iterator<String> iterator = pendingCacheReleases.iterator();
+            while (iterator.hasNext()) {
+                String affectedContract = iterator.next();
+                iterator.remove();
 
-                igdCache.releaseMatching(cacheKeyFilter);
-                igashCache.releaseMatching(cacheKeyFilter);
+                igdCache.releaseIndexed(affectedContract);
+                igashCache.releaseIndexed(affectedContract);
             }
         } finally {
             wLock.unlock();
@@ -2078,7 +2518,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
         }
 
         if (instanceListenersModified) {
-            reupInstanceListenersHandlers(allDescriptors.getSortedList());
+            rewireInstanceListenersHandlers(thingsAdded);
         }
         else {
             reupInstanceListenersHandlers(thingsAdded);
@@ -2139,6 +2579,8 @@ public class ServiceLocatorImpl implements ServiceLocator {
         try {
             checkData = checkConfiguration(dci);  // Does as much preliminary checking as possible
 
+            beginIndexChange();
+
             removeConfigurationInternal(checkData.getUnbinds());
 
             List<SystemDescriptor<?>> thingsAdded = addConfigurationInternal(dci);
@@ -2152,6 +2594,8 @@ public class ServiceLocatorImpl implements ServiceLocator {
                     checkData.getAffectedContracts(),
                     checkData.getInterceptionServiceModificationMade());
             
+            validationCache.clear();
+            
             allConfigurationListeners = new LinkedList<ServiceHandle<?>>(configListeners);
         } catch (MultiException me) {
             configurationError = me;
@@ -2162,6 +2606,9 @@ public class ServiceLocatorImpl implements ServiceLocator {
                 errorServices = new LinkedList<ErrorService>(errorHandlers);
             }
             
+            // Whatever was done is made visible, even on failure
+            publishIndexes();
+            
             wLock.unlock();
             
             if (errorServices != null && !errorServices.isEmpty()) {
@@ -2186,6 +2633,9 @@ public class ServiceLocatorImpl implements ServiceLocator {
 
         for (ServiceLocatorImpl sli : allMyChildren) {
             sli.reupCache(checkData.getAffectedContracts());
+            
+            // Children validate with the validators and descriptors of this locator
+            sli.validationCache.clear();
         }
         
         callAllConfigurationListeners(allConfigurationListeners);
@@ -2222,6 +2672,17 @@ public class ServiceLocatorImpl implements ServiceLocator {
         return allResolvers.get(annoType);
     }
 
+    /**
+     * Returns a description of the injection annotations known to this
+     * locator, which decide the result of analyzing a class for injection points
+     *
+     * @return A non-null key that is the same for all locators with
+     * the same injection resolvers
+     */
+    /* package */ String getInjectionResolversKey() {
+        return injectionResolversKey;
+    }
+
     private Context<?> _resolveContext(final Class<? extends Annotation> scope) throws IllegalStateException {
         Context<?> retVal = null;
         Type actuals[] = new Type[1];
@@ -2421,7 +2882,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
         if (ServiceLocatorState.SHUTDOWN.equals(state)) throw new IllegalStateException(this + " has been shut down");
     }
 
-    private LinkedHashSet<ValidationService> getAllValidators() {
+    private Set<ValidationService> getAllValidators() {
         if (parent == null) {
             return allValidators;
         }
@@ -2668,13 +3129,7 @@ public class ServiceLocatorImpl implements ServiceLocator {
     }
     
     /* package */ LinkedList<ErrorService> getErrorHandlers() {
-        rLock.lock();
-        try {
-            return new LinkedList<ErrorService>(errorHandlers);
-        }
-        finally {
-            rLock.unlock();
-        }
+        return new LinkedList<ErrorService>(errorHandlers);
     }
     
     /* package */ PerLocatorUtilities getPerLocatorUtilities() {
@@ -2682,13 +3137,15 @@ public class ServiceLocatorImpl implements ServiceLocator {
     }
 
     /* package */ int getNumberOfDescriptors() {
-        rLock.lock();
-        try {
-            return allDescriptors.size();
-        }
-        finally {
-            rLock.unlock();
-        }
+        return allDescriptors.getSortedList().size();
+    }
+
+    /* package */ long getContractAndNameIndexHits() {
+        return contractAndNameHits.sum();
+    }
+
+    /* package */ long getContractAndNameIndexMisses() {
+        return contractAndNameMisses.sum();
     }
 
     /* package */ int getNumberOfChildren() {
@@ -2700,7 +3157,65 @@ public class ServiceLocatorImpl implements ServiceLocator {
     }
 
     /* package */ int getServiceCacheMaximumSize() {
-        return igdCache.getMaxSize();
+        return serviceCacheSizer.getMaxSize();
+    }
+
+    /* package */ void setServiceCacheMaximumSize(int maxSize) {
+        serviceCacheSizer.setMaxSize(maxSize);
+    }
+
+    /* package */ boolean isServiceCacheAdaptive() {
+        return serviceCacheSizer.isAdaptive();
+    }
+
+    /* package */ void setServiceCacheAdaptive(boolean adaptive) {
+        serviceCacheSizer.setAdaptive(adaptive);
+    }
+
+    /* package */ long getServiceCacheHits() {
+        return serviceCacheSizer.getHits();
+    }
+
+    /* package */ long getServiceCacheMisses() {
+        return serviceCacheSizer.getMisses();
+    }
+
+    /* package */ long getServiceCacheEvictions() {
+        return serviceCacheSizer.getEvictions();
+    }
+
+    /* package */ boolean isValidationCacheEnabled() {
+        return validationCache.isEnabled();
+    }
+
+    /* package */ void setValidationCacheEnabled(boolean enabled) {
+        validationCache.setEnabled(enabled);
+    }
+
+    /* package */ boolean isHiddenClassInterception() {
+        return hiddenClassInterception;
+    }
+
+    /* package */ void setHiddenClassInterception(boolean hiddenClassInterception) {
+        this.hiddenClassInterception = hiddenClassInterception;
+    }
+
+    /* package */ boolean isParallelShutdown() {
+        return parallelShutdown;
+    }
+
+    /* package */ void setParallelShutdown(boolean parallelShutdown) {
+        this.parallelShutdown = parallelShutdown;
+    }
+
+    /* package */ long getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /* package */ void setShutdownTimeout(long shutdownTimeout) {
+        if (shutdownTimeout < 0L) throw new IllegalArgumentException("The shutdown timeout may not be negative: " + shutdownTimeout);
+
+        this.shutdownTimeout = shutdownTimeout;
     }
 
     /* package */ void clearServiceCache() {
@@ -2722,13 +3237,23 @@ public class ServiceLocatorImpl implements ServiceLocator {
         }
     }
     
-    /* package */ int unsortIndexes(int newRank, SystemDescriptor<?> desc, Set<IndexedListData> myLists) {
+    /* package */ int changeRanking(int newRank, SystemDescriptor<?> desc, Set<IndexedListData> myLists) {
         wLock.lock();
         try {
+            for (IndexedListData myList : myLists) {
+                myList.beginRankChange(desc);
+            }
+            
             int retVal = desc.setRankWithLock(newRank);
             
             for (IndexedListData myList : myLists) {
-                myList.unSort();
+                myList.endRankChange(desc);
+                unpublishedIndexes.add(myList);
+            }
+            
+            if ((indexGeneration & 1L) == 0L) {
+                // Not in the middle of a configuration change
+                publishIndexes();
             }
             
             return retVal;
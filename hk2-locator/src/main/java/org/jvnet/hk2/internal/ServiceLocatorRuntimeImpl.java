@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,9 +20,12 @@ package org.jvnet.hk2.internal;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.DescriptorVisibility;
+import org.glassfish.hk2.api.DynamicConfigurationService;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.api.Visibility;
+import org.glassfish.hk2.utilities.BuilderHelper;
 import org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean;
 
 /**
@@ -54,6 +58,22 @@ public class ServiceLocatorRuntimeImpl implements ServiceLocatorRuntimeBean {
         return locator.getNumberOfChildren();
     }
 
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getContractAndNameIndexHits()
+     */
+    @Override
+    public long getContractAndNameIndexHits() {
+        return locator.getContractAndNameIndexHits();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getContractAndNameIndexMisses()
+     */
+    @Override
+    public long getContractAndNameIndexMisses() {
+        return locator.getContractAndNameIndexMisses();
+    }
+
     /* (non-Javadoc)
      * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getServiceCacheSize()
      */
@@ -70,6 +90,54 @@ public class ServiceLocatorRuntimeImpl implements ServiceLocatorRuntimeBean {
         return locator.getServiceCacheMaximumSize();
     }
 
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setServiceCacheMaximumSize(int)
+     */
+    @Override
+    public void setServiceCacheMaximumSize(int maxSize) {
+        locator.setServiceCacheMaximumSize(maxSize);
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#isServiceCacheAdaptive()
+     */
+    @Override
+    public boolean isServiceCacheAdaptive() {
+        return locator.isServiceCacheAdaptive();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setServiceCacheAdaptive(boolean)
+     */
+    @Override
+    public void setServiceCacheAdaptive(boolean adaptive) {
+        locator.setServiceCacheAdaptive(adaptive);
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getServiceCacheHits()
+     */
+    @Override
+    public long getServiceCacheHits() {
+        return locator.getServiceCacheHits();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getServiceCacheMisses()
+     */
+    @Override
+    public long getServiceCacheMisses() {
+        return locator.getServiceCacheMisses();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getServiceCacheEvictions()
+     */
+    @Override
+    public long getServiceCacheEvictions() {
+        return locator.getServiceCacheEvictions();
+    }
+
     /* (non-Javadoc)
      * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#clearServiceCache()
      */
@@ -96,4 +164,106 @@ public class ServiceLocatorRuntimeImpl implements ServiceLocatorRuntimeBean {
 
     }
 
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#isParallelPopulation()
+     */
+    @Override
+    public boolean isParallelPopulation() {
+        return getPopulator().isParallel();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setParallelPopulation(boolean)
+     */
+    @Override
+    public void setParallelPopulation(boolean parallel) {
+        getPopulator().setParallel(parallel);
+    }
+    
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#isValidationCacheEnabled()
+     */
+    @Override
+    public boolean isValidationCacheEnabled() {
+        return locator.isValidationCacheEnabled();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setValidationCacheEnabled(boolean)
+     */
+    @Override
+    public void setValidationCacheEnabled(boolean enabled) {
+        locator.setValidationCacheEnabled(enabled);
+    }
+    
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#isHiddenClassInterception()
+     */
+    @Override
+    public boolean isHiddenClassInterception() {
+        return locator.isHiddenClassInterception();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setHiddenClassInterception(boolean)
+     */
+    @Override
+    public void setHiddenClassInterception(boolean hiddenClassInterception) {
+        locator.setHiddenClassInterception(hiddenClassInterception);
+    }
+    
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#isParallelShutdown()
+     */
+    @Override
+    public boolean isParallelShutdown() {
+        return locator.isParallelShutdown();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setParallelShutdown(boolean)
+     */
+    @Override
+    public void setParallelShutdown(boolean parallelShutdown) {
+        locator.setParallelShutdown(parallelShutdown);
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#getShutdownTimeout()
+     */
+    @Override
+    public long getShutdownTimeout() {
+        return locator.getShutdownTimeout();
+    }
+
+    /* (non-Javadoc)
+     * @see org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean#setShutdownTimeout(long)
+     */
+    @Override
+    public void setShutdownTimeout(long shutdownTimeout) {
+        locator.setShutdownTimeout(shutdownTimeout);
+    }
+    
+    /**
+     * The DynamicConfigurationService contract may have been given another
+     * implementation, so the populator is taken from the implementation
+     * the locator was created with
+     */
+    private PopulatorImpl getPopulator() {
+        long locatorId = locator.getLocatorId();
+        
+        for (ActiveDescriptor<?> descriptor : locator.getDescriptors(
+                BuilderHelper.createContractFilter(DynamicConfigurationService.class.getName()))) {
+            if (!DynamicConfigurationServiceImpl.class.getName().equals(descriptor.getImplementation())) continue;
+            if (descriptor.getLocatorId() == null || descriptor.getLocatorId().longValue() != locatorId) continue;
+            
+            Object dcs = locator.getService(descriptor, null, null);
+            if (dcs instanceof DynamicConfigurationServiceImpl) {
+                return ((DynamicConfigurationServiceImpl) dcs).getPopulatorImpl();
+            }
+        }
+        
+        throw new IllegalStateException("The DynamicConfigurationService of " + locator + " could not be found");
+    }
+
 }
@@ -57,20 +57,35 @@ public class SingletonContext implements Context<Singleton> {
             if (cachedVal != null) {
                 return cachedVal;
             }
-            // Synchronize on the descriptor to prevent race conditions
-            synchronized (activeDescriptor) {
-                cachedVal = activeDescriptor.getCache();
-                if (cachedVal != null) {
-                    return cachedVal;
-                }
 
+            if (!(activeDescriptor instanceof SystemDescriptor)) {
+                // The cache only computes one value at a time for any descriptor
                 final Object createdVal = activeDescriptor.create(a.getRoot());
                 activeDescriptor.setCache(createdVal);
-                if (activeDescriptor instanceof SystemDescriptor) {
-                    ((SystemDescriptor<?>) activeDescriptor).setSingletonGeneration(generationNumber++);
+
+                return createdVal;
+            }
+
+            // Lock the descriptor to prevent race conditions with a value that is
+            // being destroyed.  This is a ReentrantLock rather than a monitor so
+            // that a virtual thread blocking in a constructor or postConstruct
+            // does not pin its carrier thread
+            final SystemDescriptor<Object> systemDescriptor = (SystemDescriptor<Object>) activeDescriptor;
+            final ReentrantLock creationLock = systemDescriptor.getCreationLock();
+            creationLock.lock();
+            try {
+                cachedVal = systemDescriptor.getCache();
+                if (cachedVal != null) {
+                    return cachedVal;
                 }
 
+                final Object createdVal = systemDescriptor.create(a.getRoot());
+                systemDescriptor.setCache(createdVal);
+                systemDescriptor.setSingletonGeneration(nextGeneration());
+
                 return createdVal;
+            } finally {
+                creationLock.unlock();
             }
         }
     }, new Cache.CycleHandler<ContextualInput<Object>>(){
@@ -87,6 +102,15 @@ public class SingletonContext implements Context<Singleton> {
         locator = impl;
     }
 
+    private int nextGeneration() {
+        lock.lock();
+        try {
+            return generationNumber++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.glassfish.hk2.api.Context#getScope()
      */
@@ -102,6 +126,12 @@ public class SingletonContext implements Context<Singleton> {
     @Override
     public <T> T findOrCreate(ActiveDescriptor<T> activeDescriptor,
             ServiceHandle<?> root) {
+        if (activeDescriptor instanceof SystemDescriptor) {
+            // The fast path, a singleton that has already been created
+            // needs neither the ContextualInput nor the cycle detecting cache
+            T cachedVal = activeDescriptor.getCache();
+            if (cachedVal != null) return cachedVal;
+        }
 
         try {
             return (T)valueCache.compute(new ContextualInput<Object>((ActiveDescriptor<Object>) activeDescriptor, root));
@@ -167,6 +197,11 @@ public class SingletonContext implements Context<Singleton> {
             singlesOnly.add(oneAsObject);
         }
 
+        if (locator.isParallelShutdown()) {
+            new SingletonShutdown(locator, this, singlesOnly).shutdown(locator.getShutdownTimeout());
+            return;
+        }
+
         for (SystemDescriptor<Object> one : singlesOnly) {
             destroyOne(one);
         }
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import jakarta.inject.Provider;
+
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Injectee;
+import org.glassfish.hk2.api.IterableProvider;
+import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.hk2.utilities.InjecteeImpl;
+import org.glassfish.hk2.utilities.reflection.Logger;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
+
+/**
+ * Destroys the singletons of a locator in parallel.  The dependencies of
+ * each singleton are found from its injection points, following Providers
+ * and PerLookup services, and a singleton is only destroyed after every
+ * singleton that injects it has been destroyed, so that singletons that do
+ * not depend on each other are destroyed at the same time.  Singletons that
+ * are ready at the same time are started in reverse creation order, which
+ * is the order used by the serial shutdown, and singletons in a cycle are
+ * destroyed one at a time in that order once nothing else can be destroyed.
+ * A singleton that gets another one in some other way, for example from the
+ * ServiceLocator, is not ordered against it
+ * <p>
+ * The PreDestroy methods are called on the threads of the
+ * {@link BlockingTaskExecutor}, with the context class loader and access
+ * control context of the thread shutting down the locator
+ */
+public class SingletonShutdown {
+    private final static Comparator<Node> REVERSE_CREATION_ORDER = new Comparator<Node>() {
+
+        @Override
+        public int compare(Node o1, Node o2) {
+            return Integer.compare(o1.order, o2.order);
+        }
+
+    };
+
+    private final SingletonContext context;
+    private final List<Node> nodes = new ArrayList<Node>();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    // These, and the state of the nodes, are only used with the lock held
+    private final ReentrantLock lock = new ReentrantLock();
+    private int running;
+    private int finished;
+    private boolean stopped;
+
+    /**
+     * Creates the shutdown of the given singletons
+     *
+     * @param locator The locator the singletons belong to
+     * @param context The context that destroys each singleton
+     * @param singletons The singletons to destroy, in reverse creation order
+     */
+    /* package */ SingletonShutdown(ServiceLocatorImpl locator,
+            SingletonContext context,
+            Collection<SystemDescriptor<Object>> singletons) {
+        this.context = context;
+
+        IdentityHashMap<ActiveDescriptor<?>, Node> byDescriptor = new IdentityHashMap<ActiveDescriptor<?>, Node>();
+        for (SystemDescriptor<Object> singleton : singletons) {
+            Node node = new Node(singleton, nodes.size());
+
+            nodes.add(node);
+            byDescriptor.put(singleton, node);
+        }
+
+        for (Node node : nodes) {
+            IdentityHashMap<ActiveDescriptor<?>, Boolean> visited = new IdentityHashMap<ActiveDescriptor<?>, Boolean>();
+            visited.put(node.descriptor, Boolean.TRUE);
+
+            addDependencies(locator, node, node.descriptor, byDescriptor, visited);
+        }
+    }
+
+    /**
+     * Adds the singletons injected into the given descriptor as dependencies
+     * of the node, going through the PerLookup services it injects
+     */
+    private static void addDependencies(ServiceLocatorImpl locator,
+            Node node,
+            ActiveDescriptor<?> descriptor,
+            IdentityHashMap<ActiveDescriptor<?>, Node> byDescriptor,
+            IdentityHashMap<ActiveDescriptor<?>, Boolean> visited) {
+        for (Injectee injectee : descriptor.getInjectees()) {
+            ActiveDescriptor<?> dependency;
+            try {
+                dependency = locator.getInjecteeDescriptorWithoutJIT(getProvidedInjectee(injectee));
+            }
+            catch (Throwable th) {
+                // Whatever was injected can not be found anymore, so it gives no order
+                continue;
+            }
+
+            if (dependency == null || visited.put(dependency, Boolean.TRUE) != null) continue;
+
+            Node dependencyNode = byDescriptor.get(dependency);
+            if (dependencyNode != null) {
+                node.dependencies.add(dependencyNode);
+                dependencyNode.dependents++;
+                continue;
+            }
+
+            if (PerLookup.class.getName().equals(dependency.getScope()) && dependency.isReified()) {
+                addDependencies(locator, node, dependency, byDescriptor, visited);
+            }
+        }
+    }
+
+    /**
+     * A Provider or IterableProvider is resolved to the service it provides
+     */
+    private static Injectee getProvidedInjectee(Injectee injectee) {
+        Class<?> rawType = ReflectionHelper.getRawClass(injectee.getRequiredType());
+        if (!Provider.class.equals(rawType) && !Iterable.class.equals(rawType) &&
+                !IterableProvider.class.equals(rawType)) {
+            return injectee;
+        }
+
+        InjecteeImpl provided = new InjecteeImpl(injectee);
+        provided.setRequiredType(ReflectionHelper.getFirstTypeArgument(injectee.getRequiredType()));
+
+        return provided;
+    }
+
+    /**
+     * Destroys all of the singletons and waits for them to be destroyed
+     *
+     * @param timeout The maximum number of milliseconds to wait for the
+     * singletons to be destroyed, or zero to wait for as long as it takes.
+     * When the time is up the singletons whose destruction has not yet
+     * started are cancelled and left alone, while those already being
+     * destroyed are allowed to finish on their own
+     */
+    /* package */ void shutdown(long timeout) {
+        if (nodes.isEmpty()) return;
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        AccessControlContext acc = AccessController.getContext();
+
+        List<Node> ready = new ArrayList<Node>();
+        lock.lock();
+        try {
+            for (Node node : nodes) {
+                if (node.dependents == 0) ready.add(node);
+            }
+
+            if (ready.isEmpty()) {
+                // Everything is in a cycle
+                ready.add(nodes.get(0));
+            }
+
+            start(ready);
+        } finally {
+            lock.unlock();
+        }
+
+        submit(ready, loader, acc);
+
+        boolean completed;
+        try {
+            if (timeout > 0L) {
+                completed = done.await(timeout, TimeUnit.MILLISECONDS);
+            }
+            else {
+                done.await();
+                completed = true;
+            }
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            completed = false;
+        }
+
+        if (completed) return;
+
+        List<String> left = new ArrayList<String>();
+        lock.lock();
+        try {
+            stopped = true;
+
+            for (Node node : nodes) {
+                if (!node.destroyed) left.add(node.descriptor.getImplementation());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!left.isEmpty()) {
+            Logger.getLogger().warning("The singletons " + left + " were not destroyed before the shutdown " +
+                "stopped waiting for them after " + timeout + " milliseconds or was interrupted");
+        }
+    }
+
+    private void start(List<Node> ready) {
+        Collections.sort(ready, REVERSE_CREATION_ORDER);
+
+        for (Node node : ready) {
+            node.started = true;
+        }
+        running += ready.size();
+    }
+
+    private void submit(List<Node> ready, final ClassLoader loader, final AccessControlContext acc) {
+        for (final Node node : ready) {
+            Runnable destroyer = new Runnable() {
+
+                @Override
+                public void run() {
+                    lock.lock();
+                    try {
+                        // The shutdown stopped waiting before this one could start
+                        if (stopped) return;
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    try {
+                        context.destroyOne(node.descriptor);
+                    }
+                    catch (Throwable th) {
+                        Logger.getLogger().debug("SingletonShutdown", "destroy", th);
+                    }
+                    finally {
+                        destroyed(node, loader, acc);
+                    }
+                }
+
+            };
+
+            try {
+                BlockingTaskExecutor.execute(destroyer, loader, acc);
+            }
+            catch (RejectedExecutionException ree) {
+                destroyer.run();
+            }
+        }
+    }
+
+    private void destroyed(Node node, ClassLoader loader, AccessControlContext acc) {
+        List<Node> ready = new ArrayList<Node>();
+
+        lock.lock();
+        try {
+            node.destroyed = true;
+            running--;
+            finished++;
+
+            if (finished == nodes.size()) {
+                done.countDown();
+                return;
+            }
+
+            if (stopped) return;
+
+            for (Node dependency : node.dependencies) {
+                if (--dependency.dependents == 0 && !dependency.started) {
+                    ready.add(dependency);
+                }
+            }
+
+            if (ready.isEmpty() && running == 0) {
+                // Only singletons in a cycle (or injected by a cycle) are left
+                for (Node left : nodes) {
+                    if (!left.started) {
+                        ready.add(left);
+                        break;
+                    }
+                }
+            }
+
+            start(ready);
+        } finally {
+            lock.unlock();
+        }
+
+        submit(ready, loader, acc);
+    }
+
+    private static class Node {
+        private final SystemDescriptor<Object> descriptor;
+        private final int order;
+        private final List<Node> dependencies = new ArrayList<Node>();
+        private int dependents;
+        private boolean started;
+        private boolean destroyed;
+
+        private Node(SystemDescriptor<Object> descriptor, int order) {
+            this.descriptor = descriptor;
+            this.order = order;
+        }
+
+        @Override
+        public String toString() {
+            return "Node(" + descriptor.getImplementation() + "," + dependents + "," + started + "," + destroyed + ")";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SingletonShutdown(" + nodes.size() + "," + System.identityHashCode(this) + ")";
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2024 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -22,12 +23,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -76,9 +77,12 @@ public class SystemDescriptor<T> implements ActiveDescriptor<T>, Closeable {
 
     private final ReentrantLock lock = new ReentrantLock();
     private final ReentrantLock cacheLock = new ReentrantLock();
+    /* Held while a singleton is being created, a lock rather than a monitor so virtual threads do not pin */
+    private final ReentrantLock creationLock = new ReentrantLock();
     private final Condition notReifyingCondition = lock.newCondition();
-    private boolean cacheSet = false;
-    private T cachedValue;
+    /* Volatile so that the singleton context can read the value without a lock */
+    private volatile boolean cacheSet = false;
+    private volatile T cachedValue;
 
     // These are used when we are doing the reifying ourselves
     private Class<?> implClass;
@@ -91,8 +95,8 @@ public class SystemDescriptor<T> implements ActiveDescriptor<T>, Closeable {
     private Long factoryServiceId;
     private Type implType;
 
-    private final HashMap<ValidationService, Boolean> validationServiceCache =
-            new HashMap<ValidationService, Boolean>();
+    private final ConcurrentHashMap<ValidationService, Boolean> validationServiceCache =
+            new ConcurrentHashMap<ValidationService, Boolean>();
 
     private final List<InstanceLifecycleListener> instanceListeners =
             new LinkedList<InstanceLifecycleListener>();
@@ -247,7 +251,7 @@ public class SystemDescriptor<T> implements ActiveDescriptor<T>, Closeable {
     public int setRanking(int ranking) {
         // do NOT change this without the write lock, can cause
         // all sorts of problems with ConcurrentModificationExceptions
-        return sdLocator.unsortIndexes(ranking, this, myLists);
+        return sdLocator.changeRanking(ranking, this, myLists);
     }
     
     /* package */ int setRankWithLock(int ranking) {
@@ -379,6 +383,10 @@ public class SystemDescriptor<T> implements ActiveDescriptor<T>, Closeable {
     public Annotation getScopeAsAnnotation() {
         checkState();
         
+        if (activeDescriptor != null) {
+            return activeDescriptor.getScopeAsAnnotation();
+        }
+        
         return scopeAnnotation;
     }
 
@@ -905,6 +913,10 @@ public class SystemDescriptor<T> implements ActiveDescriptor<T>, Closeable {
         }
     }
 
+    /* package */ ReentrantLock getCreationLock() {
+        return creationLock;
+    }
+
     /* package */ Class<?> getPreAnalyzedClass() {
         return implClass;
     }
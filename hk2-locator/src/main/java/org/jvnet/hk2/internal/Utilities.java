@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2024 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020, 2021 Payara Services Ltd.
  *
@@ -97,6 +98,7 @@ import org.glassfish.hk2.utilities.reflection.ParameterizedTypeImpl;
 import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
 import org.glassfish.hk2.utilities.reflection.ScopeInfo;
 import org.glassfish.hk2.utilities.reflection.TypeChecker;
+import org.glassfish.hk2.utilities.reflection.internal.ClassAnalysisCache;
 import org.jvnet.hk2.annotations.Contract;
 import org.jvnet.hk2.annotations.ContractsProvided;
 import org.jvnet.hk2.annotations.Optional;
@@ -110,6 +112,9 @@ import org.jvnet.hk2.annotations.Service;
  *
  */
 public class Utilities {
+    private final static String PRODUCER_CONSTRUCTOR_ANALYSIS = "producerConstructor:";
+    private final static String INITIALIZER_METHODS_ANALYSIS = "initializerMethods:";
+    private final static String INITIALIZER_FIELDS_ANALYSIS = "initializerFields:";
     private final static String USE_SOFT_REFERENCE_PROPERTY = "org.jvnet.hk2.properties.useSoftReference";
     private final static ReentrantLock lock = new ReentrantLock();
     final static boolean USE_SOFT_REFERENCE;
@@ -1289,7 +1294,26 @@ public class Utilities {
      * @return The producer constructor or null if the type has no valid
      * producer constructor
      */
+    @SuppressWarnings("rawtypes")
     public static Constructor<?> findProducerConstructor(Class<?> annotatedType, ServiceLocatorImpl locator, Collector collector) {
+        ClassAnalysisCache analysisCache = ClassAnalysisCache.getInstance();
+        String analysis = null;
+        if (analysisCache != null) {
+            analysis = PRODUCER_CONSTRUCTOR_ANALYSIS + locator.getInjectionResolversKey();
+            
+            List<Constructor> cached = analysisCache.getMembers(annotatedType, analysis, Constructor.class);
+            if (cached != null && cached.size() == 1) return cached.get(0);
+        }
+        
+        Constructor<?> retVal = findProducerConstructorNoCache(annotatedType, locator, collector);
+        if (retVal != null && analysisCache != null) {
+            analysisCache.putMembers(annotatedType, analysis, Collections.singletonList(retVal));
+        }
+        
+        return retVal;
+    }
+    
+    private static Constructor<?> findProducerConstructorNoCache(Class<?> annotatedType, ServiceLocatorImpl locator, Collector collector) {
         Constructor<?> zeroArgConstructor = null;
         Constructor<?> aConstructorWithInjectAnnotation = null;
 
@@ -1397,8 +1421,18 @@ public class Utilities {
             Class<?> annotatedType,
             ServiceLocatorImpl locator,
             Collector errorCollector) {
+        ClassAnalysisCache analysisCache = ClassAnalysisCache.getInstance();
+        String analysis = null;
+        if (analysisCache != null) {
+            analysis = INITIALIZER_METHODS_ANALYSIS + locator.getInjectionResolversKey();
+            
+            List<Method> cached = analysisCache.getMembers(annotatedType, analysis, Method.class);
+            if (cached != null) return new LinkedHashSet<Method>(cached);
+        }
+        
         LinkedHashSet<Method> retVal = new LinkedHashSet<Method>();
         ClassReflectionHelper crh = locator.getClassReflectionHelper();
+        boolean failed = false;
 
         for (MethodWrapper methodWrapper : crh.getAllMethods(annotatedType)) {
             Method method = methodWrapper.getMethod();
@@ -1419,6 +1453,7 @@ public class Utilities {
                 errorCollector.addThrowable(new IllegalArgumentException(
                         "An initializer method " + Pretty.method(method) +
                                 " is static, abstract or has a parameter that is an annotation"));
+                failed = true;
                 continue;
             }
             if (Modifier.isStatic(method.getModifiers())) {
@@ -1427,6 +1462,10 @@ public class Utilities {
 
             retVal.add(method);
         }
+        
+        if (!failed && analysisCache != null) {
+            analysisCache.putMembers(annotatedType, analysis, retVal);
+        }
 
         return retVal;
     }
@@ -1474,8 +1513,18 @@ public class Utilities {
     public static Set<Field> findInitializerFields(Class<?> annotatedType,
                                                    ServiceLocatorImpl locator,
                                                    Collector errorCollector) {
+        ClassAnalysisCache analysisCache = ClassAnalysisCache.getInstance();
+        String analysis = null;
+        if (analysisCache != null) {
+            analysis = INITIALIZER_FIELDS_ANALYSIS + locator.getInjectionResolversKey();
+            
+            List<Field> cached = analysisCache.getMembers(annotatedType, analysis, Field.class);
+            if (cached != null) return new LinkedHashSet<Field>(cached);
+        }
+        
         LinkedHashSet<Field> retVal = new LinkedHashSet<Field>();
         ClassReflectionHelper crh = locator.getClassReflectionHelper();
+        boolean failed = false;
         
         Set<Field> fields = crh.getAllFields(annotatedType);
 
@@ -1488,6 +1537,7 @@ public class Utilities {
             if (!isProperField(field)) {
                 errorCollector.addThrowable(new IllegalArgumentException("The field " +
                         Pretty.field(field) + " may not be static, final or have an Annotation type"));
+                failed = true;
                 continue;
             }
             if (Modifier.isStatic(field.getModifiers())) {
@@ -1496,6 +1546,10 @@ public class Utilities {
 
             retVal.add(field);
         }
+        
+        if (!failed && analysisCache != null) {
+            analysisCache.putMembers(annotatedType, analysis, retVal);
+        }
 
         return retVal;
     }
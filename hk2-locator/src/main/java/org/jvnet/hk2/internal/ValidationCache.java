@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.hk2.api.Injectee;
+import org.glassfish.hk2.api.ValidationService;
+
+/**
+ * Remembers the results of the LOOKUP validations of a ServiceLocator,
+ * for validators that only look at the candidate and the injectee.
+ * The filter of the lookup and the caller are not part of the key.
+ * All results are forgotten whenever the configuration of the locator
+ * or of one of its parents changes.  Results are not remembered
+ * for validators that throw exceptions
+ */
+public class ValidationCache {
+    /* package */ final static int MAXIMUM_SIZE = 20000;
+
+    private final ConcurrentHashMap<Key, Boolean> results = new ConcurrentHashMap<Key, Boolean>();
+    private volatile boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates a validation cache
+     *
+     * @param enabled true if results should be remembered
+     */
+    /* package */ ValidationCache(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /* package */ boolean isEnabled() {
+        return enabled;
+    }
+
+    /* package */ void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+
+        clear();
+    }
+
+    /**
+     * Returns the generation of the cache, which must be gotten
+     * before validating and passed to {@link #put}
+     *
+     * @return The current generation of this cache
+     */
+    /* package */ long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Gets a remembered validation result
+     *
+     * @return The result of the validation, or null if it is not remembered
+     */
+    /* package */ Boolean get(ValidationService validationService,
+            SystemDescriptor<?> candidate,
+            Injectee injectee) {
+        if (!enabled) return null;
+
+        return results.get(new Key(validationService, candidate, injectee));
+    }
+
+    /**
+     * Remembers a validation result, unless the cache was cleared
+     * since the given generation
+     */
+    /* package */ void put(ValidationService validationService,
+            SystemDescriptor<?> candidate,
+            Injectee injectee,
+            boolean result,
+            long startGeneration) {
+        if (!enabled) return;
+
+        // Keeps the size bounded, the cache fills back up quickly
+        if (results.size() >= MAXIMUM_SIZE) results.clear();
+
+        results.put(new Key(validationService, candidate, injectee), result);
+
+        // A configuration change while validating may have made this result stale
+        if (generation.get() != startGeneration) results.clear();
+    }
+
+    /**
+     * Forgets all remembered results
+     */
+    /* package */ void clear() {
+        generation.incrementAndGet();
+        results.clear();
+    }
+
+    /* package */ int size() {
+        return results.size();
+    }
+
+    private final static class Key {
+        private final ValidationService validationService;
+        private final SystemDescriptor<?> candidate;
+        private final Injectee injectee;
+        private final int hash;
+
+        private Key(ValidationService validationService,
+                SystemDescriptor<?> candidate,
+                Injectee injectee) {
+            this.validationService = validationService;
+            this.candidate = candidate;
+            this.injectee = injectee;
+
+            int h = System.identityHashCode(validationService) ^ candidate.hashCode();
+            if (injectee != null) h = (31 * h) ^ injectee.hashCode();
+            hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+
+            if (validationService != other.validationService) return false;
+            if (!candidate.equals(other.candidate)) return false;
+            if (injectee == null) return other.injectee == null;
+
+            return injectee.equals(other.injectee);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationCache(enabled=" + enabled + ",size=" + results.size() + "," +
+                System.identityHashCode(this) + ")";
+    }
+}
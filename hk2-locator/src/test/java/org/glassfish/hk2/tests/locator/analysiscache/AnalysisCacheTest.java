@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.analysiscache;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.reflection.internal.ClassAnalysisCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the ServiceLocator uses the ClassAnalysisCache
+ */
+public class AnalysisCacheTest {
+    /** The producer constructor, initializer fields and methods and post construct */
+    private final static int NUM_ANALYSES = 4;
+    
+    /**
+     * Tests that a second locator finds the analysis of a service
+     * in the cache, and that the service is still fully injected
+     * 
+     * @throws IOException
+     */
+    @Test // @org.junit.Ignore
+    public void testSecondLocatorHitsCache() throws IOException {
+        File file = File.createTempFile("hk2AnalysisCacheTest", ".cache");
+        file.delete();
+        
+        ClassAnalysisCache cache = new ClassAnalysisCache(file);
+        ClassAnalysisCache original = ClassAnalysisCache.setInstance(cache);
+        try {
+            ServiceLocator first = LocatorHelper.getServiceLocator(AnalyzedService.class, AnalyzedDependency.class);
+            try {
+                Assert.assertTrue(first.getService(AnalyzedService.class).isFullyInjected());
+            }
+            finally {
+                first.shutdown();
+            }
+            
+            Assert.assertEquals(0L, cache.getHits());
+            Assert.assertTrue(cache.getMisses() >= NUM_ANALYSES);
+            
+            ServiceLocator second = LocatorHelper.getServiceLocator(AnalyzedService.class, AnalyzedDependency.class);
+            try {
+                Assert.assertTrue(second.getService(AnalyzedService.class).isFullyInjected());
+            }
+            finally {
+                second.shutdown();
+            }
+            
+            Assert.assertTrue("Only " + cache.getHits() + " analyses were found in the cache",
+                    cache.getHits() >= NUM_ANALYSES);
+        }
+        finally {
+            ClassAnalysisCache.setInstance(original);
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.analysiscache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+/**
+ * Has every kind of injection point and a lifecycle method,
+ * so that every analysis of the locator is done on it
+ */
+public class AnalyzedService {
+    private final AnalyzedDependency byConstructor;
+    
+    @Inject
+    private AnalyzedDependency byField;
+    
+    private AnalyzedDependency byMethod;
+    private boolean postConstructCalled;
+    
+    @Inject
+    public AnalyzedService(AnalyzedDependency byConstructor) {
+        this.byConstructor = byConstructor;
+    }
+    
+    @Inject
+    private void setByMethod(AnalyzedDependency byMethod) {
+        this.byMethod = byMethod;
+    }
+    
+    @PostConstruct
+    private void postConstruct() {
+        postConstructCalled = true;
+    }
+    
+    /**
+     * @return true if everything was injected and
+     * the post construct method was called
+     */
+    public boolean isFullyInjected() {
+        return byConstructor != null && byField != null && byMethod != null && postConstructCalled;
+    }
+}
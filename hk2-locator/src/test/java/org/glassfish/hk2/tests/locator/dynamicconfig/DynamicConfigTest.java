@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,6 +30,7 @@ import org.glassfish.hk2.api.Descriptor;
 import org.glassfish.hk2.api.DescriptorType;
 import org.glassfish.hk2.api.DescriptorVisibility;
 import org.glassfish.hk2.api.DynamicConfiguration;
+import org.glassfish.hk2.api.DynamicConfigurationBatch;
 import org.glassfish.hk2.api.DynamicConfigurationService;
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.FactoryDescriptors;
@@ -754,4 +756,65 @@ public class DynamicConfigTest {
         ActiveDescriptor<?> ad2 = locator.getBestDescriptor(BuilderHelper.createContractFilter(ClassWithRankInSuperclass.class.getName()));
         Assert.assertEquals(RANK_IN_SUPERCLASS, ad2.getRanking());
     }
+    
+    /**
+     * Tests that the configurations of a batch are committed
+     * together, with a single notification of the listeners
+     */
+    @Test // @org.junit.Ignore
+    public void testBatchIsCommittedOnce() {
+        ServiceLocator locator = LocatorHelper.create();
+        ServiceLocatorUtilities.addClasses(locator, DynamicConfigurationListenerImpl.class);
+        
+        DynamicConfigurationListenerImpl listener = locator.getService(DynamicConfigurationListenerImpl.class);
+        Assert.assertEquals(1, listener.getConfigurationChanges());
+        
+        DynamicConfigurationService dcs = locator.getService(DynamicConfigurationService.class);
+        DynamicConfigurationBatch batch = dcs.createDynamicConfigurationBatch();
+        
+        DynamicConfiguration config1 = batch.createDynamicConfiguration();
+        config1.addActiveDescriptor(SimpleService2.class);
+        config1.commit();
+        
+        DynamicConfiguration config2 = batch.createDynamicConfiguration();
+        config2.bind(BuilderHelper.link(SimpleService4.class.getName()).build());
+        config2.commit();
+        
+        // Nothing is visible until the batch is committed
+        Assert.assertNull(locator.getService(SimpleService2.class));
+        Assert.assertNull(locator.getBestDescriptor(BuilderHelper.createContractFilter(SimpleService4.class.getName())));
+        Assert.assertEquals(1, listener.getConfigurationChanges());
+        
+        try {
+            config1.addActiveDescriptor(SimpleService2.class);
+            Assert.fail("A committed configuration of a batch should not take more changes");
+        }
+        catch (IllegalStateException ise) {
+            // Expected
+        }
+        
+        Assert.assertFalse(batch.isCommitted());
+        batch.commit();
+        Assert.assertTrue(batch.isCommitted());
+        
+        Assert.assertNotNull(locator.getService(SimpleService2.class));
+        Assert.assertNotNull(locator.getBestDescriptor(BuilderHelper.createContractFilter(SimpleService4.class.getName())));
+        Assert.assertEquals(2, listener.getConfigurationChanges());
+        
+        try {
+            batch.createDynamicConfiguration();
+            Assert.fail("A committed batch should not create more configurations");
+        }
+        catch (IllegalStateException ise) {
+            // Expected
+        }
+        
+        try {
+            batch.commit();
+            Assert.fail("A batch should not be committed twice");
+        }
+        catch (IllegalStateException ise) {
+            // Expected
+        }
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,9 +19,11 @@ package org.glassfish.hk2.tests.locator.dynamicpopulate;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -32,6 +35,7 @@ import org.glassfish.hk2.api.Populator;
 import org.glassfish.hk2.api.PopulatorPostProcessor;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.BinaryDescriptorFile;
 import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 import org.glassfish.hk2.utilities.DuplicatePostProcessor;
@@ -39,6 +43,7 @@ import org.glassfish.hk2.utilities.DuplicatePostProcessorMode;
 import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.junit.Assert;
 import org.junit.Test;
+import org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean;
 
 /**
  * @author jwells
@@ -59,6 +64,12 @@ public class DynamicPopulateTest {
     private final static String DUMMY_IMPL_9 = "com.acme.dummy.Dummy9";
     private final static String DUMMY_IMPL_10 = "com.acme.dummy.Dummy10";
     private final static String DUMMY_IMPL_11 = "com.acme.dummy.Dummy11";
+    private final static String DUMMY_IMPL_12 = "com.acme.dummy.Dummy12";
+    private final static String DUMMY_IMPL_13 = "com.acme.dummy.Dummy13";
+    private final static String DUMMY_PARALLEL = "com.acme.dummy.Parallel";
+    
+    private final static int PARALLEL_FILES = 32;
+    private final static int PARALLEL_DESCRIPTORS_PER_FILE = 8;
     
     private final static String KEY = "key";
     private final static String VALUE = "value";
@@ -504,17 +515,179 @@ public class DynamicPopulateTest {
         Assert.assertEquals(1, lucky11list.size());
     }
     
+    /**
+     * Tests that binary descriptor files are read, and that
+     * they can be mixed with text descriptor files
+     * 
+     * @throws IOException
+     */
+    @Test
+    public void testBinaryAndTextPopulation() throws IOException {
+        DescriptorImpl di_12 = new DescriptorImpl();
+        di_12.setImplementation(DUMMY_IMPL_12);
+        di_12.addAdvertisedContract(DUMMY_IMPL_12);
+        di_12.setRanking(12);
+        
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        BinaryDescriptorFile.write(Collections.singletonList(di_12), binary);
+        
+        DescriptorImpl di_13 = new DescriptorImpl();
+        di_13.setImplementation(DUMMY_IMPL_13);
+        di_13.addAdvertisedContract(DUMMY_IMPL_13);
+        
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        PrintWriter pw = new PrintWriter(text);
+        
+        di_13.writeObject(pw);
+        
+        pw.close();
+        
+        DynamicConfigurationService dcs = locator.getService(DynamicConfigurationService.class);
+        Populator populator = dcs.getPopulator();
+        
+        List<ActiveDescriptor<?>> added = populator.populate(new MyDescriptorFinder(
+                new ByteArrayInputStream(binary.toByteArray()),
+                new ByteArrayInputStream(text.toByteArray())), new MetadataPostProcessor(locator));
+        Assert.assertEquals(2, added.size());
+        
+        ActiveDescriptor<?> ad = locator.getBestDescriptor(BuilderHelper.createContractFilter(DUMMY_IMPL_12));
+        Assert.assertNotNull(ad);
+        Assert.assertEquals(DUMMY_IMPL_12, ad.getImplementation());
+        Assert.assertEquals(12, ad.getRanking());
+        Assert.assertEquals(VALUE, ad.getMetadata().get(KEY).get(0));
+        
+        ad = locator.getBestDescriptor(BuilderHelper.createContractFilter(DUMMY_IMPL_13));
+        Assert.assertNotNull(ad);
+        Assert.assertEquals(DUMMY_IMPL_13, ad.getImplementation());
+        Assert.assertEquals(VALUE, ad.getMetadata().get(KEY).get(0));
+    }
+    
+    /**
+     * Tests that parallel population binds the descriptors in the
+     * order of the files and of the descriptors within the files
+     * 
+     * @throws IOException
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelPopulationKeepsOrder() throws IOException {
+        ServiceLocatorRuntimeBean runtime = locator.getService(ServiceLocatorRuntimeBean.class);
+        Assert.assertFalse(runtime.isParallelPopulation());
+        
+        ByteArrayInputStream files[] = new ByteArrayInputStream[PARALLEL_FILES];
+        List<String> expected = new LinkedList<String>();
+        for (int file = 0; file < PARALLEL_FILES; file++) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PrintWriter pw = new PrintWriter(baos);
+            
+            for (int lcv = 0; lcv < PARALLEL_DESCRIPTORS_PER_FILE; lcv++) {
+                String impl = DUMMY_PARALLEL + file + "_" + lcv;
+                expected.add(impl);
+                
+                DescriptorImpl di = new DescriptorImpl();
+                di.setImplementation(impl);
+                di.addAdvertisedContract(DUMMY_PARALLEL);
+                
+                di.writeObject(pw);
+            }
+            
+            pw.close();
+            files[file] = new ByteArrayInputStream(baos.toByteArray());
+        }
+        
+        runtime.setParallelPopulation(true);
+        try {
+            Assert.assertTrue(runtime.isParallelPopulation());
+            
+            Populator populator = locator.getService(DynamicConfigurationService.class).getPopulator();
+            
+            List<ActiveDescriptor<?>> added = populator.populate(new MyDescriptorFinder(files),
+                    new MetadataPostProcessor(locator));
+            
+            List<String> addedImpls = new LinkedList<String>();
+            for (ActiveDescriptor<?> ad : added) {
+                addedImpls.add(ad.getImplementation());
+                Assert.assertEquals(VALUE, ad.getMetadata().get(KEY).get(0));
+            }
+            Assert.assertEquals(expected, addedImpls);
+            
+            Assert.assertEquals(PARALLEL_FILES * PARALLEL_DESCRIPTORS_PER_FILE,
+                    locator.getAllServiceHandles(BuilderHelper.createContractFilter(DUMMY_PARALLEL)).size());
+        }
+        finally {
+            runtime.setParallelPopulation(false);
+        }
+    }
+    
+    private static void testUnreadableFile(boolean parallel) throws IOException {
+        ServiceLocatorRuntimeBean runtime = locator.getService(ServiceLocatorRuntimeBean.class);
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintWriter pw = new PrintWriter(baos);
+        
+        DescriptorImpl di = new DescriptorImpl();
+        di.setImplementation(DUMMY_IMPL);
+        di.writeObject(pw);
+        pw.close();
+        
+        ClosedRecordingInputStream good = new ClosedRecordingInputStream(new ByteArrayInputStream(baos.toByteArray()), false);
+        ClosedRecordingInputStream bad = new ClosedRecordingInputStream(new ByteArrayInputStream(new byte[0]), true);
+        
+        runtime.setParallelPopulation(parallel);
+        try {
+            Populator populator = locator.getService(DynamicConfigurationService.class).getPopulator();
+            
+            populator.populate(new MyDescriptorFinder(good, bad));
+            Assert.fail("Should not have succeeded, one of the files could not be read");
+        }
+        catch (MultiException me) {
+            Assert.assertEquals(1, me.getErrors().size());
+            Assert.assertEquals(EXPECTED, me.getErrors().get(0).getMessage());
+        }
+        finally {
+            runtime.setParallelPopulation(false);
+        }
+        
+        Assert.assertTrue(good.closed);
+        Assert.assertTrue(bad.closed);
+    }
+    
+    /**
+     * Tests that a file that can not even be read to find its
+     * format is reported with the other errors, and that every
+     * file is closed
+     * 
+     * @throws IOException
+     */
+    @Test // @org.junit.Ignore
+    public void testUnreadableFile() throws IOException {
+        testUnreadableFile(false);
+    }
+    
+    /**
+     * Tests that a file that can not even be read to find its
+     * format is reported with the other errors, and that every
+     * file is closed, when the files are parsed in parallel
+     * 
+     * @throws IOException
+     */
+    @Test // @org.junit.Ignore
+    public void testUnreadableFileInParallel() throws IOException {
+        testUnreadableFile(true);
+    }
+    
     private static class MyDescriptorFinder implements DescriptorFileFinder {
-        private final ByteArrayInputStream bais;
+        private final InputStream baises[];
         
-        private MyDescriptorFinder(ByteArrayInputStream bais) {
-            this.bais = bais;
+        private MyDescriptorFinder(InputStream... baises) {
+            this.baises = baises;
         }
 
         @Override
         public List<InputStream> findDescriptorFiles() throws IOException {
             LinkedList<InputStream> retVal = new LinkedList<InputStream>();
-            retVal.add(bais);
+            for (InputStream bais : baises) {
+                retVal.add(bais);
+            }
             
             return retVal;
         }
@@ -589,5 +762,33 @@ public class DynamicPopulateTest {
         }
         
     }
+    
+    private static class ClosedRecordingInputStream extends FilterInputStream {
+        private final boolean fail;
+        private volatile boolean closed;
+        
+        private ClosedRecordingInputStream(InputStream in, boolean fail) {
+            super(in);
+            this.fail = fail;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            if (fail) throw new IOException(EXPECTED);
+            return super.read();
+        }
+        
+        @Override
+        public int read(byte b[], int off, int len) throws IOException {
+            if (fail) throw new IOException(EXPECTED);
+            return super.read(b, off, len);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
 
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.immediate;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.PerLookup;
+
+/**
+ * Injected first by both services of the cycle, and waits a little while
+ * for the other one, so that if they were both being created at the same
+ * time on different threads they would each wait on the other one forever
+ */
+@PerLookup
+public class CycleGate {
+    private final static CyclicBarrier BARRIER = new CyclicBarrier(2);
+    
+    public CycleGate() {
+        try {
+            BARRIER.await(500L, TimeUnit.MILLISECONDS);
+        }
+        catch (Exception e) {
+            BARRIER.reset();
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -698,5 +699,72 @@ public class ImmediateTest {
         }
         
     }
-
+    
+    /**
+     * Tests that with a parallelism greater than one independent
+     * Immediate services are created at the same time
+     * 
+     * @throws InterruptedException
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelImmediate() throws InterruptedException {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(ParallelImmediateRecorder.class,
+                ParallelImmediateOne.class,
+                ParallelImmediateTwo.class);
+        
+        ImmediateController controller = ServiceLocatorUtilities.enableImmediateScopeSuspended(locator);
+        Assert.assertEquals(1, controller.getParallelism());
+        
+        controller.setParallelism(4);
+        Assert.assertEquals(4, controller.getParallelism());
+        
+        controller.setImmediateState(ImmediateServiceState.RUNNING);
+        
+        ParallelImmediateRecorder recorder = locator.getService(ParallelImmediateRecorder.class);
+        Assert.assertTrue(recorder.waitForCreation());
+        
+        Assert.assertFalse(recorder.isRendezvousFailed());
+    }
+    
+    /**
+     * Tests that Immediate services that inject each other (here through
+     * a PerLookup service) fail with a circular dependency rather than
+     * waiting forever on each other when created in parallel
+     * 
+     * @throws InterruptedException
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelImmediateCycle() throws InterruptedException {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(
+                CycleImmediateA.class,
+                CycleImmediateB.class,
+                CyclePerLookupService.class,
+                CycleGate.class,
+                ImmediateErrorHandlerImpl.class);
+        
+        ImmediateController controller = ServiceLocatorUtilities.enableImmediateScopeSuspended(locator);
+        controller.setParallelism(4);
+        controller.setImmediateState(ImmediateServiceState.RUNNING);
+        
+        ImmediateErrorHandlerImpl handler = locator.getService(ImmediateErrorHandlerImpl.class);
+        
+        List<ErrorData> errorDatum = handler.waitForAtLeastOneConstructionError(20 * 1000);
+        Assert.assertFalse(errorDatum.isEmpty());
+        
+        for (ErrorData errorData : errorDatum) {
+            Assert.assertTrue(errorData.getThrowable().toString(),
+                    errorData.getThrowable().toString().contains("circular dependency"));
+        }
+    }
+    
+    /**
+     * Tests that the parallelism can not be less than one
+     */
+    @Test(expected=IllegalArgumentException.class)
+    public void testBadParallelism() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator();
+        ImmediateController controller = ServiceLocatorUtilities.enableImmediateScopeSuspended(locator);
+        
+        controller.setParallelism(0);
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.immediate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Lets the Immediate services check that they
+ * were created in parallel
+ */
+@Singleton
+public class ParallelImmediateRecorder {
+    private final CyclicBarrier barrier = new CyclicBarrier(2);
+    private final CountDownLatch created = new CountDownLatch(2);
+    private volatile boolean rendezvousFailed;
+    
+    /**
+     * Returns once two services are being created at the same time
+     */
+    public void rendezvous() {
+        try {
+            barrier.await(20, TimeUnit.SECONDS);
+        }
+        catch (Exception e) {
+            rendezvousFailed = true;
+        }
+    }
+    
+    public boolean isRendezvousFailed() {
+        return rendezvousFailed;
+    }
+    
+    public void created() {
+        created.countDown();
+    }
+    
+    public boolean waitForCreation() throws InterruptedException {
+        return created.await(20, TimeUnit.SECONDS);
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,6 +30,7 @@ import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
 import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.junit.Assert;
 import org.junit.Test;
+import org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean;
 
 /**
  * @author jwells
@@ -279,4 +281,43 @@ public class InterceptorTest {
         Assert.assertEquals("callMe", inMethods.get(0));
         Assert.assertEquals("callMe", inMethods.get(1));
     }
+    
+    /**
+     * Tests that intercepted services can be instances of hidden
+     * classes that only override the intercepted methods
+     */
+    @Test // @org.junit.Ignore
+    public void testHiddenClassInterception() throws NoSuchMethodException {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(
+                AddingService.class,
+                AddThreeInterceptorService.class,
+                RecordInputService.class,
+                CheckInvocationInterceptorService.class);
+        
+        ServiceLocatorRuntimeBean runtime = locator.getService(ServiceLocatorRuntimeBean.class);
+        runtime.setHiddenClassInterception(true);
+        
+        AddingService adder = locator.getService(AddingService.class);
+        Assert.assertTrue(adder.getClass().isHidden());
+        Assert.assertEquals(7, adder.addOne(0));
+        
+        RecordInputService recorder = locator.getService(RecordInputService.class);
+        Assert.assertTrue(recorder.getClass().isHidden());
+        
+        // Only the intercepted methods are overridden
+        Assert.assertEquals(recorder.getClass(),
+                recorder.getClass().getMethod("recordInput", Object.class).getDeclaringClass());
+        Assert.assertEquals(RecordInputService.class,
+                recorder.getClass().getMethod("getLastObjectInput").getDeclaringClass());
+        
+        recorder.recordInput(null);
+        
+        MethodInvocation invocation = (MethodInvocation) recorder.getLastObjectInput();
+        Assert.assertEquals(RecordInputService.class.getMethod("recordInput", Object.class), invocation.getMethod());
+        Assert.assertEquals(recorder, invocation.getThis());
+        Assert.assertEquals(invocation, invocation.getArguments()[0]);
+        
+        ActiveDescriptor<?> fromHandle = locator.getServiceHandle(RecordInputService.class).getActiveDescriptor();
+        Assert.assertEquals(fromHandle, ((AOPProxyCtl) recorder).__getUnderlyingDescriptor());
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,6 +25,7 @@ import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.ServiceHandle;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.junit.Test;
 
 /**
@@ -125,5 +127,33 @@ public class LifecycleTest {
         ActiveDescriptor<?> spaceDescriptor = orderedList.get(2);
         Assert.assertEquals(spaceDescriptor.getImplementation(), Space.class.getName());
     }
+    
+    /**
+     * Tests that a listener added after the services it listens
+     * to is wired to them, and is unwired when it is removed
+     */
+    @Test
+    public void testListenerAddedAndRemovedAfterServices() {
+        ServiceLocator lateLocator = LocatorHelper.create();
+        ServiceLocatorUtilities.addClasses(lateLocator, Water.class);
+        
+        Assert.assertNotNull(lateLocator.getService(Water.class));
+        
+        ActiveDescriptor<?> listenerDescriptor = ServiceLocatorUtilities.addClasses(lateLocator,
+                OrderedLifecycleListener.class).get(0);
+        OrderedLifecycleListener ordered = lateLocator.getService(OrderedLifecycleListener.class);
+        
+        Assert.assertNotNull(lateLocator.getService(Water.class));
+        
+        List<ActiveDescriptor<?>> orderedList = ordered.getOrderedList();
+        Assert.assertEquals(1, orderedList.size());
+        Assert.assertEquals(Water.class.getName(), orderedList.get(0).getImplementation());
+        
+        ServiceLocatorUtilities.removeOneDescriptor(lateLocator, listenerDescriptor);
+        ordered.clear();
+        
+        Assert.assertNotNull(lateLocator.getService(Water.class));
+        Assert.assertTrue(ordered.getOrderedList().isEmpty());
+    }
 
 }
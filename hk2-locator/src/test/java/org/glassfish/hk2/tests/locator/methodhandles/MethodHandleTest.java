@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.methodhandles;
+
+import org.glassfish.hk2.api.MultiException;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests construction and injection of services through private members,
+ * which are called with method handles unless reflective injection is on
+ */
+public class MethodHandleTest {
+    
+    /**
+     * Tests that all of the private members of a service
+     * and of its superclass are injected and called
+     */
+    @Test // @org.junit.Ignore
+    public void testPrivateMembersAreInjected() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(Dependency.class, PrivateService.class);
+        
+        Dependency dependency = locator.getService(Dependency.class);
+        
+        ServiceHandle<PrivateService> handle = locator.getServiceHandle(PrivateService.class);
+        PrivateService service = handle.getService();
+        
+        Assert.assertSame(dependency, service.getConstructorArg());
+        Assert.assertSame(dependency, service.getField());
+        Assert.assertSame(dependency, service.getMethodArg());
+        Assert.assertSame(dependency, service.getParentField());
+        Assert.assertSame(dependency, service.getParentMethodArg());
+        Assert.assertTrue(service.isPostConstructCalled());
+        Assert.assertFalse(service.isPreDestroyCalled());
+        
+        handle.close();
+        
+        Assert.assertTrue(service.isPreDestroyCalled());
+    }
+    
+    /**
+     * Tests that the exception thrown by a lifecycle
+     * method is reported as is
+     */
+    @Test // @org.junit.Ignore
+    public void testLifecycleExceptionIsUnwrapped() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(ThrowingService.class);
+        
+        try {
+            locator.getService(ThrowingService.class);
+            Assert.fail("The postConstruct of ThrowingService should have failed");
+        }
+        catch (MultiException me) {
+            Throwable first = me.getErrors().get(0);
+            
+            Assert.assertTrue(first instanceof IllegalStateException);
+            Assert.assertEquals(ThrowingService.MESSAGE, first.getMessage());
+        }
+    }
+
+}
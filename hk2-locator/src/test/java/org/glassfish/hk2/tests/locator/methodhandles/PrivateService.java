@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.methodhandles;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * A service whose constructor, fields, methods and
+ * lifecycle methods are all private
+ */
+@Singleton
+public class PrivateService extends ParentService {
+    private final Dependency constructorArg;
+    
+    @Inject
+    private Dependency field;
+    
+    private Dependency methodArg;
+    private boolean postConstructCalled;
+    private boolean preDestroyCalled;
+    
+    @Inject
+    private PrivateService(Dependency dependency) {
+        constructorArg = dependency;
+    }
+    
+    @SuppressWarnings("unused")
+    @Inject
+    private void initializer(Dependency dependency) {
+        methodArg = dependency;
+    }
+    
+    @SuppressWarnings("unused")
+    @PostConstruct
+    private void postConstruct() {
+        postConstructCalled = true;
+    }
+    
+    @SuppressWarnings("unused")
+    @PreDestroy
+    private void preDestroy() {
+        preDestroyCalled = true;
+    }
+    
+    public Dependency getConstructorArg() {
+        return constructorArg;
+    }
+    
+    public Dependency getField() {
+        return field;
+    }
+    
+    public Dependency getMethodArg() {
+        return methodArg;
+    }
+    
+    public boolean isPostConstructCalled() {
+        return postConstructCalled;
+    }
+    
+    public boolean isPreDestroyCalled() {
+        return preDestroyCalled;
+    }
+
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,6 +21,7 @@ import java.util.List;
 
 import jakarta.inject.Inject;
 
+import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.ClassAnalyzer;
 import org.glassfish.hk2.api.Descriptor;
 import org.glassfish.hk2.api.DynamicConfiguration;
@@ -76,6 +78,10 @@ public class ParentedTest {
     private final static String PARENT9 = "Parent9";
     private final static String CHILD9 = "Child9";
     
+    private final static String GRANDPARENT10 = "Grandparent10";
+    private final static String PARENT10 = "Parent10";
+    private final static String CHILD10 = "Child10";
+    
     /**
      * Tests three generations of locators
      */
@@ -303,4 +309,37 @@ public class ParentedTest {
         Assert.assertEquals(1, child.getAllServices(ServiceLocatorRuntimeBean.class).size());
         Assert.assertEquals(1, child.getAllServices(threeThirtyLiteral.getType(), new NamedImpl(InjectionResolver.SYSTEM_RESOLVER_NAME)).size());
     }
+    
+    /**
+     * Tests that the services of a locator and its ancestors
+     * are all returned, in ranked order
+     */
+    @Test
+    public void testDescriptorsOfAncestorsAreMergedInRankedOrder() {
+        ServiceLocator grandparent = factory.create(GRANDPARENT10);
+        ServiceLocator parent = factory.create(PARENT10, grandparent);
+        ServiceLocator child = factory.create(CHILD10, parent);
+        
+        ServiceLocatorUtilities.addOneConstant(grandparent, new SimpleService()).setRanking(5);
+        ServiceLocatorUtilities.addOneConstant(grandparent, new SimpleService()).setRanking(1);
+        ServiceLocatorUtilities.addOneConstant(parent, new SimpleService()).setRanking(4);
+        ServiceLocatorUtilities.addOneConstant(child, new SimpleService()).setRanking(3);
+        ServiceLocatorUtilities.addOneConstant(child, new SimpleService()).setRanking(5);
+        
+        List<ActiveDescriptor<?>> descriptors = child.getDescriptors(BuilderHelper.createContractFilter(
+                SimpleService.class.getName()));
+        Assert.assertEquals(5, descriptors.size());
+        
+        // Ties in rank go to the younger locator
+        Assert.assertEquals(5, descriptors.get(0).getRanking());
+        Assert.assertEquals(child.getLocatorId(), descriptors.get(0).getLocatorId().longValue());
+        Assert.assertEquals(5, descriptors.get(1).getRanking());
+        Assert.assertEquals(grandparent.getLocatorId(), descriptors.get(1).getLocatorId().longValue());
+        Assert.assertEquals(4, descriptors.get(2).getRanking());
+        Assert.assertEquals(3, descriptors.get(3).getRanking());
+        Assert.assertEquals(1, descriptors.get(4).getRanking());
+        
+        Assert.assertEquals(3, parent.getAllServices(SimpleService.class).size());
+        Assert.assertEquals(2, grandparent.getAllServices(SimpleService.class).size());
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,10 +17,14 @@
 
 package org.glassfish.hk2.tests.locator.perthread;
 
+import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.Assert;
 
+import org.glassfish.hk2.api.Context;
+import org.glassfish.hk2.api.PerThread;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
 import org.glassfish.hk2.utilities.PerThreadScopeModule;
@@ -36,6 +41,7 @@ public class PerThreadTest {
     private final static ServiceLocator locator = LocatorHelper.create(TEST_NAME, new PerThreadModule());
     private final static int NUM_LOOKUPS = 10000;
     private final static int NUM_SHIRT_THREADS = 10;
+    private final static String THREAD_LOCAL_CONTEXT = "org.glassfish.hk2.internal.ThreadLocalPerThreadContext";
     
     private final Object lock = new Object();
     private int numFinished = 0;
@@ -169,6 +175,118 @@ public class PerThreadTest {
         Assert.assertNotSame(pants2, pants3);
     }
     
+    /**
+     * Tests we get different values per thread, and the same value
+     * on one thread, when the services are kept in a ThreadLocal
+     * 
+     * @throws InterruptedException
+     */
+    @Test // @org.junit.Ignore
+    public void testPerThreadWithThreadLocalModule() throws InterruptedException {
+        synchronized (lock) {
+            numFinished = 0;
+        }
+        
+        // A locator of its own, since other tests bind contexts into the default locator
+        ServiceLocator locator = LocatorHelper.create();
+        try {
+            ServiceLocatorUtilities.bind(locator, new PerThreadScopeModule(true));
+            ServiceLocatorUtilities.addClasses(locator, ClothingStore.class, Pants.class);
+            
+            Context<?> perThreadContext = null;
+            for (Context<?> context : locator.getAllServices(Context.class)) {
+                if (!PerThread.class.equals(context.getScope())) continue;
+                
+                Assert.assertNull("More than one PerThread context", perThreadContext);
+                perThreadContext = context;
+            }
+            
+            Assert.assertNotNull(perThreadContext);
+            Assert.assertEquals(THREAD_LOCAL_CONTEXT, perThreadContext.getClass().getName());
+            
+            StoreRunner runner1 = new StoreRunner(locator);
+            StoreRunner runner2 = new StoreRunner(locator);
+            
+            Thread thread1 = new Thread(runner1);
+            Thread thread2 = new Thread(runner2);
+            
+            thread1.start();
+            thread2.start();
+            
+            synchronized (lock) {
+                while (numFinished < 2) {
+                    lock.wait();
+                }
+            }
+            
+            Pants pants1 = runner1.store.check();
+            Pants pants2 = runner2.store.check();
+            
+            Assert.assertNotSame(pants1, pants2);
+            
+            Pants mine = locator.getService(Pants.class);
+            Assert.assertNotSame(pants1, mine);
+            Assert.assertNotSame(pants2, mine);
+            Assert.assertSame(mine, locator.getService(Pants.class));
+        }
+        finally {
+            locator.shutdown();
+        }
+    }
+    
+    /**
+     * Tests that shutting down the ThreadLocal based context releases
+     * the services of a thread that is still alive
+     * 
+     * @throws InterruptedException
+     */
+    @Test // @org.junit.Ignore
+    public void testThreadLocalContextShutdownReleasesLiveThreads() throws InterruptedException {
+        ServiceLocator locator = LocatorHelper.create();
+        ServiceLocatorUtilities.bind(locator, new PerThreadScopeModule(true));
+        ServiceLocatorUtilities.addClasses(locator, Pants.class);
+        
+        final CountDownLatch created = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final WeakReference<?> pants[] = new WeakReference<?>[1];
+        
+        Thread thread = new Thread(() -> {
+            pants[0] = new WeakReference<Pants>(locator.getService(Pants.class));
+            created.countDown();
+            
+            try {
+                // Keeps the thread and so its ThreadLocal entries alive
+                released.await();
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        
+        try {
+            created.await();
+            Assert.assertNotNull(pants[0].get());
+            
+            locator.shutdown();
+            
+            System.gc();
+            
+            for (int lcv = 0; lcv < 400; lcv++) {
+                if (pants[0].get() == null) break;
+                
+                Thread.sleep(50);
+                System.gc();
+            }
+            
+            Assert.assertNull(pants[0].get());
+        }
+        finally {
+            released.countDown();
+            thread.join();
+        }
+    }
+    
     private final static int NUM_MANY_THREADS = 100;
     
     /**
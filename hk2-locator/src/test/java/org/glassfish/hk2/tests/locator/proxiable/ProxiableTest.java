@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,6 +21,7 @@ import org.junit.Assert;
 
 import org.glassfish.hk2.api.ProxyCtl;
 import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
 import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
 import org.junit.Test;
 
@@ -101,4 +103,33 @@ public class ProxiableTest {
     	// If this doesn't bomb, this test works
     	sh.check();
     }
+    
+    /**
+     * Tests that the proxy classes are shared between locators
+     */
+    @Test // @org.junit.Ignore
+    public void testProxyClassesSharedBetweenLocators() {
+        ServiceLocator other = LocatorHelper.create(TEST_NAME + "Other", new ProxiableModule());
+        try {
+            NorthernHemisphere nh = locator.getService(NorthernHemisphere.class);
+            NorthernHemisphere otherNh = other.getService(NorthernHemisphere.class);
+            
+            Assert.assertTrue(nh instanceof ProxyCtl);
+            Assert.assertTrue(otherNh instanceof ProxyCtl);
+            Assert.assertNotSame(nh, otherNh);
+            Assert.assertSame(nh.getClass(), otherNh.getClass());
+            
+            Season winter = locator.getService(Winter.class).getNextSeason();
+            Season otherWinter = other.getService(Winter.class).getNextSeason();
+            
+            Assert.assertTrue(winter instanceof ProxyCtl);
+            Assert.assertSame(winter.getClass(), otherWinter.getClass());
+            
+            // And the proxies still go to the service of their own locator
+            Assert.assertNotSame(nh.iAmAPublicMethod(), otherNh.iAmAPublicMethod());
+        }
+        finally {
+            ServiceLocatorFactory.getInstance().destroy(other);
+        }
+    }
 }
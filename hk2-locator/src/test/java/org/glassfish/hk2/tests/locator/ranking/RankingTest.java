@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the order of services follows changes in ranking
+ */
+public class RankingTest {
+    /**
+     * Changing the rank of a service after it has been added
+     * moves it to the proper place in the results
+     */
+    @Test
+    public void testRankChangeReordersServices() {
+        ServiceLocator locator = LocatorHelper.create();
+        
+        List<ActiveDescriptor<?>> added = ServiceLocatorUtilities.addClasses(locator,
+                RankedOne.class, RankedTwo.class, RankedThree.class);
+        
+        assertOrder(locator, RankedOne.class, RankedTwo.class, RankedThree.class);
+        
+        added.get(2).setRanking(10);
+        assertOrder(locator, RankedThree.class, RankedOne.class, RankedTwo.class);
+        
+        added.get(0).setRanking(-10);
+        assertOrder(locator, RankedThree.class, RankedTwo.class, RankedOne.class);
+        
+        added.get(2).setRanking(0);
+        assertOrder(locator, RankedTwo.class, RankedThree.class, RankedOne.class);
+        
+        Assert.assertSame(added.get(1), locator.getBestDescriptor(BuilderHelper.createContractFilter(
+                RankedContract.class.getName())));
+    }
+    
+    /**
+     * A service whose rank has been changed can still be removed
+     */
+    @Test
+    public void testRemoveAfterRankChange() {
+        ServiceLocator locator = LocatorHelper.create();
+        
+        List<ActiveDescriptor<?>> added = ServiceLocatorUtilities.addClasses(locator,
+                RankedOne.class, RankedTwo.class, RankedThree.class);
+        
+        added.get(1).setRanking(100);
+        assertOrder(locator, RankedTwo.class, RankedOne.class, RankedThree.class);
+        
+        ServiceLocatorUtilities.removeOneDescriptor(locator, added.get(1));
+        assertOrder(locator, RankedOne.class, RankedThree.class);
+        
+        Assert.assertNull(locator.getService(RankedTwo.class));
+    }
+    
+    /**
+     * Many random rank changes always leave the services sorted
+     * by rank, with the older service first for equal ranks
+     */
+    @Test
+    public void testManyRankChangesKeepServicesSorted() {
+        ServiceLocator locator = LocatorHelper.create();
+        
+        List<ActiveDescriptor<?>> added = new ArrayList<ActiveDescriptor<?>>();
+        for (int lcv = 0; lcv < 100; lcv++) {
+            added.add(ServiceLocatorUtilities.addOneConstant(locator, new RankedOne(), null, RankedContract.class));
+        }
+        
+        Random random = new Random(13L);
+        for (int lcv = 0; lcv < 1000; lcv++) {
+            added.get(random.nextInt(added.size())).setRanking(random.nextInt(5));
+            
+            List<ActiveDescriptor<?>> descriptors = locator.getDescriptors(BuilderHelper.createContractFilter(
+                    RankedContract.class.getName()));
+            Assert.assertEquals(added.size(), descriptors.size());
+            
+            for (int index = 1; index < descriptors.size(); index++) {
+                ActiveDescriptor<?> previous = descriptors.get(index - 1);
+                ActiveDescriptor<?> current = descriptors.get(index);
+                
+                if (previous.getRanking() == current.getRanking()) {
+                    Assert.assertTrue(previous.getServiceId() < current.getServiceId());
+                }
+                else {
+                    Assert.assertTrue(previous.getRanking() > current.getRanking());
+                }
+            }
+        }
+    }
+    
+    private static void assertOrder(ServiceLocator locator, Class<?>... expected) {
+        List<ActiveDescriptor<?>> descriptors = locator.getDescriptors(BuilderHelper.createContractFilter(
+                RankedContract.class.getName()));
+        Assert.assertEquals(expected.length, descriptors.size());
+        
+        for (int lcv = 0; lcv < expected.length; lcv++) {
+            Assert.assertEquals(expected[lcv].getName(), descriptors.get(lcv).getImplementation());
+        }
+    }
+}
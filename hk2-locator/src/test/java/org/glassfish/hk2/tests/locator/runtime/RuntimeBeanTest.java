@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,6 +22,7 @@ import java.util.List;
 import org.glassfish.hk2.api.ActiveDescriptor;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.junit.Assert;
 import org.junit.Test;
@@ -31,6 +33,9 @@ import org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean;
  *
  */
 public class RuntimeBeanTest {
+    private final static String ALICE = "Alice";
+    private final static String BOB = "Bob";
+    
     /**
      * Tests that the number of descriptors
      * is correct
@@ -159,5 +164,192 @@ public class RuntimeBeanTest {
         
         Assert.assertTrue(bean.getReflectionCacheSize() > 0);
     }
+    
+    /**
+     * Tests that lookups of a named service of a given
+     * contract are counted by the contract and name index
+     */
+    @Test // @org.junit.Ignore
+    public void testContractAndNameIndexStatistics() {
+        ServiceLocator locator = LocatorHelper.create();
+        ServiceLocatorRuntimeBean bean = locator.getService(ServiceLocatorRuntimeBean.class);
+        
+        SimpleService alice = new SimpleService();
+        ServiceLocatorUtilities.addOneConstant(locator, alice, ALICE, SimpleService.class);
+        ServiceLocatorUtilities.addOneConstant(locator, new SimpleService(), BOB, SimpleService.class);
+        
+        long hits = bean.getContractAndNameIndexHits();
+        long misses = bean.getContractAndNameIndexMisses();
+        
+        List<ActiveDescriptor<?>> found = locator.getDescriptors(
+                BuilderHelper.createNameAndContractFilter(SimpleService.class.getName(), ALICE));
+        Assert.assertEquals(1, found.size());
+        Assert.assertSame(alice, locator.getServiceHandle(found.get(0)).getService());
+        
+        Assert.assertEquals(hits + 1, bean.getContractAndNameIndexHits());
+        Assert.assertEquals(misses, bean.getContractAndNameIndexMisses());
+        
+        found = locator.getDescriptors(
+                BuilderHelper.createNameAndContractFilter(SimpleService.class.getName(), "Carol"));
+        Assert.assertTrue(found.isEmpty());
+        
+        Assert.assertEquals(hits + 1, bean.getContractAndNameIndexHits());
+        Assert.assertEquals(misses + 1, bean.getContractAndNameIndexMisses());
+    }
+    
+    /**
+     * Tests that the service cache can be resized and
+     * that its statistics are kept
+     */
+    @Test // @org.junit.Ignore
+    public void testServiceCacheSizeAndStatistics() {
+        ServiceLocator locator = LocatorHelper.create();
+        ServiceLocatorRuntimeBean bean = locator.getService(ServiceLocatorRuntimeBean.class);
+        
+        bean.clearServiceCache();
+        bean.setServiceCacheMaximumSize(2);
+        Assert.assertEquals(2, bean.getServiceCacheMaximumSize());
+        
+        long evictions = bean.getServiceCacheEvictions();
+        
+        for (int lcv = 0; lcv < 10; lcv++) {
+            Assert.assertNull(locator.getService(SimpleService.class, "NotThere" + lcv));
+        }
+        
+        Assert.assertTrue(bean.getServiceCacheSize() <= 2);
+        Assert.assertTrue(bean.getServiceCacheEvictions() >= evictions + 8);
+        Assert.assertTrue(bean.getServiceCacheMisses() >= 10);
+        
+        long hits = bean.getServiceCacheHits();
+        long misses = bean.getServiceCacheMisses();
+        
+        // The last one looked up is still in the cache
+        Assert.assertNull(locator.getService(SimpleService.class, "NotThere9"));
+        Assert.assertTrue(bean.getServiceCacheHits() > hits);
+        Assert.assertEquals(misses, bean.getServiceCacheMisses());
+    }
+    
+    /**
+     * Tests that an adaptive service cache that is evicting
+     * entries without getting hits will grow
+     */
+    @Test // @org.junit.Ignore
+    public void testAdaptiveServiceCacheGrows() {
+        ServiceLocator locator = LocatorHelper.create();
+        ServiceLocatorRuntimeBean bean = locator.getService(ServiceLocatorRuntimeBean.class);
+        
+        bean.setServiceCacheMaximumSize(16);
+        bean.setServiceCacheAdaptive(true);
+        Assert.assertTrue(bean.isServiceCacheAdaptive());
+        
+        for (int lcv = 0; lcv < 4096; lcv++) {
+            locator.getService(SimpleService.class, "NotThere" + lcv);
+        }
+        
+        Assert.assertTrue(bean.getServiceCacheMaximumSize() > 16);
+        
+        bean.setServiceCacheAdaptive(false);
+        Assert.assertFalse(bean.isServiceCacheAdaptive());
+    }
+    
+    /**
+     * Tests that adding a service only releases the cached
+     * lookups of its contracts, in the locator and in its children
+     */
+    @Test // @org.junit.Ignore
+    public void testAddingServiceOnlyReleasesItsContracts() {
+        ServiceLocator locator = LocatorHelper.create();
+        ServiceLocator child = LocatorHelper.create(locator);
+        ServiceLocatorRuntimeBean bean = locator.getService(ServiceLocatorRuntimeBean.class);
+        
+        Assert.assertNull(locator.getService(Runnable.class));
+        Assert.assertNull(locator.getService(SimpleService.class));
+        Assert.assertNull(child.getService(SimpleService.class));
+        
+        ServiceLocatorUtilities.addClasses(locator, SimpleService.class);
+        
+        // The lookup of the other contract is still cached
+        long misses = bean.getServiceCacheMisses();
+        Assert.assertNull(locator.getService(Runnable.class));
+        Assert.assertEquals(misses, bean.getServiceCacheMisses());
+        
+        Assert.assertNotNull(locator.getService(SimpleService.class));
+        Assert.assertEquals(misses + 1, bean.getServiceCacheMisses());
+        
+        Assert.assertNotNull(child.getService(SimpleService.class));
+    }
+    
+    /**
+     * Tests that an implementation written against the original
+     * bean still compiles and gets sensible defaults
+     */
+    @Test // @org.junit.Ignore
+    public void testDefaultMethodsOfOlderImplementation() {
+        ServiceLocatorRuntimeBean bean = new OlderRuntimeBean();
+        
+        Assert.assertEquals(0L, bean.getContractAndNameIndexHits());
+        Assert.assertEquals(0L, bean.getServiceCacheMisses());
+        Assert.assertFalse(bean.isServiceCacheAdaptive());
+        Assert.assertFalse(bean.isParallelPopulation());
+        Assert.assertFalse(bean.isParallelShutdown());
+        Assert.assertEquals(0L, bean.getShutdownTimeout());
+        
+        try {
+            bean.setServiceCacheMaximumSize(10);
+            Assert.fail("An older bean cannot change the cache size");
+        }
+        catch (UnsupportedOperationException uoe) {
+            // expected
+        }
+        
+        try {
+            bean.setParallelShutdown(true);
+            Assert.fail("An older bean cannot turn on parallel shutdown");
+        }
+        catch (UnsupportedOperationException uoe) {
+            // expected
+        }
+    }
+    
+    /**
+     * Implements only the methods ServiceLocatorRuntimeBean had
+     * before it could tune the caches, population and shutdown
+     */
+    private static class OlderRuntimeBean implements ServiceLocatorRuntimeBean {
+
+        @Override
+        public int getNumberOfDescriptors() {
+            return 0;
+        }
+
+        @Override
+        public int getNumberOfChildren() {
+            return 0;
+        }
+
+        @Override
+        public int getServiceCacheSize() {
+            return 0;
+        }
+
+        @Override
+        public int getServiceCacheMaximumSize() {
+            return 0;
+        }
+
+        @Override
+        public void clearServiceCache() {
+        }
+
+        @Override
+        public int getReflectionCacheSize() {
+            return 0;
+        }
+
+        @Override
+        public void clearReflectionCache() {
+        }
+        
+    }
 
 }
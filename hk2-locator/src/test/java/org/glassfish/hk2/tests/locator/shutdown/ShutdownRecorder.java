@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.shutdown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the order in which the services were destroyed.  This
+ * is added as a constant so that it outlives the singletons
+ */
+public class ShutdownRecorder {
+    private final List<Class<?>> destroyed = new ArrayList<Class<?>>();
+    private final CyclicBarrier barrier = new CyclicBarrier(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean rendezvousFailed;
+    private volatile ClassLoader destroyLoader;
+
+    public synchronized void destroyed(Object service) {
+        destroyed.add(service.getClass());
+    }
+
+    public synchronized List<Class<?>> getDestroyed() {
+        return new ArrayList<Class<?>>(destroyed);
+    }
+
+    /**
+     * Returns once two services are being destroyed at the same time
+     */
+    public void rendezvous() {
+        try {
+            barrier.await(20, TimeUnit.SECONDS);
+        }
+        catch (Exception e) {
+            rendezvousFailed = true;
+        }
+    }
+
+    public boolean isRendezvousFailed() {
+        return rendezvousFailed;
+    }
+
+    /**
+     * Returns once {@link #release()} has been called
+     */
+    public void block() {
+        try {
+            release.await(20, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void release() {
+        release.countDown();
+    }
+
+    /**
+     * Takes long enough that a service destroyed at the
+     * same time would almost surely be destroyed first
+     */
+    public void dawdle() {
+        try {
+            Thread.sleep(200L);
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void recordContextClassLoader() {
+        destroyLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    public ClassLoader getDestroyLoader() {
+        return destroyLoader;
+    }
+}
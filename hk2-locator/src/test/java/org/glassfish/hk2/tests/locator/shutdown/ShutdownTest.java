@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,12 +17,16 @@
 
 package org.glassfish.hk2.tests.locator.shutdown;
 
+import java.util.List;
+
 import org.junit.Assert;
 
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.api.ServiceLocatorState;
 import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.junit.Test;
+import org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean;
 
 /**
  * @author jwells
@@ -59,4 +64,110 @@ public class ShutdownTest {
         Assert.assertEquals(ServiceLocatorState.SHUTDOWN, locator.getState());
     }
 
+    private static ServiceLocator createParallelLocator(ShutdownRecorder recorder, Class<?>... services) {
+        ServiceLocator retVal = LocatorHelper.getServiceLocator(services);
+        ServiceLocatorUtilities.addOneConstant(retVal, recorder);
+
+        ServiceLocatorRuntimeBean runtime = retVal.getService(ServiceLocatorRuntimeBean.class);
+        runtime.setParallelShutdown(true);
+        Assert.assertTrue(runtime.isParallelShutdown());
+
+        return retVal;
+    }
+
+    /**
+     * Tests that a parallel shutdown destroys a service before the services
+     * it injects, and destroys services that do not depend on each other
+     * at the same time
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelShutdown() {
+        ShutdownRecorder recorder = new ShutdownRecorder();
+        ServiceLocator parallel = createParallelLocator(recorder, TopService.class, MiddleService.class,
+                BottomService.class, IndependentOne.class, IndependentTwo.class);
+
+        // Created in an order that is not the order of the dependencies
+        parallel.getService(BottomService.class);
+        parallel.getService(IndependentOne.class);
+        parallel.getService(TopService.class);
+        parallel.getService(IndependentTwo.class);
+
+        parallel.shutdown();
+        Assert.assertEquals(ServiceLocatorState.SHUTDOWN, parallel.getState());
+
+        List<Class<?>> destroyed = recorder.getDestroyed();
+        Assert.assertEquals(destroyed.toString(), 5, destroyed.size());
+        Assert.assertTrue(destroyed.indexOf(TopService.class) < destroyed.indexOf(MiddleService.class));
+        Assert.assertTrue(destroyed.indexOf(MiddleService.class) < destroyed.indexOf(BottomService.class));
+
+        Assert.assertFalse("IndependentOne and IndependentTwo were not destroyed at the same time",
+                recorder.isRendezvousFailed());
+    }
+
+    /**
+     * Tests that a parallel shutdown stops waiting after its timeout, and
+     * does not destroy services injected into services still being destroyed
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelShutdownTimeout() {
+        ShutdownRecorder recorder = new ShutdownRecorder();
+        ServiceLocator parallel = createParallelLocator(recorder, BlockingService.class, BottomService.class);
+
+        ServiceLocatorRuntimeBean runtime = parallel.getService(ServiceLocatorRuntimeBean.class);
+        runtime.setShutdownTimeout(100L);
+        Assert.assertEquals(100L, runtime.getShutdownTimeout());
+
+        parallel.getService(BlockingService.class);
+
+        try {
+            long start = System.currentTimeMillis();
+            parallel.shutdown();
+            Assert.assertTrue(System.currentTimeMillis() - start < 10000L);
+
+            Assert.assertEquals(ServiceLocatorState.SHUTDOWN, parallel.getState());
+            Assert.assertTrue(recorder.getDestroyed().isEmpty());
+        }
+        finally {
+            recorder.release();
+        }
+    }
+
+    /**
+     * Tests that a parallel shutdown destroys a service before the
+     * services it gets through a PerLookup service or a Provider
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelShutdownThroughPerLookupAndProvider() {
+        ShutdownRecorder recorder = new ShutdownRecorder();
+        ServiceLocator parallel = createParallelLocator(recorder, ThroughPerLookupService.class,
+                PerLookupMiddle.class, ThroughProviderService.class, BottomService.class);
+
+        parallel.getService(BottomService.class);
+        parallel.getService(ThroughPerLookupService.class);
+        parallel.getService(ThroughProviderService.class);
+
+        parallel.shutdown();
+
+        List<Class<?>> destroyed = recorder.getDestroyed();
+        Assert.assertEquals(destroyed.toString(), 3, destroyed.size());
+        Assert.assertEquals(destroyed.toString(), BottomService.class, destroyed.get(2));
+    }
+
+    /**
+     * Tests that the PreDestroy methods of a parallel shutdown see the
+     * context class loader of the thread shutting down the locator
+     */
+    @Test // @org.junit.Ignore
+    public void testParallelShutdownKeepsContextClassLoader() {
+        ShutdownRecorder recorder = new ShutdownRecorder();
+        ServiceLocator parallel = createParallelLocator(recorder, LoaderRecordingService.class);
+
+        parallel.getService(LoaderRecordingService.class);
+
+        parallel.shutdown();
+
+        Assert.assertEquals(1, recorder.getDestroyed().size());
+        Assert.assertSame(Thread.currentThread().getContextClassLoader(), recorder.getDestroyLoader());
+    }
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.validating;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Singleton;
+
+import org.glassfish.hk2.api.Descriptor;
+import org.glassfish.hk2.api.Filter;
+import org.glassfish.hk2.api.Operation;
+import org.glassfish.hk2.api.ValidationInformation;
+import org.glassfish.hk2.api.ValidationService;
+import org.glassfish.hk2.api.Validator;
+
+/**
+ * Counts how many times lookups of the {@link CountedService} are validated
+ */
+@Singleton
+public class CountingValidationService implements ValidationService {
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    public int getLookups() {
+        return lookups.get();
+    }
+
+    @Override
+    public Filter getLookupFilter() {
+        return new Filter() {
+
+            @Override
+            public boolean matches(Descriptor d) {
+                return d.getAdvertisedContracts().contains(CountedService.class.getName());
+            }
+
+        };
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new Validator() {
+
+            @Override
+            public boolean validate(ValidationInformation info) {
+                if (Operation.LOOKUP.equals(info.getOperation())) {
+                    lookups.incrementAndGet();
+                }
+
+                return true;
+            }
+
+        };
+    }
+
+}
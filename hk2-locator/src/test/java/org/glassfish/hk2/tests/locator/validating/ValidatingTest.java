@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -35,6 +36,7 @@ import org.glassfish.hk2.utilities.Binder;
 import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.junit.Test;
+import org.jvnet.hk2.external.runtime.ServiceLocatorRuntimeBean;
 
 /**
  * @author jwells
@@ -389,4 +391,51 @@ public class ValidatingTest {
 
         val.check();
     }
+
+    /**
+     * Tests that remembered validations are not redone
+     * until the configuration changes
+     */
+    @Test // @org.junit.Ignore
+    public void testValidationCache() {
+        ServiceLocator testLocator = LocatorHelper.create(TEST_NAME + "." + "testValidationCache", null);
+        ServiceLocatorUtilities.addClasses(testLocator, CountingValidationService.class, CountedService.class);
+        
+        ServiceLocatorRuntimeBean runtime = testLocator.getService(ServiceLocatorRuntimeBean.class);
+        Assert.assertFalse(runtime.isValidationCacheEnabled());
+        
+        CountingValidationService counter = testLocator.getService(CountingValidationService.class);
+        
+        Assert.assertNotNull(testLocator.getService(CountedService.class));
+        Assert.assertNotNull(testLocator.getService(CountedService.class));
+        Assert.assertEquals(2, counter.getLookups());
+        
+        runtime.setValidationCacheEnabled(true);
+        Assert.assertTrue(runtime.isValidationCacheEnabled());
+        
+        for (int lcv = 0; lcv < 5; lcv++) {
+            Assert.assertNotNull(testLocator.getService(CountedService.class));
+        }
+        Assert.assertEquals(3, counter.getLookups());
+        
+        // Any change to the configuration forgets the remembered results
+        ServiceLocatorUtilities.addClasses(testLocator, ServiceA.class);
+        
+        Assert.assertNotNull(testLocator.getService(CountedService.class));
+        Assert.assertNotNull(testLocator.getService(CountedService.class));
+        Assert.assertEquals(4, counter.getLookups());
+        
+        // As does a change to the configuration of a parent
+        ServiceLocator child = LocatorHelper.create(testLocator);
+        child.getService(ServiceLocatorRuntimeBean.class).setValidationCacheEnabled(true);
+        
+        Assert.assertNotNull(child.getService(CountedService.class));
+        Assert.assertNotNull(child.getService(CountedService.class));
+        Assert.assertEquals(5, counter.getLookups());
+        
+        ServiceLocatorUtilities.addClasses(testLocator, ServiceB.class);
+        
+        Assert.assertNotNull(child.getService(CountedService.class));
+        Assert.assertEquals(6, counter.getLookups());
+    }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.virtualthreads;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+
+/**
+ * Runs the locator on virtual threads.  These tests are skipped
+ * on JVMs without virtual threads.  The build runs this test in
+ * the virtual-threads execution of surefire, which has no security
+ * manager, so that all of the locator tests are also run on a
+ * virtual thread
+ */
+public class VirtualThreadTest {
+    private final static String TESTS_PACKAGE = "org.glassfish.hk2.tests.locator";
+    private final static int NUM_THREADS = 500;
+    private final static long CORPUS_TIMEOUT = 10L;
+    
+    /**
+     * The virtual thread executor is found reflectively since
+     * the tests are compiled for a JDK without virtual threads
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (NoSuchMethodException nsme) {
+            Assume.assumeTrue("Virtual threads are not available in this JVM", false);
+            return null;
+        }
+        catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+    
+    /**
+     * Tests that many virtual threads asking for a singleton
+     * that blocks while being created all get the one instance
+     */
+    @Test // @org.junit.Ignore
+    public void testBlockingSingletonCreatedOnce() throws Exception {
+        ExecutorService executor = createVirtualThreadExecutor();
+        
+        final ServiceLocator locator = LocatorHelper.create();
+        ServiceLocatorUtilities.addClasses(locator, BlockingSingleton.class);
+        
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<BlockingSingleton>> futures = new ArrayList<Future<BlockingSingleton>>(NUM_THREADS);
+        try {
+            for (int lcv = 0; lcv < NUM_THREADS; lcv++) {
+                futures.add(executor.submit(new Callable<BlockingSingleton>() {
+
+                    @Override
+                    public BlockingSingleton call() throws Exception {
+                        start.await();
+                        
+                        return locator.getService(BlockingSingleton.class);
+                    }
+                    
+                }));
+            }
+            
+            start.countDown();
+            
+            BlockingSingleton first = futures.get(0).get(20, TimeUnit.SECONDS);
+            Assert.assertNotNull(first);
+            
+            for (Future<BlockingSingleton> future : futures) {
+                Assert.assertSame(first, future.get(20, TimeUnit.SECONDS));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        
+        Assert.assertEquals(1, BlockingSingleton.getNumCreated());
+    }
+    
+    /**
+     * Runs the locator test classes on a virtual thread.  The test
+     * classes are given no permissions when running with a security
+     * manager, so they can only be run from a thread of their own
+     * without one.  A run that does not finish in CORPUS_TIMEOUT
+     * minutes fails rather than hanging the build
+     */
+    @SuppressWarnings("removal")
+    @Test // @org.junit.Ignore
+    public void testLocatorTestsOnVirtualThread() throws Exception {
+        Assume.assumeTrue("The tests cannot be run from a test with a security manager",
+                System.getSecurityManager() == null);
+        
+        ExecutorService executor = createVirtualThreadExecutor();
+        
+        final Class<?>[] testClasses = findTestClasses();
+        Assert.assertTrue(testClasses.length > 0);
+        
+        Future<Result> future = executor.submit(new Callable<Result>() {
+
+            @Override
+            public Result call() throws Exception {
+                return new JUnitCore().run(testClasses);
+            }
+            
+        });
+        
+        Result result;
+        try {
+            result = future.get(CORPUS_TIMEOUT, TimeUnit.MINUTES);
+        }
+        catch (TimeoutException te) {
+            future.cancel(true);
+            
+            Assert.fail("The locator tests did not finish on a virtual thread in " + CORPUS_TIMEOUT + " minutes");
+            return;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        
+        StringBuffer failures = new StringBuffer();
+        for (Failure failure : result.getFailures()) {
+            failures.append("\n" + failure.getTestHeader() + ": " + failure.getTrace());
+        }
+        
+        Assert.assertTrue(result.getFailureCount() + " of " + result.getRunCount() +
+                " tests failed on a virtual thread:" + failures, result.wasSuccessful());
+    }
+    
+    private static Class<?>[] findTestClasses() throws ClassNotFoundException {
+        String buildDir = System.getProperty("build.dir");
+        Assume.assumeTrue("The build.dir property is not set", buildDir != null);
+        
+        File testsDir = new File(new File(buildDir, "test-classes"), TESTS_PACKAGE.replace('.', File.separatorChar));
+        
+        List<String> classNames = new ArrayList<String>();
+        findTestClassNames(testsDir, TESTS_PACKAGE, classNames);
+        Collections.sort(classNames);
+        
+        List<Class<?>> retVal = new ArrayList<Class<?>>(classNames.size());
+        for (String className : classNames) {
+            Class<?> testClass = Class.forName(className);
+            if (VirtualThreadTest.class.equals(testClass)) continue;
+            
+            retVal.add(testClass);
+        }
+        
+        return retVal.toArray(new Class<?>[retVal.size()]);
+    }
+    
+    private static void findTestClassNames(File dir, String packageName, List<String> classNames) {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        
+        for (File file : files) {
+            String fileName = file.getName();
+            
+            if (file.isDirectory()) {
+                findTestClassNames(file, packageName + "." + fileName, classNames);
+            }
+            else if (fileName.endsWith("Test.class")) {
+                classNames.add(packageName + "." + fileName.substring(0, fileName.length() - ".class".length()));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.hk2.tests.locator.warmup;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.inject.Singleton;
+
+import org.glassfish.hk2.api.DescriptorType;
+import org.glassfish.hk2.api.DescriptorVisibility;
+import org.glassfish.hk2.api.Injectee;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.utilities.AbstractActiveDescriptor;
+import org.glassfish.hk2.utilities.InjecteeImpl;
+import org.glassfish.hk2.utilities.NamedImpl;
+
+/**
+ * Describes the link of a chain with the given index, which depends
+ * on the link with the index before it.  Many of these make a chain
+ * far longer than any written out as classes
+ */
+public class ChainLinkDescriptor extends AbstractActiveDescriptor<ChainLink> {
+    private static final long serialVersionUID = 2150623457418235719L;
+
+    private final int index;
+    private final List<Integer> created;
+
+    /* package */ ChainLinkDescriptor(int index, List<Integer> created) {
+        super(Collections.<Type>singleton(ChainLink.class),
+                Singleton.class,
+                getName(index),
+                Collections.<Annotation>singleton(new NamedImpl(getName(index))),
+                DescriptorType.CLASS,
+                DescriptorVisibility.NORMAL,
+                0, null, null, null, null);
+
+        this.index = index;
+        this.created = created;
+    }
+
+    private static String getName(int index) {
+        return "link" + index;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.ActiveDescriptor#getImplementationClass()
+     */
+    @Override
+    public Class<?> getImplementationClass() {
+        return ChainLink.class;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.ActiveDescriptor#getImplementationType()
+     */
+    @Override
+    public Type getImplementationType() {
+        return ChainLink.class;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.Descriptor#getImplementation()
+     */
+    @Override
+    public String getImplementation() {
+        return ChainLink.class.getName();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.ActiveDescriptor#getInjectees()
+     */
+    @Override
+    public List<Injectee> getInjectees() {
+        if (index == 0) return Collections.emptyList();
+
+        InjecteeImpl previous = new InjecteeImpl(ChainLink.class);
+        previous.setRequiredQualifiers(Collections.<Annotation>singleton(new NamedImpl(getName(index - 1))));
+
+        return Collections.<Injectee>singletonList(previous);
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.api.ActiveDescriptor#create(org.glassfish.hk2.api.ServiceHandle)
+     */
+    @Override
+    public ChainLink create(ServiceHandle<?> root) {
+        created.add(index);
+        return new ChainLink(index);
+    }
+}
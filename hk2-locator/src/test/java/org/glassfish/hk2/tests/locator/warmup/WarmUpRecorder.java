@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Records the order in which the services were created
+ */
+@Singleton
+public class WarmUpRecorder {
+    private final List<Class<?>> created = new ArrayList<Class<?>>();
+    private final CyclicBarrier barrier = new CyclicBarrier(2);
+    private int rendezvous;
+
+    public synchronized void created(Object service) {
+        created.add(service.getClass());
+    }
+
+    public synchronized List<Class<?>> getCreated() {
+        return new ArrayList<Class<?>>(created);
+    }
+
+    public synchronized int getRendezvous() {
+        return rendezvous;
+    }
+
+    /**
+     * Returns only once two services are being created at the same time
+     */
+    public void rendezvous() {
+        try {
+            barrier.await(20, TimeUnit.SECONDS);
+        }
+        catch (Exception e) {
+            throw new IllegalStateException("The services were not created in parallel", e);
+        }
+
+        synchronized (this) {
+            rendezvous++;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.tests.locator.warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.DynamicConfiguration;
+import org.glassfish.hk2.api.DynamicConfigurationService;
+import org.glassfish.hk2.api.MultiException;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.tests.locator.utilities.LocatorHelper;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ServiceLocatorUtilities#warmUpSingletons(ServiceLocator, org.glassfish.hk2.api.Filter, java.util.concurrent.Executor)}
+ */
+public class WarmUpTest {
+    /* package */ final static String EXPECTED = "Expected exception";
+    private final static String CIRCULAR = "A circular dependency";
+    private final static int CHAIN_LENGTH = 5000;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * The test classes may not shut down an executor when running with
+     * a security manager, so the threads stop on their own once idle
+     */
+    @Before
+    public void before() {
+        executor = new ThreadPoolExecutor(4, 4, 1L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static boolean hasService(Map<ActiveDescriptor<?>, Long> times, Class<?> service) {
+        for (Map.Entry<ActiveDescriptor<?>, Long> entry : times.entrySet()) {
+            if (service.getName().equals(entry.getKey().getImplementation())) {
+                Assert.assertTrue(entry.getValue() >= 0L);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Tests that a singleton is created after all of the singletons it injects
+     */
+    @Test // @org.junit.Ignore
+    public void testDependenciesCreatedFirst() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(WarmUpRecorder.class,
+                ServiceA.class, ServiceB.class, ServiceC.class, ServiceD.class, PerLookupService.class);
+
+        Map<ActiveDescriptor<?>, Long> times = ServiceLocatorUtilities.warmUpSingletons(locator, executor);
+
+        // The system singletons of the locator are warmed up as well
+        Assert.assertTrue(hasService(times, WarmUpRecorder.class));
+        Assert.assertTrue(hasService(times, ServiceA.class));
+        Assert.assertTrue(hasService(times, ServiceB.class));
+        Assert.assertTrue(hasService(times, ServiceC.class));
+        Assert.assertTrue(hasService(times, ServiceD.class));
+        Assert.assertFalse(hasService(times, PerLookupService.class));
+
+        List<Class<?>> created = locator.getService(WarmUpRecorder.class).getCreated();
+        Assert.assertEquals(created.toString(), 4, created.size());
+        Assert.assertFalse(created.contains(PerLookupService.class));
+
+        Assert.assertTrue(created.indexOf(ServiceC.class) < created.indexOf(ServiceB.class));
+        Assert.assertTrue(created.indexOf(ServiceB.class) < created.indexOf(ServiceA.class));
+    }
+
+    /**
+     * Tests that singletons that do not depend on each other are
+     * created at the same time
+     */
+    @Test // @org.junit.Ignore
+    public void testIndependentServicesCreatedInParallel() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(WarmUpRecorder.class,
+                ParallelOne.class, ParallelTwo.class);
+
+        Map<ActiveDescriptor<?>, Long> times = ServiceLocatorUtilities.warmUpSingletons(locator, executor);
+
+        Assert.assertTrue(hasService(times, ParallelOne.class));
+        Assert.assertTrue(hasService(times, ParallelTwo.class));
+
+        WarmUpRecorder recorder = locator.getService(WarmUpRecorder.class);
+        Assert.assertEquals(2, recorder.getCreated().size());
+
+        // Each constructor only returns once the other one is running
+        Assert.assertEquals(2, recorder.getRendezvous());
+    }
+
+    /**
+     * Tests that singletons injecting each other are not created on two
+     * threads at once, where each thread would wait for the other forever.
+     * Created on one thread the cycle fails the same way a lookup does
+     */
+    @Test(timeout=60000) // @org.junit.Ignore
+    public void testCycleFailsLikeALookup() {
+        for (int lcv = 0; lcv < 20; lcv++) {
+            ServiceLocator locator = LocatorHelper.getServiceLocator(CycleA.class, CycleB.class);
+            try {
+                ServiceLocatorUtilities.warmUpSingletons(locator, executor);
+                Assert.fail("The cycle between CycleA and CycleB cannot be resolved");
+            }
+            catch (MultiException me) {
+                Assert.assertTrue(me.toString(), me.toString().contains(CIRCULAR));
+            }
+            finally {
+                locator.shutdown();
+            }
+        }
+
+        ServiceLocator locator = LocatorHelper.getServiceLocator(CycleA.class, CycleB.class);
+        try {
+            locator.getService(CycleA.class);
+            Assert.fail("The cycle between CycleA and CycleB cannot be resolved");
+        }
+        catch (MultiException me) {
+            Assert.assertTrue(me.toString(), me.toString().contains(CIRCULAR));
+        }
+        finally {
+            locator.shutdown();
+        }
+    }
+
+    /**
+     * Tests that only the singletons matching the filter are warmed up
+     */
+    @Test // @org.junit.Ignore
+    public void testOnlyFilteredServicesCreated() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(WarmUpRecorder.class,
+                ServiceC.class, ServiceD.class);
+
+        Map<ActiveDescriptor<?>, Long> times = ServiceLocatorUtilities.warmUpSingletons(locator,
+                BuilderHelper.createContractFilter(ServiceC.class.getName()), executor);
+
+        Assert.assertEquals(times.toString(), 1, times.size());
+        Assert.assertTrue(hasService(times, ServiceC.class));
+
+        List<Class<?>> created = locator.getService(WarmUpRecorder.class).getCreated();
+        Assert.assertEquals(created.toString(), 1, created.size());
+        Assert.assertEquals(ServiceC.class, created.get(0));
+    }
+
+    /**
+     * Tests that the failure of one singleton is reported after the
+     * others have been created
+     */
+    @Test // @org.junit.Ignore
+    public void testFailureReported() {
+        ServiceLocator locator = LocatorHelper.getServiceLocator(WarmUpRecorder.class,
+                FailingService.class, ServiceD.class);
+
+        try {
+            ServiceLocatorUtilities.warmUpSingletons(locator, executor);
+            Assert.fail("FailingService should have caused a failure");
+        }
+        catch (MultiException me) {
+            Assert.assertTrue(me.toString(), me.toString().contains(EXPECTED));
+        }
+
+        List<Class<?>> created = locator.getService(WarmUpRecorder.class).getCreated();
+        Assert.assertTrue(created.contains(ServiceD.class));
+    }
+
+    /**
+     * Tests that an executor running every service on the calling thread
+     * can create a chain of singletons much deeper than the stack would
+     * allow if each link was handed over from within the one before it
+     */
+    @Test // @org.junit.Ignore
+    public void testLongChainOnCallingThread() {
+        ServiceLocator locator = LocatorHelper.create();
+        List<Integer> created = Collections.synchronizedList(new ArrayList<Integer>());
+
+        DynamicConfiguration config = locator.getService(DynamicConfigurationService.class).createDynamicConfiguration();
+        for (int lcv = CHAIN_LENGTH - 1; lcv >= 0; lcv--) {
+            config.addActiveDescriptor(new ChainLinkDescriptor(lcv, created));
+        }
+        config.commit();
+
+        Executor callingThread = new Executor() {
+
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+
+        };
+
+        Map<ActiveDescriptor<?>, Long> times = ServiceLocatorUtilities.warmUpSingletons(locator,
+                BuilderHelper.createContractFilter(ChainLink.class.getName()), callingThread);
+
+        Assert.assertEquals(CHAIN_LENGTH, times.size());
+        Assert.assertEquals(CHAIN_LENGTH, created.size());
+        for (int lcv = 0; lcv < CHAIN_LENGTH; lcv++) {
+            Assert.assertEquals(lcv, created.get(lcv).intValue());
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.metadata.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.JavaFileObject;
+
+import org.glassfish.hk2.api.ServiceActivator;
+
+/**
+ * Writes the {@link ServiceActivator} of a service class.  The activator
+ * is in the same package as the service, and so it can call every
+ * constructor, field and method that is not private and that is either
+ * public or declared by a class in that same package.  Members whose field
+ * or parameter types cannot be named from that package, such as private
+ * nested classes, are left out since the activator could not cast to
+ * them.  Only the members
+ * that the default ClassAnalyzer would choose (those marked with Inject,
+ * PostConstruct or PreDestroy, and the zero-argument constructor) are
+ * written.  All other members are left to reflection
+ */
+public class ActivatorGenerator {
+    private final static String INJECT = "jakarta.inject.Inject";
+    private final static String POST_CONSTRUCT = "jakarta.annotation.PostConstruct";
+    private final static String PRE_DESTROY = "jakarta.annotation.PreDestroy";
+    
+    /**
+     * Writes the activator of the given service class, if the class
+     * can have one.  Abstract classes and classes that are not top-level
+     * classes do not get an activator
+     * 
+     * @param clazz The non-null service class
+     * @param processingEnv The environment of the annotation processor
+     * @return true if an activator was written
+     * @throws IOException if the activator source file could not be written
+     */
+    public static boolean writeActivator(TypeElement clazz, ProcessingEnvironment processingEnv) throws IOException {
+        if (!ElementKind.CLASS.equals(clazz.getKind())) return false;
+        if (!NestingKind.TOP_LEVEL.equals(clazz.getNestingKind())) return false;
+        
+        Set<Modifier> modifiers = clazz.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) return false;
+        
+        String packageName = ServiceUtilities.nameToString(
+                processingEnv.getElementUtils().getPackageOf(clazz).getQualifiedName());
+        
+        List<ExecutableElement> constructors = new ArrayList<ExecutableElement>();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)) continue;
+            if (!hasAccessibleParameters(constructor, packageName, processingEnv)) continue;
+            
+            if (constructor.getParameters().isEmpty() || hasAnnotation(constructor, INJECT)) {
+                constructors.add(constructor);
+            }
+        }
+        
+        List<VariableElement> fields = new ArrayList<VariableElement>();
+        List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+        
+        TypeElement current = clazz;
+        while (current != null) {
+            if (isAccessible(current, packageName, processingEnv)) {
+                for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                    Set<Modifier> fieldModifiers = field.getModifiers();
+                    if (fieldModifiers.contains(Modifier.STATIC) || fieldModifiers.contains(Modifier.FINAL)) continue;
+                    if (!isAccessible(field, current, packageName, processingEnv)) continue;
+                    if (!isAccessible(field.asType(), packageName, processingEnv)) continue;
+                    
+                    if (hasAnnotation(field, INJECT)) {
+                        fields.add(field);
+                    }
+                }
+                
+                for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                    Set<Modifier> methodModifiers = method.getModifiers();
+                    if (methodModifiers.contains(Modifier.STATIC) || methodModifiers.contains(Modifier.ABSTRACT)) continue;
+                    if (!isAccessible(method, current, packageName, processingEnv)) continue;
+                    if (!hasAccessibleParameters(method, packageName, processingEnv)) continue;
+                    
+                    if (hasAnnotation(method, INJECT) ||
+                            (method.getParameters().isEmpty() &&
+                                    (hasAnnotation(method, POST_CONSTRUCT) || hasAnnotation(method, PRE_DESTROY)))) {
+                        methods.add(method);
+                    }
+                }
+            }
+            
+            TypeMirror superclass = current.getSuperclass();
+            if (!TypeKind.DECLARED.equals(superclass.getKind())) break;
+            
+            current = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (Object.class.getName().equals(ServiceUtilities.nameToString(current.getQualifiedName()))) break;
+        }
+        
+        if (constructors.isEmpty() && fields.isEmpty() && methods.isEmpty()) return false;
+        
+        writeJavaFile(clazz, packageName, constructors, fields, methods, processingEnv);
+        
+        return true;
+    }
+    
+    private static void writeJavaFile(TypeElement clazz,
+            String packageName,
+            List<ExecutableElement> constructors,
+            List<VariableElement> fields,
+            List<ExecutableElement> methods,
+            ProcessingEnvironment processingEnv) throws IOException {
+        String clazzName = ServiceUtilities.nameToString(clazz.getQualifiedName());
+        String activatorSimpleName = ServiceUtilities.nameToString(clazz.getSimpleName()) +
+                ServiceActivator.CLASS_NAME_SUFFIX;
+        String activatorName = clazzName + ServiceActivator.CLASS_NAME_SUFFIX;
+        
+        JavaFileObject jfo = processingEnv.getFiler().createSourceFile(activatorName, clazz);
+        
+        Writer writer = jfo.openWriter();
+        try {
+            if (!packageName.isEmpty()) {
+                writer.append("package " + packageName + ";\n\n");
+            }
+            
+            writer.append("import java.lang.reflect.Constructor;\n");
+            writer.append("import java.lang.reflect.Field;\n");
+            writer.append("import java.lang.reflect.Method;\n");
+            writer.append("import java.util.Arrays;\n\n");
+            writer.append("import org.glassfish.hk2.api.ServiceActivator;\n\n");
+            
+            writer.append("/**\n * Generated by hk2-metadata-generator\n */\n");
+            writer.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.append("public final class " + activatorSimpleName +
+                    " implements ServiceActivator<" + clazzName + "> {\n\n");
+            
+            writer.append("    @Override\n");
+            writer.append("    public int getConstructorIndex(Constructor<?> constructor) {\n");
+            writer.append("        if (constructor.getDeclaringClass() != " + clazzName + ".class) return -1;\n");
+            writer.append("        Class<?> parameterTypes[] = constructor.getParameterTypes();\n");
+            for (int lcv = 0; lcv < constructors.size(); lcv++) {
+                writer.append("        if (Arrays.equals(parameterTypes, " +
+                        getParameterTypes(constructors.get(lcv), processingEnv) + ")) return " + lcv + ";\n");
+            }
+            writer.append("        return -1;\n");
+            writer.append("    }\n\n");
+            
+            writer.append("    @Override\n");
+            writer.append("    public int getFieldIndex(Field field) {\n");
+            writer.append("        Class<?> declaringClass = field.getDeclaringClass();\n");
+            writer.append("        String name = field.getName();\n");
+            for (int lcv = 0; lcv < fields.size(); lcv++) {
+                VariableElement field = fields.get(lcv);
+                
+                writer.append("        if (declaringClass == " + getDeclaringClassName(field) +
+                        ".class && name.equals(\"" + field.getSimpleName() + "\")) return " + lcv + ";\n");
+            }
+            writer.append("        return -1;\n");
+            writer.append("    }\n\n");
+            
+            writer.append("    @Override\n");
+            writer.append("    public int getMethodIndex(Method method) {\n");
+            writer.append("        Class<?> declaringClass = method.getDeclaringClass();\n");
+            writer.append("        String name = method.getName();\n");
+            for (int lcv = 0; lcv < methods.size(); lcv++) {
+                ExecutableElement method = methods.get(lcv);
+                
+                writer.append("        if (declaringClass == " + getDeclaringClassName(method) +
+                        ".class && name.equals(\"" + method.getSimpleName() +
+                        "\") && Arrays.equals(method.getParameterTypes(), " +
+                        getParameterTypes(method, processingEnv) + ")) return " + lcv + ";\n");
+            }
+            writer.append("        return -1;\n");
+            writer.append("    }\n\n");
+            
+            writer.append("    @Override\n");
+            writer.append("    public " + clazzName + " create(int constructorIndex, Object args[]) throws Throwable {\n");
+            writer.append("        switch (constructorIndex) {\n");
+            for (int lcv = 0; lcv < constructors.size(); lcv++) {
+                writer.append("        case " + lcv + ":\n");
+                writer.append("            return new " + clazzName + "(" +
+                        getArguments(constructors.get(lcv), processingEnv) + ");\n");
+            }
+            writer.append("        default:\n");
+            writer.append("            throw new IllegalArgumentException(\"Unknown constructor index \" + constructorIndex);\n");
+            writer.append("        }\n");
+            writer.append("    }\n\n");
+            
+            writer.append("    @Override\n");
+            writer.append("    public void setField(" + clazzName + " service, int fieldIndex, Object value) {\n");
+            writer.append("        switch (fieldIndex) {\n");
+            for (int lcv = 0; lcv < fields.size(); lcv++) {
+                VariableElement field = fields.get(lcv);
+                
+                writer.append("        case " + lcv + ":\n");
+                writer.append("            ((" + getDeclaringClassName(field) + ") service)." + field.getSimpleName() +
+                        " = (" + getTypeName(field.asType(), processingEnv) + ") value;\n");
+                writer.append("            return;\n");
+            }
+            writer.append("        default:\n");
+            writer.append("            throw new IllegalArgumentException(\"Unknown field index \" + fieldIndex);\n");
+            writer.append("        }\n");
+            writer.append("    }\n\n");
+            
+            writer.append("    @Override\n");
+            writer.append("    public void invoke(" + clazzName + " service, int methodIndex, Object args[]) throws Throwable {\n");
+            writer.append("        switch (methodIndex) {\n");
+            for (int lcv = 0; lcv < methods.size(); lcv++) {
+                ExecutableElement method = methods.get(lcv);
+                
+                writer.append("        case " + lcv + ":\n");
+                writer.append("            ((" + getDeclaringClassName(method) + ") service)." + method.getSimpleName() +
+                        "(" + getArguments(method, processingEnv) + ");\n");
+                writer.append("            return;\n");
+            }
+            writer.append("        default:\n");
+            writer.append("            throw new IllegalArgumentException(\"Unknown method index \" + methodIndex);\n");
+            writer.append("        }\n");
+            writer.append("    }\n");
+            
+            writer.append("}\n");
+        }
+        finally {
+            writer.close();
+        }
+    }
+    
+    private static String getDeclaringClassName(Element member) {
+        return ServiceUtilities.nameToString(((TypeElement) member.getEnclosingElement()).getQualifiedName());
+    }
+    
+    private static String getParameterTypes(ExecutableElement executable, ProcessingEnvironment processingEnv) {
+        StringBuffer sb = new StringBuffer("new Class<?>[] {");
+        
+        boolean first = true;
+        for (VariableElement parameter : executable.getParameters()) {
+            if (first) {
+                first = false;
+            }
+            else {
+                sb.append(", ");
+            }
+            
+            sb.append(getTypeName(parameter.asType(), processingEnv) + ".class");
+        }
+        
+        sb.append("}");
+        return sb.toString();
+    }
+    
+    private static String getArguments(ExecutableElement executable, ProcessingEnvironment processingEnv) {
+        StringBuffer sb = new StringBuffer();
+        
+        List<? extends VariableElement> parameters = executable.getParameters();
+        for (int lcv = 0; lcv < parameters.size(); lcv++) {
+            if (lcv > 0) {
+                sb.append(", ");
+            }
+            
+            sb.append("(" + getTypeName(parameters.get(lcv).asType(), processingEnv) + ") args[" + lcv + "]");
+        }
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Gets the name of the erasure of the given type as it would be
+     * written in java source, without any type annotations
+     */
+    private static String getTypeName(TypeMirror type, ProcessingEnvironment processingEnv) {
+        TypeKind kind = type.getKind();
+        
+        if (kind.isPrimitive()) {
+            return kind.name().toLowerCase(Locale.ENGLISH);
+        }
+        
+        switch (kind) {
+        case ARRAY:
+            return getTypeName(((ArrayType) type).getComponentType(), processingEnv) + "[]";
+        case DECLARED:
+            return ServiceUtilities.nameToString(((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName());
+        case TYPEVAR:
+        case WILDCARD:
+        case INTERSECTION:
+            return getTypeName(processingEnv.getTypeUtils().erasure(type), processingEnv);
+        default:
+            return processingEnv.getTypeUtils().erasure(type).toString();
+        }
+    }
+    
+    private static boolean isAccessible(TypeElement type, String packageName, ProcessingEnvironment processingEnv) {
+        String typePackageName = ServiceUtilities.nameToString(
+                processingEnv.getElementUtils().getPackageOf(type).getQualifiedName());
+        boolean samePackage = packageName.equals(typePackageName);
+        
+        Element current = type;
+        while (current instanceof TypeElement) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) return false;
+            
+            current = current.getEnclosingElement();
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Tells whether the erasure of the given type can be named
+     * in the source of a class in the given package
+     */
+    private static boolean isAccessible(TypeMirror type, String packageName, ProcessingEnvironment processingEnv) {
+        TypeKind kind = type.getKind();
+        
+        if (kind.isPrimitive()) return true;
+        
+        switch (kind) {
+        case ARRAY:
+            return isAccessible(((ArrayType) type).getComponentType(), packageName, processingEnv);
+        case DECLARED:
+            return isAccessible((TypeElement) ((DeclaredType) type).asElement(), packageName, processingEnv);
+        case TYPEVAR:
+        case WILDCARD:
+        case INTERSECTION:
+            return isAccessible(processingEnv.getTypeUtils().erasure(type), packageName, processingEnv);
+        default:
+            return false;
+        }
+    }
+    
+    private static boolean hasAccessibleParameters(ExecutableElement executable, String packageName,
+            ProcessingEnvironment processingEnv) {
+        for (VariableElement parameter : executable.getParameters()) {
+            if (!isAccessible(parameter.asType(), packageName, processingEnv)) return false;
+        }
+        
+        return true;
+    }
+    
+    private static boolean isAccessible(Element member, TypeElement declaringClass, String packageName,
+            ProcessingEnvironment processingEnv) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) return false;
+        if (modifiers.contains(Modifier.PUBLIC)) return true;
+        
+        // Package and protected members can only be reached from the same package
+        String declaringPackageName = ServiceUtilities.nameToString(
+                processingEnv.getElementUtils().getPackageOf(declaringClass).getQualifiedName());
+        return packageName.equals(declaringPackageName);
+    }
+    
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            
+            if (annotationName.equals(ServiceUtilities.nameToString(annotationType.getQualifiedName()))) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package org.glassfish.hk2.metadata.generator;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
@@ -37,20 +39,38 @@ import javax.tools.Diagnostic.Kind;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
+import org.glassfish.hk2.api.DescriptorType;
 import org.glassfish.hk2.api.MultiException;
+import org.glassfish.hk2.api.ServiceActivator;
+import org.glassfish.hk2.utilities.BinaryDescriptorFile;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 
 /**
  * The entry point for service &#64;Service annotations
+ * <p>
+ * If the option org.glassfish.hk2.metadata.activators is true then
+ * a {@link org.glassfish.hk2.api.ServiceActivator} is also written
+ * for every service class, which hk2 uses to create the service
+ * without reflection.  The name of the activator is put into the
+ * metadata of the descriptor of the class under
+ * {@link org.glassfish.hk2.api.ServiceActivator#ACTIVATOR_METADATA_KEY}
+ * <p>
+ * If the option org.glassfish.hk2.metadata.binary is true then the
+ * descriptors are written in the format of
+ * {@link org.glassfish.hk2.utilities.BinaryDescriptorFile} rather
+ * than as text
  * 
  * @author jwells
  *
  */
 @SupportedAnnotationTypes("org.jvnet.hk2.annotations.Service")
-@SupportedOptions("org.glassfish.hk2.metadata.location")
+@SupportedOptions({ "org.glassfish.hk2.metadata.location", "org.glassfish.hk2.metadata.activators",
+    "org.glassfish.hk2.metadata.binary" })
 public class ServiceProcessor extends AbstractProcessor {
     private static final String LOCATION_OPTION = "org.glassfish.hk2.metadata.location";
     private static final String LOCATION_DEFAULT = "META-INF/hk2-locator/default";
+    private static final String ACTIVATORS_OPTION = "org.glassfish.hk2.metadata.activators";
+    private static final String BINARY_OPTION = "org.glassfish.hk2.metadata.binary";
     
     private final TreeSet<DescriptorImpl> allDescriptors = new TreeSet<DescriptorImpl>(new DescriptorComparitor());
     private final ArrayList<Element> originators = new ArrayList<Element>();
@@ -62,6 +82,8 @@ public class ServiceProcessor extends AbstractProcessor {
     public boolean process(Set<? extends TypeElement> annotations,
             RoundEnvironment roundEnv) {
         MultiException collectedExceptions = null;
+        boolean activators = Boolean.parseBoolean(processingEnv.getOptions().get(ACTIVATORS_OPTION));
+        
         for (TypeElement annotation : annotations) {
             Set<? extends Element> clazzes = roundEnv.getElementsAnnotatedWith(annotation);
             
@@ -73,6 +95,18 @@ public class ServiceProcessor extends AbstractProcessor {
                 List<DescriptorImpl> descriptors;
                 try {
                     descriptors = ServiceUtilities.getDescriptorsFromClass(clazz, processingEnv);
+                    
+                    if (activators && !descriptors.isEmpty() &&
+                            ActivatorGenerator.writeActivator(clazz, processingEnv)) {
+                        // The locator only looks for activators named in the metadata
+                        String activatorName = ServiceUtilities.nameToString(clazz.getQualifiedName()) +
+                                ServiceActivator.CLASS_NAME_SUFFIX;
+                        for (DescriptorImpl descriptor : descriptors) {
+                            if (!DescriptorType.CLASS.equals(descriptor.getDescriptorType())) continue;
+                            
+                            descriptor.addMetadata(ServiceActivator.ACTIVATOR_METADATA_KEY, activatorName);
+                        }
+                    }
                 }
                 catch (Throwable th) {
                     if (collectedExceptions == null) {
@@ -134,6 +168,18 @@ public class ServiceProcessor extends AbstractProcessor {
                 "", location, 
                 originators.toArray(new Element[originators.size()]));
         
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(BINARY_OPTION))) {
+            OutputStream outputStream = fileObject.openOutputStream();
+            try {
+                BinaryDescriptorFile.write(allDescriptors, outputStream);
+            }
+            finally {
+                outputStream.close();
+            }
+            
+            return;
+        }
+        
         Writer fileWriter = fileObject.openWriter();
         PrintWriter printWriter = null;
         try {
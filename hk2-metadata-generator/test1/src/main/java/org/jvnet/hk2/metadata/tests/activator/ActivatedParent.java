@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.metadata.tests.activator;
+
+import jakarta.inject.Inject;
+
+/**
+ * A super class in the same package as the service, whose
+ * members can also be called by the activator of the service
+ */
+public abstract class ActivatedParent {
+    @Inject
+    ActivatedDependency parentFieldDependency;
+    
+    private ActivatedDependency parentMethodDependency;
+    private String parentMethodCaller;
+    
+    @Inject
+    void setParentMethodDependency(ActivatedDependency parentMethodDependency) {
+        this.parentMethodDependency = parentMethodDependency;
+        parentMethodCaller = ActivatedService.getCaller();
+    }
+    
+    public ActivatedDependency getParentFieldDependency() {
+        return parentFieldDependency;
+    }
+    
+    public ActivatedDependency getParentMethodDependency() {
+        return parentMethodDependency;
+    }
+    
+    public String getParentMethodCaller() {
+        return parentMethodCaller;
+    }
+}
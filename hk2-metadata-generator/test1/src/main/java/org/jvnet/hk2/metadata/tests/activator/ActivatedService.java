@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.metadata.tests.activator;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * A service with every kind of injection point, which records
+ * the class that called each of them
+ */
+@Service
+public class ActivatedService extends ActivatedParent {
+    private final ActivatedDependency constructorDependency;
+    private final String constructorCaller;
+    
+    @Inject
+    ActivatedDependency fieldDependency;
+    
+    @Inject
+    private ActivatedDependency privateFieldDependency;
+    
+    private ActivatedDependency methodDependency;
+    private String methodCaller;
+    private String postConstructCaller;
+    private String preDestroyCaller;
+    
+    @Inject
+    public ActivatedService(ActivatedDependency constructorDependency) {
+        this.constructorDependency = constructorDependency;
+        constructorCaller = getCaller();
+    }
+    
+    @Inject
+    void setMethodDependency(ActivatedDependency methodDependency) {
+        this.methodDependency = methodDependency;
+        methodCaller = getCaller();
+    }
+    
+    @PostConstruct
+    void postConstruct() {
+        postConstructCaller = getCaller();
+    }
+    
+    @PreDestroy
+    void preDestroy() {
+        preDestroyCaller = getCaller();
+    }
+    
+    /**
+     * Gets the name of the class that called the method
+     * that called this method
+     */
+    static String getCaller() {
+        return new Throwable().getStackTrace()[2].getClassName();
+    }
+    
+    public ActivatedDependency getConstructorDependency() {
+        return constructorDependency;
+    }
+    
+    public String getConstructorCaller() {
+        return constructorCaller;
+    }
+    
+    public ActivatedDependency getFieldDependency() {
+        return fieldDependency;
+    }
+    
+    public ActivatedDependency getPrivateFieldDependency() {
+        return privateFieldDependency;
+    }
+    
+    public ActivatedDependency getMethodDependency() {
+        return methodDependency;
+    }
+    
+    public String getMethodCaller() {
+        return methodCaller;
+    }
+    
+    public String getPostConstructCaller() {
+        return postConstructCaller;
+    }
+    
+    public String getPreDestroyCaller() {
+        return preDestroyCaller;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.metadata.tests.activator;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+import org.jvnet.hk2.annotations.Optional;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * A service whose injection points use a private nested type, which
+ * its activator cannot name, next to ones the activator can handle
+ */
+@Service
+public class HiddenTypesService {
+    private final String constructorCaller;
+    
+    @Inject @Optional
+    Hidden hiddenField;
+    
+    @Inject
+    ActivatedDependency fieldDependency;
+    
+    private String hiddenMethodCaller;
+    private String postConstructCaller;
+    
+    @Inject
+    public HiddenTypesService(@Optional Hidden hidden) {
+        constructorCaller = ActivatedService.getCaller();
+    }
+    
+    @Inject
+    void setHidden(@Optional Hidden hidden) {
+        hiddenMethodCaller = ActivatedService.getCaller();
+    }
+    
+    @PostConstruct
+    void postConstruct() {
+        postConstructCaller = ActivatedService.getCaller();
+    }
+    
+    public String getConstructorCaller() {
+        return constructorCaller;
+    }
+    
+    public ActivatedDependency getFieldDependency() {
+        return fieldDependency;
+    }
+    
+    public String getHiddenMethodCaller() {
+        return hiddenMethodCaller;
+    }
+    
+    public String getPostConstructCaller() {
+        return postConstructCaller;
+    }
+    
+    private static class Hidden {
+    }
+}
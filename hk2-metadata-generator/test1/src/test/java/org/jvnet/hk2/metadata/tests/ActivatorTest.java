@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.metadata.tests;
+
+import java.util.Collections;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.ServiceActivator;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.junit.Assert;
+import org.junit.Test;
+import org.jvnet.hk2.metadata.tests.activator.ActivatedDependency;
+import org.jvnet.hk2.metadata.tests.activator.ActivatedService;
+import org.jvnet.hk2.metadata.tests.activator.HiddenTypesService;
+
+/**
+ * Tests for the activators generated with the
+ * org.glassfish.hk2.metadata.activators option
+ */
+public class ActivatorTest {
+    private final static String ACTIVATOR_NAME = ActivatedService.class.getName() +
+            ServiceActivator.CLASS_NAME_SUFFIX;
+    
+    /**
+     * Ensures an activator was generated for the service
+     * 
+     * @throws ClassNotFoundException 
+     */
+    @Test // @org.junit.Ignore
+    public void testActivatorIsGenerated() throws ClassNotFoundException {
+        Class<?> activatorClass = Class.forName(ACTIVATOR_NAME);
+        
+        Assert.assertTrue(ServiceActivator.class.isAssignableFrom(activatorClass));
+    }
+    
+    /**
+     * Ensures the service is constructed, injected and has its
+     * lifecycle methods called by the activator, and that the
+     * private field the activator cannot set is still injected
+     */
+    @Test // @org.junit.Ignore
+    public void testServiceIsCreatedByActivator() {
+        ServiceLocator locator = ServiceLocatorUtilities.createAndPopulateServiceLocator();
+        
+        ActivatedDependency dependency = locator.getService(ActivatedDependency.class);
+        Assert.assertNotNull(dependency);
+        
+        ActivatedService service = locator.getService(ActivatedService.class);
+        Assert.assertNotNull(service);
+        
+        Assert.assertSame(dependency, service.getConstructorDependency());
+        Assert.assertSame(dependency, service.getFieldDependency());
+        Assert.assertSame(dependency, service.getPrivateFieldDependency());
+        Assert.assertSame(dependency, service.getMethodDependency());
+        Assert.assertSame(dependency, service.getParentFieldDependency());
+        Assert.assertSame(dependency, service.getParentMethodDependency());
+        
+        Assert.assertEquals(ACTIVATOR_NAME, service.getConstructorCaller());
+        Assert.assertEquals(ACTIVATOR_NAME, service.getMethodCaller());
+        Assert.assertEquals(ACTIVATOR_NAME, service.getParentMethodCaller());
+        Assert.assertEquals(ACTIVATOR_NAME, service.getPostConstructCaller());
+        Assert.assertNull(service.getPreDestroyCaller());
+        
+        locator.shutdown();
+        
+        Assert.assertEquals(ACTIVATOR_NAME, service.getPreDestroyCaller());
+    }
+    
+    /**
+     * Ensures the activator of a service using a private nested type
+     * compiles, and leaves the members using that type to reflection
+     */
+    @Test // @org.junit.Ignore
+    public void testMembersWithHiddenTypesLeftToReflection() {
+        String activatorName = HiddenTypesService.class.getName() + ServiceActivator.CLASS_NAME_SUFFIX;
+        
+        ServiceLocator locator = ServiceLocatorUtilities.createAndPopulateServiceLocator();
+        
+        HiddenTypesService service = locator.getService(HiddenTypesService.class);
+        Assert.assertNotNull(service);
+        
+        Assert.assertSame(locator.getService(ActivatedDependency.class), service.getFieldDependency());
+        Assert.assertEquals(activatorName, service.getPostConstructCaller());
+        
+        Assert.assertNotNull(service.getConstructorCaller());
+        Assert.assertNotEquals(activatorName, service.getConstructorCaller());
+        Assert.assertNotNull(service.getHiddenMethodCaller());
+        Assert.assertNotEquals(activatorName, service.getHiddenMethodCaller());
+        
+        locator.shutdown();
+    }
+    
+    /**
+     * Ensures the generator names the activator in the metadata of
+     * the descriptor, since that is the only place the locator looks
+     */
+    @Test // @org.junit.Ignore
+    public void testActivatorNamedInMetadata() {
+        ServiceLocator locator = ServiceLocatorUtilities.createAndPopulateServiceLocator();
+        
+        ActiveDescriptor<?> descriptor = locator.getBestDescriptor(
+                BuilderHelper.createContractFilter(ActivatedService.class.getName()));
+        Assert.assertEquals(Collections.singletonList(ACTIVATOR_NAME),
+                descriptor.getMetadata().get(ServiceActivator.ACTIVATOR_METADATA_KEY));
+        
+        locator.shutdown();
+    }
+    
+    /**
+     * Ensures the activator is not used for a descriptor that
+     * does not name it, even though the activator class exists
+     */
+    @Test // @org.junit.Ignore
+    public void testNoActivatorWithoutMetadata() {
+        ServiceLocator locator = ServiceLocatorFactory.getInstance().create(null);
+        ServiceLocatorUtilities.addClasses(locator, ActivatedDependency.class, ActivatedService.class);
+        
+        ActivatedService service = locator.getService(ActivatedService.class);
+        Assert.assertSame(locator.getService(ActivatedDependency.class), service.getFieldDependency());
+        
+        Assert.assertNotEquals(ACTIVATOR_NAME, service.getConstructorCaller());
+        Assert.assertNotEquals(ACTIVATOR_NAME, service.getPostConstructCaller());
+        
+        locator.shutdown();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,6 +38,7 @@ import org.glassfish.hk2.api.DescriptorType;
 import org.glassfish.hk2.api.DescriptorVisibility;
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.hk2.api.ServiceActivator;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 import org.junit.Test;
 
@@ -591,6 +593,36 @@ public class InhabitantsGeneratorTest {
         
             EXPECTED_DESCRIPTORS.put(di, 1);
         }
+        
+        {
+            // A dependency of the service with a generated activator
+            DescriptorImpl di = new DescriptorImpl();
+            di.setImplementation("org.jvnet.hk2.metadata.tests.activator.ActivatedDependency");
+            di.addAdvertisedContract("org.jvnet.hk2.metadata.tests.activator.ActivatedDependency");
+            di.setScope(Singleton.class.getName());
+        
+            EXPECTED_DESCRIPTORS.put(di, 0);
+        }
+        
+        {
+            // A service with a generated activator
+            DescriptorImpl di = new DescriptorImpl();
+            di.setImplementation("org.jvnet.hk2.metadata.tests.activator.ActivatedService");
+            di.addAdvertisedContract("org.jvnet.hk2.metadata.tests.activator.ActivatedService");
+            di.setScope(Singleton.class.getName());
+        
+            EXPECTED_DESCRIPTORS.put(di, 0);
+        }
+        
+        {
+            // A service with a generated activator that cannot name some of its types
+            DescriptorImpl di = new DescriptorImpl();
+            di.setImplementation("org.jvnet.hk2.metadata.tests.activator.HiddenTypesService");
+            di.addAdvertisedContract("org.jvnet.hk2.metadata.tests.activator.HiddenTypesService");
+            di.setScope(Singleton.class.getName());
+        
+            EXPECTED_DESCRIPTORS.put(di, 0);
+        }
     }
     
     private void getAllDescriptorsFromInputStream(InputStream is, Set<DescriptorImpl> retVal) throws IOException {
@@ -603,6 +635,15 @@ public class InhabitantsGeneratorTest {
                 continue;
             }
             
+            // The activators themselves are tested in ActivatorTest
+            List<String> activators = di.getMetadata().get(ServiceActivator.ACTIVATOR_METADATA_KEY);
+            if (activators != null) {
+                Assert.assertEquals(DescriptorType.CLASS, di.getDescriptorType());
+                Assert.assertEquals(di.getImplementation() + ServiceActivator.CLASS_NAME_SUFFIX, activators.get(0));
+                
+                di.removeAllMetadata(ServiceActivator.ACTIVATOR_METADATA_KEY);
+            }
+            
             retVal.add(di);
         }
     }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.utilities.cache;
+
+/**
+ * This is used by a cache to group its keys, so that all of the
+ * entries of a group can be removed without looking at every
+ * entry in the cache
+ * 
+ * @param <K> The key type of the cache
+ *
+ */
+public interface CacheKeyIndexer<K> {
+    
+    /**
+     * Returns the group the key belongs to
+     * 
+     * @param key The key from the cache
+     * @return The group of the key, or null if the
+     * key belongs to no group
+     */
+    public String getIndex(K key);
+
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,7 @@
 
 package org.glassfish.hk2.utilities.cache;
 
+import org.glassfish.hk2.utilities.cache.internal.ConcurrentCARCacheImpl;
 import org.glassfish.hk2.utilities.cache.internal.WeakCARCacheImpl;
 
 /**
@@ -39,7 +41,56 @@ public class CacheUtilities {
      * @return A WeakCARCache that is empty
      */
     public static <K,V> WeakCARCache<K,V> createWeakCARCache(Computable<K,V> computable, int maxSize, boolean isWeak) {
-        return new WeakCARCacheImpl<K,V>(computable, maxSize, isWeak);
+        return createWeakCARCache(computable, maxSize, isWeak, null);
+    }
+    
+    /**
+     * Returns a WEAKCarCache as per {@link #createWeakCARCache(Computable, int, boolean)}
+     * whose keys are grouped by the given indexer, so that all the entries of one group
+     * can be removed with {@link WeakCARCache#releaseIndexed(String)}
+     * 
+     * @param computable The computable that is used to get the V from the given K
+     * @param maxSize The maximumSize of the cache
+     * @param isWeak if true this will keep weak keyes, if false the keys will
+     * be hard and will not go away even if they do not exist anywhere else
+     * but this cache
+     * @param indexer The indexer used to group the keys, may be null
+     * @return A WeakCARCache that is empty
+     */
+    public static <K,V> WeakCARCache<K,V> createWeakCARCache(Computable<K,V> computable, int maxSize, boolean isWeak,
+            CacheKeyIndexer<K> indexer) {
+        return new WeakCARCacheImpl<K,V>(computable, maxSize, isWeak, indexer);
+    }
+    
+    /**
+     * Returns a CAR cache with hard keys that may be used by many threads at once.
+     * Cache hits take no lock and values are computed outside of any lock held
+     * by the cache.  A value computed while keys are being removed from the
+     * cache is returned but not kept in the cache
+     * 
+     * @param computable The computable that is used to get the V from the given K
+     * @param maxSize The maximumSize of the cache
+     * @return A WeakCARCache with hard keys that is empty
+     */
+    public static <K,V> WeakCARCache<K,V> createConcurrentCARCache(Computable<K,V> computable, int maxSize) {
+        return createConcurrentCARCache(computable, maxSize, null);
+    }
+    
+    /**
+     * Returns a CAR cache as per {@link #createConcurrentCARCache(Computable, int)}
+     * whose keys are grouped by the given indexer, so that all the entries of one group
+     * can be removed with {@link WeakCARCache#releaseIndexed(String)}.  The cache keeps
+     * an index of each group, so removing a group only costs as much as the number of
+     * entries in the group
+     * 
+     * @param computable The computable that is used to get the V from the given K
+     * @param maxSize The maximumSize of the cache
+     * @param indexer The indexer used to group the keys, may be null
+     * @return A WeakCARCache with hard keys that is empty
+     */
+    public static <K,V> WeakCARCache<K,V> createConcurrentCARCache(Computable<K,V> computable, int maxSize,
+            CacheKeyIndexer<K> indexer) {
+        return new ConcurrentCARCacheImpl<K,V>(computable, maxSize, indexer);
     }
 
 }
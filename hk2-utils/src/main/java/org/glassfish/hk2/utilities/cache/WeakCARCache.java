@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -112,6 +113,22 @@ public interface WeakCARCache<K,V> {
      */
     public int getMaxSize();
     
+    /**
+     * Changes the maximum size of the cache (the maximum
+     * number of values that will be kept by the cache).  If
+     * there are more values in the cache than the new maximum
+     * size then values will be removed as per the CAR
+     * algorithm until the cache fits
+     * 
+     * @param maxSize The new maximum size of the cache.  Must
+     * be greater than zero
+     * @throws UnsupportedOperationException if this cache cannot
+     * be resized, which is the case for the default implementation
+     */
+    public default void setMaxSize(int maxSize) {
+        throw new UnsupportedOperationException("The cache " + this + " cannot be resized");
+    }
+    
     /**
      * The computable associated with this cache
      * 
@@ -135,6 +152,19 @@ public interface WeakCARCache<K,V> {
      */
     public void releaseMatching(CacheKeyFilter<K> filter);
     
+    /**
+     * Releases all key/value pairs whose key is in the given
+     * group of the {@link CacheKeyIndexer} of this cache.  If
+     * this cache has no CacheKeyIndexer it cannot tell which
+     * keys are in the group, and so every key/value pair is
+     * released, which is also what the default implementation does
+     * 
+     * @param index The non-null group of keys to release
+     */
+    public default void releaseIndexed(String index) {
+        clear();
+    }
+    
     /**
      * Causes stale references to be cleared from the data
      * structures.  Since this is a weak cache the references
@@ -167,5 +197,41 @@ public interface WeakCARCache<K,V> {
      * or 0 if there is no data
      */
     public double getHitRate();
+    
+    /**
+     * Returns the number of calls to {@link #compute(Object)} that
+     * found the value in the cache since the last time clear was called
+     * 
+     * @return The number of cache hits, or zero if this cache does
+     * not count them, which is the case for the default implementation
+     */
+    public default long getHits() {
+        return 0L;
+    }
+    
+    /**
+     * Returns the number of calls to {@link #compute(Object)} that
+     * did not find the value in the cache since the last time clear
+     * was called
+     * 
+     * @return The number of cache misses, or zero if this cache does
+     * not count them, which is the case for the default implementation
+     */
+    public default long getMisses() {
+        return 0L;
+    }
+    
+    /**
+     * Returns the number of values that have been pushed out of
+     * the cache to make room for other values since the last time
+     * clear was called.  Values removed with {@link #remove(Object)}
+     * or {@link #releaseMatching(CacheKeyFilter)} are not counted
+     * 
+     * @return The number of values evicted from the cache, or zero if this
+     * cache does not count them, which is the case for the default implementation
+     */
+    public default long getEvictions() {
+        return 0L;
+    }
 
 }
@@ -0,0 +1,734 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.utilities.cache.internal;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.hk2.utilities.cache.CacheKeyFilter;
+import org.glassfish.hk2.utilities.cache.CacheKeyIndexer;
+import org.glassfish.hk2.utilities.cache.Computable;
+import org.glassfish.hk2.utilities.cache.ComputationErrorException;
+import org.glassfish.hk2.utilities.cache.WeakCARCache;
+
+/**
+ * Implements the CAR algorithm (as does {@link WeakCARCacheImpl}) for
+ * caches with hard keys, in a way that lets many threads use the
+ * cache at once.
+ * <p>
+ * All of the values in the T1 and T2 clocks are kept in one concurrent
+ * map, so a cache hit is a single map get plus the setting of the
+ * reference bit of the entry and takes no lock.  On a miss the value
+ * is computed without holding any lock, and only the maintenance of the
+ * clocks and the B1 and B2 LRUs is done under the lock.  A value computed
+ * while any key was being removed from the cache is returned but is not
+ * cached, since it may have been computed from the state that caused the
+ * removal.
+ * <p>
+ * If the cache is given a {@link CacheKeyIndexer} it keeps the entries of
+ * each group in an index, so that {@link #releaseIndexed(String)} only
+ * touches the entries of that group.  Entries removed that way are only
+ * marked as removed in the clocks, and are dropped when the clock hand
+ * reaches them or when there are more of them than there are live entries
+ */
+public class ConcurrentCARCacheImpl<K,V> implements WeakCARCache<K, V> {
+    private final Computable<K,V> computable;
+    private final CacheKeyIndexer<K> indexer;
+    private volatile int maxSize;
+
+    /** All of the entries in either t1 or t2, this is all a hit reads */
+    private final ConcurrentHashMap<K, CarEntry<K,V>> resident = new ConcurrentHashMap<K, CarEntry<K,V>>();
+
+    /** The clocks, the head of each queue is the hand of the clock */
+    private final ArrayDeque<CarEntry<K,V>> t1 = new ArrayDeque<CarEntry<K,V>>();
+    private final ArrayDeque<CarEntry<K,V>> t2 = new ArrayDeque<CarEntry<K,V>>();
+
+    /** The entries of each group of the indexer, only used with the lock held */
+    private final HashMap<String, HashSet<CarEntry<K,V>>> byIndex = new HashMap<String, HashSet<CarEntry<K,V>>>();
+
+    /** The number of removed entries still in t1 or t2, only used with the lock held */
+    private int garbage = 0;
+
+    /** The LRUs, the first key is the least recently used */
+    private final LinkedHashSet<K> b1 = new LinkedHashSet<K>();
+    private final LinkedHashSet<K> b2 = new LinkedHashSet<K>();
+
+    // The target size of t1, adaptive
+    private volatile int p = 0;
+
+    // Sizes of the lists, only changed with the lock held
+    private volatile int t1Size = 0;
+    private volatile int t2Size = 0;
+    private volatile int b1Size = 0;
+    private volatile int b2Size = 0;
+
+    /** Changed whenever keys are removed from the cache, only changed with the lock held */
+    private volatile long removals = 0L;
+
+    /** Only changed with the lock held */
+    private volatile long evictions = 0L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder tries = new LongAdder();
+
+    public ConcurrentCARCacheImpl(Computable<K,V> computable, int maxSize) {
+        this(computable, maxSize, null);
+    }
+
+    public ConcurrentCARCacheImpl(Computable<K,V> computable, int maxSize, CacheKeyIndexer<K> indexer) {
+        this.computable = computable;
+        this.maxSize = maxSize;
+        this.indexer = indexer;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#compute(java.lang.Object)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key) {
+        tries.increment();
+
+        CarEntry<K,V> entry = resident.get(key);
+        if (entry != null) {
+            // So fast
+            entry.reference();
+            hits.increment();
+            return entry.value;
+        }
+
+        long removalsAtStart = removals;
+
+        // Cache Miss.  First, get the value.  Any failures
+        // will bubble up prior to us messing with any data structures
+        V value;
+        try {
+            value = computable.compute(key);
+        }
+        catch (ComputationErrorException cee) {
+            // In this case the value should not be kept in the cache
+            return (V) cee.getComputation();
+        }
+
+        lock.lock();
+        try {
+            entry = resident.get(key);
+            if (entry != null) {
+                // Another thread computed the same key first, use its value
+                entry.reference();
+                return entry.value;
+            }
+
+            if (removalsAtStart != removals) {
+                // Something was removed while we were computing, so
+                // the value may be based on something no longer valid
+                return value;
+            }
+
+            add(key, value);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        return value;
+    }
+
+    /**
+     * Must hold the lock.  Adds the key to the cache, as per the CAR
+     * algorithm
+     */
+    private void add(K key, V value) {
+        if ((t1Size + t2Size) >= maxSize) {
+            replace();
+
+            if (!b1.contains(key) && !b2.contains(key)) {
+                if ((t1Size + b1Size) >= maxSize) {
+                    removeLRU(b1);
+                    b1Size--;
+                }
+                else if ((t1Size + t2Size + b1Size + b2Size) >= (2 * maxSize)) {
+                    removeLRU(b2);
+                    b2Size--;
+                }
+            }
+        }
+
+        boolean inB1 = b1.contains(key);
+        boolean inB2 = b2.contains(key);
+
+        CarEntry<K,V> entry = new CarEntry<K,V>(key, value,
+                (indexer == null) ? null : indexer.getIndex(key));
+
+        if (!inB1 && !inB2) {
+            t1.add(entry);
+            t1Size++;
+        }
+        else if (inB1) {
+            int b1size = b1Size;
+            if (b1size == 0) b1size = 1;
+
+            int ratio = b2Size / b1size;  // integer division
+            if (ratio <= 0) ratio = 1;
+
+            int newP = p + ratio;
+            if (newP > maxSize) newP = maxSize;
+            p = newP;
+
+            b1.remove(key);
+            b1Size--;
+
+            entry.inT2 = true;
+            t2.add(entry);
+            t2Size++;
+        }
+        else {
+            // Must be in B2
+            int b2size = b2Size;
+            if (b2size == 0) b2size = 1;
+
+            int ratio = b1Size / b2size;
+            if (ratio <= 0) ratio = 1;
+
+            int newP = p - ratio;
+            if (newP < 0) newP = 0;
+            p = newP;
+
+            b2.remove(key);
+            b2Size--;
+
+            entry.inT2 = true;
+            t2.add(entry);
+            t2Size++;
+        }
+
+        resident.put(key, entry);
+
+        if (entry.index != null) {
+            HashSet<CarEntry<K,V>> group = byIndex.get(entry.index);
+            if (group == null) {
+                group = new HashSet<CarEntry<K,V>>();
+                byIndex.put(entry.index, group);
+            }
+
+            group.add(entry);
+        }
+    }
+
+    /**
+     * Must hold the lock.  Takes the entry out of the index
+     */
+    private void unindex(CarEntry<K,V> entry) {
+        if (entry.index == null) return;
+
+        HashSet<CarEntry<K,V>> group = byIndex.get(entry.index);
+        if (group == null) return;
+
+        group.remove(entry);
+        if (group.isEmpty()) {
+            byIndex.remove(entry.index);
+        }
+    }
+
+    /**
+     * Must hold the lock.  Moves the hands of the clocks until one
+     * entry has been pushed out of t1 or t2
+     */
+    private void replace() {
+        boolean found = false;
+        while (!found) {
+            int trySize = p;
+            if (trySize < 1) trySize = 1;
+
+            if (t1Size >= trySize) {
+                CarEntry<K,V> entry = t1.poll();
+                if (entry.removed) {
+                    garbage--;
+                    continue;
+                }
+
+                t1Size--;
+
+                if (!entry.referenceBit) {
+                    found = true;
+                    evictions++;
+
+                    resident.remove(entry.key, entry);
+                    unindex(entry);
+                    addMRU(b1, entry.key);
+                    b1Size = b1.size();
+                }
+                else {
+                    entry.referenceBit = false;
+
+                    entry.inT2 = true;
+                    t2.add(entry);
+                    t2Size++;
+                }
+            }
+            else {
+                CarEntry<K,V> entry = t2.poll();
+                if (entry.removed) {
+                    garbage--;
+                    continue;
+                }
+
+                if (!entry.referenceBit) {
+                    found = true;
+                    evictions++;
+                    t2Size--;
+
+                    resident.remove(entry.key, entry);
+                    unindex(entry);
+                    addMRU(b2, entry.key);
+                    b2Size = b2.size();
+                }
+                else {
+                    entry.referenceBit = false;
+
+                    t2.add(entry);
+                }
+            }
+        }
+    }
+
+    private static <K> void addMRU(LinkedHashSet<K> lru, K key) {
+        lru.remove(key);
+        lru.add(key);
+    }
+
+    private static <K> void removeLRU(LinkedHashSet<K> lru) {
+        Iterator<K> iterator = lru.iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static <K> void releaseMatching(LinkedHashSet<K> lru, CacheKeyFilter<K> filter) {
+        Iterator<K> iterator = lru.iterator();
+        while (iterator.hasNext()) {
+            if (filter.matches(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Must hold the lock.  Takes the entry out of the cache.  The
+     * entry is left in its clock, marked as removed
+     */
+    private void removeEntry(CarEntry<K,V> entry) {
+        resident.remove(entry.key, entry);
+        unindex(entry);
+
+        entry.removed = true;
+        garbage++;
+
+        if (entry.inT2) {
+            t2Size--;
+        }
+        else {
+            t1Size--;
+        }
+    }
+
+    /**
+     * Must hold the lock.  Drops the removed entries from the clocks
+     * once there are more of them than there are live entries
+     */
+    private void compact() {
+        if (garbage <= (t1Size + t2Size)) return;
+
+        dropRemoved(t1);
+        dropRemoved(t2);
+
+        garbage = 0;
+    }
+
+    private static <K,V> void dropRemoved(ArrayDeque<CarEntry<K,V>> clock) {
+        Iterator<CarEntry<K,V>> iterator = clock.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().removed) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getKeySize()
+     */
+    @Override
+    public int getKeySize() {
+        lock.lock();
+        try {
+            return t1Size + t2Size + b1Size + b2Size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getValueSize()
+     */
+    @Override
+    public int getValueSize() {
+        return resident.size();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#clear()
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            removals++;
+
+            resident.clear();
+            byIndex.clear();
+            t1.clear();
+            t2.clear();
+            garbage = 0;
+            b1.clear();
+            b2.clear();
+
+            t1Size = 0;
+            t2Size = 0;
+            b1Size = 0;
+            b2Size = 0;
+            p = 0;
+
+            tries.reset();
+            hits.reset();
+            evictions = 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getMaxSize()
+     */
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#setMaxSize(int)
+     */
+    @Override
+    public void setMaxSize(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be greater than zero: " + maxSize);
+
+        lock.lock();
+        try {
+            this.maxSize = maxSize;
+            if (p > maxSize) p = maxSize;
+
+            while ((t1Size + t2Size) > maxSize) {
+                replace();
+            }
+
+            while (b1Size > 0 && (t1Size + b1Size) > maxSize) {
+                removeLRU(b1);
+                b1Size--;
+            }
+
+            while (b2Size > 0 && (t1Size + t2Size + b1Size + b2Size) > (2 * maxSize)) {
+                removeLRU(b2);
+                b2Size--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getComputable()
+     */
+    @Override
+    public Computable<K, V> getComputable() {
+        return computable;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#remove(java.lang.Object)
+     */
+    @Override
+    public boolean remove(K key) {
+        lock.lock();
+        try {
+            removals++;
+
+            CarEntry<K,V> entry = resident.get(key);
+            if (entry != null) {
+                removeEntry(entry);
+                compact();
+                return true;
+            }
+
+            if (b1.remove(key)) {
+                b1Size--;
+                return true;
+            }
+
+            if (b2.remove(key)) {
+                b2Size--;
+                return true;
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#releaseMatching(org.glassfish.hk2.utilities.cache.CacheKeyFilter)
+     */
+    @Override
+    public void releaseMatching(CacheKeyFilter<K> filter) {
+        if (filter == null) return;
+
+        lock.lock();
+        try {
+            removals++;
+
+            releaseMatching(b2, filter);
+            b2Size = b2.size();
+
+            releaseMatching(b1, filter);
+            b1Size = b1.size();
+
+            Iterator<CarEntry<K,V>> iterator = t1.iterator();
+            while (iterator.hasNext()) {
+                CarEntry<K,V> entry = iterator.next();
+                if (entry.removed) {
+                    iterator.remove();
+                    garbage--;
+                }
+                else if (filter.matches(entry.key)) {
+                    iterator.remove();
+                    resident.remove(entry.key, entry);
+                    unindex(entry);
+                    t1Size--;
+                }
+            }
+
+            iterator = t2.iterator();
+            while (iterator.hasNext()) {
+                CarEntry<K,V> entry = iterator.next();
+                if (entry.removed) {
+                    iterator.remove();
+                    garbage--;
+                }
+                else if (filter.matches(entry.key)) {
+                    iterator.remove();
+                    resident.remove(entry.key, entry);
+                    unindex(entry);
+                    t2Size--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#releaseIndexed(java.lang.String)
+     */
+    @Override
+    public void releaseIndexed(String index) {
+        if (index == null) return;
+        if (indexer == null) {
+            clear();
+            return;
+        }
+
+        lock.lock();
+        try {
+            removals++;
+
+            HashSet<CarEntry<K,V>> group = byIndex.remove(index);
+            if (group == null) return;
+
+            for (CarEntry<K,V> entry : group) {
+                resident.remove(entry.key, entry);
+
+                entry.removed = true;
+                garbage++;
+
+                if (entry.inT2) {
+                    t2Size--;
+                }
+                else {
+                    t1Size--;
+                }
+            }
+
+            compact();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#clearStaleReferences()
+     */
+    @Override
+    public void clearStaleReferences() {
+        // The keys are hard, nothing ever goes stale
+    }
+
+    private static class CarEntry<K,V> {
+        private final K key;
+        private final V value;
+        private final String index;
+        private volatile boolean referenceBit = false;
+
+        /** Only read or changed with the lock held */
+        private boolean inT2 = false;
+        private boolean removed = false;
+
+        private CarEntry(K key, V value, String index) {
+            this.key = key;
+            this.value = value;
+            this.index = index;
+        }
+
+        private void reference() {
+            // Only write when needed so a hot entry does not keep
+            // invalidating the cache line on other cores
+            if (!referenceBit) referenceBit = true;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getT1Size()
+     */
+    @Override
+    public int getT1Size() {
+        return t1Size;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getT2Size()
+     */
+    @Override
+    public int getT2Size() {
+        return t2Size;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getB1Size()
+     */
+    @Override
+    public int getB1Size() {
+        return b1Size;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getB2Size()
+     */
+    @Override
+    public int getB2Size() {
+        return b2Size;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getP()
+     */
+    @Override
+    public int getP() {
+        return p;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#dumpAllLists()
+     */
+    @Override
+    public String dumpAllLists() {
+        lock.lock();
+        try {
+            StringBuffer sb = new StringBuffer("p=" + p + "\nT1: " + t1.toString() + "\n");
+            sb.append("T2: " + t2.toString() + "\n");
+            sb.append("B1: " + b1.toString() + "\n");
+            sb.append("B2: " + b2.toString() + "\n");
+
+            return sb.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double getHitRate() {
+        long localHits = hits.sum();
+        long localTries = tries.sum();
+        if (localTries == 0) localTries = 1;
+
+        return ((double) localHits / (double) localTries) * (double) 100.00;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getHits()
+     */
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getMisses()
+     */
+    @Override
+    public long getMisses() {
+        long misses = tries.sum() - hits.sum();
+        return (misses < 0L) ? 0L : misses;
+    }
+
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getEvictions()
+     */
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentCARCacheImpl(t1size=" + t1Size + ",t2Size=" + t2Size +
+                ",b1Size=" + b1Size + ",b2Size=" + b2Size + ",p=" + p + "," +
+                "hitRate=" + getHitRate() + "%," + System.identityHashCode(this) + ")";
+    }
+
+}
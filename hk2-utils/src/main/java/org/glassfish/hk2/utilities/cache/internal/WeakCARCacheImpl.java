@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2024 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,6 +22,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.glassfish.hk2.utilities.cache.CacheKeyFilter;
+import org.glassfish.hk2.utilities.cache.CacheKeyIndexer;
 import org.glassfish.hk2.utilities.cache.Computable;
 import org.glassfish.hk2.utilities.cache.ComputationErrorException;
 import org.glassfish.hk2.utilities.cache.WeakCARCache;
@@ -38,7 +40,8 @@ import org.glassfish.hk2.utilities.general.WeakHashLRU;
  */
 public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
     private final Computable<K,V> computable;
-    private final int maxSize;  // TODO, make this dynamic
+    private final CacheKeyIndexer<K> indexer;
+    private volatile int maxSize;
     
     private final WeakHashClock<K,CarValue<V>> t1;
     private final WeakHashClock<K,CarValue<V>> t2;
@@ -51,9 +54,15 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
     private final ReentrantLock lock = new ReentrantLock();
     private final AtomicLong hits = new AtomicLong(0L);
     private final AtomicLong tries = new AtomicLong(0L);
+    private final AtomicLong evictions = new AtomicLong(0L);
     
     public WeakCARCacheImpl(Computable<K,V> computable, int maxSize, boolean isWeak) {
+        this(computable, maxSize, isWeak, null);
+    }
+    
+    public WeakCARCacheImpl(Computable<K,V> computable, int maxSize, boolean isWeak, CacheKeyIndexer<K> indexer) {
         this.computable = computable;
+        this.indexer = indexer;
         this.maxSize = maxSize;
         
         t1 = GeneralUtilities.getWeakHashClock(isWeak);
@@ -183,6 +192,7 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
                 
                 if (entry.getValue().referenceBit == false) {
                     found = true;
+                    evictions.getAndIncrement();
                     
                     t1.remove(entry.getKey());
                     b1.add(entry.getKey());
@@ -200,6 +210,7 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
                 
                 if (entry.getValue().referenceBit == false) {
                     found = true;
+                    evictions.getAndIncrement();
                     
                     t2.remove(entry.getKey());
                     b2.add(entry.getKey());
@@ -254,6 +265,7 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
             
             tries.set(0);
             hits.set(0);
+            evictions.set(0);
         } finally {
             lock.unlock();
         }
@@ -267,6 +279,34 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
         return maxSize;
     }
 
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#setMaxSize(int)
+     */
+    @Override
+    public void setMaxSize(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be greater than zero: " + maxSize);
+        
+        lock.lock();
+        try {
+            this.maxSize = maxSize;
+            if (p > maxSize) p = maxSize;
+            
+            while ((t1.size() + t2.size()) > maxSize) {
+                replace();
+            }
+            
+            while (b1.size() > 0 && (t1.size() + b1.size()) > maxSize) {
+                b1.remove();
+            }
+            
+            while (b2.size() > 0 && (t1.size() + t2.size() + b1.size() + b2.size()) > (2 * maxSize)) {
+                b2.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getComputable()
      */
@@ -318,6 +358,28 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
         }
     }
 
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#releaseIndexed(java.lang.String)
+     */
+    @Override
+    public void releaseIndexed(final String index) {
+        if (index == null) return;
+        if (indexer == null) {
+            clear();
+            return;
+        }
+        
+        // The weak clocks cannot keep an index, so look at every key
+        releaseMatching(new CacheKeyFilter<K>() {
+
+            @Override
+            public boolean matches(K key) {
+                return index.equals(indexer.getIndex(key));
+            }
+            
+        });
+    }
+
     /* (non-Javadoc)
      * @see org.glassfish.hk2.utilities.cache.WeakCARCache#clearStaleReferences()
      */
@@ -406,6 +468,31 @@ public class WeakCARCacheImpl<K,V> implements WeakCARCache<K, V> {
         return ((double) localHits / (double) localTries) * (double) 100.00;
     }
     
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getHits()
+     */
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+    
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getMisses()
+     */
+    @Override
+    public long getMisses() {
+        long misses = tries.get() - hits.get();
+        return (misses < 0L) ? 0L : misses;
+    }
+    
+    /* (non-Javadoc)
+     * @see org.glassfish.hk2.utilities.cache.WeakCARCache#getEvictions()
+     */
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+    
     @Override
     public String toString() {
         return "WeakCARCacheImpl(t1size=" + t1.size() + ",t2Size=" + t2.size() +
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -34,6 +35,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -75,6 +77,7 @@ public final class ReflectionHelper {
     private final static String EQUALS_STRING = "=";
     private final static String COMMA_STRING = ",";
     private final static String QUOTE_STRING = "\"";
+    private final static String PREGENERATED_PROXY_INFIX = "$$Hk2Proxy_";
 
     /**
      * Given the type parameter gets the raw type represented
@@ -287,6 +290,32 @@ public final class ReflectionHelper {
         return null;
     }
 
+    /**
+     * Returns the name of the proxy class of the given superclass and
+     * interfaces that may have been generated at build time.  The
+     * hk2-inhabitant-generator writes proxy classes with this name and
+     * the ServiceLocator looks for a class with this name before
+     * generating a proxy class itself.  The name does not depend on
+     * the order of the interfaces
+     *
+     * @param superclassName The name of the class being proxied
+     * @param interfaceNames The names of the interfaces implemented by
+     * the proxy, including ProxyCtl
+     * @return The name of the pre-generated proxy class
+     */
+    public static String getPregeneratedProxyName(String superclassName, Collection<String> interfaceNames) {
+        List<String> sorted = new ArrayList<String>(interfaceNames);
+        Collections.sort(sorted);
+
+        StringBuilder sb = new StringBuilder();
+        for (String interfaceName : sorted) {
+            sb.append(interfaceName);
+            sb.append(',');
+        }
+
+        return superclassName + PREGENERATED_PROXY_INFIX + Integer.toHexString(sb.toString().hashCode());
+    }
+
     /**
      * Gets all the interfaces on this particular class (but not any
      * superclasses of this class).
@@ -0,0 +1,558 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.utilities.reflection.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.hk2.utilities.reflection.Logger;
+
+/**
+ * An on-disk cache of the results of analyzing classes, such as which
+ * of their fields and methods are to be injected.  The results are kept
+ * as member signatures and are keyed by class name and by a hash of the
+ * bytecode of the class and of all its superclasses, so that a warm restart
+ * can find the members directly rather than scanning every member
+ * of the class hierarchy for annotations
+ * <p>
+ * The cache is only in use if the system property {@link #CACHE_FILE_PROPERTY}
+ * names the file to keep it in.  The file is read when the cache is
+ * first used, but each class is only checked against its bytecode the
+ * first time it is looked up, and the members of an analysis are only
+ * found from their signatures the first time they are hit.  The file is
+ * written when a ClassReflectionHelperImpl is disposed and when the JVM
+ * exits, and may be deleted at any time.
+ * Classes whose bytecode cannot be found as a resource of their
+ * class loader are never cached
+ */
+public class ClassAnalysisCache {
+    /** The system property naming the file of the process-wide cache */
+    public final static String CACHE_FILE_PROPERTY = "org.jvnet.hk2.properties.reflection.cache.file";
+    
+    private final static int MAGIC = 0x484B3243;
+    private final static int VERSION = 2;
+    private final static String CONSTRUCTOR_NAME = "<init>";
+    
+    /** The members declared by each class, keyed by their signatures */
+    private final static ClassValue<Map<String, Member>> DECLARED_MEMBERS = new ClassValue<Map<String, Member>>() {
+
+        @Override
+        protected Map<String, Member> computeValue(final Class<?> type) {
+            return AccessController.doPrivileged(new PrivilegedAction<Map<String, Member>>() {
+                @Override
+                public Map<String, Member> run() {
+                    HashMap<String, Member> retVal = new HashMap<String, Member>();
+                    
+                    for (Field field : type.getDeclaredFields()) {
+                        retVal.put(getSignature(field), field);
+                    }
+                    for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                        retVal.put(getSignature(constructor), constructor);
+                    }
+                    for (Method method : type.getDeclaredMethods()) {
+                        // Prefers the method itself to a bridge with the same parameters
+                        String signature = getSignature(method);
+                        if (!method.isBridge() || !retVal.containsKey(signature)) {
+                            retVal.put(signature, method);
+                        }
+                    }
+                    
+                    return Collections.unmodifiableMap(retVal);
+                }
+                
+            });
+        }
+        
+    };
+    
+    private static volatile ClassAnalysisCache instance = AccessController.doPrivileged(new PrivilegedAction<ClassAnalysisCache>() {
+        @Override
+        public ClassAnalysisCache run() {
+            String fileName = System.getProperty(CACHE_FILE_PROPERTY);
+            if (fileName == null || fileName.trim().isEmpty()) return null;
+            
+            final ClassAnalysisCache retVal = new ClassAnalysisCache(new File(fileName.trim()));
+            Runtime.getRuntime().addShutdownHook(new Thread("Hk2ClassAnalysisCacheSaver") {
+                @Override
+                public void run() {
+                    retVal.save();
+                }
+            });
+            
+            return retVal;
+        }
+        
+    });
+    
+    private final File file;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final ClassValue<String> hashes = new ClassValue<String>() {
+
+        @Override
+        protected String computeValue(Class<?> type) {
+            return hash(type);
+        }
+        
+    };
+    
+    /** The members found from the signatures of each analysis of a class */
+    private final ClassValue<ConcurrentHashMap<String, Resolved>> resolved =
+            new ClassValue<ConcurrentHashMap<String, Resolved>>() {
+
+        @Override
+        protected ConcurrentHashMap<String, Resolved> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, Resolved>();
+        }
+        
+    };
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean dirty;
+    
+    /**
+     * Creates a cache kept in the given file, reading the entries
+     * already in the file.  A missing, unreadable or outdated file
+     * leaves the cache empty
+     * 
+     * @param file The non-null file the cache is kept in
+     */
+    public ClassAnalysisCache(File file) {
+        this.file = file;
+        
+        AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            @Override
+            public Object run() {
+                load();
+                return null;
+            }
+            
+        });
+    }
+    
+    /**
+     * Returns the process-wide cache
+     * 
+     * @return The cache kept in the file named by {@link #CACHE_FILE_PROPERTY},
+     * or null if that property is not set, unless replaced with
+     * {@link #setInstance(ClassAnalysisCache)}
+     */
+    public static ClassAnalysisCache getInstance() {
+        return instance;
+    }
+    
+    /**
+     * Replaces the process-wide cache, for example so that a test can
+     * use a cache of its own.  ServiceLocators and ClassReflectionHelperImpls
+     * created afterwards use the given cache
+     * 
+     * @param cache The cache to use from now on, or null to use none
+     * @return The cache used until now, which may be null
+     */
+    public static ClassAnalysisCache setInstance(ClassAnalysisCache cache) {
+        ClassAnalysisCache retVal = instance;
+        instance = cache;
+        
+        return retVal;
+    }
+    
+    /**
+     * Returns the members found by an earlier analysis of the given class
+     * 
+     * @param clazz The non-null class that was analyzed
+     * @param analysis The non-null name of the analysis
+     * @param memberType One of Field, Method or Constructor
+     * @return The members found by the analysis, or null if the analysis
+     * is not in the cache, the bytecode of the class has changed since or
+     * the members no longer exist
+     */
+    public <T extends Member> List<T> getMembers(Class<?> clazz, String analysis, Class<T> memberType) {
+        List<T> retVal = findMembers(clazz, analysis, memberType);
+        if (retVal == null) {
+            misses.incrementAndGet();
+        }
+        else {
+            hits.incrementAndGet();
+        }
+        
+        return retVal;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T extends Member> List<T> findMembers(Class<?> clazz, String analysis, Class<T> memberType) {
+        String hash = hashes.get(clazz);
+        if (hash == null) return null;
+        
+        Entry entry = entries.get(clazz.getName());
+        if (entry == null) return null;
+        if (!hash.equals(entry.hash)) {
+            entries.remove(clazz.getName(), entry);
+            dirty = true;
+            return null;
+        }
+        
+        List<String> signatures = entry.analyses.get(analysis);
+        if (signatures == null) return null;
+        
+        // Valid for as long as the analysis is not recorded again
+        Resolved found = resolved.get(clazz).get(analysis);
+        if (found != null && found.signatures == signatures) {
+            if (!found.isOf(memberType)) return null;
+            
+            return (List<T>) found.members;
+        }
+        
+        List<Member> members = new ArrayList<Member>(signatures.size());
+        for (String signature : signatures) {
+            Member member = findMember(clazz, signature);
+            if (member == null) return null;
+            
+            members.add(member);
+        }
+        
+        found = new Resolved(signatures, Collections.unmodifiableList(members));
+        resolved.get(clazz).put(analysis, found);
+        if (!found.isOf(memberType)) return null;
+        
+        return (List<T>) found.members;
+    }
+    
+    /**
+     * Records the members found by an analysis of the given class
+     * 
+     * @param clazz The non-null class that was analyzed
+     * @param analysis The non-null name of the analysis
+     * @param members The non-null members found by the analysis, which
+     * must be declared by the class or by one of its superclasses
+     */
+    public void putMembers(Class<?> clazz, String analysis, Collection<? extends Member> members) {
+        String hash = hashes.get(clazz);
+        if (hash == null) return;
+        
+        List<String> signatures = new ArrayList<String>(members.size());
+        for (Member member : members) {
+            signatures.add(getSignature(member));
+        }
+        
+        Entry entry = entries.get(clazz.getName());
+        if (entry == null || !hash.equals(entry.hash)) {
+            entry = new Entry(hash);
+            entries.put(clazz.getName(), entry);
+        }
+        
+        entry.analyses.put(analysis, Collections.unmodifiableList(signatures));
+        dirty = true;
+    }
+    
+    /**
+     * Writes the cache to its file if it has changed since it
+     * was read or last written.  Failures are logged and
+     * otherwise ignored
+     */
+    public synchronized void save() {
+        if (!dirty) return;
+        dirty = false;
+        
+        AccessController.doPrivileged(new PrivilegedAction<Object>() {
+            @Override
+            public Object run() {
+                try {
+                    write();
+                }
+                catch (IOException ioe) {
+                    Logger.getLogger().debug("Unable to write the class analysis cache " + file, ioe);
+                }
+                
+                return null;
+            }
+            
+        });
+    }
+    
+    /**
+     * Returns the number of classes with entries in this cache
+     * 
+     * @return The number of classes in this cache
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Returns the number of times the members of an analysis were
+     * found in this cache
+     * 
+     * @return The number of lookups that were found in this cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+    
+    /**
+     * Returns the number of times the members of an analysis were
+     * not found in this cache, so that the class had to be analyzed
+     * 
+     * @return The number of lookups that were not found in this cache
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+    
+    private void load() {
+        if (!file.isFile()) return;
+        
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (dis.readInt() != MAGIC) return;
+            if (dis.readInt() != VERSION) return;
+            
+            // Classes of the JVM itself are not hashed
+            if (!getJavaVersion().equals(dis.readUTF())) return;
+            
+            int numClasses = dis.readInt();
+            for (int lcv = 0; lcv < numClasses; lcv++) {
+                String className = dis.readUTF();
+                Entry entry = new Entry(dis.readUTF());
+                
+                int numAnalyses = dis.readInt();
+                for (int analysis = 0; analysis < numAnalyses; analysis++) {
+                    String analysisName = dis.readUTF();
+                    
+                    int numSignatures = dis.readInt();
+                    List<String> signatures = new ArrayList<String>(Math.min(numSignatures, 64));
+                    for (int signature = 0; signature < numSignatures; signature++) {
+                        signatures.add(dis.readUTF());
+                    }
+                    
+                    entry.analyses.put(analysisName, Collections.unmodifiableList(signatures));
+                }
+                
+                entries.put(className, entry);
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            Logger.getLogger().debug("Unable to read the class analysis cache " + file, e);
+            entries.clear();
+        }
+    }
+    
+    private void write() throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Unable to create the directory " + parent);
+        }
+        
+        File tmpFile = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                List<Map.Entry<String, Entry>> toWrite = new ArrayList<Map.Entry<String, Entry>>(entries.entrySet());
+                
+                dos.writeInt(MAGIC);
+                dos.writeInt(VERSION);
+                dos.writeUTF(getJavaVersion());
+                dos.writeInt(toWrite.size());
+                
+                for (Map.Entry<String, Entry> classEntry : toWrite) {
+                    List<Map.Entry<String, List<String>>> analyses =
+                            new ArrayList<Map.Entry<String, List<String>>>(classEntry.getValue().analyses.entrySet());
+                    
+                    dos.writeUTF(classEntry.getKey());
+                    dos.writeUTF(classEntry.getValue().hash);
+                    dos.writeInt(analyses.size());
+                    
+                    for (Map.Entry<String, List<String>> analysis : analyses) {
+                        dos.writeUTF(analysis.getKey());
+                        dos.writeInt(analysis.getValue().size());
+                        
+                        for (String signature : analysis.getValue()) {
+                            dos.writeUTF(signature);
+                        }
+                    }
+                }
+            }
+            
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            tmpFile.delete();
+        }
+    }
+    
+    private static String getJavaVersion() {
+        return System.getProperty("java.vm.vendor") + " " + System.getProperty("java.vm.version");
+    }
+    
+    /**
+     * Hashes the bytecode of the class together with the hash of its
+     * superclass, so that the bytecode of each class is only read once.
+     * Classes of the JVM itself are not hashed
+     * 
+     * @return The hash, or null if the bytecode of the class or of one
+     * of its superclasses could not be found
+     */
+    private String hash(final Class<?> clazz) {
+        final String superHash;
+        Class<?> superclass = clazz.getSuperclass();
+        if (superclass == null || superclass.getClassLoader() == null) {
+            superHash = "";
+        }
+        else {
+            superHash = hashes.get(superclass);
+            if (superHash == null) return null;
+        }
+        
+        if (clazz.getClassLoader() == null) return superHash;
+        if (clazz.isHidden()) return null;
+        
+        return AccessController.doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                MessageDigest digest;
+                try {
+                    digest = MessageDigest.getInstance("SHA-256");
+                }
+                catch (NoSuchAlgorithmException e) {
+                    return null;
+                }
+                
+                String resource = clazz.getName().replace('.', '/') + ".class";
+                try (InputStream is = clazz.getClassLoader().getResourceAsStream(resource)) {
+                    if (is == null) return null;
+                    
+                    digest.update(clazz.getName().getBytes(StandardCharsets.UTF_8));
+                    digest.update(is.readAllBytes());
+                    digest.update(superHash.getBytes(StandardCharsets.UTF_8));
+                }
+                catch (IOException ioe) {
+                    return null;
+                }
+                
+                StringBuilder sb = new StringBuilder();
+                for (byte b : digest.digest()) {
+                    sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                    sb.append(Character.forDigit(b & 0xF, 16));
+                }
+                
+                return sb.toString();
+            }
+            
+        });
+    }
+    
+    private static String getSignature(Member member) {
+        StringBuilder sb = new StringBuilder(member.getDeclaringClass().getName());
+        sb.append('#');
+        
+        Class<?> parameters[];
+        if (member instanceof Method) {
+            sb.append(member.getName());
+            parameters = ((Method) member).getParameterTypes();
+        }
+        else if (member instanceof Constructor) {
+            sb.append(CONSTRUCTOR_NAME);
+            parameters = ((Constructor<?>) member).getParameterTypes();
+        }
+        else {
+            return sb.append(member.getName()).toString();
+        }
+        
+        sb.append('(');
+        for (int lcv = 0; lcv < parameters.length; lcv++) {
+            if (lcv > 0) sb.append(',');
+            sb.append(parameters[lcv].getName());
+        }
+        return sb.append(')').toString();
+    }
+    
+    /**
+     * Finds a member declared by the class or one of its superclasses
+     * 
+     * @return The member with the given signature, or null if there is none
+     */
+    private static Member findMember(Class<?> clazz, String signature) {
+        int hashIndex = signature.indexOf('#');
+        if (hashIndex < 0) return null;
+        
+        String declaringClassName = signature.substring(0, hashIndex);
+        while (clazz != null && !clazz.getName().equals(declaringClassName)) {
+            clazz = clazz.getSuperclass();
+        }
+        if (clazz == null) return null;
+        
+        return DECLARED_MEMBERS.get(clazz).get(signature);
+    }
+    
+    /**
+     * The members found from the signatures of an analysis
+     */
+    private static class Resolved {
+        private final List<String> signatures;
+        private final List<Member> members;
+        
+        private Resolved(List<String> signatures, List<Member> members) {
+            this.signatures = signatures;
+            this.members = members;
+        }
+        
+        private boolean isOf(Class<? extends Member> memberType) {
+            for (Member member : members) {
+                if (!memberType.isInstance(member)) return false;
+            }
+            
+            return true;
+        }
+    }
+    
+    private static class Entry {
+        private final String hash;
+        private final ConcurrentHashMap<String, List<String>> analyses = new ConcurrentHashMap<String, List<String>>();
+        
+        private Entry(String hash) {
+            this.hash = hash;
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "ClassAnalysisCache(" + file + "," + System.identityHashCode(this) + ")";
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +19,8 @@ package org.glassfish.hk2.utilities.reflection.internal;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.glassfish.hk2.utilities.cache.Computable;
@@ -32,6 +35,10 @@ import org.glassfish.hk2.utilities.reflection.MethodWrapper;
  */
 public class ClassReflectionHelperImpl implements ClassReflectionHelper {
     private final int MAX_CACHE_SIZE = 20000;
+    private final static String POST_CONSTRUCT_ANALYSIS = "postConstruct";
+    private final static String PRE_DESTROY_ANALYSIS = "preDestroy";
+    
+    private final ClassAnalysisCache analysisCache = ClassAnalysisCache.getInstance();
     
     private final LRUHybridCache<LifecycleKey, Method> postConstructCache =
             new LRUHybridCache<LifecycleKey, Method>(MAX_CACHE_SIZE, new Computable<LifecycleKey, HybridCacheEntry<Method>>() {
@@ -128,6 +135,8 @@ public class ClassReflectionHelperImpl implements ClassReflectionHelper {
         preDestroyCache.clear();
         methodCache.clear();
         fieldCache.clear();
+        
+        if (analysisCache != null) analysisCache.save();
     }
     
     /* (non-Javadoc)
@@ -158,12 +167,7 @@ public class ClassReflectionHelperImpl implements ClassReflectionHelper {
             return retVal;
         }
         
-        for (MethodWrapper wrapper : getAllMethods(clazz)) {
-            Method m = wrapper.getMethod();
-            if (ClassReflectionHelperUtilities.isPostConstruct(m)) return m;
-        }
-        
-        return null;
+        return findAnnotatedLifecycleMethod(clazz, POST_CONSTRUCT_ANALYSIS, true);
     }
     
     private Method getPreDestroyMethod(Class<?> clazz, Class<?> matchingClass) {
@@ -183,15 +187,36 @@ public class ClassReflectionHelperImpl implements ClassReflectionHelper {
             return retVal;
         }
         
+        return findAnnotatedLifecycleMethod(clazz, PRE_DESTROY_ANALYSIS, false);
+    }
+
+    /**
+     * Scans all the methods of the class for the lifecycle annotation,
+     * or finds the result of an earlier scan in the ClassAnalysisCache
+     */
+    private Method findAnnotatedLifecycleMethod(Class<?> clazz, String analysis, boolean postConstruct) {
+        if (analysisCache != null) {
+            List<Method> cached = analysisCache.getMembers(clazz, analysis, Method.class);
+            if (cached != null) return cached.isEmpty() ? null : cached.get(0);
+        }
+        
+        Method retVal = null;
         for (MethodWrapper wrapper : getAllMethods(clazz)) {
             Method m = wrapper.getMethod();
-            if (ClassReflectionHelperUtilities.isPreDestroy(m)) return m;
+            if (postConstruct ? ClassReflectionHelperUtilities.isPostConstruct(m) :
+                    ClassReflectionHelperUtilities.isPreDestroy(m)) {
+                retVal = m;
+                break;
+            }
         }
         
-        return null;
+        if (analysisCache != null) {
+            analysisCache.putMembers(clazz, analysis, (retVal == null) ?
+                    Collections.<Method>emptyList() : Collections.singletonList(retVal));
+        }
+        
+        return retVal;
     }
-
-    
     
     @Override
     public String toString() {
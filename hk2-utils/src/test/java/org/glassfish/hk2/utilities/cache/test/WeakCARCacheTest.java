@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,10 +17,14 @@
 
 package org.glassfish.hk2.utilities.cache.test;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.glassfish.hk2.utilities.cache.CacheKeyFilter;
+import org.glassfish.hk2.utilities.cache.CacheKeyIndexer;
 import org.glassfish.hk2.utilities.cache.CacheUtilities;
 import org.glassfish.hk2.utilities.cache.Computable;
 import org.glassfish.hk2.utilities.cache.WeakCARCache;
@@ -153,6 +158,12 @@ public class WeakCARCacheTest {
         testAddElevenToCacheSizeTen(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testAddElevenToCacheSizeTenConcurrent() {
+        WeakCARCache<String, Integer> car = CacheUtilities.createConcurrentCARCache(TO_INTEGER, SMALL_CACHE_SIZE);
+        testAddElevenToCacheSizeTen(car);
+    }
+    
     /**
      * Tests moving completely from T1 to T2 (and one B1)
      */
@@ -204,6 +215,12 @@ public class WeakCARCacheTest {
         testAddElevenToCacheSizeTenForwardThenBackward(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testAddElevenToCacheSizeTenForwardThenBackwardConcurrent() {
+        WeakCARCache<String, Integer> car = CacheUtilities.createConcurrentCARCache(TO_INTEGER, SMALL_CACHE_SIZE);
+        testAddElevenToCacheSizeTenForwardThenBackward(car);
+    }
+    
     /**
      * Takes a value off of B2
      */
@@ -239,6 +256,12 @@ public class WeakCARCacheTest {
         
     }
     
+    @Test // @org.junit.Ignore
+    public void testTakingOffOfB2Concurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testTakingOffOfB2(car);
+    }
+    
     /**
      * Takes a value off of B1
      */
@@ -272,6 +295,12 @@ public class WeakCARCacheTest {
         testTakingOffOfB1(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testTakingOffOfB1Concurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testTakingOffOfB1(car);
+    }
+    
     /**
      * Tests that the hit rate is calculated properly and is cleared by clear
      */
@@ -337,6 +366,12 @@ public class WeakCARCacheTest {
         testEqualT1T2(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testEqualT1T2Concurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testEqualT1T2(car);
+    }
+    
     /**
      * Maxes keys plus one off of B2, makes sure B2 does not grow without bound
      */
@@ -370,6 +405,12 @@ public class WeakCARCacheTest {
         testMaxOutKeysPlusOne(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testMaxOutKeysPlusOneConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testMaxOutKeysPlusOne(car);
+    }
+    
     /**
      * Maxes keys plus one off of B2, makes sure B2 does not grow without bound
      */
@@ -403,6 +444,12 @@ public class WeakCARCacheTest {
         testWeCanAccessAMemberOfT2(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testWeCanAccessAMemberOfT2Concurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testWeCanAccessAMemberOfT2(car);
+    }
+    
     /**
      * Sets all T2 to true bit forces cycle when looking for demotion candidate
      */
@@ -436,6 +483,12 @@ public class WeakCARCacheTest {
         testForceDemotionT2ToCycle(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testForceDemotionT2ToCycleConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testForceDemotionT2ToCycle(car);
+    }
+    
     /**
      * Sets all T2 to true bit forces cycle when looking for demotion candidate
      */
@@ -478,6 +531,12 @@ public class WeakCARCacheTest {
         testRemoveB2ToZeroAndGetSomethingFromB1(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testRemoveB2ToZeroAndGetSomethingFromB1Concurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testRemoveB2ToZeroAndGetSomethingFromB1(car);
+    }
+    
     /**
      * Sets all T2 to true bit forces cycle when looking for demotion candidate
      */
@@ -519,6 +578,12 @@ public class WeakCARCacheTest {
         testMakeB1SizeBeLessThanB2SizeDuringCacheMiss(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testMakeB1SizeBeLessThanB2SizeDuringCacheMissConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testMakeB1SizeBeLessThanB2SizeDuringCacheMiss(car);
+    }
+    
     /**
      * Pushes P to maxSize, makes sure it cannot go over
      */
@@ -552,6 +617,12 @@ public class WeakCARCacheTest {
         testPushPToMaxSize(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testPushPToMaxSizeConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testPushPToMaxSize(car);
+    }
+    
     /**
      * Pushes P to 5 and then back down to zero
      */
@@ -585,6 +656,12 @@ public class WeakCARCacheTest {
         testPushPToFiveThenBackToZero(car);
     }
     
+    @Test // @org.junit.Ignore
+    public void testPushPToFiveThenBackToZeroConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testPushPToFiveThenBackToZero(car);
+    }
+    
     /**
      * Tests that Weak keys are removed eventually
      * @throws InterruptedException 
@@ -718,6 +795,13 @@ public class WeakCARCacheTest {
         testConcurrency(cache);
     }
     
+    @Test // @org.junit.Ignore
+    public void testConcurrencyConcurrent() throws InterruptedException {
+        // Key space is 100 keys, so we will make the cache size 50
+        WeakCARCache<Integer, Integer> cache = CacheUtilities.createConcurrentCARCache(INT_TO_INT, 50);
+        testConcurrency(cache);
+    }
+    
     private final static int CONCURRENT_ITERATIONS = 100000;
     
     private static class Runner implements Runnable {
@@ -913,5 +997,430 @@ public class WeakCARCacheTest {
             return new Integer(key.intValue());
         }
     }
+    
+    /**
+     * Tests that a hit on one key is not held up by a long
+     * computation of another key
+     */
+    @Test // @org.junit.Ignore
+    public void testHitDuringComputationConcurrent() throws Throwable {
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        
+        final WeakCARCache<Integer, Integer> cache = CacheUtilities.createConcurrentCARCache(new Computable<Integer, Integer>() {
+
+            @Override
+            public Integer compute(Integer key) {
+                if (key.intValue() == 1) {
+                    computing.countDown();
+                    try {
+                        release.await();
+                    }
+                    catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                
+                return key;
+            }
+            
+        }, SMALL_CACHE_SIZE);
+        
+        Assert.assertEquals(new Integer(0), cache.compute(0));
+        
+        Thread slow = new Thread(new Runnable() {
 
+            @Override
+            public void run() {
+                cache.compute(1);
+            }
+            
+        });
+        slow.start();
+        
+        try {
+            Assert.assertTrue(computing.await(20, TimeUnit.SECONDS));
+            
+            // Neither the hit nor the miss of another key wait for key 1
+            Assert.assertEquals(new Integer(0), cache.compute(0));
+            Assert.assertEquals(new Integer(2), cache.compute(2));
+        }
+        finally {
+            release.countDown();
+        }
+        
+        slow.join(20 * 1000);
+        
+        Assert.assertEquals(3, cache.getValueSize());
+    }
+    
+    /**
+     * Tests that a value being computed while keys are released
+     * is returned but not kept in the cache
+     */
+    @SuppressWarnings("unchecked")
+    @Test // @org.junit.Ignore
+    public void testReleaseDuringComputationConcurrent() throws Throwable {
+        final WeakCARCache<Integer, Integer> cache[] = new WeakCARCache[1];
+        
+        cache[0] = CacheUtilities.createConcurrentCARCache(new Computable<Integer, Integer>() {
+
+            @Override
+            public Integer compute(Integer key) {
+                if (key.intValue() == 1) {
+                    // Some other thread invalidates while this is being computed
+                    cache[0].releaseMatching(new CacheKeyFilter<Integer>() {
+
+                        @Override
+                        public boolean matches(Integer key) {
+                            return true;
+                        }
+                        
+                    });
+                }
+                
+                return key;
+            }
+            
+        }, SMALL_CACHE_SIZE);
+        
+        Assert.assertEquals(new Integer(1), cache[0].compute(1));
+        Assert.assertEquals(0, cache[0].getValueSize());
+        
+        Assert.assertEquals(new Integer(2), cache[0].compute(2));
+        Assert.assertEquals(1, cache[0].getValueSize());
+    }
+    
+    private void testShrinkMaxSize(WeakCARCache<Integer, Integer> car) {
+        for (int lcv = 0; lcv < SMALL_CACHE_SIZE; lcv++) {
+            Assert.assertEquals(new Integer(lcv), car.compute(lcv));
+        }
+        
+        Assert.assertEquals(SMALL_CACHE_SIZE, car.getValueSize());
+        Assert.assertEquals(0L, car.getEvictions());
+        
+        car.setMaxSize(4);
+        
+        Assert.assertEquals(4, car.getMaxSize());
+        Assert.assertEquals(4, car.getValueSize());
+        Assert.assertEquals(SMALL_CACHE_SIZE - 4, car.getEvictions());
+        Assert.assertTrue(car.getKeySize() <= 8);
+        
+        Assert.assertEquals(new Integer(SMALL_CACHE_SIZE), car.compute(SMALL_CACHE_SIZE));
+        Assert.assertEquals(4, car.getValueSize());
+        Assert.assertEquals(SMALL_CACHE_SIZE - 3, car.getEvictions());
+        
+        car.setMaxSize(SMALL_CACHE_SIZE);
+        for (int lcv = 100; lcv < 106; lcv++) {
+            car.compute(lcv);
+        }
+        
+        Assert.assertEquals(SMALL_CACHE_SIZE, car.getValueSize());
+    }
+    
+    /**
+     * Tests that the cache can be made smaller
+     */
+    @Test // @org.junit.Ignore
+    public void testShrinkMaxSizeWeak() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, true);
+        testShrinkMaxSize(car);
+    }
+    
+    /**
+     * Tests that the cache can be made smaller
+     */
+    @Test // @org.junit.Ignore
+    public void testShrinkMaxSizeStrong() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, false);
+        testShrinkMaxSize(car);
+    }
+    
+    /**
+     * Tests that the cache can be made smaller
+     */
+    @Test // @org.junit.Ignore
+    public void testShrinkMaxSizeConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testShrinkMaxSize(car);
+    }
+    
+    private void testHitsAndMisses(WeakCARCache<Integer, Integer> car) {
+        car.compute(1);
+        car.compute(1);
+        car.compute(2);
+        car.compute(1);
+        
+        Assert.assertEquals(2L, car.getHits());
+        Assert.assertEquals(2L, car.getMisses());
+        
+        car.clear();
+        
+        Assert.assertEquals(0L, car.getHits());
+        Assert.assertEquals(0L, car.getMisses());
+    }
+    
+    /**
+     * Tests the hit and miss counters
+     */
+    @Test // @org.junit.Ignore
+    public void testHitsAndMissesStrong() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, false);
+        testHitsAndMisses(car);
+    }
+    
+    /**
+     * Tests the hit and miss counters
+     */
+    @Test // @org.junit.Ignore
+    public void testHitsAndMissesConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testHitsAndMisses(car);
+    }
+    
+    private final static String EVEN = "even";
+    private final static String ODD = "odd";
+    
+    private final static CacheKeyIndexer<Integer> EVEN_ODD = new CacheKeyIndexer<Integer>() {
+
+        @Override
+        public String getIndex(Integer key) {
+            if (key < 0) return null;
+            
+            return ((key % 2) == 0) ? EVEN : ODD;
+        }
+        
+    };
+    
+    private void testReleaseIndexed(WeakCARCache<Integer, Integer> car) {
+        for (int lcv = -1; lcv < SMALL_CACHE_SIZE - 1; lcv++) {
+            Assert.assertEquals(new Integer(lcv), car.compute(lcv));
+        }
+        
+        Assert.assertEquals(SMALL_CACHE_SIZE, car.getValueSize());
+        
+        car.releaseIndexed(EVEN);
+        
+        // -1 has no index, so it remains along with the four odd numbers
+        Assert.assertEquals(5, car.getValueSize());
+        
+        long misses = car.getMisses();
+        for (int lcv = 1; lcv < SMALL_CACHE_SIZE - 1; lcv += 2) {
+            car.compute(lcv);
+        }
+        Assert.assertEquals(misses, car.getMisses());
+        
+        car.compute(0);
+        Assert.assertEquals(misses + 1, car.getMisses());
+        
+        car.releaseIndexed("none");
+        Assert.assertEquals(6, car.getValueSize());
+        
+        // Cycle enough values through the cache to push out everything that was released
+        for (int lcv = 100; lcv < 100 + (4 * SMALL_CACHE_SIZE); lcv++) {
+            Assert.assertEquals(new Integer(lcv), car.compute(lcv));
+            Assert.assertTrue(car.getValueSize() <= SMALL_CACHE_SIZE);
+        }
+        
+        Assert.assertEquals(SMALL_CACHE_SIZE, car.getValueSize());
+        
+        car.releaseIndexed(ODD);
+        car.releaseIndexed(EVEN);
+        
+        Assert.assertEquals(0, car.getValueSize());
+        
+        for (int lcv = 200; lcv < 200 + SMALL_CACHE_SIZE; lcv++) {
+            car.compute(lcv);
+        }
+        
+        Assert.assertEquals(SMALL_CACHE_SIZE, car.getValueSize());
+    }
+    
+    /**
+     * Tests that only the keys of the given index are released
+     */
+    @Test // @org.junit.Ignore
+    public void testReleaseIndexedWeak() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, true, EVEN_ODD);
+        testReleaseIndexed(car);
+    }
+    
+    /**
+     * Tests that only the keys of the given index are released
+     */
+    @Test // @org.junit.Ignore
+    public void testReleaseIndexedStrong() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, false, EVEN_ODD);
+        testReleaseIndexed(car);
+    }
+    
+    /**
+     * Tests that only the keys of the given index are released
+     */
+    @Test // @org.junit.Ignore
+    public void testReleaseIndexedConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE, EVEN_ODD);
+        testReleaseIndexed(car);
+    }
+    
+    private static void testReleaseIndexedWithoutIndexer(WeakCARCache<Integer, Integer> car) {
+        for (int lcv = 0; lcv < 4; lcv++) {
+            car.compute(lcv);
+        }
+        Assert.assertEquals(4, car.getValueSize());
+        
+        // Without an indexer the cache cannot tell which keys are even
+        car.releaseIndexed(EVEN);
+        Assert.assertEquals(0, car.getValueSize());
+    }
+    
+    /**
+     * Tests that a cache without an indexer releases everything
+     * when asked to release an index
+     */
+    @Test // @org.junit.Ignore
+    public void testReleaseIndexedWithoutIndexerWeak() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, true);
+        testReleaseIndexedWithoutIndexer(car);
+    }
+    
+    /**
+     * Tests that a cache without an indexer releases everything
+     * when asked to release an index
+     */
+    @Test // @org.junit.Ignore
+    public void testReleaseIndexedWithoutIndexerStrong() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createWeakCARCache(INT_TO_INT, SMALL_CACHE_SIZE, false);
+        testReleaseIndexedWithoutIndexer(car);
+    }
+    
+    /**
+     * Tests that a cache without an indexer releases everything
+     * when asked to release an index
+     */
+    @Test // @org.junit.Ignore
+    public void testReleaseIndexedWithoutIndexerConcurrent() {
+        WeakCARCache<Integer, Integer> car = CacheUtilities.createConcurrentCARCache(INT_TO_INT, SMALL_CACHE_SIZE);
+        testReleaseIndexedWithoutIndexer(car);
+    }
+    
+    /**
+     * Tests that an implementation written against the original
+     * interface still compiles and gets sensible defaults
+     */
+    @Test // @org.junit.Ignore
+    public void testDefaultMethodsOfOlderImplementation() {
+        OlderCache cache = new OlderCache();
+        
+        Assert.assertEquals(new Integer(3), cache.compute(3));
+        
+        // An older cache cannot tell which keys are in the group, so it releases them all
+        cache.releaseIndexed(EVEN);
+        Assert.assertEquals(0, cache.getValueSize());
+        
+        Assert.assertEquals(0L, cache.getHits());
+        Assert.assertEquals(0L, cache.getMisses());
+        Assert.assertEquals(0L, cache.getEvictions());
+        
+        try {
+            cache.setMaxSize(SMALL_CACHE_SIZE);
+            Assert.fail("An older cache cannot be resized");
+        }
+        catch (UnsupportedOperationException uoe) {
+            // expected
+        }
+    }
+    
+    /**
+     * Implements only the methods WeakCARCache had before it could be
+     * resized, counted or released by index
+     */
+    private static class OlderCache implements WeakCARCache<Integer, Integer> {
+        private final HashMap<Integer, Integer> values = new HashMap<Integer, Integer>();
+
+        @Override
+        public Integer compute(Integer key) {
+            Integer retVal = values.get(key);
+            if (retVal == null) {
+                retVal = INT_TO_INT.compute(key);
+                values.put(key, retVal);
+            }
+            
+            return retVal;
+        }
+
+        @Override
+        public int getKeySize() {
+            return values.size();
+        }
+
+        @Override
+        public int getValueSize() {
+            return values.size();
+        }
+
+        @Override
+        public int getT1Size() {
+            return values.size();
+        }
+
+        @Override
+        public int getT2Size() {
+            return 0;
+        }
+
+        @Override
+        public int getB1Size() {
+            return 0;
+        }
+
+        @Override
+        public int getB2Size() {
+            return 0;
+        }
+
+        @Override
+        public void clear() {
+            values.clear();
+        }
+
+        @Override
+        public int getMaxSize() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public Computable<Integer, Integer> getComputable() {
+            return INT_TO_INT;
+        }
+
+        @Override
+        public boolean remove(Integer key) {
+            return values.remove(key) != null;
+        }
+
+        @Override
+        public void releaseMatching(CacheKeyFilter<Integer> filter) {
+            values.keySet().removeIf(filter::matches);
+        }
+
+        @Override
+        public void clearStaleReferences() {
+        }
+
+        @Override
+        public int getP() {
+            return 0;
+        }
+
+        @Override
+        public String dumpAllLists() {
+            return values.toString();
+        }
+
+        @Override
+        public double getHitRate() {
+            return 0;
+        }
+    }
 }
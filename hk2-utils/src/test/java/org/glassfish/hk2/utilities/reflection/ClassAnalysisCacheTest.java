@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.hk2.utilities.reflection;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.glassfish.hk2.utilities.reflection.internal.ClassAnalysisCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the ClassAnalysisCache
+ */
+public class ClassAnalysisCacheTest {
+    private final static String ANALYSIS = "test";
+    private final static String OTHER_ANALYSIS = "other";
+    
+    /**
+     * Tests that members written to the cache file are found
+     * again by a cache read from that file
+     * 
+     * @throws Exception
+     */
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testMembersSurviveRestart() throws Exception {
+        File file = File.createTempFile("hk2ClassAnalysis", ".cache");
+        try {
+            file.delete();
+            
+            Method overloaded = AnalyzedService.class.getDeclaredMethod("overloaded", int[].class, String.class);
+            Method inherited = AnalyzedBase.class.getDeclaredMethod("overloaded", long.class);
+            Field field = AnalyzedService.class.getDeclaredField("field");
+            Constructor<?> constructor = AnalyzedService.class.getDeclaredConstructor(String.class);
+            
+            ClassAnalysisCache cache = new ClassAnalysisCache(file);
+            Assert.assertNull(cache.getMembers(AnalyzedService.class, ANALYSIS, Method.class));
+            
+            cache.putMembers(AnalyzedService.class, ANALYSIS, Arrays.asList(overloaded, inherited));
+            cache.putMembers(AnalyzedService.class, OTHER_ANALYSIS, Collections.singletonList(field));
+            cache.putMembers(AnalyzedBase.class, ANALYSIS, Collections.<Method>emptyList());
+            cache.save();
+            
+            Assert.assertTrue(file.isFile());
+            
+            ClassAnalysisCache restarted = new ClassAnalysisCache(file);
+            Assert.assertEquals(2, restarted.size());
+            
+            Assert.assertEquals(Arrays.asList(overloaded, inherited),
+                    restarted.getMembers(AnalyzedService.class, ANALYSIS, Method.class));
+            Assert.assertEquals(Collections.singletonList(field),
+                    restarted.getMembers(AnalyzedService.class, OTHER_ANALYSIS, Field.class));
+            Assert.assertEquals(Collections.emptyList(),
+                    restarted.getMembers(AnalyzedBase.class, ANALYSIS, Method.class));
+            
+            // Wrong kind of member
+            Assert.assertNull(restarted.getMembers(AnalyzedService.class, OTHER_ANALYSIS, Method.class));
+            
+            restarted.putMembers(AnalyzedService.class, ANALYSIS, Collections.singletonList(constructor));
+            List<Constructor> constructors = restarted.getMembers(AnalyzedService.class, ANALYSIS, Constructor.class);
+            Assert.assertEquals(Collections.singletonList(constructor), constructors);
+        }
+        finally {
+            file.delete();
+        }
+    }
+    
+    /**
+     * Tests that a file that is not a cache leaves the cache empty
+     * 
+     * @throws IOException
+     */
+    @Test
+    public void testCorruptFileIgnored() throws IOException {
+        File file = File.createTempFile("hk2ClassAnalysis", ".cache");
+        try {
+            FileOutputStream fos = new FileOutputStream(file);
+            fos.write("not a cache".getBytes());
+            fos.close();
+            
+            ClassAnalysisCache cache = new ClassAnalysisCache(file);
+            Assert.assertEquals(0, cache.size());
+            Assert.assertNull(cache.getMembers(AnalyzedService.class, ANALYSIS, Method.class));
+        }
+        finally {
+            file.delete();
+        }
+    }
+    
+    /**
+     * Tests that classes whose bytecode cannot be found are not cached
+     */
+    @Test
+    public void testUnhashableClassNotCached() throws Exception {
+        File file = File.createTempFile("hk2ClassAnalysis", ".cache");
+        try {
+            Runnable lambda = () -> {};
+            Method run = lambda.getClass().getDeclaredMethod("run");
+            
+            ClassAnalysisCache cache = new ClassAnalysisCache(file);
+            cache.putMembers(lambda.getClass(), ANALYSIS, Collections.singletonList(run));
+            
+            Assert.assertEquals(0, cache.size());
+            Assert.assertNull(cache.getMembers(lambda.getClass(), ANALYSIS, Method.class));
+        }
+        finally {
+            file.delete();
+        }
+    }
+    
+    /**
+     * Tests that a hit returns the members found by the first hit
+     * and that the hits and misses are counted
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testHitsFindMembersOnce() throws Exception {
+        File file = File.createTempFile("hk2ClassAnalysis", ".cache");
+        try {
+            Field field = AnalyzedService.class.getDeclaredField("field");
+            
+            ClassAnalysisCache cache = new ClassAnalysisCache(file);
+            Assert.assertNull(cache.getMembers(AnalyzedService.class, ANALYSIS, Field.class));
+            
+            cache.putMembers(AnalyzedService.class, ANALYSIS, Collections.singletonList(field));
+            
+            List<Field> first = cache.getMembers(AnalyzedService.class, ANALYSIS, Field.class);
+            Assert.assertEquals(Collections.singletonList(field), first);
+            Assert.assertSame(first, cache.getMembers(AnalyzedService.class, ANALYSIS, Field.class));
+            
+            Assert.assertEquals(2L, cache.getHits());
+            Assert.assertEquals(1L, cache.getMisses());
+            
+            // Recording the analysis again replaces the members found
+            cache.putMembers(AnalyzedService.class, ANALYSIS, Collections.<Field>emptyList());
+            Assert.assertEquals(Collections.emptyList(), cache.getMembers(AnalyzedService.class, ANALYSIS, Field.class));
+        }
+        finally {
+            file.delete();
+        }
+    }
+    
+    public static class AnalyzedBase {
+        protected void overloaded(long l) {
+        }
+    }
+    
+    public static class AnalyzedService extends AnalyzedBase {
+        private String field;
+        
+        public AnalyzedService() {
+        }
+        
+        public AnalyzedService(String field) {
+            this.field = field;
+        }
+        
+        private void overloaded(int i[], String s) {
+        }
+        
+        private void overloaded(int i[]) {
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -23,6 +24,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -1115,4 +1117,20 @@ public class ReflectionHelperTest {
         Assert.assertTrue(contractsFromClass.contains(ServiceInterface.class.getName()));
         Assert.assertTrue(contractsFromClass.contains(BaseInterface.class.getName()));
     }
+
+    /**
+     * Tests that the name of a pre-generated proxy is in the package of
+     * the superclass and does not depend on the order of the interfaces
+     */
+    @Test
+    public void testPregeneratedProxyName() {
+        String name = ReflectionHelper.getPregeneratedProxyName(ServiceImpl.class.getName(),
+                Arrays.asList(ServiceInterface.class.getName(), BaseInterface.class.getName()));
+        
+        Assert.assertTrue(name, name.startsWith(ServiceImpl.class.getName() + "$$Hk2Proxy_"));
+        Assert.assertEquals(name, ReflectionHelper.getPregeneratedProxyName(ServiceImpl.class.getName(),
+                Arrays.asList(BaseInterface.class.getName(), ServiceInterface.class.getName())));
+        Assert.assertNotEquals(name, ReflectionHelper.getPregeneratedProxyName(ServiceImpl.class.getName(),
+                Arrays.asList(BaseInterface.class.getName())));
+    }
 }
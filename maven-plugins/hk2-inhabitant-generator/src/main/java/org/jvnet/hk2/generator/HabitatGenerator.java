@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -57,6 +58,10 @@ public class HabitatGenerator {
     public final static String DIRECTORY_ARG = "--directory";
     /** This option gives the name of directory in the target location where the file should be placed */
     public final static String NO_DATE_ARG = "--noDate";
+    /** This option writes the file in the binary format of BinaryDescriptorFile rather than as text */
+    public final static String BINARY_ARG = "--binary";
+    /** This option also generates the proxy classes of proxiable services (only for directories) */
+    public final static String PROXIES_ARG = "--proxies";
     
     private final String directoryOrFileToGenerateFor;
     private final String outjarName;
@@ -66,6 +71,8 @@ public class HabitatGenerator {
     private final boolean noSwap;
     private final String outputDirectory;
     private final boolean includeDate;
+    private final boolean binary;
+    private final boolean proxies;
     
     private HabitatGenerator(String directoryOrFileToGenerateFor,
             String outjarName,
@@ -74,7 +81,9 @@ public class HabitatGenerator {
             String searchPath,
             boolean noSwap,
             String outputDirectory,
-            boolean includeDate) {
+            boolean includeDate,
+            boolean binary,
+            boolean proxies) {
         this.directoryOrFileToGenerateFor = directoryOrFileToGenerateFor;
         this.outjarName = outjarName;
         this.locatorName = locatorName;
@@ -83,6 +92,8 @@ public class HabitatGenerator {
         this.noSwap = noSwap;
         this.outputDirectory = outputDirectory;
         this.includeDate = includeDate;
+        this.binary = binary;
+        this.proxies = proxies;
     }
     
     private void printThrowable(Throwable th) {
@@ -100,7 +111,7 @@ public class HabitatGenerator {
     private int go() {
         GeneratorRunner runner = new GeneratorRunner(directoryOrFileToGenerateFor,
                 outjarName, locatorName, verbose, searchPath, noSwap, outputDirectory,
-                includeDate);
+                includeDate, binary, proxies);
         
         try {
             runner.go();
@@ -137,6 +148,8 @@ public class HabitatGenerator {
           "\t[--searchPath path-separator-delimited-classpath]\n" +
           "\t[--outjar jarFile]\n" +
           "\t[--locator locatorName]\n" +
+          "\t[--binary]\n" +
+          "\t[--proxies]\n" +
           "\t[--verbose]");
     }
     
@@ -149,7 +162,7 @@ public class HabitatGenerator {
      * A utility to generate inhabitants files.  By default the first element of the classpath will be analyzed and
      * an inhabitants file will be put into the JAR or directory.  The arguments are as follows:
      * <p>
-     * HabitatGenerator [--file jarFileOrDirectory] [--searchPath path-separator-delimited-classpath] [--outjar jarfile] [--locator locatorName] [--directory targetDirectory] [--verbose]
+     * HabitatGenerator [--file jarFileOrDirectory] [--searchPath path-separator-delimited-classpath] [--outjar jarfile] [--locator locatorName] [--directory targetDirectory] [--binary] [--proxies] [--verbose]
      * </p>
      * If the input file is a directory then the output file will go into META-INF/locatorName in the
      * original directory
@@ -161,6 +174,14 @@ public class HabitatGenerator {
      * name of the output jar file that should be written.  This defaults to the input jar file
      * itself if not specified.  If specified and the jarFileOrDirectory parameter is a directory
      * then this parameter is ignored
+     * <p>
+     * --binary writes the file in the binary format of
+     * org.glassfish.hk2.utilities.BinaryDescriptorFile, which is faster
+     * to read than the text format
+     * <p>
+     * --proxies also generates the proxy classes of the proxiable services
+     * into the directory being analyzed, so that the ServiceLocator need not
+     * generate them at runtime.  This is ignored if the input file is a jar file
      * 
      * @param argv The set of command line arguments
      * @return 0 on success, non-zero on failure
@@ -174,6 +195,8 @@ public class HabitatGenerator {
         boolean userNoSwap = false;
         String outputDirectory = null;
         boolean defaultIncludeDate = true;
+        boolean userBinary = false;
+        boolean userProxies = false;
         
         for (int lcv = 0; lcv < argv.length; lcv++) {
             if (VERBOSE_ARG.equals(argv[lcv])) {
@@ -221,6 +244,12 @@ public class HabitatGenerator {
             else if (NO_DATE_ARG.equals(argv[lcv])) {
                 defaultIncludeDate = false;
             }
+            else if (BINARY_ARG.equals(argv[lcv])) {
+                userBinary = true;
+            }
+            else if (PROXIES_ARG.equals(argv[lcv])) {
+                userProxies = true;
+            }
             else if (DIRECTORY_ARG.equals(argv[lcv])) {
                 lcv++;
                 if (lcv >= argv.length) {
@@ -265,7 +294,7 @@ public class HabitatGenerator {
         
         HabitatGenerator hg = new HabitatGenerator(defaultFileToHandle, outjarFile,
                 defaultLocatorName, defaultVerbose, searchPath, userNoSwap,
-                outputDirectory, defaultIncludeDate);
+                outputDirectory, defaultIncludeDate, userBinary, userProxies);
         
         return hg.go();
     }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,6 +38,8 @@ public class HK2InhabitantGeneratorTask extends Task {
     private boolean noswap = false;
     private Path classpath = null;
     private boolean includeDate = true;
+    private boolean binary = false;
+    private boolean proxies = false;
     
     public void setTargetDirectory(File targetDirectory) {
         this.targetDirectory = targetDirectory;
@@ -62,6 +65,14 @@ public class HK2InhabitantGeneratorTask extends Task {
         this.includeDate = includeDate;
     }
     
+    public void setBinary(boolean binary) {
+        this.binary = binary;
+    }
+    
+    public void setProxies(boolean proxies) {
+        this.proxies = proxies;
+    }
+    
     public void addClasspath(Path classpath) {
         this.classpath = classpath;
     }
@@ -87,6 +98,14 @@ public class HK2InhabitantGeneratorTask extends Task {
             args.add(HabitatGenerator.NO_DATE_ARG);
         }
         
+        if (binary) {
+            args.add(HabitatGenerator.BINARY_ARG);
+        }
+        
+        if (proxies) {
+            args.add(HabitatGenerator.PROXIES_ARG);
+        }
+        
         if (locator != null) {
             args.add(HabitatGenerator.LOCATOR_ARG);
             args.add(locator);
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -46,6 +47,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import org.glassfish.hk2.utilities.BinaryDescriptorFile;
 import org.glassfish.hk2.utilities.DescriptorImpl;
 
 /**
@@ -67,6 +69,9 @@ public class GeneratorRunner {
     private final String outputDirectory;  // Not used in the JAR case
     private final boolean includeDate;
     private final boolean outJarIsInJar;
+    private final boolean binary;
+    private final String searchPath;
+    private final boolean proxies;
 
     /**
      * This initializes the GeneratorRunner with the values needed to run
@@ -89,6 +94,37 @@ public class GeneratorRunner {
             boolean noSwap,
             String outputDirectory,
             boolean includeDate) {
+        this(fileOrDirectory, outjarName, locatorName, verbose, searchPath,
+                noSwap, outputDirectory, includeDate, false, false);
+    }
+    
+    /**
+     * This initializes the GeneratorRunner with the values needed to run
+     * 
+     * @param fileOrDirectory The fileOrDirectory to inspect for services
+     * @param outjarName The name of the jar file to create (can be the fileOrDirectory)
+     * @param locatorName The name of the locator these files should be put into
+     * @param verbose true if this should print information about progress
+     * @param searchPath The path-separator delimited list of files or directories to search for
+     *   contracts and qualifiers and various other annotations
+     * @param noSwap true if this run should NOT swap files (faster but riskier)
+     * @param outputDirectory The directory where the file should go
+     * @param includeDate Whether or not the output file should include a date
+     * @param binary true if the output file should be written in the binary
+     *   format of {@link BinaryDescriptorFile} rather than as text
+     * @param proxies true if the proxy classes of the proxiable services should
+     *   be generated as well.  Only done if fileOrDirectory is a directory
+     */
+    public GeneratorRunner(String fileOrDirectory,
+            String outjarName,
+            String locatorName,
+            boolean verbose,
+            String searchPath,
+            boolean noSwap,
+            String outputDirectory,
+            boolean includeDate,
+            boolean binary,
+            boolean proxies) {
         this.fileOrDirectory = fileOrDirectory;
         this.outjarName = outjarName;
         this.locatorName = locatorName;
@@ -98,10 +134,14 @@ public class GeneratorRunner {
         utilities = new Utilities(verbose, searchPath);
         this.includeDate = includeDate;
         outJarIsInJar = fileOrDirectory.equals(outjarName);
+        this.binary = binary;
+        this.searchPath = searchPath;
+        this.proxies = proxies;
         
         if (verbose) {
             System.out.println("HabitatGenerator: inputFile=" + fileOrDirectory + " outjarName=" + outjarName +
-                    " locatorName=" + locatorName + " noSwap=" + noSwap + " outputDirectory=" + outputDirectory);
+                    " locatorName=" + locatorName + " noSwap=" + noSwap + " outputDirectory=" + outputDirectory +
+                    " binary=" + binary + " proxies=" + proxies);
         }
     }
     
@@ -124,8 +164,20 @@ public class GeneratorRunner {
             allDescriptors = utilities.findAllServicesFromDirectory(toInspect, Collections.singletonList(toInspect));
             if (allDescriptors.isEmpty()) return;
             writeToDirectory(allDescriptors);
+            
+            if (proxies) {
+                int generated = new ProxyGenerator(toInspect, searchPath, verbose).generate(allDescriptors);
+                if (verbose) {
+                    System.out.println("Generated " + generated + " proxy classes into " + toInspect.getAbsolutePath());
+                }
+            }
         }
         else {
+            if (proxies) {
+                System.out.println("Proxy classes are only generated for directories, not for " +
+                        toInspect.getAbsolutePath());
+            }
+            
             allDescriptors = findAllServicesFromJar(toInspect);
             
             // Do this here to close all FDs so that on Windows we can rewrite the file
@@ -301,14 +353,7 @@ public class GeneratorRunner {
         URI jarURI = URI.create("jar:" + jarFile.toURI());
         
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PrintWriter bWriter = new PrintWriter(baos);
-        writeHeader(bWriter);
-        
-        for (DescriptorImpl desc : descriptors) {
-            desc.writeObject(bWriter);
-        }
-        
-        bWriter.close();
+        writeDescriptors(descriptors, baos);
         baos.close();
         
         byte data[] = baos.toByteArray();
@@ -357,16 +402,12 @@ public class GeneratorRunner {
         }
         
         FileOutputStream fos = new FileOutputStream(outFile);
-        
-        PrintWriter pw = new PrintWriter(fos);
-        writeHeader(pw);
-        
-        for (DescriptorImpl di : descriptors) {
-            di.writeObject(pw);
+        try {
+            writeDescriptors(descriptors, fos);
+        }
+        finally {
+            fos.close();
         }
-        
-        pw.close();
-        fos.close();
         
         if (verbose) {
             System.out.println("Wrote " + descriptors.size() + " entries to inhabitant file " + outFile.getAbsolutePath());
@@ -375,6 +416,22 @@ public class GeneratorRunner {
         return outFile;
     }
     
+    private void writeDescriptors(List<DescriptorImpl> descriptors, OutputStream os) throws IOException {
+        if (binary) {
+            BinaryDescriptorFile.write(descriptors, os);
+            return;
+        }
+        
+        PrintWriter pw = new PrintWriter(os);
+        writeHeader(pw);
+        
+        for (DescriptorImpl di : descriptors) {
+            di.writeObject(pw);
+        }
+        
+        pw.flush();
+    }
+    
     private void writeHeader(PrintWriter writer) {
         writer.println("#");
         if (includeDate) {
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.generator.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import org.glassfish.hk2.api.DescriptorType;
+import org.glassfish.hk2.api.Proxiable;
+import org.glassfish.hk2.api.ProxyCtl;
+import org.glassfish.hk2.utilities.DescriptorImpl;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
+
+import javassist.util.proxy.ProxyFactory;
+
+/**
+ * Generates the javassist proxy classes of the proxiable services found
+ * by the generator, so that they need not be generated when the services
+ * are first proxied.  The classes are given the names that the
+ * ServiceLocator looks for before generating a proxy class itself,
+ * and are written next to the classes of the services.  A proxy class
+ * that turns out not to match the service at runtime is ignored
+ */
+public class ProxyGenerator {
+    private final File classesDirectory;
+    private final String searchPath;
+    private final boolean verbose;
+    
+    /**
+     * Creates a generator writing into the given directory of classes
+     * 
+     * @param classesDirectory The directory containing the classes of the
+     * services, into which the proxy classes are written
+     * @param searchPath The path-separator delimited list of files or directories
+     * needed to load the services and their contracts, may be null
+     * @param verbose true if this should print information about progress
+     */
+    public ProxyGenerator(File classesDirectory, String searchPath, boolean verbose) {
+        this.classesDirectory = classesDirectory;
+        this.searchPath = searchPath;
+        this.verbose = verbose;
+    }
+    
+    /**
+     * Generates the proxy classes of all the proxiable services amongst
+     * the given descriptors.  Services that cannot be loaded or
+     * proxied are skipped
+     * 
+     * @param descriptors The descriptors found by the generator
+     * @return The number of proxy classes written
+     * @throws IOException If the class path of the services is invalid
+     */
+    public int generate(List<DescriptorImpl> descriptors) throws IOException {
+        URLClassLoader loader = new URLClassLoader(getURLs(), ProxyGenerator.class.getClassLoader());
+        try {
+            int retVal = 0;
+            for (DescriptorImpl descriptor : descriptors) {
+                try {
+                    if (generate(descriptor, loader)) retVal++;
+                }
+                catch (Throwable th) {
+                    if (verbose) {
+                        System.out.println("Could not generate a proxy for " + descriptor.getImplementation() +
+                                ": " + th);
+                    }
+                }
+            }
+            
+            return retVal;
+        }
+        finally {
+            loader.close();
+        }
+    }
+    
+    private boolean generate(DescriptorImpl descriptor, final ClassLoader loader) throws ClassNotFoundException {
+        if (!DescriptorType.CLASS.equals(descriptor.getDescriptorType())) return false;
+        if (Boolean.FALSE.equals(descriptor.isProxiable())) return false;
+        if (descriptor.isProxiable() == null) {
+            if (descriptor.getScope() == null) return false;
+            
+            Class<?> scope = loader.loadClass(descriptor.getScope());
+            if (!scope.isAnnotationPresent(Proxiable.class)) return false;
+        }
+        
+        Class<?> superclass = loader.loadClass(descriptor.getImplementation());
+        
+        // Mirrors the interfaces the ServiceLocator gives the proxies
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        interfaces.add(ProxyCtl.class);
+        for (String contract : descriptor.getAdvertisedContracts()) {
+            Class<?> contractClass;
+            try {
+                contractClass = loader.loadClass(contract);
+            }
+            catch (ClassNotFoundException cnfe) {
+                continue;
+            }
+            
+            if (contractClass.isInterface()) interfaces.add(contractClass);
+        }
+        
+        List<String> interfaceNames = new ArrayList<String>(interfaces.size());
+        for (Class<?> iFace : interfaces) {
+            interfaceNames.add(iFace.getName());
+        }
+        
+        final String proxyName = ReflectionHelper.getPregeneratedProxyName(superclass.getName(), interfaceNames);
+        
+        ProxyFactory.ClassLoaderProvider originalProvider = ProxyFactory.classLoaderProvider;
+        ProxyFactory.UniqueName originalNameGenerator = ProxyFactory.nameGenerator;
+        ProxyFactory.classLoaderProvider = new ProxyFactory.ClassLoaderProvider() {
+            
+            @Override
+            public ClassLoader get(ProxyFactory factory) {
+                return loader;
+            }
+        };
+        ProxyFactory.nameGenerator = new ProxyFactory.UniqueName() {
+            
+            @Override
+            public String get(String classname) {
+                return proxyName;
+            }
+        };
+        
+        try {
+            ProxyFactory proxyFactory = new ProxyFactory();
+            proxyFactory.setInterfaces(interfaces.toArray(new Class<?>[interfaces.size()]));
+            proxyFactory.setSuperclass(superclass);
+            proxyFactory.writeDirectory = classesDirectory.getAbsolutePath();
+            
+            proxyFactory.createClass();
+        }
+        finally {
+            ProxyFactory.classLoaderProvider = originalProvider;
+            ProxyFactory.nameGenerator = originalNameGenerator;
+        }
+        
+        if (verbose) {
+            System.out.println("Generated proxy " + proxyName + " for " + superclass.getName());
+        }
+        
+        return true;
+    }
+    
+    private URL[] getURLs() throws MalformedURLException {
+        List<URL> retVal = new ArrayList<URL>();
+        retVal.add(classesDirectory.toURI().toURL());
+        
+        if (searchPath != null) {
+            StringTokenizer st = new StringTokenizer(searchPath, File.pathSeparator);
+            while (st.hasMoreTokens()) {
+                retVal.add(new File(st.nextToken()).toURI().toURL());
+            }
+        }
+        
+        return retVal.toArray(new URL[retVal.size()]);
+    }
+}
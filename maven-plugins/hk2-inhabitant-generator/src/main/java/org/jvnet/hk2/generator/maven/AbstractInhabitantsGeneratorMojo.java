@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -61,6 +61,16 @@ public abstract class AbstractInhabitantsGeneratorMojo extends AbstractMojo {
      */
     private boolean includeDate;
 
+    /**
+     * @parameter default-value="false"
+     */
+    private boolean binary;
+
+    /**
+     * @parameter default-value="false"
+     */
+    private boolean proxies;
+
     /**
      * @parameter
      */
@@ -138,6 +148,14 @@ public abstract class AbstractInhabitantsGeneratorMojo extends AbstractMojo {
             arguments.add(HabitatGenerator.NO_DATE_ARG);
         }
 
+        if (binary) {
+            arguments.add(HabitatGenerator.BINARY_ARG);
+        }
+
+        if (proxies) {
+            arguments.add(HabitatGenerator.PROXIES_ARG);
+        }
+
         if (isWar()) {
             // For WAR files, the hk2-locator files goes under WEB-INF/classes/hk2-locator, not META-INF/hk2-locator
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.jvnet.hk2.generator.tests.proxies;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import jakarta.inject.Singleton;
+
+import org.glassfish.hk2.api.ProxyCtl;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.hk2.utilities.DescriptorImpl;
+import org.glassfish.hk2.utilities.HK2LoaderImpl;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.jvnet.hk2.generator.internal.ProxyGenerator;
+
+/**
+ * Tests for the generation of proxy classes at build time
+ */
+public class ProxyGeneratorTest {
+    private final static String MAVEN_CLASSES_DIR = "test-classes";
+    private final static String PROXIES_PACKAGE = ProxiedService.class.getPackage().getName() + ".";
+    
+    /**
+     * Tests that the ServiceLocator uses the proxy class written
+     * by the generator rather than generating one of its own.  Javassist
+     * also defines the proxy class while writing it, so the service is
+     * loaded again by a classloader of its own, which can only find the
+     * proxy class in the file written by the generator
+     */
+    @Test // @org.junit.Ignore
+    public void testLocatorUsesGeneratedProxy() throws Exception {
+        String buildDir = System.getProperty("build.dir");
+        File classesDir = (buildDir == null) ? new File("bin") : new File(buildDir, MAVEN_CLASSES_DIR);
+        
+        DescriptorImpl descriptor = BuilderHelper.link(ProxiedService.class).
+                to(ProxiedContract.class).
+                in(Singleton.class).
+                proxy().
+                build();
+        
+        String proxyName = ReflectionHelper.getPregeneratedProxyName(ProxiedService.class.getName(),
+                Arrays.asList(ProxiedContract.class.getName(), ProxyCtl.class.getName()));
+        File proxyFile = new File(classesDir, proxyName.replace('.', File.separatorChar) + ".class");
+        
+        ProxyGenerator generator = new ProxyGenerator(classesDir, null, false);
+        Assert.assertEquals(1, generator.generate(Collections.singletonList(descriptor)));
+        Assert.assertTrue(proxyFile.getAbsolutePath(), proxyFile.isFile());
+        
+        ServiceLocator locator = ServiceLocatorFactory.getInstance().create(null);
+        ProxiesLoader loader = new ProxiesLoader(classesDir);
+        try {
+            Class<?> serviceClass = loader.loadClass(ProxiedService.class.getName());
+            Assert.assertNotSame(ProxiedService.class, serviceClass);
+            
+            DescriptorImpl isolated = BuilderHelper.link(ProxiedService.class.getName()).
+                    to(ProxiedContract.class.getName()).
+                    in(Singleton.class).
+                    proxy().
+                    andLoadWith(new HK2LoaderImpl(loader)).
+                    build();
+            ServiceLocatorUtilities.addOneDescriptor(locator, isolated);
+            
+            Object service = locator.getService(serviceClass);
+            Assert.assertTrue(service instanceof ProxyCtl);
+            
+            Assert.assertEquals(proxyName, service.getClass().getName());
+            Assert.assertSame(loader, service.getClass().getClassLoader());
+            Assert.assertSame(serviceClass, service.getClass().getSuperclass());
+            
+            Assert.assertEquals(ProxiedService.NAME, serviceClass.getMethod("getName").invoke(service));
+        }
+        finally {
+            ServiceLocatorFactory.getInstance().destroy(locator);
+            loader.close();
+            proxyFile.delete();
+        }
+    }
+    
+    /**
+     * Loads the classes of this package itself rather than
+     * from its parent, so that they are loaded afresh
+     */
+    private static class ProxiesLoader extends URLClassLoader {
+        private ProxiesLoader(File classesDir) throws IOException {
+            super(new URL[] { classesDir.toURI().toURL() }, ProxiesLoader.class.getClassLoader());
+        }
+        
+        /* (non-Javadoc)
+         * @see java.lang.ClassLoader#loadClass(java.lang.String, boolean)
+         */
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PROXIES_PACKAGE)) return super.loadClass(name, resolve);
+            
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> retVal = findLoadedClass(name);
+                if (retVal == null) {
+                    retVal = findClass(name);
+                }
+                
+                if (resolve) {
+                    resolveClass(retVal);
+                }
+                
+                return retVal;
+            }
+        }
+    }
+}